@@ -0,0 +1,94 @@
+package br.com.petfamily.canilapi.benchmark;
+
+import br.com.petfamily.canilapi.model.Cachorro;
+import br.com.petfamily.canilapi.model.Despesa;
+import br.com.petfamily.canilapi.model.Ninhada;
+import br.com.petfamily.canilapi.model.Sexo;
+import br.com.petfamily.canilapi.model.StatusCachorro;
+import br.com.petfamily.canilapi.model.Tutor;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Optional;
+
+/**
+ * Entidades montadas em memória (sem banco) para os benchmarks, com ids e valores determinísticos.
+ */
+final class Amostras {
+
+    private static final LocalDate BASE = LocalDate.of(2024, 1, 1);
+
+    private Amostras() {
+    }
+
+    static Tutor tutor(long id) {
+        Tutor tutor = new Tutor("Tutor " + id, "11999990000", "tutor" + id + "@canil.com");
+        tutor.setId(id);
+        return tutor;
+    }
+
+    static Cachorro cachorro(long id, Tutor tutor, int despesas) {
+        Cachorro cachorro = new Cachorro("Cachorro " + id, id % 2 == 0 ? Sexo.MACHO : Sexo.FEMEA,
+                BASE.minusDays(id % 3650), "Golden Retriever", tutor);
+        cachorro.setId(id);
+        cachorro.setStatus(StatusCachorro.DISPONIVEL);
+        for (int i = 0; i < despesas; i++) {
+            Despesa despesa = new Despesa("Despesa " + i, BigDecimal.valueOf(1_000 + i % 500, 2), BASE.plusDays(i % 365));
+            despesa.setId(id * 100_000L + i);
+            cachorro.adicionarDespesa(despesa);
+        }
+        return cachorro;
+    }
+
+    static Ninhada ninhada(long id, int filhotes) {
+        Ninhada ninhada = new Ninhada();
+        ninhada.setId(id);
+        ninhada.setDataNascimento(BASE);
+        Cachorro mae = cachorro(1, null, 0);
+        mae.setSexo(Sexo.FEMEA);
+        Cachorro pai = cachorro(2, null, 0);
+        pai.setSexo(Sexo.MACHO);
+        ninhada.setMae(mae);
+        ninhada.setPai(pai);
+        for (int i = 0; i < filhotes; i++) {
+            ninhada.adicionarFilhote(cachorro(1_000 + i, null, 0));
+        }
+        return ninhada;
+    }
+
+    /**
+     * ObjectMapper equivalente ao configurado pelo Spring Boot (módulos do classpath, datas em ISO-8601).
+     */
+    static ObjectMapper objectMapper() {
+        return Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+    }
+
+    /**
+     * Repositório Spring Data de mentira: findById* devolve sempre a entidade e save* devolve o argumento.
+     * Qualquer outro método falha, para que o benchmark não meça acesso a dados por engano.
+     */
+    static <R> R repositorio(Class<R> tipo, Object entidade) {
+        return tipo.cast(Proxy.newProxyInstance(Amostras.class.getClassLoader(), new Class<?>[]{tipo},
+                (proxy, metodo, args) -> {
+                    String nome = metodo.getName();
+                    if (nome.startsWith("findById")) {
+                        return Optional.of(entidade);
+                    }
+                    if (nome.startsWith("save")) {
+                        return args[0];
+                    }
+                    return switch (nome) {
+                        case "hashCode" -> System.identityHashCode(proxy);
+                        case "equals" -> proxy == args[0];
+                        case "toString" -> tipo.getSimpleName() + "(em memória)";
+                        default -> throw new UnsupportedOperationException(tipo.getSimpleName() + "." + nome);
+                    };
+                }));
+    }
+}
@@ -0,0 +1,70 @@
+package br.com.petfamily.canilapi.benchmark;
+
+import br.com.petfamily.canilapi.infra.persistence.AlteracoesTabelas;
+import br.com.petfamily.canilapi.model.Cachorro;
+import br.com.petfamily.canilapi.model.Tutor;
+import br.com.petfamily.canilapi.repository.CachorroRepository;
+import br.com.petfamily.canilapi.repository.TutorRepository;
+import br.com.petfamily.canilapi.service.CachorroService;
+import br.com.petfamily.canilapi.service.TutorService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Aplicação dos campos do PATCH: {@code CachorroService.atualizarParcial} (ObjectMapper.updateValue)
+ * e {@code TutorService.atualizarParcial} (reflexão campo a campo). Os repositórios são substituídos por
+ * versões em memória, então só o trabalho de CPU da aplicação dos campos é medido.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AtualizacaoParcialBenchmark {
+
+    private static final Map<String, Object> CAMPOS_CACHORRO = Map.of(
+            "nome", "Thor", "raca", "Border Collie", "dataNascimento", "2023-05-10", "status", "RESERVADO");
+    private static final Map<String, Object> CAMPOS_TUTOR = Map.of(
+            "nome", "Maria Souza", "email", "maria@canil.com", "telefone", "11988887777");
+
+    private CachorroService cachorroService;
+    private TutorService tutorService;
+
+    @Setup
+    public void preparar() {
+        ApplicationEventPublisher semEventos = evento -> {
+        };
+        Tutor tutor = Amostras.tutor(1);
+        Cachorro cachorro = Amostras.cachorro(1, tutor, 10);
+
+        // Dependências que atualizarParcial não usa ficam nulas
+        cachorroService = new CachorroService(Amostras.repositorio(CachorroRepository.class, cachorro),
+                Amostras.repositorio(TutorRepository.class, tutor), null, Amostras.objectMapper(),
+                null, null, semEventos, new AlteracoesTabelas(), null, null, null);
+        tutorService = new TutorService(Amostras.repositorio(TutorRepository.class, tutor),
+                Amostras.repositorio(CachorroRepository.class, cachorro), semEventos, new AlteracoesTabelas());
+    }
+
+    @Benchmark
+    public Cachorro cachorroAtualizarParcial() {
+        return cachorroService.atualizarParcial(1L, CAMPOS_CACHORRO, null);
+    }
+
+    @Benchmark
+    public Tutor tutorAtualizarParcial() {
+        return tutorService.atualizarParcial(1L, CAMPOS_TUTOR);
+    }
+}
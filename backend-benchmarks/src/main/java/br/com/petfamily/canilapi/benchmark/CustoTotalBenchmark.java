@@ -0,0 +1,44 @@
+package br.com.petfamily.canilapi.benchmark;
+
+import br.com.petfamily.canilapi.model.Cachorro;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link Cachorro#calcularCustoTotal()} conforme o histórico de despesas cresce.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CustoTotalBenchmark {
+
+    @Param({"10", "100", "1000", "10000"})
+    private int despesas;
+
+    private Cachorro cachorro;
+
+    @Setup
+    public void preparar() {
+        cachorro = Amostras.cachorro(1, null, despesas);
+    }
+
+    @Benchmark
+    public BigDecimal calcularCustoTotal() {
+        return cachorro.calcularCustoTotal();
+    }
+}
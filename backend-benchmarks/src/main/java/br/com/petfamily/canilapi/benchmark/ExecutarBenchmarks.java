@@ -0,0 +1,30 @@
+package br.com.petfamily.canilapi.benchmark;
+
+import org.openjdk.jmh.Main;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Ponto de entrada do benchmarks.jar: o mesmo {@link Main} do JMH, mas gravando por padrão
+ * os resultados em JSON (jmh-result.json), para comparar execuções entre versões.
+ * Qualquer opção do JMH pode ser passada normalmente, inclusive outro -rf/-rff e filtros por nome:
+ * java -jar target/benchmarks.jar CustoTotal -rff custo-v2.json
+ */
+public final class ExecutarBenchmarks {
+
+    private ExecutarBenchmarks() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        List<String> argumentos = new ArrayList<>(Arrays.asList(args));
+        if (!argumentos.contains("-rf")) {
+            argumentos.addAll(List.of("-rf", "json"));
+        }
+        if (!argumentos.contains("-rff")) {
+            argumentos.addAll(List.of("-rff", "jmh-result.json"));
+        }
+        Main.main(argumentos.toArray(String[]::new));
+    }
+}
@@ -0,0 +1,70 @@
+package br.com.petfamily.canilapi.benchmark;
+
+import br.com.petfamily.canilapi.controller.dto.CachorroResponseDTO;
+import br.com.petfamily.canilapi.controller.dto.NinhadaDetalhesDTO;
+import br.com.petfamily.canilapi.controller.dto.TutorResponseDTO;
+import br.com.petfamily.canilapi.mapper.NinhadaMapper;
+import br.com.petfamily.canilapi.mapper.NinhadaMapperImpl;
+import br.com.petfamily.canilapi.model.Cachorro;
+import br.com.petfamily.canilapi.model.Ninhada;
+import br.com.petfamily.canilapi.model.Tutor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Conversão entidade -> DTO feita em cada resposta. {@code tamanho} é o número de itens da coleção
+ * mapeada junto: despesas do cachorro, cachorros do tutor e filhotes da ninhada.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MapeamentoDtoBenchmark {
+
+    @Param({"1", "10", "100"})
+    private int tamanho;
+
+    private final NinhadaMapper ninhadaMapper = new NinhadaMapperImpl();
+
+    private Cachorro cachorro;
+    private Tutor tutor;
+    private Ninhada ninhada;
+
+    @Setup
+    public void preparar() {
+        tutor = Amostras.tutor(1);
+        cachorro = Amostras.cachorro(1, tutor, tamanho);
+        for (int i = 0; i < tamanho; i++) {
+            tutor.getCachorros().add(Amostras.cachorro(10 + i, tutor, 0));
+        }
+        ninhada = Amostras.ninhada(1, tamanho);
+    }
+
+    @Benchmark
+    public CachorroResponseDTO cachorroResponseDTO() {
+        return new CachorroResponseDTO(cachorro);
+    }
+
+    @Benchmark
+    public TutorResponseDTO tutorResponseDTO() {
+        return new TutorResponseDTO(tutor);
+    }
+
+    @Benchmark
+    public NinhadaDetalhesDTO ninhadaDetalhesDTO() {
+        return ninhadaMapper.toDetalhesDTO(ninhada);
+    }
+}
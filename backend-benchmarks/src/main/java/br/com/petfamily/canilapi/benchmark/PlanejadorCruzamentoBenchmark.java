@@ -0,0 +1,113 @@
+package br.com.petfamily.canilapi.benchmark;
+
+import br.com.petfamily.canilapi.model.Sexo;
+import br.com.petfamily.canilapi.service.pedigree.PedigreeIndex;
+import br.com.petfamily.canilapi.service.pedigree.PlanejadorCruzamento;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Planejamento de cruzamento: como o ranking escala com o número de padreadores e com a profundidade
+ * do pedigree, em 1 thread e no ForkJoinPool comum.
+ * <p>
+ * Gera uma população fechada sintética com um número fixo de reprodutores por geração (acasalamentos
+ * aleatórios, o que faz o COI crescer); na última geração nascem os padreadores candidatos.
+ * Cada execução usa uma matriz diferente, para que o cache de COI por casal do índice não seja reaproveitado;
+ * por isso o modo é de execução única, com tantas execuções quanto as matrizes permitem sem repetir.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 20)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PlanejadorCruzamentoBenchmark {
+
+    private static final int REPRODUTORES_POR_GERACAO = 200;
+    private static final int TOP = 10;
+
+    @Param({"100", "1000", "10000"})
+    private int padreadores;
+
+    @Param({"5", "10", "20"})
+    private int geracoes;
+
+    @Param({"false", "true"})
+    private boolean paralelo;
+
+    private ForkJoinPool umaThread;
+    private PlanejadorCruzamento planejador;
+    private long[] matrizes;
+    private long[] candidatos;
+    private int proximaMatriz;
+
+    @Setup
+    public void preparar() {
+        SplittableRandom random = new SplittableRandom(42L);
+        PedigreeIndex index = new PedigreeIndex();
+        long proximoId = 1;
+
+        List<Long> machos = new ArrayList<>();
+        List<Long> femeas = new ArrayList<>();
+        for (int i = 0; i < REPRODUTORES_POR_GERACAO; i++) {
+            Sexo sexo = i % 2 == 0 ? Sexo.MACHO : Sexo.FEMEA;
+            index.registrar(proximoId, "fundador-" + proximoId, sexo, null, null);
+            (sexo == Sexo.MACHO ? machos : femeas).add(proximoId++);
+        }
+        for (int g = 1; g < geracoes; g++) {
+            List<Long> novosMachos = new ArrayList<>();
+            List<Long> novasFemeas = new ArrayList<>();
+            // Na última geração nascem os candidatos: 'padreadores' machos e outras tantas fêmeas (as matrizes)
+            int nascimentos = g == geracoes - 1 ? padreadores * 2 : REPRODUTORES_POR_GERACAO;
+            for (int i = 0; i < nascimentos; i++) {
+                Long pai = machos.get(random.nextInt(machos.size()));
+                Long mae = femeas.get(random.nextInt(femeas.size()));
+                Sexo sexo = i % 2 == 0 ? Sexo.MACHO : Sexo.FEMEA;
+                index.registrar(proximoId, "c-" + proximoId, sexo, pai, mae);
+                (sexo == Sexo.MACHO ? novosMachos : novasFemeas).add(proximoId++);
+            }
+            machos = novosMachos;
+            femeas = novasFemeas;
+        }
+
+        matrizes = femeas.stream().mapToLong(Long::longValue).toArray();
+        candidatos = machos.stream().mapToLong(Long::longValue).toArray();
+        proximaMatriz = 0;
+        if (paralelo) {
+            planejador = new PlanejadorCruzamento(index, ForkJoinPool.commonPool());
+        } else {
+            umaThread = new ForkJoinPool(1);
+            planejador = new PlanejadorCruzamento(index, umaThread);
+        }
+    }
+
+    @TearDown
+    public void encerrar() {
+        if (umaThread != null) {
+            umaThread.shutdown();
+        }
+    }
+
+    @Benchmark
+    public List<PlanejadorCruzamento.Candidato> ranquear() {
+        long maeId = matrizes[proximaMatriz++ % matrizes.length];
+        return planejador.ranquear(maeId, candidatos, Map.of(), Map.of(), TOP);
+    }
+}
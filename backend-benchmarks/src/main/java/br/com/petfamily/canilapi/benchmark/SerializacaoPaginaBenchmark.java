@@ -0,0 +1,61 @@
+package br.com.petfamily.canilapi.benchmark;
+
+import br.com.petfamily.canilapi.controller.dto.CachorroResponseDTO;
+import br.com.petfamily.canilapi.model.Tutor;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+/**
+ * Serialização do corpo de GET /cachorros: um {@link PageImpl} de {@link CachorroResponseDTO},
+ * com o ObjectMapper configurado como no Spring Boot.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SerializacaoPaginaBenchmark {
+
+    @Param({"20", "100"})
+    private int tamanhoPagina;
+
+    @Param({"0", "10"})
+    private int despesasPorCachorro;
+
+    private final ObjectMapper objectMapper = Amostras.objectMapper();
+
+    private Page<CachorroResponseDTO> pagina;
+
+    @Setup
+    public void preparar() {
+        Tutor tutor = Amostras.tutor(1);
+        List<CachorroResponseDTO> conteudo = LongStream.rangeClosed(1, tamanhoPagina)
+                .mapToObj(id -> new CachorroResponseDTO(Amostras.cachorro(id, tutor, despesasPorCachorro)))
+                .toList();
+        pagina = new PageImpl<>(conteudo, PageRequest.of(0, tamanhoPagina), 10_000);
+    }
+
+    @Benchmark
+    public byte[] serializarPagina() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(pagina);
+    }
+}
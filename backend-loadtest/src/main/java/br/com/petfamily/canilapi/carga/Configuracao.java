@@ -0,0 +1,85 @@
+package br.com.petfamily.canilapi.carga;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Parâmetros do teste de carga, lidos de argumentos no formato {@code --chave=valor}.
+ *
+ * @param taxa                Requisições por segundo disparadas (open-loop), independente das respostas.
+ * @param duracao             Tempo total de disparo, incluindo o aquecimento.
+ * @param aquecimento         Período inicial cujas requisições não entram no relatório.
+ * @param tutores             Tutores criados na massa sintética.
+ * @param cachorros           Cachorros disponíveis para venda (sem contar matrizes, padreadores e filhotes).
+ * @param matrizes            Fêmeas reprodutoras.
+ * @param padreadores         Machos reprodutores.
+ * @param ninhadas            Ninhadas já registradas, distribuídas entre matrizes e padreadores.
+ * @param despesasPorCachorro Histórico de despesas de cada cachorro disponível.
+ * @param semente             Semente do gerador aleatório (massa e sorteio das requisições).
+ * @param virtuais            Atende as requisições em threads virtuais ({@code spring.threads.virtual.enabled});
+ *                            rodar com {@code --virtuais=false} dá a linha de base com o pool de threads do Tomcat.
+ */
+record Configuracao(int taxa, Duration duracao, Duration aquecimento,
+                    int tutores, int cachorros, int matrizes, int padreadores, int ninhadas,
+                    int despesasPorCachorro, long semente, boolean virtuais) {
+
+    static final int FILHOTES_POR_NINHADA = 5;
+
+    static Configuracao deArgumentos(String[] args) {
+        Map<String, String> valores = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Argumento inválido: " + arg + " (use --chave=valor)");
+            }
+            int igual = arg.indexOf('=');
+            valores.put(arg.substring(2, igual), arg.substring(igual + 1));
+        }
+        Configuracao config = new Configuracao(
+                inteiro(valores, "taxa", 100),
+                Duration.ofSeconds(inteiro(valores, "duracao", 60)),
+                Duration.ofSeconds(inteiro(valores, "aquecimento", 10)),
+                inteiro(valores, "tutores", 500),
+                inteiro(valores, "cachorros", 5_000),
+                inteiro(valores, "matrizes", 50),
+                inteiro(valores, "padreadores", 20),
+                inteiro(valores, "ninhadas", 500),
+                inteiro(valores, "despesas", 5),
+                inteiro(valores, "semente", 42),
+                booleano(valores, "virtuais", true));
+        if (!valores.isEmpty()) {
+            throw new IllegalArgumentException("Parâmetros desconhecidos: " + valores.keySet());
+        }
+        if (config.taxa() < 1 || config.tutores() < 1 || config.cachorros() < 1 || config.matrizes() < 1
+                || config.padreadores() < 1 || config.ninhadas() < 1) {
+            throw new IllegalArgumentException("taxa e quantidades da massa (exceto despesas) devem ser maiores que zero.");
+        }
+        if (config.aquecimento().compareTo(config.duracao()) >= 0) {
+            throw new IllegalArgumentException("O aquecimento deve ser menor que a duração.");
+        }
+        return config;
+    }
+
+    private static boolean booleano(Map<String, String> valores, String chave, boolean padrao) {
+        String valor = valores.remove(chave);
+        if (valor == null) {
+            return padrao;
+        }
+        if (!valor.equals("true") && !valor.equals("false")) {
+            throw new IllegalArgumentException("Valor inválido para --" + chave + ": " + valor + " (use true ou false)");
+        }
+        return Boolean.parseBoolean(valor);
+    }
+
+    private static int inteiro(Map<String, String> valores, String chave, int padrao) {
+        String valor = valores.remove(chave);
+        if (valor == null) {
+            return padrao;
+        }
+        try {
+            return Integer.parseInt(valor);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Valor inválido para --" + chave + ": " + valor);
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package br.com.petfamily.canilapi.carga;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Gerador open-loop: agenda a i-ésima requisição para {@code inicio + i / taxa} e a envia de forma assíncrona,
+ * sem esperar as anteriores responderem. Assim a taxa de chegada não cai quando o servidor fica lento
+ * (como aconteceria com N clientes em laço fechado), e a latência de cada requisição é contada
+ * a partir do horário agendado.
+ */
+class GeradorDeCarga {
+
+    private static final Logger log = LoggerFactory.getLogger(GeradorDeCarga.class);
+
+    private static final Duration ESPERA_FINAL = Duration.ofSeconds(60);
+
+    private final MixDeRequisicoes mix;
+
+    GeradorDeCarga(MixDeRequisicoes mix) {
+        this.mix = mix;
+    }
+
+    /**
+     * Dispara na taxa configurada durante toda a duração e espera as respostas pendentes.
+     *
+     * @return Latências das requisições agendadas depois do aquecimento.
+     */
+    Latencias executar(Configuracao config) throws InterruptedException {
+        Latencias latencias = new Latencias();
+        long intervalo = TimeUnit.SECONDS.toNanos(1) / config.taxa();
+        long inicio = System.nanoTime();
+        long inicioMedicao = inicio + config.aquecimento().toNanos();
+        long fim = inicio + config.duracao().toNanos();
+        long maiorAtraso = 0;
+        AtomicLong pendentes = new AtomicLong();
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+             HttpClient cliente = HttpClient.newBuilder()
+                     .executor(executor)
+                     .version(HttpClient.Version.HTTP_1_1)
+                     .connectTimeout(Duration.ofSeconds(5))
+                     .build()) {
+            for (long i = 0; ; i++) {
+                long agendado = inicio + i * intervalo;
+                if (agendado >= fim) {
+                    break;
+                }
+                long espera = agendado - System.nanoTime();
+                if (espera > 0) {
+                    LockSupport.parkNanos(espera);
+                } else {
+                    maiorAtraso = Math.max(maiorAtraso, -espera);
+                }
+
+                MixDeRequisicoes.Requisicao requisicao = mix.proxima();
+                boolean medida = agendado >= inicioMedicao;
+                pendentes.incrementAndGet();
+                cliente.sendAsync(requisicao.http(), HttpResponse.BodyHandlers.discarding())
+                        .whenComplete((resposta, erro) -> {
+                            long latencia = System.nanoTime() - agendado;
+                            if (medida) {
+                                boolean sucesso = erro == null && resposta.statusCode() < 400;
+                                latencias.registrar(requisicao.operacao(), latencia, sucesso);
+                            }
+                            pendentes.decrementAndGet();
+                        });
+            }
+
+            long limite = System.nanoTime() + ESPERA_FINAL.toNanos();
+            while (pendentes.get() > 0 && System.nanoTime() < limite) {
+                Thread.sleep(50);
+            }
+            if (pendentes.get() > 0) {
+                log.warn("{} requisições ainda sem resposta após {} s; ficam fora do relatório.",
+                        pendentes.get(), ESPERA_FINAL.toSeconds());
+            }
+        }
+
+        if (maiorAtraso > TimeUnit.MILLISECONDS.toNanos(10)) {
+            // As latências continuam corretas (contadas do horário agendado), mas as atrasadas saíram em rajada
+            log.warn("O gerador atrasou até {} ms em relação ao agendamento; considere uma taxa menor ou mais CPU.",
+                    TimeUnit.NANOSECONDS.toMillis(maiorAtraso));
+        }
+        return latencias;
+    }
+}
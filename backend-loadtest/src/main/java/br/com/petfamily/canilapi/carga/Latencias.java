@@ -0,0 +1,95 @@
+package br.com.petfamily.canilapi.carga;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Latências registradas por operação. Cada latência é medida a partir do instante em que a requisição
+ * <em>deveria</em> ter sido enviada (e não de quando saiu de fato), o que evita a omissão coordenada:
+ * se o servidor trava, as requisições agendadas para o período também contam o tempo de espera.
+ */
+class Latencias {
+
+    private final Map<String, Amostras> porOperacao = new ConcurrentHashMap<>();
+
+    void registrar(String operacao, long latenciaNanos, boolean sucesso) {
+        porOperacao.computeIfAbsent(operacao, nome -> new Amostras()).adicionar(latenciaNanos, sucesso);
+    }
+
+    /**
+     * Tabela com vazão, erros e percentis (em ms) por operação e no total.
+     *
+     * @param segundos Duração da janela medida, para o cálculo da vazão.
+     */
+    String relatorio(double segundos) {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format(Locale.ROOT, "%-22s %9s %7s %9s %9s %9s %9s %9s%n",
+                "operacao", "reqs", "erros", "req/s", "p50_ms", "p99_ms", "p999_ms", "max_ms"));
+        Amostras total = new Amostras();
+        for (Map.Entry<String, Amostras> entrada : new TreeMap<>(porOperacao).entrySet()) {
+            Amostras amostras = entrada.getValue();
+            linha(sb, entrada.getKey(), amostras, segundos);
+            total.incorporar(amostras);
+        }
+        linha(sb, "TOTAL", total, segundos);
+        return sb.toString();
+    }
+
+    private static void linha(StringBuilder sb, String nome, Amostras amostras, double segundos) {
+        long[] ordenadas = amostras.ordenadas();
+        sb.append(String.format(Locale.ROOT, "%-22s %9d %7d %9.1f %9.2f %9.2f %9.2f %9.2f%n",
+                nome, ordenadas.length, amostras.erros(), ordenadas.length / segundos,
+                ms(percentil(ordenadas, 0.50)), ms(percentil(ordenadas, 0.99)), ms(percentil(ordenadas, 0.999)),
+                ms(ordenadas.length == 0 ? 0 : ordenadas[ordenadas.length - 1])));
+    }
+
+    // Percentil pelo método nearest-rank
+    private static long percentil(long[] ordenadas, double p) {
+        if (ordenadas.length == 0) {
+            return 0;
+        }
+        int posicao = (int) Math.ceil(p * ordenadas.length) - 1;
+        return ordenadas[Math.max(0, posicao)];
+    }
+
+    private static double ms(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+
+    private static final class Amostras {
+        private long[] latencias = new long[1_024];
+        private int tamanho;
+        private long erros;
+
+        synchronized void adicionar(long latenciaNanos, boolean sucesso) {
+            if (tamanho == latencias.length) {
+                latencias = Arrays.copyOf(latencias, tamanho * 2);
+            }
+            latencias[tamanho++] = latenciaNanos;
+            if (!sucesso) {
+                erros++;
+            }
+        }
+
+        synchronized void incorporar(Amostras outras) {
+            long[] delas = outras.ordenadas();
+            for (long latencia : delas) {
+                adicionar(latencia, true);
+            }
+            erros += outras.erros();
+        }
+
+        synchronized long[] ordenadas() {
+            long[] copia = Arrays.copyOf(latencias, tamanho);
+            Arrays.sort(copia);
+            return copia;
+        }
+
+        synchronized long erros() {
+            return erros;
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package br.com.petfamily.canilapi.carga;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.function.Function;
+
+/**
+ * Sorteia a próxima requisição segundo os pesos do tráfego esperado: maioria de listagens, detalhes e
+ * dashboard, com uma fração de escritas (vendas e novas ninhadas).
+ * <p>
+ * Não é thread-safe: é usado só pela thread que agenda as requisições.
+ */
+class MixDeRequisicoes {
+
+    private static final int TAMANHO_PAGINA = 20;
+    private static final Duration TIMEOUT = Duration.ofSeconds(30);
+
+    private final String base;
+    private final Semeador.Canil canil;
+    private final SplittableRandom random;
+    // Cada venda consome um cachorro disponível; quando acabam, as vendas viram consultas de detalhe
+    private final Deque<Long> aVenda;
+    private final List<Operacao> operacoes = new ArrayList<>();
+    private final int pesoTotal;
+    private int ninhadasCriadas;
+
+    MixDeRequisicoes(String base, Semeador.Canil canil, long semente) {
+        this.base = base;
+        this.canil = canil;
+        this.random = new SplittableRandom(semente);
+        List<Long> disponiveis = new ArrayList<>(canil.disponiveis());
+        Collections.shuffle(disponiveis, new Random(semente));
+        this.aVenda = new ArrayDeque<>(disponiveis);
+
+        int paginasCachorros = Math.max(1, canil.cachorros().size() / TAMANHO_PAGINA);
+        int paginasTutores = Math.max(1, canil.tutores().size() / TAMANHO_PAGINA);
+
+        adicionar(20, r -> get("GET /cachorros", "/cachorros?size=" + TAMANHO_PAGINA + "&page=" + r.nextInt(paginasCachorros)));
+        adicionar(20, this::detalheCachorro);
+        adicionar(8, r -> get("GET /tutores", "/tutores?size=" + TAMANHO_PAGINA + "&page=" + r.nextInt(paginasTutores)));
+        adicionar(5, r -> get("GET /tutores/{id}", "/tutores/" + sortear(canil.tutores(), r)));
+        adicionar(5, r -> get("GET /ninhadas", "/ninhadas?after=&size=" + TAMANHO_PAGINA));
+        adicionar(7, r -> get("GET /ninhadas/{id}", "/ninhadas/" + sortear(canil.ninhadas(), r)));
+        adicionar(10, r -> get("GET /dashboard/stats", "/dashboard/stats"));
+        adicionar(5, r -> get("GET /dashboard/financeiro", "/dashboard/financeiro-30-dias"));
+        adicionar(5, r -> get("GET /dashboard/atividades", "/dashboard/atividades-recentes"));
+        adicionar(10, r -> get("GET /dashboard/resumo", "/dashboard/resumo"));
+        adicionar(10, this::venda);
+        adicionar(5, r -> ninhada());
+        this.pesoTotal = operacoes.stream().mapToInt(Operacao::peso).sum();
+    }
+
+    Requisicao proxima() {
+        int sorteio = random.nextInt(pesoTotal);
+        for (Operacao operacao : operacoes) {
+            sorteio -= operacao.peso();
+            if (sorteio < 0) {
+                return operacao.montador().apply(random);
+            }
+        }
+        throw new IllegalStateException("Pesos inconsistentes");
+    }
+
+    private void adicionar(int peso, Function<SplittableRandom, Requisicao> montador) {
+        operacoes.add(new Operacao(peso, montador));
+    }
+
+    private Requisicao detalheCachorro(SplittableRandom r) {
+        return get("GET /cachorros/{id}", "/cachorros/" + sortear(canil.cachorros(), r));
+    }
+
+    private Requisicao venda(SplittableRandom r) {
+        Long cachorroId = aVenda.poll();
+        if (cachorroId == null) {
+            return detalheCachorro(r);
+        }
+        String corpo = String.format(Locale.ROOT, "{\"valor\": %d.00, \"data\": \"%s\", \"tutorId\": %d}",
+                1_500 + r.nextInt(4_500), LocalDate.now(), sortear(canil.tutores(), r));
+        return post("POST /cachorros/{id}/vender-flex", "/cachorros/" + cachorroId + "/vender-flex", corpo);
+    }
+
+    private Requisicao ninhada() {
+        int numero = ninhadasCriadas++;
+        StringBuilder filhotes = new StringBuilder();
+        for (int f = 0; f < Configuracao.FILHOTES_POR_NINHADA; f++) {
+            if (f > 0) {
+                filhotes.append(", ");
+            }
+            filhotes.append(String.format("{\"nome\": \"Carga %d-%d\", \"sexo\": \"%s\"}", numero, f, f % 2 == 0 ? "MACHO" : "FEMEA"));
+        }
+        String corpo = String.format("{\"dataNascimento\": \"%s\", \"maeId\": %d, \"paiId\": %d, \"filhotes\": [%s]}",
+                LocalDate.now(), sortear(canil.matrizes(), random), sortear(canil.padreadores(), random), filhotes);
+        return post("POST /ninhadas", "/ninhadas", corpo);
+    }
+
+    private static long sortear(List<Long> ids, SplittableRandom r) {
+        return ids.get(r.nextInt(ids.size()));
+    }
+
+    private Requisicao get(String operacao, String caminho) {
+        return new Requisicao(operacao, HttpRequest.newBuilder(URI.create(base + caminho)).timeout(TIMEOUT).GET().build());
+    }
+
+    private Requisicao post(String operacao, String caminho, String corpoJson) {
+        return new Requisicao(operacao, HttpRequest.newBuilder(URI.create(base + caminho))
+                .timeout(TIMEOUT)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(corpoJson))
+                .build());
+    }
+
+    private record Operacao(int peso, Function<SplittableRandom, Requisicao> montador) {
+    }
+
+    record Requisicao(String operacao, HttpRequest http) {
+    }
+}
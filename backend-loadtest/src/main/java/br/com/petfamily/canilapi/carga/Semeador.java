@@ -0,0 +1,189 @@
+package br.com.petfamily.canilapi.carga;
+
+import br.com.petfamily.canilapi.model.Cachorro;
+import br.com.petfamily.canilapi.model.Despesa;
+import br.com.petfamily.canilapi.model.Ninhada;
+import br.com.petfamily.canilapi.model.Sexo;
+import br.com.petfamily.canilapi.model.StatusCachorro;
+import br.com.petfamily.canilapi.model.Tutor;
+import br.com.petfamily.canilapi.model.Venda;
+import br.com.petfamily.canilapi.repository.CachorroRepository;
+import br.com.petfamily.canilapi.repository.NinhadaRepository;
+import br.com.petfamily.canilapi.repository.TutorRepository;
+import br.com.petfamily.canilapi.service.AtividadeService;
+import br.com.petfamily.canilapi.service.CustoCachorroService;
+import br.com.petfamily.canilapi.service.ResumoFinanceiroService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Cria a massa sintética do canil direto pelos repositórios (mais rápido que pela API), em transações
+ * de até {@link #LOTE} cachorros. Depois reconstrói o resumo financeiro e o feed de atividades,
+ * como aconteceria numa base com histórico.
+ */
+class Semeador {
+
+    private static final Logger log = LoggerFactory.getLogger(Semeador.class);
+
+    private static final int LOTE = 1_000;
+    private static final String[] RACAS = {"Golden Retriever", "Labrador", "Border Collie", "Shih Tzu", "Spitz Alemão", "Bulldog Francês"};
+    // Fração dos cachorros criados que já foi vendida
+    private static final double VENDIDOS = 0.1;
+
+    private final TutorRepository tutorRepository;
+    private final CachorroRepository cachorroRepository;
+    private final NinhadaRepository ninhadaRepository;
+    private final ResumoFinanceiroService resumoFinanceiroService;
+    private final CustoCachorroService custoCachorroService;
+    private final AtividadeService atividadeService;
+    private final TransactionTemplate transacao;
+    private final SplittableRandom random;
+    private final LocalDate hoje = LocalDate.now();
+
+    Semeador(ApplicationContext contexto, long semente) {
+        this.tutorRepository = contexto.getBean(TutorRepository.class);
+        this.cachorroRepository = contexto.getBean(CachorroRepository.class);
+        this.ninhadaRepository = contexto.getBean(NinhadaRepository.class);
+        this.resumoFinanceiroService = contexto.getBean(ResumoFinanceiroService.class);
+        this.custoCachorroService = contexto.getBean(CustoCachorroService.class);
+        this.atividadeService = contexto.getBean(AtividadeService.class);
+        this.transacao = new TransactionTemplate(contexto.getBean(PlatformTransactionManager.class));
+        this.random = new SplittableRandom(semente);
+    }
+
+    Canil semear(Configuracao config) {
+        long inicio = System.nanoTime();
+
+        List<Long> tutores = new ArrayList<>(config.tutores());
+        for (int desde = 0; desde < config.tutores(); desde += LOTE) {
+            int ate = Math.min(desde + LOTE, config.tutores());
+            List<Integer> numeros = ids(desde, ate);
+            tutores.addAll(transacao.execute(status -> criarTutores(numeros)));
+        }
+
+        List<Long> matrizes = transacao.execute(status -> criarReprodutores("Matriz", Sexo.FEMEA, config.matrizes()));
+        List<Long> padreadores = transacao.execute(status -> criarReprodutores("Padreador", Sexo.MACHO, config.padreadores()));
+
+        List<Long> disponiveis = new ArrayList<>();
+        List<Long> cachorros = new ArrayList<>(config.cachorros());
+        for (int desde = 0; desde < config.cachorros(); desde += LOTE) {
+            int ate = Math.min(desde + LOTE, config.cachorros());
+            List<Integer> numeros = ids(desde, ate);
+            List<Cachorro> criados = transacao.execute(status -> criarCachorros(numeros, tutores, config.despesasPorCachorro()));
+            for (Cachorro cachorro : criados) {
+                cachorros.add(cachorro.getId());
+                if (!cachorro.isFoiVendido()) {
+                    disponiveis.add(cachorro.getId());
+                }
+            }
+        }
+
+        List<Long> ninhadas = new ArrayList<>(config.ninhadas());
+        for (int desde = 0; desde < config.ninhadas(); desde += LOTE) {
+            int quantidade = Math.min(LOTE, config.ninhadas() - desde);
+            ninhadas.addAll(transacao.execute(status -> criarNinhadas(quantidade, matrizes, padreadores)));
+        }
+
+        resumoFinanceiroService.reconstruir();
+        // A massa é gravada pelas entidades, sem os incrementos de custo: a reconciliação preenche custo e lucro
+        custoCachorroService.reconciliar();
+        atividadeService.importarHistoricoSeVazio();
+
+        log.info("Massa criada em {} ms: {} tutores, {} cachorros ({} disponíveis), {} matrizes, {} padreadores e {} ninhadas.",
+                (System.nanoTime() - inicio) / 1_000_000, tutores.size(), cachorros.size(), disponiveis.size(),
+                matrizes.size(), padreadores.size(), ninhadas.size());
+        return new Canil(tutores, cachorros, disponiveis, matrizes, padreadores, ninhadas);
+    }
+
+    private List<Long> criarTutores(List<Integer> numeros) {
+        List<Tutor> tutores = numeros.stream()
+                .map(n -> new Tutor("Tutor " + n, "119%08d".formatted(n), "tutor" + n + "@carga.canil"))
+                .toList();
+        return tutorRepository.saveAll(tutores).stream().map(Tutor::getId).toList();
+    }
+
+    private List<Long> criarReprodutores(String prefixo, Sexo sexo, int quantidade) {
+        List<Cachorro> reprodutores = new ArrayList<>(quantidade);
+        for (int i = 0; i < quantidade; i++) {
+            Cachorro cachorro = new Cachorro(prefixo + " " + i, sexo, hoje.minusYears(3).minusDays(random.nextInt(730)), raca(), null);
+            cachorro.setStatus(StatusCachorro.MATRIZ_PADREADOR);
+            reprodutores.add(cachorro);
+        }
+        return cachorroRepository.saveAll(reprodutores).stream().map(Cachorro::getId).toList();
+    }
+
+    private List<Cachorro> criarCachorros(List<Integer> numeros, List<Long> tutores, int despesasPorCachorro) {
+        List<Cachorro> cachorros = new ArrayList<>(numeros.size());
+        for (int n : numeros) {
+            Cachorro cachorro = new Cachorro("Cachorro " + n, random.nextBoolean() ? Sexo.MACHO : Sexo.FEMEA,
+                    hoje.minusDays(60 + random.nextInt(1_800)), raca(), null);
+            cachorro.setStatus(StatusCachorro.DISPONIVEL);
+            for (int d = 0; d < despesasPorCachorro; d++) {
+                cachorro.adicionarDespesa(new Despesa("Despesa " + d, valor(50, 800), hoje.minusDays(random.nextInt(90))));
+            }
+            if (random.nextDouble() < VENDIDOS) {
+                Tutor tutor = tutorRepository.getReferenceById(tutores.get(random.nextInt(tutores.size())));
+                cachorro.realizarVenda(new Venda(valor(1_500, 6_000), hoje.minusDays(random.nextInt(90)), cachorro, tutor));
+                cachorro.setStatus(StatusCachorro.VENDIDO);
+            }
+            cachorros.add(cachorro);
+        }
+        return cachorroRepository.saveAll(cachorros);
+    }
+
+    private List<Long> criarNinhadas(int quantidade, List<Long> matrizes, List<Long> padreadores) {
+        List<Ninhada> ninhadas = new ArrayList<>(quantidade);
+        for (int i = 0; i < quantidade; i++) {
+            Cachorro mae = cachorroRepository.getReferenceById(matrizes.get(random.nextInt(matrizes.size())));
+            Cachorro pai = cachorroRepository.getReferenceById(padreadores.get(random.nextInt(padreadores.size())));
+            Ninhada ninhada = new Ninhada();
+            ninhada.setDataNascimento(hoje.minusDays(random.nextInt(1_000)));
+            ninhada.setMae(mae);
+            ninhada.setPai(pai);
+            for (int f = 0; f < Configuracao.FILHOTES_POR_NINHADA; f++) {
+                Cachorro filhote = new Cachorro("Filhote " + f, random.nextBoolean() ? Sexo.MACHO : Sexo.FEMEA,
+                        ninhada.getDataNascimento(), raca(), null);
+                filhote.setStatus(StatusCachorro.DISPONIVEL);
+                filhote.setPai(pai);
+                filhote.setMae(mae);
+                ninhada.adicionarFilhote(filhote);
+            }
+            ninhadas.add(ninhada);
+        }
+        return ninhadaRepository.saveAll(ninhadas).stream().map(Ninhada::getId).toList();
+    }
+
+    private String raca() {
+        return RACAS[random.nextInt(RACAS.length)];
+    }
+
+    private BigDecimal valor(int minimo, int maximo) {
+        return BigDecimal.valueOf(minimo * 100L + random.nextInt((maximo - minimo) * 100), 2);
+    }
+
+    private static List<Integer> ids(int desde, int ate) {
+        List<Integer> numeros = new ArrayList<>(ate - desde);
+        for (int i = desde; i < ate; i++) {
+            numeros.add(i);
+        }
+        return numeros;
+    }
+
+    /**
+     * Ids da massa criada, usados para montar as requisições.
+     *
+     * @param disponiveis Cachorros ainda não vendidos; cada venda do teste consome um.
+     */
+    record Canil(List<Long> tutores, List<Long> cachorros, List<Long> disponiveis,
+                 List<Long> matrizes, List<Long> padreadores, List<Long> ninhadas) {
+    }
+}
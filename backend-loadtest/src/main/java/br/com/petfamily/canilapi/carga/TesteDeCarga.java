@@ -0,0 +1,44 @@
+package br.com.petfamily.canilapi.carga;
+
+import br.com.petfamily.canilapi.BackendApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.Locale;
+
+/**
+ * Teste de carga de ponta a ponta: sobe o backend neste processo (perfil "carga", H2 em modo PostgreSQL,
+ * porta aleatória), cria uma massa sintética de canil e dispara um mix de requisições HTTP numa taxa fixa.
+ * Ao final imprime vazão e latências p50/p99/p999 por endpoint.
+ * <p>
+ * Parâmetros (todos opcionais, ver {@link Configuracao}):
+ * --taxa=100 --duracao=60 --aquecimento=10 --tutores=500 --cachorros=5000 --matrizes=50
+ * --padreadores=20 --ninhadas=500 --despesas=5 --semente=42 --virtuais=true
+ */
+public final class TesteDeCarga {
+
+    private TesteDeCarga() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Configuracao config = Configuracao.deArgumentos(args);
+
+        try (ConfigurableApplicationContext contexto = new SpringApplicationBuilder(BackendApplication.class)
+                .profiles("carga")
+                .run("--server.port=0", "--spring.threads.virtual.enabled=" + config.virtuais())) {
+            int porta = ((WebServerApplicationContext) contexto).getWebServer().getPort();
+            Semeador.Canil canil = new Semeador(contexto, config.semente()).semear(config);
+
+            MixDeRequisicoes mix = new MixDeRequisicoes("http://localhost:" + porta, canil, config.semente());
+            System.out.printf(Locale.ROOT, "Disparando %d req/s por %d s (%d s de aquecimento), threads %s...%n",
+                    config.taxa(), config.duracao().toSeconds(), config.aquecimento().toSeconds(),
+                    config.virtuais() ? "virtuais" : "de plataforma");
+            Latencias latencias = new GeradorDeCarga(mix).executar(config);
+
+            double segundosMedidos = config.duracao().minus(config.aquecimento()).toMillis() / 1000.0;
+            System.out.println();
+            System.out.print(latencias.relatorio(segundosMedidos));
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package br.com.petfamily.canilapi.config;
+
+import br.com.petfamily.canilapi.infra.persistence.MedicaoSql;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+@Configuration
+public class MedicaoSqlConfig {
+
+    // Envolve o DataSource para que o MedicaoSqlFilter conte os comandos e o tempo de JDBC de cada requisição.
+    // O DelegatingDataSource continua respondendo a unwrap(), então as métricas do Hikari enxergam o pool.
+    @Bean
+    static BeanPostProcessor medicaoSqlPostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                return bean instanceof DataSource dataSource ? MedicaoSql.envolver(dataSource) : bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,38 @@
+package br.com.petfamily.canilapi.config;
+
+import io.micrometer.common.KeyValue;
+import io.micrometer.common.KeyValues;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.server.observation.DefaultServerRequestObservationConvention;
+import org.springframework.http.server.observation.ServerRequestObservationContext;
+import org.springframework.http.server.observation.ServerRequestObservationConvention;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+@Configuration
+public class MetricasConfig {
+
+    /**
+     * Acrescenta ao timer {@code http.server.requests} a tag {@code handler} ("CachorroController#listar"),
+     * para separar os endpoints por método do controller além de uri/método HTTP.
+     */
+    @Bean
+    public ServerRequestObservationConvention convencaoRequisicoes() {
+        return new DefaultServerRequestObservationConvention() {
+            @Override
+            public KeyValues getLowCardinalityKeyValues(ServerRequestObservationContext context) {
+                return super.getLowCardinalityKeyValues(context).and(handler(context));
+            }
+        };
+    }
+
+    private static KeyValue handler(ServerRequestObservationContext context) {
+        // Preenchido pelo DispatcherServlet ao escolher o método; ausente em 404 sem rota e recursos estáticos
+        Object handler = context.getCarrier().getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE);
+        if (handler instanceof HandlerMethod metodo) {
+            return KeyValue.of("handler", metodo.getBeanType().getSimpleName() + "#" + metodo.getMethod().getName());
+        }
+        return KeyValue.of("handler", "none");
+    }
+}
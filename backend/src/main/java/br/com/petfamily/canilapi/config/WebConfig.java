@@ -28,7 +28,9 @@ public class WebConfig implements WebMvcConfigurer {
 
             registry.addMapping("/**") // Aplica a configuração a todos os endpoints da API
                     .allowedOriginPatterns(originPatterns) // Usa o método correto para wildcards
-                    .allowedMethods("GET", "POST", "PUT", "DELETE", "OPTIONS") // Métodos HTTP permitidos
+                    .allowedMethods("GET", "POST", "PUT", "PATCH", "DELETE", "OPTIONS") // Métodos HTTP permitidos
+                    // Idade/validade dos dados em cache do dashboard; ETag para GET condicional e If-Match
+                    .exposedHeaders("Age", "X-Cache-Stale", "ETag")
                     .allowCredentials(true); // Permite o envio de cookies (importante para sessões)
         }
     }
@@ -0,0 +1,33 @@
+package br.com.petfamily.canilapi.controller;
+
+import br.com.petfamily.canilapi.controller.dto.ResultadoBuscaDTO;
+import br.com.petfamily.canilapi.service.BuscaService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/busca")
+public class BuscaController {
+
+    private final BuscaService buscaService;
+
+    public BuscaController(BuscaService buscaService) {
+        this.buscaService = buscaService;
+    }
+
+    /**
+     * Busca por nome e raça de cachorros e nome, e-mail e telefone de tutores, com prefixo e tolerância a erros
+     * de digitação, ordenada por relevância. Servida do índice em memória (typeahead).
+     * Rota: GET /busca?q=rex&limite=10
+     */
+    @GetMapping
+    public ResponseEntity<List<ResultadoBuscaDTO>> buscar(@RequestParam(defaultValue = "") String q,
+                                                          @RequestParam(defaultValue = "10") int limite) {
+        return ResponseEntity.ok(buscaService.buscar(q, limite));
+    }
+}
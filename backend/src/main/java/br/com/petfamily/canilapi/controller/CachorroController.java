@@ -1,17 +1,19 @@
 package br.com.petfamily.canilapi.controller;
 
 import br.com.petfamily.canilapi.controller.dto.*;
+import br.com.petfamily.canilapi.infra.pagination.Cursor;
 import br.com.petfamily.canilapi.model.Cachorro;
 import br.com.petfamily.canilapi.model.Despesa;
-import br.com.petfamily.canilapi.model.Venda;
 import br.com.petfamily.canilapi.service.CachorroService;
 import br.com.petfamily.canilapi.service.NinhadaService;
+import br.com.petfamily.canilapi.service.PedigreeService;
 import br.com.petfamily.canilapi.service.VendaService;
 import jakarta.validation.Valid;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import java.net.URI;
@@ -25,23 +27,57 @@ public class CachorroController {
     private final CachorroService cachorroService;
     private final VendaService vendaService;
     private final NinhadaService ninhadaService;
+    private final PedigreeService pedigreeService;
 
-    public CachorroController(CachorroService cachorroService, VendaService vendaService, NinhadaService ninhadaService) {
+    public CachorroController(CachorroService cachorroService, VendaService vendaService, NinhadaService ninhadaService,
+                              PedigreeService pedigreeService) {
         this.cachorroService = cachorroService;
         this.vendaService = vendaService;
         this.ninhadaService = ninhadaService;
+        this.pedigreeService = pedigreeService;
     }
 
+    /**
+     * Página de cachorros com as facetas (contagens por status, raça e sexo) do filtro.
+     * Rota: GET /cachorros?status=DISPONIVEL&raca=Labrador&sexo=FEMEA&nascimentoInicio=2024-01-01&page=0&size=20
+     */
     @GetMapping
-    public ResponseEntity<Page<CachorroResponseDTO>> listarPaginados(Pageable pageable) {
-        Page<CachorroResponseDTO> pageDeDtos = cachorroService.listarTodosPaginado(pageable);
-        return ResponseEntity.ok(pageDeDtos);
+    public ResponseEntity<CachorroPaginaDTO> listarPaginados(CachorroFiltroDTO filtro, Pageable pageable, WebRequest request) {
+        // O ETag da coleção vem dos contadores de alteração: um GET condicional que confere não monta a página
+        String etag = cachorroService.etagListagem();
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        return ResponseEntity.ok().eTag(etag).body(cachorroService.listarPaginado(filtro, pageable));
+    }
+
+    /**
+     * Modo opcional de paginação por cursor: ativado pela presença do parâmetro {@code after}
+     * (vazio na primeira página). Não calcula total de elementos. Aceita os mesmos filtros.
+     * Rota: GET /cachorros?after=&size=20
+     */
+    @GetMapping(params = "after")
+    public ResponseEntity<CursorPageResponseDTO<CachorroResponseDTO>> listarPorCursor(
+            @RequestParam String after,
+            @RequestParam(defaultValue = "" + Cursor.TAMANHO_PADRAO) int size,
+            CachorroFiltroDTO filtro,
+            WebRequest request) {
+        String etag = cachorroService.etagListagem();
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        return ResponseEntity.ok().eTag(etag).body(cachorroService.listarPorCursor(after, size, filtro));
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<CachorroResponseDTO> buscarPorId(@PathVariable Long id) {
+    public ResponseEntity<CachorroResponseDTO> buscarPorId(@PathVariable Long id, WebRequest request) {
+        // Só a versão é lida antes: com If-None-Match conferindo, responde 304 sem montar o DTO
+        String etag = cachorroService.etag(id);
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
         CachorroResponseDTO cachorroDTO = cachorroService.buscarDTOPorId(id);
-        return ResponseEntity.ok(cachorroDTO);
+        return ResponseEntity.ok().eTag(etag).body(cachorroDTO);
     }
 
     @PostMapping
@@ -83,9 +119,10 @@ public class CachorroController {
 
     @PutMapping("/{id}")
     public ResponseEntity<CachorroResponseDTO> atualizar(@PathVariable Long id,
-                                                         @RequestBody @Valid CachorroRequestDTO dto) {
-        Cachorro cachorroAtualizado = cachorroService.atualizar(id, dto);
-        return ResponseEntity.ok(new CachorroResponseDTO(cachorroAtualizado));
+                                                         @RequestBody @Valid CachorroRequestDTO dto,
+                                                         @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        Cachorro cachorroAtualizado = cachorroService.atualizar(id, dto, ifMatch);
+        return ResponseEntity.ok().eTag(cachorroService.etag(cachorroAtualizado)).body(new CachorroResponseDTO(cachorroAtualizado));
     }
 
     @GetMapping("/{id}/relatorio-financeiro")
@@ -97,23 +134,24 @@ public class CachorroController {
     @PatchMapping("/{id}")
     public ResponseEntity<CachorroResponseDTO> atualizarParcial(
             @PathVariable Long id,
-            @RequestBody Map<String, Object> campos) {
-        Cachorro cachorro = cachorroService.atualizarParcial(id, campos);
-        return ResponseEntity.ok(new CachorroResponseDTO(cachorro));
+            @RequestBody Map<String, Object> campos,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        Cachorro cachorro = cachorroService.atualizarParcial(id, campos, ifMatch);
+        return ResponseEntity.ok().eTag(cachorroService.etag(cachorro)).body(new CachorroResponseDTO(cachorro));
     }
 
     @PatchMapping("/{id}/status")
     public ResponseEntity<CachorroResponseDTO> atualizarStatus(
             @PathVariable Long id,
-            @RequestBody @Valid CachorroStatusUpdateDTO dto) {
-        Cachorro cachorroAtualizado = cachorroService.atualizarStatus(id, dto.status());
-        return ResponseEntity.ok(new CachorroResponseDTO(cachorroAtualizado));
+            @RequestBody @Valid CachorroStatusUpdateDTO dto,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        Cachorro cachorroAtualizado = cachorroService.atualizarStatus(id, dto.status(), ifMatch);
+        return ResponseEntity.ok().eTag(cachorroService.etag(cachorroAtualizado)).body(new CachorroResponseDTO(cachorroAtualizado));
     }
 
     @PostMapping("/{id}/vender")
     public ResponseEntity<VendaResponseDTO> vender(@PathVariable Long id, @RequestBody @Valid VendaRequestDTO dto) {
-        Venda vendaRealizada = vendaService.realizarVenda(id, dto);
-        return ResponseEntity.ok(new VendaResponseDTO(vendaRealizada));
+        return ResponseEntity.ok(vendaService.realizarVenda(id, dto));
     }
 
     @GetMapping("/{id}/ninhadas")
@@ -122,9 +160,35 @@ public class CachorroController {
         return ResponseEntity.ok(ninhadas);
     }
 
+    @GetMapping(value = "/{id}/ninhadas", params = "after")
+    public ResponseEntity<CursorPageResponseDTO<NinhadaResponseDTO>> listarNinhadasDaMaePorCursor(
+            @PathVariable Long id,
+            @RequestParam String after,
+            @RequestParam(defaultValue = "" + Cursor.TAMANHO_PADRAO) int size) {
+        return ResponseEntity.ok(ninhadaService.listarNinhadasDeUmaMaePorCursor(id, after, size));
+    }
+
+    /**
+     * Árvore genealógica do cachorro, respondida pelo índice em memória.
+     * Rota: GET /cachorros/{id}/pedigree?geracoes=N
+     */
+    @GetMapping("/{id}/pedigree")
+    public ResponseEntity<PedigreeNoDTO> buscarPedigree(@PathVariable Long id,
+                                                        @RequestParam(defaultValue = "3") int geracoes) {
+        return ResponseEntity.ok(pedigreeService.buscarPedigree(id, geracoes));
+    }
+
+    /**
+     * Coeficiente de endogamia (Wright) do cachorro, sobre todo o pedigree conhecido.
+     * Rota: GET /cachorros/{id}/coi
+     */
+    @GetMapping("/{id}/coi")
+    public ResponseEntity<CoiResponseDTO> calcularCoi(@PathVariable Long id) {
+        return ResponseEntity.ok(pedigreeService.calcularCoi(id));
+    }
+
     @PostMapping("/{id}/vender-flex")
     public ResponseEntity<VendaResponseDTO> venderFlex(@PathVariable Long id, @RequestBody @Valid VendaRequestFlexDTO dto) {
-        Venda vendaRealizada = vendaService.realizarVendaFlex(id, dto);
-        return ResponseEntity.ok(new VendaResponseDTO(vendaRealizada));
+        return ResponseEntity.ok(vendaService.realizarVendaFlex(id, dto));
     }
 }
\ No newline at end of file
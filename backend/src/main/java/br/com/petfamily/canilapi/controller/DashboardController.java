@@ -1,45 +1,97 @@
 package br.com.petfamily.canilapi.controller;
 
 import br.com.petfamily.canilapi.controller.dto.AtividadeRecenteDTO;
+import br.com.petfamily.canilapi.controller.dto.CursorPageResponseDTO;
+import br.com.petfamily.canilapi.controller.dto.DashboardResumoDTO;
 import br.com.petfamily.canilapi.controller.dto.DashboardStatsDTO;
 import br.com.petfamily.canilapi.controller.dto.FinanceiroDashboardDTO;
+import br.com.petfamily.canilapi.infra.cache.CacheSwr.ValorEmCache;
+import br.com.petfamily.canilapi.infra.pagination.Cursor;
 import br.com.petfamily.canilapi.service.DashboardService;
+import br.com.petfamily.canilapi.service.ResumoFinanceiroService;
+import br.com.petfamily.canilapi.service.dashboard.DashboardCacheService;
+import br.com.petfamily.canilapi.service.dashboard.DashboardStreamService;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.time.LocalDate;
 import java.util.List;
 
 @RestController
 @RequestMapping("/dashboard")
 public class DashboardController {
 
+    // Presente (com valor true) quando o dado servido está vencido e não pôde ser atualizado
+    public static final String HEADER_CACHE_DESATUALIZADO = "X-Cache-Stale";
+
     private final DashboardService dashboardService;
+    private final DashboardCacheService dashboardCacheService;
+    private final ResumoFinanceiroService resumoFinanceiroService;
+    private final DashboardStreamService dashboardStreamService;
 
-    public DashboardController(DashboardService dashboardService) {
+    public DashboardController(DashboardService dashboardService, DashboardCacheService dashboardCacheService,
+                               ResumoFinanceiroService resumoFinanceiroService, DashboardStreamService dashboardStreamService) {
         this.dashboardService = dashboardService;
+        this.dashboardCacheService = dashboardCacheService;
+        this.resumoFinanceiroService = resumoFinanceiroService;
+        this.dashboardStreamService = dashboardStreamService;
     }
 
     /**
-     * Endpoint para obter as estatísticas principais para os cards.
+     * Estatísticas, financeiro dos últimos 30 dias e atividades recentes numa resposta só (servidos do cache).
+     * Rota: GET /dashboard/resumo
+     */
+    @GetMapping("/resumo")
+    public ResponseEntity<DashboardResumoDTO> getResumo() {
+        return responderDoCache(dashboardCacheService.getResumo());
+    }
+
+    /**
+     * Endpoint para obter as estatísticas principais para os cards (servidas do cache).
      * Rota: GET /dashboard/stats
      */
     @GetMapping("/stats")
     public ResponseEntity<DashboardStatsDTO> getStats() {
-        DashboardStatsDTO stats = dashboardService.getStats();
-        return ResponseEntity.ok(stats);
+        return responderDoCache(dashboardCacheService.getStats());
     }
 
     /**
-     * Endpoint para obter o resumo financeiro dos últimos 30 dias.
+     * Endpoint para obter o resumo financeiro dos últimos 30 dias (servido do cache).
      * Rota: GET /dashboard/financeiro-30-dias
      */
     @GetMapping("/financeiro-30-dias")
     public ResponseEntity<FinanceiroDashboardDTO> getFinanceiroResumo() {
-        FinanceiroDashboardDTO dto = dashboardService.getFinanceiroUltimos30Dias();
-        return ResponseEntity.ok(dto);
+        return responderDoCache(dashboardCacheService.getFinanceiroUltimos30Dias());
+    }
+
+    /**
+     * Resumo financeiro de um período qualquer (datas inclusivas e opcionais; sem datas, todo o histórico).
+     * Rota: GET /dashboard/financeiro?inicio=2024-01-01&fim=2024-12-31
+     */
+    @GetMapping("/financeiro")
+    public ResponseEntity<FinanceiroDashboardDTO> getFinanceiroPorPeriodo(
+            @RequestParam(required = false) LocalDate inicio,
+            @RequestParam(required = false) LocalDate fim) {
+        return ResponseEntity.ok(dashboardService.getFinanceiroPorPeriodo(inicio, fim));
+    }
+
+    /**
+     * Recria o resumo financeiro diário a partir das vendas e despesas (backfill).
+     * Não deve rodar junto com lançamentos: vendas e despesas ficam bloqueadas para escrita até ela terminar.
+     * Rota: POST /dashboard/financeiro/reconstruir
+     */
+    @PostMapping("/financeiro/reconstruir")
+    public ResponseEntity<Void> reconstruirResumoFinanceiro() {
+        resumoFinanceiroService.reconstruir();
+        return ResponseEntity.noContent().build();
     }
 
     /**
@@ -48,7 +100,38 @@ public class DashboardController {
      */
     @GetMapping("/atividades-recentes")
     public ResponseEntity<List<AtividadeRecenteDTO>> getAtividadesRecentes() {
-        List<AtividadeRecenteDTO> atividades = dashboardService.getAtividadesRecentes();
-        return ResponseEntity.ok(atividades);
+        return responderDoCache(dashboardCacheService.getAtividadesRecentes());
+    }
+
+    /**
+     * "Carregar mais" do feed de atividades, por cursor (vazio na primeira página).
+     * Rota: GET /dashboard/atividades-recentes?after=&size=20
+     */
+    @GetMapping(value = "/atividades-recentes", params = "after")
+    public ResponseEntity<CursorPageResponseDTO<AtividadeRecenteDTO>> getAtividadesPorCursor(
+            @RequestParam String after,
+            @RequestParam(defaultValue = "" + Cursor.TAMANHO_PADRAO) int size) {
+        return ResponseEntity.ok(dashboardService.getAtividadesPorCursor(after, size));
+    }
+
+    /**
+     * Stream SSE do dashboard: envia o estado atual de "estatisticas" e "financeiro" ao conectar
+     * e depois apenas alterações ("estatisticas", "financeiro", "atividade") após cada commit.
+     * Rota: GET /dashboard/stream
+     */
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter stream() {
+        return dashboardStreamService.assinar();
+    }
+
+    /**
+     * Informa a idade do dado (header Age) e, se ele está vencido sem conseguir atualizar, o header X-Cache-Stale.
+     */
+    private static <T> ResponseEntity<T> responderDoCache(ValorEmCache<T> cache) {
+        var resposta = ResponseEntity.ok().header(HttpHeaders.AGE, String.valueOf(cache.idadeSegundos()));
+        if (cache.desatualizado()) {
+            resposta.header(HEADER_CACHE_DESATUALIZADO, "true");
+        }
+        return resposta.body(cache.valor());
     }
-}
\ No newline at end of file
+}
@@ -1,26 +1,38 @@
 package br.com.petfamily.canilapi.controller;
 
+import br.com.petfamily.canilapi.controller.dto.AnaliseDespesasDTO;
+import br.com.petfamily.canilapi.controller.dto.DespesaLoteRequestDTO;
+import br.com.petfamily.canilapi.controller.dto.DespesaLoteResponseDTO;
 import br.com.petfamily.canilapi.controller.dto.DespesaResponseDTO; // Importe o novo DTO
-import br.com.petfamily.canilapi.model.Despesa;
+import br.com.petfamily.canilapi.service.DespesaAnaliseService;
+import br.com.petfamily.canilapi.service.DespesaLoteService;
 import br.com.petfamily.canilapi.service.DespesaService;
+import jakarta.validation.Valid;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import java.time.LocalDate;
 import java.util.List;
-import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/despesas")
 public class DespesaController {
 
     private final DespesaService despesaService;
+    private final DespesaAnaliseService despesaAnaliseService;
+    private final DespesaLoteService despesaLoteService;
 
-    public DespesaController(DespesaService despesaService) {
+    public DespesaController(DespesaService despesaService, DespesaAnaliseService despesaAnaliseService,
+                             DespesaLoteService despesaLoteService) {
         this.despesaService = despesaService;
+        this.despesaAnaliseService = despesaAnaliseService;
+        this.despesaLoteService = despesaLoteService;
     }
 
     @GetMapping
@@ -29,14 +41,30 @@ public class DespesaController {
             @RequestParam LocalDate inicio,
             @RequestParam LocalDate fim) {
 
-        // 2. O serviço continua retornando a lista de entidades.
-        List<Despesa> despesas = despesaService.listarDespesasPorPeriodo(inicio, fim);
-
-        // 3. O controller assume a responsabilidade de converter a lista de Entidades para DTOs.
-        List<DespesaResponseDTO> dtos = despesas.stream()
-                .map(DespesaResponseDTO::new) // Usa o construtor que criamos no DTO
-                .collect(Collectors.toList());
+        // 2. O serviço já devolve os DTOs, lidos por projeção.
+        List<DespesaResponseDTO> dtos = despesaService.listarDespesasPorPeriodo(inicio, fim);
 
         return ResponseEntity.ok(dtos);
     }
-}
\ No newline at end of file
+
+    /**
+     * Totais de despesas agrupados por categoria, ano, mês e/ou raça.
+     * Ex.: GET /despesas/analise?agrupar=categoria,mes&inicio=2025-01-01&fim=2025-12-31
+     */
+    @GetMapping("/analise")
+    public ResponseEntity<AnaliseDespesasDTO> analisar(
+            @RequestParam(defaultValue = "categoria") String agrupar,
+            @RequestParam(required = false) LocalDate inicio,
+            @RequestParam(required = false) LocalDate fim) {
+        return ResponseEntity.ok(despesaAnaliseService.analisar(agrupar, inicio, fim));
+    }
+
+    /**
+     * Lança a mesma despesa para vários cachorros (ids, ninhada, status ou todos), com o valor dividido
+     * em partes iguais, por pesos ou fixo por cachorro. Tudo ou nada: uma transação só.
+     */
+    @PostMapping("/lote")
+    public ResponseEntity<DespesaLoteResponseDTO> lancarEmLote(@RequestBody @Valid DespesaLoteRequestDTO dto) {
+        return ResponseEntity.status(HttpStatus.CREATED).body(despesaLoteService.registrar(dto));
+    }
+}
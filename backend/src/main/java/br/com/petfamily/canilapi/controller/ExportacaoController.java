@@ -0,0 +1,48 @@
+package br.com.petfamily.canilapi.controller;
+
+import br.com.petfamily.canilapi.service.exportacao.ExportacaoService;
+import br.com.petfamily.canilapi.service.exportacao.FormatoExportacao;
+import br.com.petfamily.canilapi.service.exportacao.TipoExportacao;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+@RestController
+@RequestMapping("/export")
+public class ExportacaoController {
+
+    private final ExportacaoService exportacaoService;
+
+    public ExportacaoController(ExportacaoService exportacaoService) {
+        this.exportacaoService = exportacaoService;
+    }
+
+    /**
+     * Exporta todos os registros de uma entidade (tutores, cachorros, vendas ou despesas).
+     * A resposta é escrita à medida que as linhas são lidas do banco.
+     * Ex.: GET /export/despesas?formato=ndjson
+     */
+    @GetMapping("/{entidade}")
+    public ResponseEntity<StreamingResponseBody> exportar(
+            @PathVariable String entidade,
+            @RequestParam(defaultValue = "csv") String formato) {
+        // Parâmetros validados antes de começar a resposta, para que um erro ainda vire 400
+        TipoExportacao tipo = TipoExportacao.deParametro(entidade);
+        FormatoExportacao formatoExportacao = FormatoExportacao.deParametro(formato);
+
+        StreamingResponseBody corpo = saida -> exportacaoService.exportar(tipo, formatoExportacao, saida);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(formatoExportacao.contentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename(tipo.nomeArquivo(formatoExportacao))
+                        .build().toString())
+                .body(corpo);
+    }
+}
@@ -0,0 +1,39 @@
+package br.com.petfamily.canilapi.controller;
+
+import br.com.petfamily.canilapi.controller.dto.ImportacaoResultadoDTO;
+import br.com.petfamily.canilapi.service.importacao.ImportacaoService;
+import br.com.petfamily.canilapi.service.importacao.TipoImportacao;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+@RestController
+@RequestMapping("/import")
+public class ImportacaoController {
+
+    private final ImportacaoService importacaoService;
+
+    public ImportacaoController(ImportacaoService importacaoService) {
+        this.importacaoService = importacaoService;
+    }
+
+    /**
+     * Importa em lote o arquivo enviado no corpo: CSV com cabeçalho (text/csv) ou NDJSON (application/x-ndjson).
+     * O corpo é lido como fluxo, sem ser carregado inteiro em memória.
+     * Ex.: curl -X POST 'localhost:8080/import?tipo=cachorros' -H 'Content-Type: text/csv' --data-binary @cachorros.csv
+     */
+    @PostMapping
+    public ResponseEntity<ImportacaoResultadoDTO> importar(
+            @RequestParam String tipo,
+            @RequestHeader(value = HttpHeaders.CONTENT_TYPE, required = false) String contentType,
+            InputStream corpo) throws IOException {
+        return ResponseEntity.ok(importacaoService.importar(TipoImportacao.deParametro(tipo), contentType, corpo));
+    }
+}
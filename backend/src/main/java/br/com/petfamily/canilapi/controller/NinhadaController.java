@@ -1,15 +1,20 @@
 package br.com.petfamily.canilapi.controller;
 
+import br.com.petfamily.canilapi.controller.dto.CursorPageResponseDTO;
 import br.com.petfamily.canilapi.controller.dto.NinhadaDetalhesDTO;
 import br.com.petfamily.canilapi.controller.dto.NinhadaRequestDTO;
 import br.com.petfamily.canilapi.controller.dto.NinhadaResponseDTO;
+import br.com.petfamily.canilapi.controller.dto.PlanejamentoCruzamentoDTO;
 // Removido o import do PaginatedResponseDTO
+import br.com.petfamily.canilapi.infra.pagination.Cursor;
 import br.com.petfamily.canilapi.service.NinhadaService;
+import br.com.petfamily.canilapi.service.PlanejamentoCruzamentoService;
 import jakarta.validation.Valid;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import java.net.URI;
@@ -19,9 +24,11 @@ import java.net.URI;
 public class NinhadaController {
 
     private final NinhadaService ninhadaService;
+    private final PlanejamentoCruzamentoService planejamentoCruzamentoService;
 
-    public NinhadaController(NinhadaService ninhadaService) {
+    public NinhadaController(NinhadaService ninhadaService, PlanejamentoCruzamentoService planejamentoCruzamentoService) {
         this.ninhadaService = ninhadaService;
+        this.planejamentoCruzamentoService = planejamentoCruzamentoService;
     }
 
     @PostMapping
@@ -40,16 +47,49 @@ public class NinhadaController {
     }
 
     @GetMapping
-    public ResponseEntity<Page<NinhadaResponseDTO>> listarNinhadas(Pageable pageable) {
+    public ResponseEntity<Page<NinhadaResponseDTO>> listarNinhadas(Pageable pageable, WebRequest request) {
+        String etag = ninhadaService.etagListagem();
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
         // O serviço já retorna Page<DTO>, que é um padrão robusto.
         Page<NinhadaResponseDTO> pageDeDtos = ninhadaService.listarTodasPaginado(pageable);
         // Retorna a pgina diretamente. O Spring se encarrega de serializar corretamente.
-        return ResponseEntity.ok(pageDeDtos);
+        return ResponseEntity.ok().eTag(etag).body(pageDeDtos);
+    }
+
+    // Paginação por cursor (opcional): GET /ninhadas?after=&size=20
+    @GetMapping(params = "after")
+    public ResponseEntity<CursorPageResponseDTO<NinhadaResponseDTO>> listarNinhadasPorCursor(
+            @RequestParam String after,
+            @RequestParam(defaultValue = "" + Cursor.TAMANHO_PADRAO) int size,
+            WebRequest request) {
+        String etag = ninhadaService.etagListagem();
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        return ResponseEntity.ok().eTag(etag).body(ninhadaService.listarTodasPorCursor(after, size));
+    }
+
+    /**
+     * Ranking dos padreadores (MATRIZ_PADREADOR) para a matriz, pelo menor COI projetado dos filhotes.
+     * Rota: GET /ninhadas/planejamento?maeId=1&top=10
+     */
+    @GetMapping("/planejamento")
+    public ResponseEntity<PlanejamentoCruzamentoDTO> planejarCruzamento(
+            @RequestParam Long maeId,
+            @RequestParam(defaultValue = "10") int top) {
+        return ResponseEntity.ok(planejamentoCruzamentoService.planejar(maeId, top));
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<NinhadaDetalhesDTO> buscarNinhadaPorId(@PathVariable Long id) {
+    public ResponseEntity<NinhadaDetalhesDTO> buscarNinhadaPorId(@PathVariable Long id, WebRequest request) {
+        // Só a versão é lida antes: com If-None-Match conferindo, responde 304 sem carregar a ninhada
+        String etag = ninhadaService.etag(id);
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
         NinhadaDetalhesDTO ninhadaDTO = ninhadaService.buscarNinhadaPorId(id);
-        return ResponseEntity.ok(ninhadaDTO);
+        return ResponseEntity.ok().eTag(etag).body(ninhadaDTO);
     }
 }
\ No newline at end of file
@@ -0,0 +1,43 @@
+package br.com.petfamily.canilapi.controller;
+
+import br.com.petfamily.canilapi.controller.dto.RentabilidadeFiltroDTO;
+import br.com.petfamily.canilapi.service.exportacao.FormatoExportacao;
+import br.com.petfamily.canilapi.service.exportacao.RelatorioRentabilidadeService;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+@RestController
+@RequestMapping("/relatorios")
+public class RelatorioController {
+
+    private final RelatorioRentabilidadeService rentabilidadeService;
+
+    public RelatorioController(RelatorioRentabilidadeService rentabilidadeService) {
+        this.rentabilidadeService = rentabilidadeService;
+    }
+
+    /**
+     * Custo, venda e lucro de todos os cachorros, uma linha por cachorro, escrita à medida que é lida do banco.
+     * Ex.: GET /relatorios/rentabilidade?raca=Labrador&foiVendido=true&sort=lucro,desc&formato=csv
+     */
+    @GetMapping("/rentabilidade")
+    public ResponseEntity<StreamingResponseBody> rentabilidade(
+            RentabilidadeFiltroDTO filtro,
+            Sort sort,
+            @RequestParam(defaultValue = "ndjson") String formato) {
+        // Parâmetros validados antes de começar a resposta, para que um erro ainda vire 400
+        FormatoExportacao formatoExportacao = FormatoExportacao.deParametro(formato);
+        RelatorioRentabilidadeService.Consulta consulta = rentabilidadeService.preparar(filtro, sort);
+
+        StreamingResponseBody corpo = saida -> rentabilidadeService.escrever(consulta, formatoExportacao, saida);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(formatoExportacao.contentType()))
+                .body(corpo);
+    }
+}
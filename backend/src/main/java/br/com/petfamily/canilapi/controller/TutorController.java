@@ -1,7 +1,9 @@
 package br.com.petfamily.canilapi.controller;
 
+import br.com.petfamily.canilapi.controller.dto.CursorPageResponseDTO;
 import br.com.petfamily.canilapi.controller.dto.TutorRequestDTO;
 import br.com.petfamily.canilapi.controller.dto.TutorResponseDTO;
+import br.com.petfamily.canilapi.infra.pagination.Cursor;
 import br.com.petfamily.canilapi.model.Tutor;
 import br.com.petfamily.canilapi.service.TutorService;
 import jakarta.validation.Valid;
@@ -9,8 +11,10 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.util.UriComponentsBuilder;
 
 import java.net.URI;
@@ -36,30 +40,56 @@ public class TutorController {
     }
 
     @GetMapping
-    public ResponseEntity<Page<TutorResponseDTO>> listarPaginados(@PageableDefault(size = 10, sort = "nome") Pageable pageable) {
+    public ResponseEntity<Page<TutorResponseDTO>> listarPaginados(@PageableDefault(size = 10, sort = "nome") Pageable pageable,
+                                                                  WebRequest request) {
+        String etag = tutorService.etagListagem();
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
         Page<TutorResponseDTO> paginaDeTutores = tutorService.listarTodosPaginado(pageable);
-        return ResponseEntity.ok(paginaDeTutores);
+        return ResponseEntity.ok().eTag(etag).body(paginaDeTutores);
+    }
+
+    // Paginação por cursor (opcional): GET /tutores?after=&size=20
+    @GetMapping(params = "after")
+    public ResponseEntity<CursorPageResponseDTO<TutorResponseDTO>> listarPorCursor(
+            @RequestParam String after,
+            @RequestParam(defaultValue = "" + Cursor.TAMANHO_PADRAO) int size,
+            WebRequest request) {
+        String etag = tutorService.etagListagem();
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        return ResponseEntity.ok().eTag(etag).body(tutorService.listarPorCursor(after, size));
     }
 
     @GetMapping("/todos")
-    public ResponseEntity<List<TutorResponseDTO>> listarTodos() {
+    public ResponseEntity<List<TutorResponseDTO>> listarTodos(WebRequest request) {
+        String etag = tutorService.etagListagem();
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
         List<TutorResponseDTO> todosOsTutores = tutorService.listarTodos();
-        return ResponseEntity.ok(todosOsTutores);
+        return ResponseEntity.ok().eTag(etag).body(todosOsTutores);
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<TutorResponseDTO> buscarPorId(@PathVariable Long id) {
+    public ResponseEntity<TutorResponseDTO> buscarPorId(@PathVariable Long id, WebRequest request) {
+        // Só a versão é lida antes: com If-None-Match conferindo, responde 304 sem montar o DTO
+        String etag = tutorService.etag(id);
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
         TutorResponseDTO tutor = tutorService.buscarPorIdDTO(id);
-        return ResponseEntity.ok(tutor);
+        return ResponseEntity.ok().eTag(etag).body(tutor);
     }
 
     @PutMapping("/{id}")
-    public ResponseEntity<TutorResponseDTO> atualizar(@PathVariable Long id, @RequestBody @Valid TutorRequestDTO dto) {
-        // 1. O serviço agora retorna o DTO diretamente
-        TutorResponseDTO tutorAtualizadoDTO = tutorService.atualizar(id, dto);
-
-        // 2. Simplesmente retorne o DTO recebido com o status OK
-        return ResponseEntity.ok(tutorAtualizadoDTO);
+    public ResponseEntity<TutorResponseDTO> atualizar(@PathVariable Long id, @RequestBody @Valid TutorRequestDTO dto,
+                                                      @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        // O serviço devolve a entidade já com a versão nova e os cachorros carregados
+        Tutor tutorAtualizado = tutorService.atualizar(id, dto, ifMatch);
+        return ResponseEntity.ok().eTag(tutorService.etag(tutorAtualizado)).body(new TutorResponseDTO(tutorAtualizado));
     }
 
     @DeleteMapping("/{id}")
@@ -0,0 +1,18 @@
+package br.com.petfamily.canilapi.controller.dto;
+
+import br.com.petfamily.canilapi.model.DimensaoDespesa;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+
+public record AnaliseDespesasDTO(
+        LocalDate inicio,
+        LocalDate fim,
+        Set<DimensaoDespesa> agrupamento,
+        BigDecimal total,
+        long quantidade,
+        List<LinhaAnaliseDespesaDTO> linhas
+) {
+}
@@ -1,5 +1,7 @@
 package br.com.petfamily.canilapi.controller.dto;
 
+import br.com.petfamily.canilapi.model.Atividade;
+
 import java.time.LocalDateTime;
 public record AtividadeRecenteDTO(
         String tipo,
@@ -7,4 +9,7 @@ public record AtividadeRecenteDTO(
         LocalDateTime data,
         Long entidadeId
 ) {
+    public AtividadeRecenteDTO(Atividade atividade) {
+        this(atividade.getTipo().name(), atividade.getDescricao(), atividade.getDataHora(), atividade.getEntidadeId());
+    }
 }
@@ -0,0 +1,49 @@
+package br.com.petfamily.canilapi.controller.dto;
+
+import br.com.petfamily.canilapi.model.Sexo;
+import br.com.petfamily.canilapi.model.StatusCachorro;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+/**
+ * Filtros de GET /cachorros, lidos dos parâmetros da URL. Todos são opcionais e se combinam com E;
+ * {@code status} aceita vários valores ({@code ?status=DISPONIVEL&status=RESERVADO}), combinados com OU.
+ */
+public record CachorroFiltroDTO(
+        List<StatusCachorro> status,
+        String raca,
+        Sexo sexo,
+        @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate nascimentoInicio,
+        @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate nascimentoFim,
+        Long tutorId,
+        Boolean foiVendido
+) {
+
+    public static final CachorroFiltroDTO VAZIO = new CachorroFiltroDTO(null, null, null, null, null, null, null);
+
+    public CachorroFiltroDTO {
+        // Ordem e repetições de status não mudam o resultado, nem devem mudar a assinatura
+        status = status == null ? List.of() : status.stream().filter(Objects::nonNull).distinct().sorted().toList();
+        raca = raca == null || raca.isBlank() ? null : raca.strip();
+    }
+
+    public boolean vazio() {
+        return status.isEmpty() && raca == null && sexo == null && nascimentoInicio == null && nascimentoFim == null
+                && tutorId == null && foiVendido == null;
+    }
+
+    /**
+     * Identifica o conjunto filtrado: dois filtros com a mesma assinatura selecionam os mesmos cachorros.
+     * Chave do cache de facetas.
+     */
+    public String assinatura() {
+        return status.stream().map(Enum::name).collect(Collectors.joining(","))
+                + "|" + Objects.toString(raca, "") + "|" + Objects.toString(sexo, "")
+                + "|" + Objects.toString(nascimentoInicio, "") + "|" + Objects.toString(nascimentoFim, "")
+                + "|" + Objects.toString(tutorId, "") + "|" + Objects.toString(foiVendido, "");
+    }
+}
@@ -0,0 +1,32 @@
+package br.com.petfamily.canilapi.controller.dto;
+
+import org.springframework.data.domain.Page;
+
+import java.util.List;
+
+/**
+ * Página de GET /cachorros: os campos de paginação de {@link PaginatedResponseDTO} mais as facetas do filtro.
+ */
+public record CachorroPaginaDTO(
+        List<CachorroResponseDTO> content,
+        int number,
+        int size,
+        long totalElements,
+        int totalPages,
+        boolean first,
+        boolean last,
+        FacetasCachorrosDTO facetas
+) {
+    public CachorroPaginaDTO(Page<CachorroResponseDTO> page, FacetasCachorrosDTO facetas) {
+        this(
+                page.getContent(),
+                page.getNumber(),
+                page.getSize(),
+                page.getTotalElements(),
+                page.getTotalPages(),
+                page.isFirst(),
+                page.isLast(),
+                facetas
+        );
+    }
+}
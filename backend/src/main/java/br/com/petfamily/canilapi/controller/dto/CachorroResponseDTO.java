@@ -3,7 +3,9 @@ package br.com.petfamily.canilapi.controller.dto;
 import br.com.petfamily.canilapi.model.Cachorro;
 import br.com.petfamily.canilapi.model.Sexo;
 import br.com.petfamily.canilapi.model.StatusCachorro;
+import br.com.petfamily.canilapi.repository.projection.CachorroListagemProjection;
 
+import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.stream.Collectors;
@@ -16,6 +18,8 @@ public record CachorroResponseDTO(
         LocalDate dataNascimento,
         StatusCachorro status,
         boolean foiVendido,
+        BigDecimal custoAcumulado,
+        BigDecimal lucro,
         TutorInfoDTO tutor,
         List<DespesaInfoDTO> despesas
 ) {
@@ -29,12 +33,31 @@ public record CachorroResponseDTO(
                 cachorro.getDataNascimento(),
                 cachorro.getStatus(),
                 cachorro.isFoiVendido(),
+                cachorro.getCustoAcumulado(),
+                cachorro.getLucro(),
                 // Mapeia o tutor, se existir
                 cachorro.getTutor() != null ? new TutorInfoDTO(cachorro.getTutor().getId(), cachorro.getTutor().getNome()) : null,
                 // Mapeia a lista de despesas
                 cachorro.getHistoricoDespesas().stream()
-                        .map(d -> new DespesaInfoDTO(d.getId(), d.getDescricao(), d.getValor(), d.getData()))
+                        .map(DespesaInfoDTO::new)
                         .collect(Collectors.toList())
         );
     }
+
+    // Mapeamento a partir da projeção de leitura, com as despesas já buscadas à parte
+    public CachorroResponseDTO(CachorroListagemProjection cachorro, List<DespesaInfoDTO> despesas) {
+        this(
+                cachorro.getId(),
+                cachorro.getNome(),
+                cachorro.getSexo(),
+                cachorro.getRaca(),
+                cachorro.getDataNascimento(),
+                cachorro.getStatus(),
+                Boolean.TRUE.equals(cachorro.getFoiVendido()),
+                cachorro.getCustoAcumulado(),
+                cachorro.getLucro(),
+                cachorro.getTutorId() != null ? new TutorInfoDTO(cachorro.getTutorId(), cachorro.getTutorNome()) : null,
+                despesas
+        );
+    }
 }
\ No newline at end of file
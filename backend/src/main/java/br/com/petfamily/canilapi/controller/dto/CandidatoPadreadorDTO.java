@@ -0,0 +1,14 @@
+package br.com.petfamily.canilapi.controller.dto;
+
+/**
+ * Um padreador candidato no planejamento de cruzamento.
+ * @param coiProjetado COI esperado para os filhotes do cruzamento (0 a 1).
+ * @param riscoRecessivo Quantidade de características que um dos pais porta e o outro porta ou expressa.
+ */
+public record CandidatoPadreadorDTO(
+        Long paiId,
+        String nome,
+        double coiProjetado,
+        int riscoRecessivo
+) {
+}
@@ -0,0 +1,12 @@
+package br.com.petfamily.canilapi.controller.dto;
+
+/**
+ * Coeficiente de endogamia (COI) de Wright para um cachorro, entre 0 e 1,
+ * calculado sobre todo o pedigree conhecido.
+ */
+public record CoiResponseDTO(
+        Long cachorroId,
+        String nome,
+        double coi
+) {
+}
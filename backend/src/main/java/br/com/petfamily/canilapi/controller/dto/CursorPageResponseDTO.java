@@ -0,0 +1,14 @@
+package br.com.petfamily.canilapi.controller.dto;
+
+import java.util.List;
+
+/**
+ * Página de uma listagem por cursor. Não traz total de elementos (não há COUNT);
+ * o cliente segue o token {@code next} até que ele venha nulo.
+ */
+public record CursorPageResponseDTO<T>(
+        List<T> content,
+        int size,
+        String next
+) {
+}
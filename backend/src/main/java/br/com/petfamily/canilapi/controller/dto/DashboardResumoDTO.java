@@ -0,0 +1,13 @@
+package br.com.petfamily.canilapi.controller.dto;
+
+import java.util.List;
+
+/**
+ * Os três blocos do dashboard numa resposta só (GET /dashboard/resumo).
+ */
+public record DashboardResumoDTO(
+        DashboardStatsDTO estatisticas,
+        FinanceiroDashboardDTO financeiro,
+        List<AtividadeRecenteDTO> atividades
+) {
+}
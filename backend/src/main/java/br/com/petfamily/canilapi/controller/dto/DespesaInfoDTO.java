@@ -1,6 +1,8 @@
 package br.com.petfamily.canilapi.controller.dto;
 
+import br.com.petfamily.canilapi.model.CategoriaDespesa;
 import br.com.petfamily.canilapi.model.Despesa; // Importe a entidade
+import br.com.petfamily.canilapi.repository.projection.DespesaResumoProjection;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
@@ -9,9 +11,14 @@ public record DespesaInfoDTO(
         Long id,
         String descricao,
         BigDecimal valor,
-        LocalDate data) {
+        LocalDate data,
+        CategoriaDespesa categoria) {
 
     public DespesaInfoDTO(Despesa despesa) {
-        this(despesa.getId(), despesa.getDescricao(), despesa.getValor(), despesa.getData());
+        this(despesa.getId(), despesa.getDescricao(), despesa.getValor(), despesa.getData(), despesa.getCategoria());
+    }
+
+    public DespesaInfoDTO(DespesaResumoProjection despesa) {
+        this(despesa.getId(), despesa.getDescricao(), despesa.getValor(), despesa.getData(), despesa.getCategoria());
     }
 }
\ No newline at end of file
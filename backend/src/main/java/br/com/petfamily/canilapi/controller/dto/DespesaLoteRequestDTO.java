@@ -0,0 +1,55 @@
+package br.com.petfamily.canilapi.controller.dto;
+
+import br.com.petfamily.canilapi.model.CategoriaDespesa;
+import br.com.petfamily.canilapi.model.RateioDespesa;
+import br.com.petfamily.canilapi.model.StatusCachorro;
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Uma despesa lançada de uma vez para vários cachorros ({@code POST /despesas/lote}).
+ */
+public record DespesaLoteRequestDTO(
+        @NotBlank(message = "A descrição da despesa não pode ser vazia.")
+        String descricao,
+
+        // Total a dividir (IGUAL, PONDERADO) ou o valor de cada cachorro (FIXO)
+        @NotNull(message = "O valor da despesa é obrigatório.")
+        @Positive(message = "O valor da despesa deve ser maior que zero.")
+        BigDecimal valor,
+        LocalDate data,
+        CategoriaDespesa categoria,
+
+        // Opcional: sem rateio, o valor é dividido em partes iguais
+        RateioDespesa rateio,
+
+        // Os cachorros: exatamente um dos quatro
+        List<Long> cachorroIds,
+        Long ninhadaId,
+        StatusCachorro status,
+        Boolean todos,
+
+        // Peso de cada cachorro (por id), só no rateio PONDERADO
+        Map<Long, BigDecimal> pesos
+) {
+    @AssertTrue(message = "Informe exatamente um alvo: cachorroIds, ninhadaId, status ou todos.")
+    public boolean isAlvoValido() {
+        return Stream.of(cachorroIds, ninhadaId, status, Boolean.TRUE.equals(todos) ? todos : null)
+                .filter(alvo -> alvo != null)
+                .count() == 1;
+    }
+
+    @AssertTrue(message = "Os pesos são obrigatórios no rateio PONDERADO, e só nele.")
+    public boolean isPesosValidos() {
+        boolean temPesos = pesos != null && !pesos.isEmpty();
+        return temPesos == (rateio == RateioDespesa.PONDERADO);
+    }
+}
@@ -0,0 +1,14 @@
+package br.com.petfamily.canilapi.controller.dto;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Resultado de um lançamento em lote: as despesas gravadas, uma por cachorro, e a soma delas.
+ */
+public record DespesaLoteResponseDTO(
+        int quantidade,
+        BigDecimal total,
+        List<DespesaResponseDTO> despesas
+) {
+}
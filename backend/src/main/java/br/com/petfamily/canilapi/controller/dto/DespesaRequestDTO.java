@@ -1,5 +1,6 @@
 package br.com.petfamily.canilapi.controller.dto;
 
+import br.com.petfamily.canilapi.model.CategoriaDespesa;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
@@ -14,6 +15,9 @@ public record DespesaRequestDTO(
         @NotNull(message = "O valor da despesa é obrigatório.")
         @Positive(message = "O valor da despesa deve ser maior que zero.")
         BigDecimal valor,
-        LocalDate data
+        LocalDate data,
+
+        // Opcional: sem categoria, a despesa entra em OUTROS
+        CategoriaDespesa categoria
 ) {
 }
\ No newline at end of file
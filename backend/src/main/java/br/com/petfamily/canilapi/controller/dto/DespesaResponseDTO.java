@@ -1,6 +1,8 @@
 package br.com.petfamily.canilapi.controller.dto;
 
+import br.com.petfamily.canilapi.model.CategoriaDespesa;
 import br.com.petfamily.canilapi.model.Despesa;
+import br.com.petfamily.canilapi.repository.projection.DespesaResumoProjection;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
@@ -13,6 +15,7 @@ public record DespesaResponseDTO(
         String descricao,
         BigDecimal valor,
         LocalDate data,
+        CategoriaDespesa categoria,
         Long cachorroId // Apenas o ID do cachorro, para evitar objetos aninhados complexos
 ) {
     public DespesaResponseDTO(Despesa despesa) {
@@ -21,8 +24,14 @@ public record DespesaResponseDTO(
                 despesa.getDescricao(),
                 despesa.getValor(),
                 despesa.getData(),
+                despesa.getCategoria(),
                 // Verificação de nulidade para evitar NullPointerException
                 despesa.getCachorro() != null ? despesa.getCachorro().getId() : null
         );
     }
+
+    public DespesaResponseDTO(DespesaResumoProjection despesa) {
+        this(despesa.getId(), despesa.getDescricao(), despesa.getValor(), despesa.getData(), despesa.getCategoria(),
+                despesa.getCachorroId());
+    }
 }
\ No newline at end of file
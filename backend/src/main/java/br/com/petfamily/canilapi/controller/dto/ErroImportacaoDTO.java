@@ -0,0 +1,8 @@
+package br.com.petfamily.canilapi.controller.dto;
+
+/**
+ * @param linha    Número da linha no arquivo enviado (o cabeçalho do CSV é a linha 1).
+ * @param mensagem Motivo pelo qual a linha não foi importada.
+ */
+public record ErroImportacaoDTO(long linha, String mensagem) {
+}
@@ -0,0 +1,20 @@
+package br.com.petfamily.canilapi.controller.dto;
+
+import br.com.petfamily.canilapi.model.Sexo;
+import br.com.petfamily.canilapi.model.StatusCachorro;
+
+import java.util.Map;
+
+/**
+ * Contagens dos cachorros que atendem ao filtro, para a UI oferecer o próximo nível de filtro com o
+ * número de resultados de cada opção. Cachorros sem status, raça ou sexo entram só no total.
+ *
+ * @param porRaca Raças da mais para a menos frequente.
+ */
+public record FacetasCachorrosDTO(
+        long total,
+        Map<StatusCachorro, Long> porStatus,
+        Map<String, Long> porRaca,
+        Map<Sexo, Long> porSexo
+) {
+}
@@ -0,0 +1,18 @@
+package br.com.petfamily.canilapi.controller.dto;
+
+import java.util.List;
+
+/**
+ * Resultado de uma importação em lote. {@code erros} traz no máximo os primeiros 1000 erros;
+ * {@code linhasComErro} é o total.
+ */
+public record ImportacaoResultadoDTO(
+        String tipo,
+        long linhasLidas,
+        long linhasImportadas,
+        long linhasComErro,
+        List<ErroImportacaoDTO> erros,
+        long duracaoMs,
+        long linhasPorSegundo
+) {
+}
@@ -0,0 +1,21 @@
+package br.com.petfamily.canilapi.controller.dto;
+
+import br.com.petfamily.canilapi.model.CategoriaDespesa;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.math.BigDecimal;
+import java.time.YearMonth;
+
+/**
+ * Total de um grupo da análise de despesas. As dimensões fora do agrupamento pedido ficam de fora do JSON.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record LinhaAnaliseDespesaDTO(
+        CategoriaDespesa categoria,
+        Integer ano,
+        YearMonth mes,
+        String raca,
+        BigDecimal total,
+        long quantidade
+) {
+}
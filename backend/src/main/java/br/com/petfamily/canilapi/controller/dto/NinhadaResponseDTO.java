@@ -1,6 +1,7 @@
 package br.com.petfamily.canilapi.controller.dto;
 
 import br.com.petfamily.canilapi.model.Ninhada;
+import br.com.petfamily.canilapi.repository.projection.NinhadaListagemProjection;
 import java.time.LocalDate;
 import java.util.Collections;
 import java.util.List;
@@ -30,4 +31,16 @@ public record NinhadaResponseDTO(
                         : Collections.emptyList()
         );
     }
+
+    // Mapeamento a partir da projeção de leitura, com os filhotes já buscados à parte
+    public NinhadaResponseDTO(NinhadaListagemProjection ninhada, List<CachorroResumoDTO> filhotes) {
+        this(
+                ninhada.getId(),
+                ninhada.getDataNascimento(),
+                new CachorroResumoDTO(ninhada.getMaeId(), ninhada.getMaeNome(), ninhada.getMaeSexo()),
+                new CachorroResumoDTO(ninhada.getPaiId(), ninhada.getPaiNome(), ninhada.getPaiSexo()),
+                filhotes.size(),
+                filhotes
+        );
+    }
 }
\ No newline at end of file
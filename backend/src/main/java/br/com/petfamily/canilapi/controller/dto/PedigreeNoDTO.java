@@ -0,0 +1,16 @@
+package br.com.petfamily.canilapi.controller.dto;
+
+import br.com.petfamily.canilapi.model.Sexo;
+
+/**
+ * Nó da árvore genealógica. Pai e mãe são nulos quando desconhecidos
+ * ou quando o limite de gerações pedido foi atingido.
+ */
+public record PedigreeNoDTO(
+        Long id,
+        String nome,
+        Sexo sexo,
+        PedigreeNoDTO pai,
+        PedigreeNoDTO mae
+) {
+}
@@ -0,0 +1,14 @@
+package br.com.petfamily.canilapi.controller.dto;
+
+import java.util.List;
+
+/**
+ * Ranking de padreadores para uma matriz, do melhor (menor COI projetado) para o pior.
+ */
+public record PlanejamentoCruzamentoDTO(
+        Long maeId,
+        String nomeMae,
+        int candidatosAvaliados,
+        List<CandidatoPadreadorDTO> ranking
+) {
+}
@@ -0,0 +1,15 @@
+package br.com.petfamily.canilapi.controller.dto;
+
+/**
+ * Filtros de GET /relatorios/rentabilidade, lidos dos parâmetros da URL. Todos são opcionais e se combinam com E.
+ */
+public record RentabilidadeFiltroDTO(
+        String raca,
+        Long ninhadaId,
+        Boolean foiVendido
+) {
+
+    public RentabilidadeFiltroDTO {
+        raca = raca == null || raca.isBlank() ? null : raca.strip();
+    }
+}
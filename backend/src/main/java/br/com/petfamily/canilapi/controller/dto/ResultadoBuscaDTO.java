@@ -0,0 +1,18 @@
+package br.com.petfamily.canilapi.controller.dto;
+
+import br.com.petfamily.canilapi.service.busca.IndiceBusca;
+
+/**
+ * Um item de GET /busca. {@code detalhe} é a raça do cachorro ou o e-mail (na falta dele, o telefone) do tutor.
+ */
+public record ResultadoBuscaDTO(
+        IndiceBusca.Tipo tipo,
+        Long id,
+        String titulo,
+        String detalhe,
+        double relevancia
+) {
+    public ResultadoBuscaDTO(IndiceBusca.Resultado resultado) {
+        this(resultado.tipo(), resultado.id(), resultado.titulo(), resultado.detalhe(), resultado.relevancia());
+    }
+}
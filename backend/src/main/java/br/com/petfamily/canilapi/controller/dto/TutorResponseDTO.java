@@ -1,6 +1,7 @@
 package br.com.petfamily.canilapi.controller.dto;
 
 import br.com.petfamily.canilapi.model.Tutor;
+import br.com.petfamily.canilapi.repository.projection.TutorListagemProjection;
 
 import java.util.List;
 import java.util.stream.Collectors;
@@ -26,4 +27,9 @@ public record TutorResponseDTO(
         );
     }
 
+    // Mapeamento a partir da projeção de leitura, com os cachorros já buscados à parte
+    public TutorResponseDTO(TutorListagemProjection tutor, List<CachorroInfoDTO> cachorros) {
+        this(tutor.getId(), tutor.getNome(), tutor.getEmail(), tutor.getTelefone(), cachorros);
+    }
+
 }
\ No newline at end of file
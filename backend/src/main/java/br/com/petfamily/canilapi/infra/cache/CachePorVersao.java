@@ -0,0 +1,74 @@
+package br.com.petfamily.canilapi.infra.cache;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Cache de valores por chave, válidos enquanto a versão dos dados de origem não muda (por exemplo, a marca de
+ * {@code AlteracoesTabelas.etagColecao}). Não há TTL: uma escrita confirmada muda a versão e a próxima leitura
+ * recalcula. Guarda no máximo {@code capacidade} chaves, descartando a usada há mais tempo.
+ * <p>
+ * Quem chama deve ler a versão <em>antes</em> de consultar o banco: se uma escrita for confirmada no meio,
+ * o valor fica guardado sob a versão antiga e é descartado na leitura seguinte.
+ */
+public class CachePorVersao<K, V> {
+
+    private final int capacidade;
+    // ReentrantLock e não synchronized (threads virtuais); o carregamento acontece fora da trava
+    private final ReentrantLock trava = new ReentrantLock();
+    private final Map<K, Entrada<V>> entradas;
+
+    private final LongAdder acertos = new LongAdder();
+    private final LongAdder carregamentos = new LongAdder();
+
+    public CachePorVersao(int capacidade) {
+        this.capacidade = capacidade;
+        this.entradas = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, Entrada<V>> maisAntiga) {
+                return size() > CachePorVersao.this.capacidade;
+            }
+        };
+    }
+
+    /**
+     * Devolve o valor guardado para a chave se ele foi calculado na mesma versão; senão, carrega e guarda.
+     * Duas leituras simultâneas da mesma chave desatualizada podem carregar as duas: o resultado é o mesmo.
+     */
+    public V obter(K chave, String versao, Supplier<V> carregador) {
+        Entrada<V> entrada;
+        trava.lock();
+        try {
+            entrada = entradas.get(chave);
+        } finally {
+            trava.unlock();
+        }
+        if (entrada != null && entrada.versao().equals(versao)) {
+            acertos.increment();
+            return entrada.valor();
+        }
+        carregamentos.increment();
+        V valor = carregador.get();
+        trava.lock();
+        try {
+            entradas.put(chave, new Entrada<>(versao, valor));
+        } finally {
+            trava.unlock();
+        }
+        return valor;
+    }
+
+    public long acertos() {
+        return acertos.sum();
+    }
+
+    public long carregamentos() {
+        return carregamentos.sum();
+    }
+
+    private record Entrada<V>(String versao, V valor) {
+    }
+}
@@ -0,0 +1,215 @@
+package br.com.petfamily.canilapi.infra.cache;
+
+import br.com.petfamily.canilapi.infra.exception.ServicoIndisponivelException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Cache de um único valor com stale-while-revalidate.
+ * <p>
+ * Depois do primeiro carregamento, {@link #obter()} nunca espera pelo banco: devolve o último valor e,
+ * se o TTL expirou, dispara uma única atualização em segundo plano (chamadas concorrentes não disparam outra).
+ * Falhas de banco (ver {@code falhaDoBanco}) alimentam o {@link Disjuntor}; com ele aberto nenhuma atualização
+ * é tentada e o valor antigo continua sendo servido, marcado como desatualizado.
+ * <p>
+ * Os contadores de leituras e carregamentos são acumulados aqui e expostos como métricas por quem cria o cache.
+ */
+public class CacheSwr<T> {
+
+    private static final Logger log = LoggerFactory.getLogger(CacheSwr.class);
+
+    private final String nome;
+    private final Supplier<T> carregador;
+    private final long ttlNanos;
+    private final Executor executor;
+    private final Disjuntor disjuntor;
+    private final Predicate<Throwable> falhaDoBanco;
+
+    // ReentrantLock e não synchronized: a primeira carga espera o banco, e uma thread virtual bloqueada
+    // dentro de synchronized prende a thread portadora
+    private final ReentrantLock travaPrimeiraCarga = new ReentrantLock();
+    private final AtomicBoolean atualizando = new AtomicBoolean(false);
+    private volatile Entrada<T> entrada;
+    private volatile boolean ultimaAtualizacaoFalhou = false;
+    private volatile Runnable aoCarregar = () -> {
+    };
+
+    private final LongAdder leiturasValidas = new LongAdder();
+    private final LongAdder leiturasExpiradas = new LongAdder();
+    private final LongAdder carregamentos = new LongAdder();
+    private final LongAdder falhasCarregamento = new LongAdder();
+
+    public CacheSwr(String nome, Supplier<T> carregador, Duration ttl, Executor executor,
+                    Disjuntor disjuntor, Predicate<Throwable> falhaDoBanco) {
+        this.nome = nome;
+        this.carregador = carregador;
+        this.ttlNanos = ttl.toNanos();
+        this.executor = executor;
+        this.disjuntor = disjuntor;
+        this.falhaDoBanco = falhaDoBanco;
+    }
+
+    public ValorEmCache<T> obter() {
+        Entrada<T> atual = entrada;
+        if (atual == null) {
+            atual = carregarPrimeiraVez();
+        }
+        long idade = System.nanoTime() - atual.carregadoEm();
+        boolean expirado = atual.expirada() || idade > ttlNanos;
+        if (expirado) {
+            leiturasExpiradas.increment();
+            revalidarEmSegundoPlano();
+        } else {
+            leiturasValidas.increment();
+        }
+        boolean desatualizado = expirado && (disjuntor.aberto() || ultimaAtualizacaoFalhou);
+        return new ValorEmCache<>(atual.valor(), TimeUnit.NANOSECONDS.toSeconds(idade), desatualizado);
+    }
+
+    /**
+     * Marca o valor como expirado: a próxima leitura ainda o recebe, mas já dispara a atualização.
+     */
+    public void expirar() {
+        Entrada<T> atual = entrada;
+        if (atual != null && !atual.expirada()) {
+            entrada = new Entrada<>(atual.valor(), atual.carregadoEm(), true);
+        }
+    }
+
+    /**
+     * Esquece o valor: a próxima leitura volta a esperar pelo banco, como a primeira.
+     */
+    public void descartar() {
+        entrada = null;
+    }
+
+    /**
+     * Registra quem deve ser avisado (na thread que carregou) depois de cada carregamento bem-sucedido, inclusive
+     * os em segundo plano: quem lê um valor expirado recebe o anterior e só assim fica sabendo do novo.
+     */
+    public void aoCarregar(Runnable ouvinte) {
+        this.aoCarregar = ouvinte;
+    }
+
+    public String nome() {
+        return nome;
+    }
+
+    /**
+     * Leituras servidas dentro do TTL (inclui a que fez o primeiro carregamento).
+     */
+    public long leiturasValidas() {
+        return leiturasValidas.sum();
+    }
+
+    /**
+     * Leituras que receberam um valor expirado (e dispararam ou aguardam a revalidação).
+     */
+    public long leiturasExpiradas() {
+        return leiturasExpiradas.sum();
+    }
+
+    /**
+     * Consultas ao banco feitas pelo carregador, com ou sem sucesso.
+     */
+    public long carregamentos() {
+        return carregamentos.sum();
+    }
+
+    public long falhasCarregamento() {
+        return falhasCarregamento.sum();
+    }
+
+    private Entrada<T> carregarPrimeiraVez() {
+        travaPrimeiraCarga.lock();
+        try {
+            if (entrada != null) {
+                return entrada;
+            }
+            if (!disjuntor.permiteChamada()) {
+                throw new ServicoIndisponivelException("Banco de dados indisponível; tente novamente em instantes.");
+            }
+            Entrada<T> nova = new Entrada<>(carregar(), System.nanoTime(), false);
+            entrada = nova;
+            avisarCarregamento();
+            return nova;
+        } finally {
+            travaPrimeiraCarga.unlock();
+        }
+    }
+
+    private void revalidarEmSegundoPlano() {
+        if (!atualizando.compareAndSet(false, true)) {
+            return; // já existe uma atualização em andamento
+        }
+        if (!disjuntor.permiteChamada()) {
+            atualizando.set(false);
+            return;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    entrada = new Entrada<>(carregar(), System.nanoTime(), false);
+                    ultimaAtualizacaoFalhou = false;
+                    avisarCarregamento();
+                } catch (RuntimeException e) {
+                    ultimaAtualizacaoFalhou = true;
+                    log.warn("Falha ao atualizar o cache '{}'; servindo o valor anterior: {}", nome, e.getMessage());
+                } finally {
+                    atualizando.set(false);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // A atualização não vai acontecer: se ela era o teste do meio-aberto, a vaga precisa voltar
+            disjuntor.cancelarTeste();
+            atualizando.set(false);
+        }
+    }
+
+    private void avisarCarregamento() {
+        try {
+            aoCarregar.run();
+        } catch (RuntimeException e) {
+            log.warn("Falha ao avisar o carregamento do cache '{}': {}", nome, e.getMessage());
+        }
+    }
+
+    private T carregar() {
+        carregamentos.increment();
+        try {
+            T valor = carregador.get();
+            disjuntor.registrarSucesso();
+            return valor;
+        } catch (RuntimeException e) {
+            falhasCarregamento.increment();
+            if (falhaDoBanco.test(e)) {
+                disjuntor.registrarFalha();
+            } else {
+                // O banco respondeu (o erro é de outra natureza), então o circuito não deve abrir por isso
+                disjuntor.registrarSucesso();
+            }
+            throw e;
+        }
+    }
+
+    private record Entrada<T>(T valor, long carregadoEm, boolean expirada) {
+    }
+
+    /**
+     * @param valor         O valor servido.
+     * @param idadeSegundos Há quanto tempo foi carregado do banco.
+     * @param desatualizado true se está expirado e não pôde ser atualizado (banco lento ou circuito aberto).
+     */
+    public record ValorEmCache<T>(T valor, long idadeSegundos, boolean desatualizado) {
+    }
+}
@@ -0,0 +1,86 @@
+package br.com.petfamily.canilapi.infra.cache;
+
+import java.time.Duration;
+
+/**
+ * Circuit breaker simples.
+ * Abre após {@code limiteFalhas} falhas consecutivas e recusa chamadas por {@code tempoAberto};
+ * depois disso deixa passar uma única chamada de teste (meio-aberto), que fecha ou reabre o circuito.
+ * <p>
+ * Os métodos synchronized só tocam campos em memória (nunca bloqueiam em I/O), então não prendem a thread
+ * portadora de threads virtuais por mais que alguns nanossegundos.
+ */
+public class Disjuntor {
+
+    public enum Estado {
+        FECHADO,
+        ABERTO,
+        MEIO_ABERTO
+    }
+
+    private final int limiteFalhas;
+    private final long tempoAbertoNanos;
+
+    private Estado estado = Estado.FECHADO;
+    private int falhasConsecutivas = 0;
+    private long abertoDesde;
+    private boolean testeEmAndamento = false;
+
+    public Disjuntor(int limiteFalhas, Duration tempoAberto) {
+        if (limiteFalhas < 1) {
+            throw new IllegalArgumentException("O limite de falhas deve ser pelo menos 1.");
+        }
+        this.limiteFalhas = limiteFalhas;
+        this.tempoAbertoNanos = tempoAberto.toNanos();
+    }
+
+    /**
+     * @return true se a chamada pode seguir para o recurso protegido.
+     */
+    public synchronized boolean permiteChamada() {
+        if (estado == Estado.ABERTO && System.nanoTime() - abertoDesde >= tempoAbertoNanos) {
+            estado = Estado.MEIO_ABERTO;
+            testeEmAndamento = false;
+        }
+        if (estado == Estado.MEIO_ABERTO) {
+            if (testeEmAndamento) {
+                return false;
+            }
+            testeEmAndamento = true;
+            return true;
+        }
+        return estado == Estado.FECHADO;
+    }
+
+    public synchronized void registrarSucesso() {
+        falhasConsecutivas = 0;
+        testeEmAndamento = false;
+        estado = Estado.FECHADO;
+    }
+
+    public synchronized void registrarFalha() {
+        falhasConsecutivas++;
+        if (estado == Estado.MEIO_ABERTO || falhasConsecutivas >= limiteFalhas) {
+            estado = Estado.ABERTO;
+            abertoDesde = System.nanoTime();
+            testeEmAndamento = false;
+        }
+    }
+
+    /**
+     * Devolve a vaga de teste do meio-aberto quando a chamada liberada por {@link #permiteChamada} não chegou
+     * a ser feita (por exemplo, o executor a recusou). Sem isso nenhuma outra chamada passaria e o circuito
+     * ficaria meio-aberto para sempre.
+     */
+    public synchronized void cancelarTeste() {
+        testeEmAndamento = false;
+    }
+
+    public synchronized Estado estado() {
+        return estado;
+    }
+
+    public synchronized boolean aberto() {
+        return estado != Estado.FECHADO;
+    }
+}
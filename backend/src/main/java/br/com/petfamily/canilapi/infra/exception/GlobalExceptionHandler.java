@@ -4,8 +4,12 @@ import br.com.petfamily.canilapi.controller.dto.ErrorResponseDTO;
 import jakarta.persistence.EntityNotFoundException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.CannotCreateTransactionException;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -33,6 +37,43 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
     }
 
+    @ExceptionHandler(PrecondicaoFalhouException.class)
+    public ResponseEntity<ErrorResponseDTO> handlePrecondicaoFalhou(PrecondicaoFalhouException ex) {
+        var error = new ErrorResponseDTO(ex.getMessage(), HttpStatus.PRECONDITION_FAILED.value(), Instant.now());
+        return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).body(error);
+    }
+
+    // Duas transações alteraram o mesmo registro (@Version) e esta perdeu: o cliente deve reler e reaplicar
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<ErrorResponseDTO> handleConflitoDeVersao(OptimisticLockingFailureException ex) {
+        var error = new ErrorResponseDTO("O registro foi alterado por outra requisição ao mesmo tempo; tente novamente.",
+                HttpStatus.CONFLICT.value(), Instant.now());
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(error);
+    }
+
+    // Restrição única violada por uma escrita concorrente que passou pela validação do serviço (ex.: email de tutor)
+    @ExceptionHandler(DataIntegrityViolationException.class)
+    public ResponseEntity<ErrorResponseDTO> handleViolacaoDeIntegridade(DataIntegrityViolationException ex) {
+        log.warn("Escrita recusada pelo banco: {}", ex.getMostSpecificCause().getMessage());
+        var error = new ErrorResponseDTO("O registro conflita com outro já existente.", HttpStatus.CONFLICT.value(), Instant.now());
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(error);
+    }
+
+    @ExceptionHandler(ServicoIndisponivelException.class)
+    public ResponseEntity<ErrorResponseDTO> handleServicoIndisponivel(ServicoIndisponivelException ex) {
+        var error = new ErrorResponseDTO(ex.getMessage(), HttpStatus.SERVICE_UNAVAILABLE.value(), Instant.now());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(error);
+    }
+
+    // Nenhuma conexão livre no pool dentro do connection-timeout do Hikari: sobrecarga momentânea, não erro do servidor
+    @ExceptionHandler(CannotCreateTransactionException.class)
+    public ResponseEntity<ErrorResponseDTO> handleSemConexao(CannotCreateTransactionException ex) {
+        log.warn("Requisição recusada sem conexão com o banco: {}", ex.getMostSpecificCause().getMessage());
+        var error = new ErrorResponseDTO("Servidor sobrecarregado; tente novamente em instantes.",
+                HttpStatus.SERVICE_UNAVAILABLE.value(), Instant.now());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header(HttpHeaders.RETRY_AFTER, "1").body(error);
+    }
+
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<ErrorResponseDTO> handleMethodArgumentNotValid(MethodArgumentNotValidException ex) {
         // Pega a primeira mensagem de erro de validação para ser mais direto
@@ -0,0 +1,12 @@
+package br.com.petfamily.canilapi.infra.exception;
+
+/**
+ * O {@code If-Match} da requisição não confere com o ETag atual do recurso: outro cliente alterou o registro
+ * depois da leitura. Tratada no GlobalExceptionHandler como 412.
+ */
+public class PrecondicaoFalhouException extends RuntimeException {
+
+    public PrecondicaoFalhouException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,12 @@
+package br.com.petfamily.canilapi.infra.exception;
+
+/**
+ * O recurso depende do banco e ele está indisponível (circuit breaker aberto) sem valor em cache para servir.
+ * Tratada no GlobalExceptionHandler como 503.
+ */
+public class ServicoIndisponivelException extends RuntimeException {
+
+    public ServicoIndisponivelException(String message) {
+        super(message);
+    }
+}
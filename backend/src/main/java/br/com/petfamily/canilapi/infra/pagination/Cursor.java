@@ -0,0 +1,118 @@
+package br.com.petfamily.canilapi.infra.pagination;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Posição de uma listagem paginada por cursor (keyset).
+ * Guarda o valor da chave de ordenação e o ID do último item entregue, para que a
+ * próxima página comece exatamente depois dele, sem OFFSET e sem COUNT.
+ * O token enviado ao cliente é opaco: Base64 (URL-safe) de "Nchave|id", em que N é '1' quando há chave e '0'
+ * quando ela é nula. Sem o marcador, a chave nula viraria "" e o cursor cairia no início das chaves, e não no fim.
+ * <p>
+ * As chaves nulas ficam onde o PostgreSQL as ordena por padrão: depois das demais na ordem crescente e antes
+ * na decrescente. Cada listagem tem uma consulta própria para o trecho de chave nula (IS NULL), e
+ * {@link #emendar} passa de um trecho para o outro quando a página atravessa a fronteira.
+ *
+ * @param chave Valor da chave de ordenação do último item, ou null quando ele não tem chave.
+ */
+public record Cursor(String chave, long id) {
+
+    public static final int TAMANHO_PADRAO = 20;
+    public static final int TAMANHO_MAXIMO = 100;
+
+    private static final String SEPARADOR = "|";
+    private static final char COM_CHAVE = '1';
+    private static final char SEM_CHAVE = '0';
+
+    /**
+     * Lê o token recebido no parâmetro {@code after}.
+     * @param token O token opaco. Vazio ou nulo indica a primeira página.
+     * @return O cursor decodificado, ou null para a primeira página.
+     */
+    public static Cursor decodificar(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        try {
+            String conteudo = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int posicao = conteudo.lastIndexOf(SEPARADOR);
+            if (posicao < 1 || (conteudo.charAt(0) == SEM_CHAVE && posicao != 1)
+                    || (conteudo.charAt(0) != SEM_CHAVE && conteudo.charAt(0) != COM_CHAVE)) {
+                throw new IllegalArgumentException("Cursor de paginação inválido.");
+            }
+            String chave = conteudo.charAt(0) == COM_CHAVE ? conteudo.substring(1, posicao) : null;
+            return new Cursor(chave, Long.parseLong(conteudo.substring(posicao + 1)));
+        } catch (IllegalArgumentException e) { // Inclui NumberFormatException e Base64 malformado
+            throw new IllegalArgumentException("Cursor de paginação inválido.", e);
+        }
+    }
+
+    public static String codificar(Object chave, Long id) {
+        String conteudo = (chave != null ? COM_CHAVE + chave.toString() : String.valueOf(SEM_CHAVE)) + SEPARADOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(conteudo.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Garante que o tamanho de página pedido fique entre 1 e {@link #TAMANHO_MAXIMO}.
+     */
+    public static int limitarTamanho(int size) {
+        return Math.max(1, Math.min(size, TAMANHO_MAXIMO));
+    }
+
+    /**
+     * Completa uma página que terminou no fim de um trecho da ordenação (chaves preenchidas ou nulas)
+     * com o início do trecho seguinte. Se a página já tem próxima, o trecho seguinte nem é consultado.
+     * @param inicio A página lida a partir do cursor.
+     * @param resto Consulta do trecho seguinte desde o começo, com o tamanho que faltou.
+     * @return A página completa, com hasNext considerando os dois trechos.
+     */
+    public static <T> Slice<T> emendar(Slice<T> inicio, Function<Pageable, Slice<T>> resto) {
+        if (inicio.hasNext()) {
+            return inicio;
+        }
+        int faltam = inicio.getSize() - inicio.getNumberOfElements();
+        // Com a página já cheia, basta uma linha do trecho seguinte para saber se há próxima
+        Slice<T> seguinte = resto.apply(PageRequest.ofSize(Math.max(faltam, 1)));
+        List<T> conteudo = new ArrayList<>(inicio.getContent());
+        conteudo.addAll(seguinte.getContent().subList(0, Math.min(faltam, seguinte.getNumberOfElements())));
+        boolean haMais = seguinte.hasNext() || seguinte.getNumberOfElements() > faltam;
+        return new SliceImpl<>(conteudo, inicio.getPageable(), haMais);
+    }
+
+    /**
+     * @return A chave como data, ou null se o último item não tinha data.
+     */
+    public LocalDate chaveComoData() {
+        if (chave == null) {
+            return null;
+        }
+        try {
+            return LocalDate.parse(chave);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Cursor de paginação inválido.", e);
+        }
+    }
+
+    public LocalDateTime chaveComoDataHora() {
+        if (chave == null) { // Só listagens com chave obrigatória usam data e hora
+            throw new IllegalArgumentException("Cursor de paginação inválido.");
+        }
+        try {
+            return LocalDateTime.parse(chave);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Cursor de paginação inválido.", e);
+        }
+    }
+}
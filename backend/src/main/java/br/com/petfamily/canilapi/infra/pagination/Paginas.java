@@ -0,0 +1,32 @@
+package br.com.petfamily.canilapi.infra.pagination;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+import java.util.function.LongSupplier;
+
+/**
+ * Monta um Page a partir de uma consulta que já traz o total em cada linha (COUNT(*) OVER ()),
+ * evitando o SELECT COUNT separado que o Spring Data executaria.
+ */
+public final class Paginas {
+
+    private Paginas() {
+    }
+
+    /**
+     * @param totalDaConsulta O total lido da primeira linha, ou null se a página veio vazia.
+     * @param contagem        Usada só quando a página veio vazia depois do início (o total não é conhecido).
+     */
+    public static <T> Page<T> de(List<T> conteudo, Pageable pageable, Long totalDaConsulta, LongSupplier contagem) {
+        if (totalDaConsulta != null) {
+            return new PageImpl<>(conteudo, pageable, totalDaConsulta);
+        }
+        if (pageable.isUnpaged() || pageable.getOffset() == 0) {
+            return new PageImpl<>(conteudo, pageable, 0);
+        }
+        return new PageImpl<>(conteudo, pageable, contagem.getAsLong());
+    }
+}
@@ -0,0 +1,138 @@
+package br.com.petfamily.canilapi.infra.persistence;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.action.spi.BeforeTransactionCompletionProcess;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Contador de alterações por tabela, base dos ETags.
+ * <p>
+ * Cada insert, update ou delete incrementa o contador da tabela (via {@link AlteracoesTabelasListener}
+ * ou, nas gravações por JDBC, chamando {@link #registrar} diretamente).
+ * <p>
+ * Os contadores ficam na tabela alteracoes_tabelas, e não em memória: com mais de uma instância, uma escrita
+ * confirmada em uma delas tem que mudar o ETag servido por todas, senão as outras responderiam 304 com dado velho.
+ * O incremento é um UPDATE na própria transação da escrita, então fica visível exatamente junto com os dados.
+ * Ele roda no commit, depois do flush final do Hibernate (que é quando os updates das entidades acontecem),
+ * uma vez por transação e para todas as tabelas alteradas num só comando: a linha de cada contador fica travada
+ * só durante o commit, e não pela transação inteira.
+ */
+@Component
+public class AlteracoesTabelas {
+
+    public static final String CACHORROS = "cachorros";
+    public static final String TUTORES = "tutores";
+    public static final String NINHADAS = "ninhadas";
+    public static final String DESPESAS = "despesas";
+    public static final String VENDAS = "vendas";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    // Provider: o AlteracoesTabelasListener é criado junto com a própria EntityManagerFactory
+    private final ObjectProvider<EntityManagerFactory> entityManagerFactory;
+
+    public AlteracoesTabelas(NamedParameterJdbcTemplate jdbcTemplate, ObjectProvider<EntityManagerFactory> entityManagerFactory) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    /**
+     * Marca a tabela como alterada pela transação atual; o contador muda no commit dela (e não muda se ela
+     * for desfeita). Fora de transação, muda na hora.
+     */
+    public void registrar(String tabela) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            incrementar(Set.of(tabela));
+            return;
+        }
+        Pendentes pendentes = (Pendentes) TransactionSynchronizationManager.getResource(this);
+        if (pendentes == null) {
+            pendentes = new Pendentes();
+            TransactionSynchronizationManager.bindResource(this, pendentes);
+            TransactionSynchronizationManager.registerSynchronization(pendentes);
+            EntityManagerHolder holder =
+                    (EntityManagerHolder) TransactionSynchronizationManager.getResource(entityManagerFactory.getObject());
+            if (holder != null) {
+                // O beforeCommit do Spring vem antes do flush do commit: as entidades gravadas nele chegariam tarde
+                holder.getEntityManager().unwrap(SessionImplementor.class).getActionQueue().registerProcess(pendentes);
+                pendentes.noHibernate = true;
+            }
+        }
+        pendentes.tabelas.add(tabela);
+    }
+
+    /**
+     * ETag de um registro: a versão da linha (@Version) mais os contadores das tabelas relacionadas que
+     * aparecem na representação (o nome do tutor no detalhe do cachorro, por exemplo).
+     */
+    public String etag(long versao, String... relacionadas) {
+        return versao + "-" + marca(relacionadas);
+    }
+
+    /**
+     * ETag de uma listagem: os contadores de todas as tabelas que ela lê.
+     */
+    public String etagColecao(String... tabelas) {
+        return marca(tabelas);
+    }
+
+    private String marca(String... tabelas) {
+        Map<String, Long> contadores = new HashMap<>();
+        jdbcTemplate.query("SELECT tabela, contador FROM alteracoes_tabelas WHERE tabela IN (:tabelas)",
+                Map.of("tabelas", List.of(tabelas)),
+                linha -> {
+                    contadores.put(linha.getString(1), linha.getLong(2));
+                });
+        StringBuilder sb = new StringBuilder();
+        for (String tabela : tabelas) {
+            if (!sb.isEmpty()) {
+                sb.append('.');
+            }
+            sb.append(contadores.getOrDefault(tabela, 0L));
+        }
+        return sb.toString();
+    }
+
+    private void incrementar(Set<String> tabelas) {
+        if (tabelas.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.update("UPDATE alteracoes_tabelas SET contador = contador + 1 WHERE tabela IN (:tabelas)",
+                Map.of("tabelas", tabelas));
+    }
+
+    private class Pendentes implements TransactionSynchronization, BeforeTransactionCompletionProcess {
+
+        // Um UPDATE só para todas: as linhas são travadas na ordem da chave primária, igual em toda transação
+        private final Set<String> tabelas = new TreeSet<>();
+        private boolean noHibernate;
+
+        @Override
+        public void doBeforeTransactionCompletion(SessionImplementor session) {
+            incrementar(tabelas);
+        }
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            if (!noHibernate) { // Transação só de JDBC
+                incrementar(tabelas);
+            }
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResource(AlteracoesTabelas.this);
+        }
+    }
+}
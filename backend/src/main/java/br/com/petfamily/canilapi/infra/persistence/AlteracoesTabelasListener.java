@@ -0,0 +1,29 @@
+package br.com.petfamily.canilapi.infra.persistence;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import jakarta.persistence.Table;
+import org.hibernate.Hibernate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Alimenta o {@link AlteracoesTabelas} com os eventos de persistência das entidades anotadas com ele.
+ * Como o {@code PedigreeEntityListener}, é um bean (o Spring Boot configura o BeanContainer do Hibernate).
+ */
+@Component
+public class AlteracoesTabelasListener {
+
+    private final AlteracoesTabelas alteracoesTabelas;
+
+    public AlteracoesTabelasListener(AlteracoesTabelas alteracoesTabelas) {
+        this.alteracoesTabelas = alteracoesTabelas;
+    }
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void aoAlterar(Object entidade) {
+        alteracoesTabelas.registrar(Hibernate.getClass(entidade).getAnnotation(Table.class).name());
+    }
+}
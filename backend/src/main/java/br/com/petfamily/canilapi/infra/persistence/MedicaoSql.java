@@ -0,0 +1,183 @@
+package br.com.petfamily.canilapi.infra.persistence;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Contabiliza, por thread, os comandos SQL executados: quantidade, tempo total no JDBC e o comando mais lento.
+ * <p>
+ * O DataSource da aplicação é envolvido por {@link #envolver}; quem quer medir abre uma {@link Medicao} com
+ * {@link #iniciar} e a fecha com {@link #encerrar} (o {@code MedicaoSqlFilter} faz isso por requisição).
+ * Fora de uma medição cada comando custa só a leitura do ThreadLocal. Dentro dela, o custo é um par de
+ * {@code System.nanoTime()} e a referência ao texto do SQL: a normalização só acontece em {@link Medicao#porSql},
+ * chamado apenas quando a requisição vai para o log de lentas.
+ */
+public final class MedicaoSql {
+
+    private static final Set<String> EXECUCOES = Set.of(
+            "execute", "executeQuery", "executeUpdate", "executeLargeUpdate", "executeBatch", "executeLargeBatch");
+
+    private static final ThreadLocal<Medicao> MEDICAO_ATUAL = new ThreadLocal<>();
+
+    private static final Pattern TEXTOS = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMEROS = Pattern.compile("\\b\\d+(?:\\.\\d+)?\\b");
+    private static final Pattern LISTAS_IN = Pattern.compile("(?i)\\bin\\s*\\(\\s*\\?(?:\\s*,\\s*\\?)+\\s*\\)");
+    private static final Pattern ESPACOS = Pattern.compile("\\s+");
+
+    private MedicaoSql() {
+    }
+
+    public static DataSource envolver(DataSource dataSource) {
+        return new DelegatingDataSource(dataSource) {
+            @Override
+            public Connection getConnection() throws SQLException {
+                return conexao(super.getConnection());
+            }
+
+            @Override
+            public Connection getConnection(String username, String password) throws SQLException {
+                return conexao(super.getConnection(username, password));
+            }
+        };
+    }
+
+    /**
+     * Começa a medir os comandos desta thread, descartando uma medição anterior não encerrada.
+     */
+    public static Medicao iniciar() {
+        Medicao medicao = new Medicao();
+        MEDICAO_ATUAL.set(medicao);
+        return medicao;
+    }
+
+    public static void encerrar() {
+        MEDICAO_ATUAL.remove();
+    }
+
+    /**
+     * Troca literais por {@code ?}, reduz listas {@code IN (?, ?, ...)} a {@code in (?)} e junta espaços,
+     * para que comandos que só diferem nos valores caiam na mesma linha do resumo.
+     */
+    static String normalizar(String sql) {
+        String normalizado = TEXTOS.matcher(sql).replaceAll("?");
+        normalizado = NUMEROS.matcher(normalizado).replaceAll("?");
+        normalizado = LISTAS_IN.matcher(normalizado).replaceAll("in (?)");
+        return ESPACOS.matcher(normalizado).replaceAll(" ").trim();
+    }
+
+    private static Connection conexao(Connection conexao) {
+        return (Connection) Proxy.newProxyInstance(MedicaoSql.class.getClassLoader(), new Class<?>[]{Connection.class},
+                (proxy, metodo, args) -> {
+                    Object resultado = invocar(conexao, metodo, args);
+                    if (resultado instanceof Statement comando && metodo.getReturnType().isInterface()) {
+                        // prepareStatement e prepareCall recebem o SQL; createStatement o recebe em cada execute
+                        String sql = args != null && args.length > 0 && args[0] instanceof String texto ? texto : null;
+                        return comando(comando, metodo.getReturnType(), sql);
+                    }
+                    return resultado;
+                });
+    }
+
+    private static Object comando(Statement comando, Class<?> tipo, String sqlPreparado) {
+        return Proxy.newProxyInstance(MedicaoSql.class.getClassLoader(), new Class<?>[]{tipo},
+                (proxy, metodo, args) -> {
+                    Medicao medicao = MEDICAO_ATUAL.get();
+                    if (medicao == null || !EXECUCOES.contains(metodo.getName())) {
+                        return invocar(comando, metodo, args);
+                    }
+                    String sql = args != null && args.length > 0 && args[0] instanceof String texto ? texto : sqlPreparado;
+                    long inicio = System.nanoTime();
+                    try {
+                        return invocar(comando, metodo, args);
+                    } finally {
+                        medicao.registrar(sql, System.nanoTime() - inicio);
+                    }
+                });
+    }
+
+    private static Object invocar(Object alvo, Method metodo, Object[] args) throws Throwable {
+        try {
+            return metodo.invoke(alvo, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Comandos de uma medição. Usada só pela thread que a iniciou.
+     */
+    public static final class Medicao {
+
+        // Acima disso só os totais continuam sendo contados (uma requisição com N+1 descontrolado não estoura a memória)
+        static final int LIMITE_EXECUCOES = 1_000;
+
+        private final List<Execucao> execucoes = new ArrayList<>();
+        private long comandos;
+        private long nanosJdbc;
+        private Execucao maisLenta;
+
+        void registrar(String sql, long nanos) {
+            comandos++;
+            nanosJdbc += nanos;
+            Execucao execucao = new Execucao(sql != null ? sql : "(sql desconhecido)", nanos);
+            if (maisLenta == null || nanos > maisLenta.nanos()) {
+                maisLenta = execucao;
+            }
+            if (execucoes.size() < LIMITE_EXECUCOES) {
+                execucoes.add(execucao);
+            }
+        }
+
+        public long comandos() {
+            return comandos;
+        }
+
+        public long nanosJdbc() {
+            return nanosJdbc;
+        }
+
+        /**
+         * O comando mais demorado, ou null se nenhum foi executado.
+         */
+        public Execucao maisLenta() {
+            return maisLenta;
+        }
+
+        /**
+         * Comandos agrupados pelo SQL normalizado, do maior para o menor tempo total
+         * (considera só as primeiras {@link #LIMITE_EXECUCOES} execuções).
+         */
+        public List<ResumoSql> porSql() {
+            Map<String, long[]> grupos = new LinkedHashMap<>();
+            for (Execucao execucao : execucoes) {
+                long[] grupo = grupos.computeIfAbsent(normalizar(execucao.sql()), sql -> new long[2]);
+                grupo[0]++;
+                grupo[1] += execucao.nanos();
+            }
+            return grupos.entrySet().stream()
+                    .map(e -> new ResumoSql(e.getKey(), e.getValue()[0], e.getValue()[1]))
+                    .sorted(Comparator.comparingLong(ResumoSql::nanos).reversed())
+                    .toList();
+        }
+    }
+
+    public record Execucao(String sql, long nanos) {
+    }
+
+    public record ResumoSql(String sql, long execucoes, long nanos) {
+    }
+}
@@ -0,0 +1,99 @@
+package br.com.petfamily.canilapi.infra.persistence;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.dialect.Dialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Sequências usadas como id (em vez de IDENTITY) pelas entidades gravadas em várias linhas de uma vez,
+ * o que permite ao Hibernate agrupar os INSERTs em batch.
+ * <p>
+ * Cada chamada à sequência reserva um bloco de {@link #ALOCACAO} ids (otimizador "pooled" do Hibernate:
+ * o valor V devolvido cobre os ids V-49 a V). Quem insere por JDBC direto usa {@link #alocar} para
+ * respeitar os mesmos blocos.
+ */
+@Component
+public class SequenciaIds {
+
+    private static final Logger log = LoggerFactory.getLogger(SequenciaIds.class);
+
+    public static final int ALOCACAO = 50;
+
+    public static final String CACHORROS = "cachorros_seq";
+    public static final String DESPESAS = "despesas_seq";
+    public static final String VACINAS = "vacinas_seq";
+    public static final String CARACTERISTICAS = "caracteristicas_seq";
+
+    // Sequência -> tabela cujos ids ela gera
+    private static final Map<String, String> TABELAS = Map.of(
+            CACHORROS, "cachorros",
+            DESPESAS, "despesas",
+            VACINAS, "vacinas",
+            CARACTERISTICAS, "caracteristicas");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Dialect dialect;
+
+    public SequenciaIds(JdbcTemplate jdbcTemplate, EntityManagerFactory entityManagerFactory) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.dialect = entityManagerFactory.unwrap(SessionFactoryImplementor.class).getJdbcServices().getDialect();
+    }
+
+    /**
+     * Reserva {@code quantidade} ids da sequência numa única ida ao banco: um valor (bloco de {@link #ALOCACAO})
+     * por linha de um generate_series. Com chamadas concorrentes os blocos podem não ser contíguos entre si,
+     * mas cada um é exclusivo de quem o recebeu.
+     */
+    public long[] alocar(String sequencia, int quantidade) {
+        long[] ids = new long[quantidade];
+        if (quantidade == 0) {
+            return ids;
+        }
+        int blocos = (quantidade + ALOCACAO - 1) / ALOCACAO;
+        List<Long> fins = jdbcTemplate.queryForList("SELECT " + dialect.getSequenceSupport().getSelectSequenceNextValString(sequencia)
+                + " FROM generate_series(1, ?)", Long.class, blocos);
+        int preenchidos = 0;
+        for (long fimDoBloco : fins) {
+            // O mesmo bloco que o otimizador "pooled" deriva do valor; por isso as sequências começam em ALOCACAO
+            for (long id = fimDoBloco - ALOCACAO + 1; id <= fimDoBloco && preenchidos < quantidade; id++) {
+                ids[preenchidos++] = id;
+            }
+        }
+        return ids;
+    }
+
+    /**
+     * Em bancos criados quando os ids ainda eram IDENTITY, as sequências começam no primeiro bloco e colidiriam
+     * com os ids existentes. Avança cada sequência para depois do maior id da sua tabela.
+     */
+    @PostConstruct
+    void alinharComTabelas() {
+        TABELAS.forEach((sequencia, tabela) -> {
+            Long maiorId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM " + tabela, Long.class);
+            if (maiorId == null || maiorId == 0) {
+                return;
+            }
+            if (proximoValor(sequencia) - ALOCACAO < maiorId) {
+                long reinicio = maiorId + ALOCACAO;
+                jdbcTemplate.execute("ALTER SEQUENCE " + sequencia + " RESTART WITH " + reinicio);
+                log.info("Sequência {} reiniciada em {} (maior id em {}: {}).", sequencia, reinicio, tabela, maiorId);
+            }
+        });
+    }
+
+    private long proximoValor(String sequencia) {
+        Long valor = jdbcTemplate.queryForObject(dialect.getSequenceSupport().getSequenceNextValString(sequencia), Long.class);
+        if (valor == null) {
+            throw new IllegalStateException("A sequência " + sequencia + " não devolveu valor.");
+        }
+        return valor;
+    }
+}
@@ -0,0 +1,36 @@
+package br.com.petfamily.canilapi.infra.web;
+
+import br.com.petfamily.canilapi.infra.exception.PrecondicaoFalhouException;
+import br.com.petfamily.canilapi.infra.persistence.AlteracoesTabelas;
+
+/**
+ * Conferência do cabeçalho {@code If-Match} (RFC 9110, 13.1.1) nas escritas.
+ */
+public final class Etags {
+
+    private Etags() {
+    }
+
+    /**
+     * Falha com {@link PrecondicaoFalhouException} se nenhum ETag do {@code If-Match} corresponde à versão atual
+     * da linha. Só a versão conta: o contador das tabelas relacionadas, que também compõe o ETag
+     * ({@link AlteracoesTabelas#etag}), muda o ETag do GET mas não deve barrar a escrita do registro.
+     * <p>
+     * Sem o cabeçalho nada é conferido, para não quebrar clientes que ainda não o enviam. ETags fracos
+     * ({@code W/"..."}) nunca conferem.
+     */
+    public static void conferir(String ifMatch, Long versaoAtual) {
+        if (ifMatch == null || ifMatch.isBlank()) {
+            return;
+        }
+        String prefixo = "\"" + versaoAtual + "-";
+        for (String candidato : ifMatch.split(",")) {
+            String etag = candidato.trim();
+            if (etag.equals("*") || (etag.startsWith(prefixo) && etag.endsWith("\""))) {
+                return;
+            }
+        }
+        throw new PrecondicaoFalhouException(
+                "O registro foi alterado por outra requisição (versão atual " + versaoAtual + "); busque-o de novo antes de alterar.");
+    }
+}
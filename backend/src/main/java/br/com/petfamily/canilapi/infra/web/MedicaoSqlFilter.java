@@ -0,0 +1,240 @@
+package br.com.petfamily.canilapi.infra.web;
+
+import br.com.petfamily.canilapi.infra.persistence.MedicaoSql;
+import br.com.petfamily.canilapi.infra.persistence.MedicaoSql.Medicao;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mede os comandos SQL de cada requisição ({@link MedicaoSql}).
+ * <p>
+ * Com {@code sql.medicao.cabecalhos=true} (perfis de desenvolvimento e testes) a resposta leva
+ * {@code X-Query-Count} e {@code X-Query-Time-Ms}. Como os cabeçalhos precisam sair antes do corpo, eles são
+ * escritos no primeiro byte da resposta; com open-in-view desligado as consultas já terminaram nesse ponto.
+ * <p>
+ * Em todos os perfis, requisições acima de {@code sql.medicao.limite-lenta-ms} vão para o log
+ * {@code canil.requisicoes-lentas} com os comandos agrupados por SQL normalizado. Requisições assíncronas
+ * (exportações e SSE) ficam de fora: o trabalho delas continua em outra thread.
+ */
+@Component
+public class MedicaoSqlFilter extends OncePerRequestFilter {
+
+    private static final Logger logLentas = LoggerFactory.getLogger("canil.requisicoes-lentas");
+
+    private static final int SQL_NO_LOG = 10;
+
+    private final boolean cabecalhos;
+    private final long limiteLentaNanos;
+
+    public MedicaoSqlFilter(@Value("${sql.medicao.cabecalhos:false}") boolean cabecalhos,
+                            @Value("${sql.medicao.limite-lenta-ms:500}") long limiteLentaMs) {
+        this.cabecalhos = cabecalhos;
+        this.limiteLentaNanos = TimeUnit.MILLISECONDS.toNanos(limiteLentaMs);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        long inicio = System.nanoTime();
+        Medicao medicao = MedicaoSql.iniciar();
+        RespostaComCabecalhos resposta = cabecalhos ? new RespostaComCabecalhos(response, medicao) : null;
+        try {
+            filterChain.doFilter(request, resposta != null ? resposta : response);
+        } finally {
+            MedicaoSql.encerrar();
+            if (resposta != null) {
+                // Respostas sem corpo (204, redirecionamentos) não passaram pelo primeiro byte
+                resposta.escreverCabecalhos();
+            }
+            long duracao = System.nanoTime() - inicio;
+            if (duracao >= limiteLentaNanos && !request.isAsyncStarted() && logLentas.isWarnEnabled()) {
+                registrarLenta(request, response, duracao, medicao);
+            }
+        }
+    }
+
+    private static void registrarLenta(HttpServletRequest request, HttpServletResponse response, long duracao, Medicao medicao) {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format(Locale.ROOT, "metodo=%s uri=%s status=%d duracao_ms=%.1f comandos=%d jdbc_ms=%.1f",
+                request.getMethod(), request.getRequestURI(), response.getStatus(), ms(duracao),
+                medicao.comandos(), ms(medicao.nanosJdbc())));
+        if (medicao.maisLenta() != null) {
+            sb.append(String.format(Locale.ROOT, " mais_lento_ms=%.1f", ms(medicao.maisLenta().nanos())));
+        }
+        List<MedicaoSql.ResumoSql> porSql = medicao.porSql();
+        for (MedicaoSql.ResumoSql resumo : porSql.subList(0, Math.min(SQL_NO_LOG, porSql.size()))) {
+            sb.append(String.format(Locale.ROOT, "%n  %dx %.1f ms  %s", resumo.execucoes(), ms(resumo.nanos()), resumo.sql()));
+        }
+        if (porSql.size() > SQL_NO_LOG) {
+            sb.append(String.format("%n  ... mais %d comandos distintos", porSql.size() - SQL_NO_LOG));
+        }
+        logLentas.warn("Requisição lenta: {}", sb);
+    }
+
+    private static double ms(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+
+    /**
+     * Escreve os cabeçalhos da medição imediatamente antes de a resposta ser confirmada.
+     */
+    private static final class RespostaComCabecalhos extends HttpServletResponseWrapper {
+
+        private final HttpServletResponse original;
+        private final Medicao medicao;
+        private boolean escritos;
+        private ServletOutputStream saida;
+        private PrintWriter escritor;
+
+        RespostaComCabecalhos(HttpServletResponse response, Medicao medicao) {
+            super(response);
+            this.original = response;
+            this.medicao = medicao;
+        }
+
+        void escreverCabecalhos() {
+            if (escritos) {
+                return;
+            }
+            escritos = true;
+            if (!original.isCommitted()) {
+                original.setHeader("X-Query-Count", Long.toString(medicao.comandos()));
+                original.setHeader("X-Query-Time-Ms", Long.toString(TimeUnit.NANOSECONDS.toMillis(medicao.nanosJdbc())));
+            }
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            if (saida == null) {
+                saida = new Saida(super.getOutputStream());
+            }
+            return saida;
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            if (escritor == null) {
+                escritor = new Escritor(super.getWriter());
+            }
+            return escritor;
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            escreverCabecalhos();
+            super.flushBuffer();
+        }
+
+        @Override
+        public void sendError(int sc, String msg) throws IOException {
+            escreverCabecalhos();
+            super.sendError(sc, msg);
+        }
+
+        @Override
+        public void sendError(int sc) throws IOException {
+            escreverCabecalhos();
+            super.sendError(sc);
+        }
+
+        @Override
+        public void sendRedirect(String location) throws IOException {
+            escreverCabecalhos();
+            super.sendRedirect(location);
+        }
+
+        private final class Saida extends ServletOutputStream {
+            private final ServletOutputStream destino;
+
+            Saida(ServletOutputStream destino) {
+                this.destino = destino;
+            }
+
+            @Override
+            public void write(int b) throws IOException {
+                escreverCabecalhos();
+                destino.write(b);
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) throws IOException {
+                escreverCabecalhos();
+                destino.write(b, off, len);
+            }
+
+            @Override
+            public void flush() throws IOException {
+                escreverCabecalhos();
+                destino.flush();
+            }
+
+            @Override
+            public void close() throws IOException {
+                escreverCabecalhos();
+                destino.close();
+            }
+
+            @Override
+            public boolean isReady() {
+                return destino.isReady();
+            }
+
+            @Override
+            public void setWriteListener(WriteListener writeListener) {
+                destino.setWriteListener(writeListener);
+            }
+        }
+
+        private final class Escritor extends PrintWriter {
+            Escritor(PrintWriter destino) {
+                super(destino);
+            }
+
+            @Override
+            public void write(int c) {
+                escreverCabecalhos();
+                super.write(c);
+            }
+
+            @Override
+            public void write(char[] buf, int off, int len) {
+                escreverCabecalhos();
+                super.write(buf, off, len);
+            }
+
+            @Override
+            public void write(String s, int off, int len) {
+                escreverCabecalhos();
+                super.write(s, off, len);
+            }
+
+            @Override
+            public void flush() {
+                escreverCabecalhos();
+                super.flush();
+            }
+
+            @Override
+            public void close() {
+                escreverCabecalhos();
+                super.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package br.com.petfamily.canilapi.model;
+
+import jakarta.persistence.*;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+import java.time.LocalDateTime;
+
+/**
+ * Evento do feed de atividades do dashboard. A tabela só recebe inserts, feitos na mesma transação
+ * da venda, ninhada ou despesa que originou o evento.
+ */
+@Entity
+@Table(name = "atividades", indexes = {
+        // Leitura das mais recentes e paginação por cursor (dataHora, id) em um único range scan
+        @Index(name = "idx_atividades_data_hora_id", columnList = "data_hora, id")
+})
+@Getter
+@NoArgsConstructor
+@ToString
+@EqualsAndHashCode(of = "id")
+public class Atividade {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20, updatable = false)
+    private TipoAtividade tipo;
+
+    @Column(nullable = false, length = 500, updatable = false)
+    private String descricao;
+
+    @Column(name = "data_hora", nullable = false, updatable = false)
+    private LocalDateTime dataHora;
+
+    // Cachorro (ou mãe, no caso de ninhada) ao qual o evento se refere
+    @Column(name = "entidade_id", updatable = false)
+    private Long entidadeId;
+
+    public Atividade(TipoAtividade tipo, String descricao, LocalDateTime dataHora, Long entidadeId) {
+        this.tipo = tipo;
+        this.descricao = descricao;
+        this.dataHora = dataHora;
+        this.entidadeId = entidadeId;
+    }
+}
@@ -1,8 +1,13 @@
 package br.com.petfamily.canilapi.model;
 
+import br.com.petfamily.canilapi.infra.persistence.AlteracoesTabelasListener;
+import br.com.petfamily.canilapi.infra.persistence.SequenciaIds;
+import br.com.petfamily.canilapi.service.busca.BuscaEntityListener;
+import br.com.petfamily.canilapi.service.pedigree.PedigreeEntityListener;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
@@ -10,7 +15,11 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "cachorros")
+@EntityListeners({PedigreeEntityListener.class, AlteracoesTabelasListener.class, BuscaEntityListener.class})
+@Table(name = "cachorros", indexes = {
+        // Suporta a paginação por cursor de GET /cachorros (ordem nome, id)
+        @Index(name = "idx_cachorros_nome_id", columnList = "nome, id")
+})
 @Getter
 @Setter
 @NoArgsConstructor // Adiciona o construtor vazio (public Cachorro() {}) que o JPA precisa.
@@ -19,9 +28,16 @@ import java.util.List;
 public class Cachorro {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = SequenciaIds.CACHORROS)
+    @SequenceGenerator(name = SequenciaIds.CACHORROS, sequenceName = SequenciaIds.CACHORROS, allocationSize = SequenciaIds.ALOCACAO)
     private Long id;
 
+    // Controle de concorrência otimista (lost update) e base do ETag do registro
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long versao;
+
     private String nome;
 
     @Enumerated(EnumType.STRING)
@@ -34,6 +50,16 @@ public class Cachorro {
     @Enumerated(EnumType.STRING)
     private StatusCachorro status;
 
+    // Soma das despesas e (se vendido) venda menos essa soma. Mantidos por incrementos no próprio UPDATE
+    // (CustoCachorroService), nunca pela entidade: insertable/updatable = false impede que um valor lido
+    // antes de um incremento concorrente seja gravado por cima dele.
+    @ColumnDefault("0")
+    @Column(nullable = false, precision = 19, scale = 2, insertable = false, updatable = false)
+    private BigDecimal custoAcumulado = BigDecimal.ZERO;
+
+    @Column(precision = 19, scale = 2, insertable = false, updatable = false)
+    private BigDecimal lucro;
+
     // --- RELACIONAMENTOS MAPEADOS ---
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -56,6 +82,8 @@ public class Cachorro {
     @JsonIgnore
     private List<Ninhada> ninhadasComoPai = new ArrayList<>();
 
+    // Lado inverso (mappedBy): sem bytecode enhancement o Hibernate não consegue torná-lo lazy, pois precisa
+    // consultar a venda para saber se ela existe. Por isso as listagens usam projeções e não carregam Cachorro.
     @OneToOne(mappedBy = "cachorro", cascade = CascadeType.ALL)
     private Venda registroVenda;
 
@@ -65,7 +93,7 @@ public class Cachorro {
     @OneToMany(mappedBy = "cachorro", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<Vacina> carteiraVacinacao = new ArrayList<>();
 
-    @OneToOne(cascade = CascadeType.ALL, orphanRemoval = true)
+    @OneToOne(cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.LAZY)
     @JoinColumn(name = "plano_alimentar_id", referencedColumnName = "id")
     private PlanoAlimentar planoAlimentar;
 
@@ -126,10 +154,13 @@ public class Cachorro {
         venda.setCachorro(this);
     }
 
-    public double calcularCustoTotal() {
+    /**
+     * Soma do histórico de despesas carregado, em BigDecimal (sem arredondamento de double).
+     * Para listagens e ordenação, use a coluna {@code custoAcumulado}, que não exige carregar o histórico.
+     */
+    public BigDecimal calcularCustoTotal() {
         return this.historicoDespesas.stream()
                 .map(Despesa::getValor)
-                .mapToDouble(BigDecimal::doubleValue)
-                .sum();
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
     }
 }
\ No newline at end of file
@@ -1,5 +1,6 @@
 package br.com.petfamily.canilapi.model;
 
+import br.com.petfamily.canilapi.infra.persistence.SequenciaIds;
 import jakarta.persistence.*;
 import lombok.*;
 
@@ -14,7 +15,8 @@ import lombok.*;
 public class Caracteristica {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = SequenciaIds.CARACTERISTICAS)
+    @SequenceGenerator(name = SequenciaIds.CARACTERISTICAS, sequenceName = SequenciaIds.CARACTERISTICAS, allocationSize = SequenciaIds.ALOCACAO)
     private Long id;
 
     private String descricao;
@@ -1,5 +1,7 @@
 package br.com.petfamily.canilapi.model;
 
+import br.com.petfamily.canilapi.infra.persistence.AlteracoesTabelasListener;
+import br.com.petfamily.canilapi.infra.persistence.SequenciaIds;
 import jakarta.persistence.*;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
@@ -10,6 +12,7 @@ import java.math.BigDecimal;
 import java.time.LocalDate;
 
 @Entity
+@EntityListeners(AlteracoesTabelasListener.class)
 @Table(name = "despesas")
 @Getter
 @Setter
@@ -18,13 +21,18 @@ import java.time.LocalDate;
 public class Despesa {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = SequenciaIds.DESPESAS)
+    @SequenceGenerator(name = SequenciaIds.DESPESAS, sequenceName = SequenciaIds.DESPESAS, allocationSize = SequenciaIds.ALOCACAO)
     private Long id;
 
     private String descricao;
     private BigDecimal valor;
     private LocalDate data;
 
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private CategoriaDespesa categoria = CategoriaDespesa.OUTROS;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "cachorro_id", nullable = false)
     private Cachorro cachorro;
@@ -0,0 +1,39 @@
+package br.com.petfamily.canilapi.model;
+
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Dimensões pelas quais as despesas podem ser agrupadas em {@code GET /despesas/analise}.
+ * MES agrupa por ano e mês; ANO, só pelo ano.
+ */
+public enum DimensaoDespesa {
+    CATEGORIA,
+    ANO,
+    MES,
+    RACA;
+
+    /**
+     * Lê uma lista separada por vírgulas ({@code "categoria,mes"}). Repetições são ignoradas; vazio não agrupa.
+     */
+    public static Set<DimensaoDespesa> deParametro(String valor) {
+        Set<DimensaoDespesa> dimensoes = EnumSet.noneOf(DimensaoDespesa.class);
+        if (valor == null || valor.isBlank()) {
+            return dimensoes;
+        }
+        for (String parte : valor.split(",")) {
+            if (parte.isBlank()) {
+                continue;
+            }
+            try {
+                dimensoes.add(valueOf(parte.trim().toUpperCase(Locale.ROOT)));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Agrupamento inválido: '" + parte.trim() + "'. Use "
+                        + String.join(", ", Arrays.stream(values()).map(d -> d.name().toLowerCase(Locale.ROOT)).toList()) + ".");
+            }
+        }
+        return dimensoes;
+    }
+}
@@ -1,17 +1,24 @@
 package br.com.petfamily.canilapi.model;
 
+import br.com.petfamily.canilapi.infra.persistence.AlteracoesTabelasListener;
 import jakarta.persistence.*;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.Setter;
 import lombok.ToString;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "ninhadas")
+@EntityListeners(AlteracoesTabelasListener.class)
+@Table(name = "ninhadas", indexes = {
+        // Suportam a paginação por cursor (ninhadas mais recentes primeiro)
+        @Index(name = "idx_ninhadas_data_id", columnList = "data_nascimento, id"),
+        @Index(name = "idx_ninhadas_mae_data_id", columnList = "mae_id, data_nascimento, id")
+})
 @Getter
 @Setter
 @ToString(exclude = {"mae", "pai", "filhotes"}) // Evita recursão no toString
@@ -22,6 +29,12 @@ public class Ninhada {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
+    // Controle de concorrência otimista (lost update) e base do ETag do registro
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long versao;
+
     private LocalDate dataNascimento;
 
     // --- Relacionamentos ---
@@ -0,0 +1,13 @@
+package br.com.petfamily.canilapi.model;
+
+/**
+ * Como o valor de um lançamento de despesas em lote é dividido entre os cachorros.
+ */
+public enum RateioDespesa {
+    // O valor é o total, dividido em partes iguais
+    IGUAL,
+    // O valor é o total, dividido na proporção dos pesos de cada cachorro
+    PONDERADO,
+    // O valor é o de cada cachorro
+    FIXO
+}
@@ -0,0 +1,47 @@
+package br.com.petfamily.canilapi.model;
+
+import jakarta.persistence.*;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Total de receitas ou despesas de um dia, por categoria.
+ * Mantido de forma incremental na mesma transação de vendas e despesas (ver ResumoFinanceiroService),
+ * para que qualquer janela do dashboard seja respondida somando poucas linhas.
+ */
+@Entity
+@Table(name = "resumo_financeiro_diario", uniqueConstraints = {
+        // Alvo do upsert e, por começar pelo dia, também atende as consultas por período
+        @UniqueConstraint(name = "uk_resumo_financeiro_dia_tipo_categoria", columnNames = {"dia", "tipo", "categoria"})
+})
+@Getter
+@Setter
+@ToString
+@EqualsAndHashCode(of = "id")
+public class ResumoFinanceiroDiario {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private LocalDate dia;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private TipoLancamento tipo;
+
+    @Column(nullable = false, length = 30)
+    private String categoria;
+
+    @Column(nullable = false, precision = 19, scale = 2)
+    private BigDecimal total = BigDecimal.ZERO;
+
+    @Column(nullable = false)
+    private long quantidade;
+}
@@ -0,0 +1,7 @@
+package br.com.petfamily.canilapi.model;
+
+public enum TipoAtividade {
+    VENDA,
+    NINHADA,
+    DESPESA
+}
@@ -0,0 +1,6 @@
+package br.com.petfamily.canilapi.model;
+
+public enum TipoLancamento {
+    RECEITA,
+    DESPESA
+}
@@ -1,20 +1,28 @@
 package br.com.petfamily.canilapi.model;
 
+import br.com.petfamily.canilapi.infra.persistence.AlteracoesTabelasListener;
+import br.com.petfamily.canilapi.service.busca.BuscaEntityListener;
 import jakarta.persistence.*;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.Setter;
 import lombok.ToString;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.util.ArrayList;
 import java.util.List;
 
 @NamedEntityGraph(
         name = "Tutor.withCachorros", // Nome do grafo para ser referenciado
-        attributeNodes = @NamedAttributeNode("cachorros") // Diz ao JPA para incluir a lista 'cachorros' na consulta
+        attributeNodes = @NamedAttributeNode(value = "cachorros", subgraph = "cachorros"), // Diz ao JPA para incluir a lista 'cachorros' na consulta
+        // registroVenda é um one-to-one inverso (sempre EAGER): fora do grafo, seria um SELECT por cachorro
+        subgraphs = @NamedSubgraph(name = "cachorros", attributeNodes = @NamedAttributeNode("registroVenda"))
 )
 @Entity
-@Table(name = "tutores")
+@EntityListeners({AlteracoesTabelasListener.class, BuscaEntityListener.class})
+@Table(name = "tutores", indexes = {
+        @Index(name = "idx_tutores_nome_id", columnList = "nome, id")
+})
 @Getter
 @Setter
 @ToString(exclude = "cachorros")
@@ -25,6 +33,12 @@ public class Tutor {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
+    // Controle de concorrência otimista (lost update) e base do ETag do registro
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long versao;
+
     private String nome;
     private String email;
     private String telefone;
@@ -1,5 +1,6 @@
 package br.com.petfamily.canilapi.model;
 
+import br.com.petfamily.canilapi.infra.persistence.SequenciaIds;
 import jakarta.persistence.*;
 import lombok.*;
 
@@ -17,7 +18,8 @@ import java.time.LocalDate;
 public class Vacina {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = SequenciaIds.VACINAS)
+    @SequenceGenerator(name = SequenciaIds.VACINAS, sequenceName = SequenciaIds.VACINAS, allocationSize = SequenciaIds.ALOCACAO)
     private Long id;
 
     private String nome;
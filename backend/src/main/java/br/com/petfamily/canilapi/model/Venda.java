@@ -1,15 +1,18 @@
 package br.com.petfamily.canilapi.model;
 
+import br.com.petfamily.canilapi.infra.persistence.AlteracoesTabelasListener;
 import jakarta.persistence.*;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.Setter;
 import lombok.ToString;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
 
 @Entity
+@EntityListeners(AlteracoesTabelasListener.class)
 @Table(name = "vendas")
 @Getter
 @Setter
@@ -21,6 +24,12 @@ public class Venda {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
+    // Controle de concorrência otimista (lost update) e base do ETag do registro
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long versao;
+
     private LocalDate dataVenda;
     private BigDecimal valor;
 
@@ -28,7 +37,7 @@ public class Venda {
     @JoinColumn(name = "novo_tutor_id", nullable = false)
     private Tutor novoTutor;
 
-    @OneToOne
+    @OneToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "cachorro_id", unique = true, nullable = false)
     private Cachorro cachorro;
 
@@ -1,44 +1,58 @@
 package br.com.petfamily.canilapi.repository;
-import br.com.petfamily.canilapi.repository.projection.AtividadeRecenteProjection;
+
+import br.com.petfamily.canilapi.model.Atividade;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
-import br.com.petfamily.canilapi.model.Cachorro;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Repository
-public interface AtividadeRepository extends JpaRepository<Cachorro, Long> {
-    @Query(
-            value = "SELECT * FROM (" +
-                    "    (SELECT " +
-                    "        'VENDA' AS tipo, " +
-                    "        CONCAT('Cachorro ''', c.nome, ''' vendido para ''', t.nome, '''') AS descricao, " +
-                    "        CAST(v.data_venda AS TIMESTAMP) AS data, " + // <-- CORREÇÃO AQUI
-                    "        c.id AS entidadeId " +
-                    "    FROM venda v " +
-                    "    JOIN cachorro c ON v.cachorro_id = c.id " +
-                    "    JOIN tutor t ON v.novo_tutor_id = t.id) " +
-                    "UNION ALL " +
-                    "    (SELECT " +
-                    "        'NINHADA' AS tipo, " +
-                    "        CONCAT('Ninhada registrada para ''', mae.nome, ''' e ''', pai.nome, '''') AS descricao, " +
-                    "        CAST(n.data_nascimento AS TIMESTAMP) AS data, " +
-                    "        mae.id AS entidadeId " +
-                    "    FROM ninhada n " +
-                    "    JOIN cachorro mae ON n.mae_id = mae.id " +
-                    "    JOIN cachorro pai ON n.pai_id = pai.id) " +
-                    "UNION ALL " +
-                    "    (SELECT " +
-                    "        'DESPESA' AS tipo, " +
-                    "        CONCAT('Despesa de R$ ', d.valor, ' para ''', c.nome, ''': ', d.descricao) AS descricao, " +
-                    "        CAST(d.data_despesa AS TIMESTAMP) AS data, " +
-                    "        c.id AS entidadeId " +
-                    "    FROM despesa d " +
-                    "    JOIN cachorro c ON d.cachorro_id = c.id)" +
-                    ") AS atividades " +
-                    "ORDER BY data DESC " +
-                    "LIMIT 5",
+public interface AtividadeRepository extends JpaRepository<Atividade, Long> {
+
+    @Query("SELECT a FROM Atividade a ORDER BY a.dataHora DESC, a.id DESC")
+    Slice<Atividade> findMaisRecentes(Pageable pageable);
+
+    // Lista e não Slice: lê só as N linhas pedidas, sem a extra que o Slice busca para saber se há próxima página
+    @Query("SELECT a FROM Atividade a ORDER BY a.dataHora DESC, a.id DESC")
+    List<Atividade> findUltimas(Pageable pageable);
+
+    @Query("SELECT a FROM Atividade a " +
+            "WHERE a.dataHora <= :dataHora AND (a.dataHora < :dataHora OR a.id < :id) " +
+            "ORDER BY a.dataHora DESC, a.id DESC")
+    Slice<Atividade> findMaisRecentesApos(@Param("dataHora") LocalDateTime dataHora, @Param("id") Long id, Pageable pageable);
+
+    // --- Backfill a partir das tabelas de origem (usado apenas com a tabela vazia) ---
+
+    @Modifying
+    @Query(value = "INSERT INTO atividades (tipo, descricao, data_hora, entidade_id) " +
+            "SELECT 'VENDA', CONCAT('Cachorro ''', c.nome, ''' vendido para ''', t.nome, ''''), " +
+            "CAST(v.data_venda AS TIMESTAMP), c.id " +
+            "FROM vendas v JOIN cachorros c ON v.cachorro_id = c.id JOIN tutores t ON v.novo_tutor_id = t.id " +
+            "WHERE v.data_venda IS NOT NULL",
+            nativeQuery = true)
+    int importarVendas();
+
+    @Modifying
+    @Query(value = "INSERT INTO atividades (tipo, descricao, data_hora, entidade_id) " +
+            "SELECT 'NINHADA', CONCAT('Ninhada registrada para ''', mae.nome, ''' e ''', pai.nome, ''''), " +
+            "CAST(n.data_nascimento AS TIMESTAMP), mae.id " +
+            "FROM ninhadas n JOIN cachorros mae ON n.mae_id = mae.id JOIN cachorros pai ON n.pai_id = pai.id " +
+            "WHERE n.data_nascimento IS NOT NULL",
+            nativeQuery = true)
+    int importarNinhadas();
+
+    @Modifying
+    @Query(value = "INSERT INTO atividades (tipo, descricao, data_hora, entidade_id) " +
+            "SELECT 'DESPESA', CONCAT('Despesa de R$ ', d.valor, ' para ''', c.nome, ''': ', d.descricao), " +
+            "CAST(d.data AS TIMESTAMP), c.id " +
+            "FROM despesas d JOIN cachorros c ON d.cachorro_id = c.id " +
+            "WHERE d.data IS NOT NULL",
             nativeQuery = true)
-    List<AtividadeRecenteProjection> findAtividadesRecentes();
+    int importarDespesas();
 }
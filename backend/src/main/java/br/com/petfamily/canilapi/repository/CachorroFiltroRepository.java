@@ -0,0 +1,30 @@
+package br.com.petfamily.canilapi.repository;
+
+import br.com.petfamily.canilapi.model.Cachorro;
+import br.com.petfamily.canilapi.repository.projection.CachorroListagemProjection;
+import br.com.petfamily.canilapi.repository.projection.FacetaCachorroProjection;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+/**
+ * Listagem filtrada de cachorros (Specifications) com as mesmas colunas das projeções de
+ * {@link CachorroRepository}. Os métodos de Specification do Spring Data carregariam a entidade inteira,
+ * e com ela a venda (one-to-one inverso, sempre carregado): por isso as consultas são montadas aqui.
+ */
+public interface CachorroFiltroRepository {
+
+    /**
+     * Linhas da página, com o tutor na mesma consulta. Sem ordenação no {@code pageable}, a ordem é (nome, id).
+     * Uma página paginada busca exatamente {@code pageable.getPageSize()} linhas a partir do offset.
+     *
+     * @throws IllegalArgumentException se a ordenação pedir uma propriedade que não pode ser ordenada.
+     */
+    List<CachorroListagemProjection> findListagem(Specification<Cachorro> filtro, Pageable pageable);
+
+    /**
+     * Contagem por (status, raça, sexo) dos cachorros do filtro, num único GROUP BY.
+     */
+    List<FacetaCachorroProjection> contarFacetas(Specification<Cachorro> filtro);
+}
@@ -0,0 +1,182 @@
+package br.com.petfamily.canilapi.repository;
+
+import br.com.petfamily.canilapi.model.Cachorro;
+import br.com.petfamily.canilapi.model.Sexo;
+import br.com.petfamily.canilapi.model.StatusCachorro;
+import br.com.petfamily.canilapi.model.Tutor;
+import br.com.petfamily.canilapi.repository.projection.CachorroListagemProjection;
+import br.com.petfamily.canilapi.repository.projection.FacetaCachorroProjection;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Order;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Implementação do fragmento {@link CachorroFiltroRepository}, encontrada pelo Spring Data pelo sufixo Impl.
+ */
+class CachorroFiltroRepositoryImpl implements CachorroFiltroRepository {
+
+    // Propriedades aceitas em ?sort= (as demais seriam ordenações sem índice ou inexistentes)
+    private static final Set<String> ORDENAVEIS = Set.of("id", "nome", "raca", "sexo", "dataNascimento", "status", "foiVendido",
+            "custoAcumulado", "lucro");
+
+    private final EntityManager entityManager;
+
+    CachorroFiltroRepositoryImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public List<CachorroListagemProjection> findListagem(Specification<Cachorro> filtro, Pageable pageable) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Cachorro> c = query.from(Cachorro.class);
+        Join<Cachorro, Tutor> t = c.join("tutor", JoinType.LEFT);
+        query.multiselect(
+                c.get("id").alias("id"), c.get("nome").alias("nome"), c.get("sexo").alias("sexo"),
+                c.get("raca").alias("raca"), c.get("dataNascimento").alias("dataNascimento"),
+                c.get("status").alias("status"), c.get("foiVendido").alias("foiVendido"),
+                c.get("custoAcumulado").alias("custoAcumulado"), c.get("lucro").alias("lucro"),
+                t.get("id").alias("tutorId"), t.get("nome").alias("tutorNome"));
+        aplicarFiltro(filtro, c, query, cb);
+        query.orderBy(ordem(pageable.getSort(), c, cb));
+
+        TypedQuery<Tuple> consulta = entityManager.createQuery(query);
+        if (pageable.isPaged()) {
+            consulta.setFirstResult(Math.toIntExact(pageable.getOffset()));
+            consulta.setMaxResults(pageable.getPageSize());
+        }
+        return consulta.getResultStream().<CachorroListagemProjection>map(LinhaListagem::new).toList();
+    }
+
+    @Override
+    public List<FacetaCachorroProjection> contarFacetas(Specification<Cachorro> filtro) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Cachorro> c = query.from(Cachorro.class);
+        query.multiselect(c.get("status").alias("status"), c.get("raca").alias("raca"), c.get("sexo").alias("sexo"),
+                cb.count(c).alias("quantidade"));
+        aplicarFiltro(filtro, c, query, cb);
+        query.groupBy(c.get("status"), c.get("raca"), c.get("sexo"));
+        return entityManager.createQuery(query).getResultStream().<FacetaCachorroProjection>map(LinhaFaceta::new).toList();
+    }
+
+    private static void aplicarFiltro(Specification<Cachorro> filtro, Root<Cachorro> c, CriteriaQuery<?> query,
+                                      CriteriaBuilder cb) {
+        Predicate predicado = filtro != null ? filtro.toPredicate(c, query, cb) : null;
+        if (predicado != null) {
+            query.where(predicado);
+        }
+    }
+
+    private static List<Order> ordem(Sort sort, Root<Cachorro> c, CriteriaBuilder cb) {
+        List<Order> ordem = new ArrayList<>();
+        boolean temId = false;
+        for (Sort.Order o : sort.isSorted() ? sort : Sort.by("nome")) {
+            if (!ORDENAVEIS.contains(o.getProperty())) {
+                throw new IllegalArgumentException("Não é possível ordenar cachorros por '" + o.getProperty() + "'.");
+            }
+            ordem.add(o.isAscending() ? cb.asc(c.get(o.getProperty())) : cb.desc(c.get(o.getProperty())));
+            temId |= o.getProperty().equals("id");
+        }
+        if (!temId) {
+            // Desempate estável: a mesma página não repete nem pula cachorros com a mesma chave
+            ordem.add(cb.asc(c.get("id")));
+        }
+        return ordem;
+    }
+
+    private record LinhaListagem(Tuple linha) implements CachorroListagemProjection {
+        @Override
+        public Long getId() {
+            return linha.get("id", Long.class);
+        }
+
+        @Override
+        public String getNome() {
+            return linha.get("nome", String.class);
+        }
+
+        @Override
+        public Sexo getSexo() {
+            return linha.get("sexo", Sexo.class);
+        }
+
+        @Override
+        public String getRaca() {
+            return linha.get("raca", String.class);
+        }
+
+        @Override
+        public LocalDate getDataNascimento() {
+            return linha.get("dataNascimento", LocalDate.class);
+        }
+
+        @Override
+        public StatusCachorro getStatus() {
+            return linha.get("status", StatusCachorro.class);
+        }
+
+        @Override
+        public Boolean getFoiVendido() {
+            return linha.get("foiVendido", Boolean.class);
+        }
+
+        @Override
+        public BigDecimal getCustoAcumulado() {
+            return linha.get("custoAcumulado", BigDecimal.class);
+        }
+
+        @Override
+        public BigDecimal getLucro() {
+            return linha.get("lucro", BigDecimal.class);
+        }
+
+        @Override
+        public Long getTutorId() {
+            return linha.get("tutorId", Long.class);
+        }
+
+        @Override
+        public String getTutorNome() {
+            return linha.get("tutorNome", String.class);
+        }
+    }
+
+    private record LinhaFaceta(Tuple linha) implements FacetaCachorroProjection {
+        @Override
+        public StatusCachorro getStatus() {
+            return linha.get("status", StatusCachorro.class);
+        }
+
+        @Override
+        public String getRaca() {
+            return linha.get("raca", String.class);
+        }
+
+        @Override
+        public Sexo getSexo() {
+            return linha.get("sexo", Sexo.class);
+        }
+
+        @Override
+        public Long getQuantidade() {
+            return linha.get("quantidade", Long.class);
+        }
+    }
+}
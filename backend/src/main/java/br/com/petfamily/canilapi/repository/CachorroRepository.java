@@ -1,17 +1,27 @@
 package br.com.petfamily.canilapi.repository;
 
 import br.com.petfamily.canilapi.model.Cachorro;
+import br.com.petfamily.canilapi.model.Sexo;
 import br.com.petfamily.canilapi.model.StatusCachorro; // <-- ESTA É A LINHA QUE FALTAVA
-import org.springframework.data.domain.Page;
+import br.com.petfamily.canilapi.repository.projection.CachorroBuscaProjection;
+import br.com.petfamily.canilapi.repository.projection.CachorroDoTutorProjection;
+import br.com.petfamily.canilapi.repository.projection.CachorroListagemProjection;
+import br.com.petfamily.canilapi.repository.projection.FilhoteProjection;
+import br.com.petfamily.canilapi.repository.projection.PedigreeProjection;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
-public interface CachorroRepository extends JpaRepository<Cachorro, Long> {
+public interface CachorroRepository extends JpaRepository<Cachorro, Long>, CachorroFiltroRepository {
     // ... seus outros métodos @Query
     @Query("SELECT c FROM Cachorro c " +
             "LEFT JOIN FETCH c.tutor " +
@@ -20,12 +30,9 @@ public interface CachorroRepository extends JpaRepository<Cachorro, Long> {
             "WHERE c.id = :id")
     Optional<Cachorro> findByIdWithAssociations(@Param("id") Long id);
 
-    @Query(value = "SELECT DISTINCT c FROM Cachorro c " +
-            "LEFT JOIN FETCH c.tutor " +
-            "LEFT JOIN FETCH c.registroVenda " +
-            "LEFT JOIN FETCH c.historicoDespesas",
-            countQuery = "SELECT COUNT(DISTINCT c) FROM Cachorro c")
-    Page<Cachorro> findAllForListView(Pageable pageable);
+    // Os pais de uma ninhada nova: com a venda no mesmo SELECT, já que o one-to-one inverso é sempre carregado
+    @Query("SELECT c FROM Cachorro c LEFT JOIN FETCH c.registroVenda WHERE c.id IN :ids")
+    List<Cachorro> findAllWithVendaByIdIn(@Param("ids") Collection<Long> ids);
 
     @Query("SELECT DISTINCT c FROM Cachorro c LEFT JOIN FETCH c.tutor LEFT JOIN FETCH c.historicoDespesas")
     List<Cachorro> findAllWithAssociations();
@@ -33,19 +40,141 @@ public interface CachorroRepository extends JpaRepository<Cachorro, Long> {
     // Agora este método é válido
     long countByStatus(StatusCachorro status);
 
-    @Query("SELECT c FROM Cachorro c LEFT JOIN FETCH c.tutor") // Exemplo de busca com uma relação ToOne
-    Page<Cachorro> findAllWithTutor(Pageable pageable);
+    // --- Projeções de leitura (CachorroResponseDTO): só as colunas do DTO, com o tutor na mesma consulta ---
 
-    @Query(value = "SELECT c FROM Cachorro c",
-            countQuery = "SELECT count(c) FROM Cachorro c")
-    Page<Cachorro> findByPage(Pageable pageable);
+    String SELECT_LISTAGEM = "SELECT c.id AS id, c.nome AS nome, c.sexo AS sexo, c.raca AS raca, " +
+            "c.dataNascimento AS dataNascimento, c.status AS status, c.foiVendido AS foiVendido, " +
+            "c.custoAcumulado AS custoAcumulado, c.lucro AS lucro, t.id AS tutorId, t.nome AS tutorNome ";
 
-    // CORREÇÃO: Adicionar o "LEFT JOIN FETCH c.tutor"
-    @Query("SELECT DISTINCT c FROM Cachorro c " +
-            "LEFT JOIN FETCH c.tutor " + // <-- Adicione esta linha!
-            "LEFT JOIN FETCH c.historicoDespesas " +
-            "LEFT JOIN FETCH c.registroVenda rv " +
-            "LEFT JOIN FETCH rv.novoTutor " +
-            "WHERE c.id IN :ids")
-    List<Cachorro> findAllWithCollectionsByIds(@Param("ids") List<Long> ids);
-}
\ No newline at end of file
+    /**
+     * Página por OFFSET. O total vem em cada linha (COUNT(*) OVER ()), sem um SELECT COUNT separado.
+     */
+    @Query(SELECT_LISTAGEM + ", COUNT(*) OVER () AS total FROM Cachorro c LEFT JOIN c.tutor t")
+    List<CachorroListagemProjection.Pagina> findPaginaParaListagem(Pageable pageable);
+
+    @Query(SELECT_LISTAGEM + "FROM Cachorro c LEFT JOIN c.tutor t WHERE c.id = :id")
+    Optional<CachorroListagemProjection> findListagemById(@Param("id") Long id);
+
+    // Só a versão da linha, para responder GET condicional (304) sem carregar o cachorro
+    @Query("SELECT c.versao FROM Cachorro c WHERE c.id = :id")
+    Optional<Long> findVersaoById(@Param("id") Long id);
+
+    /**
+     * Paginação por cursor: primeira página na ordem (nome, id).
+     * Retornar Slice faz o Spring Data buscar size + 1 linhas em vez de executar COUNT.
+     */
+    @Query(SELECT_LISTAGEM + "FROM Cachorro c LEFT JOIN c.tutor t ORDER BY c.nome ASC, c.id ASC")
+    Slice<CachorroListagemProjection> findListagemOrdenadaPorNome(Pageable pageable);
+
+    /**
+     * Paginação por cursor: cachorros posicionados depois de (nome, id), usando o índice idx_cachorros_nome_id.
+     * O {@code c.nome >= :nome} redundante é o que permite começar o range scan no cursor: só com o OR o banco
+     * percorreria o índice desde o início, descartando as linhas das páginas anteriores.
+     */
+    @Query(SELECT_LISTAGEM + "FROM Cachorro c LEFT JOIN c.tutor t " +
+            "WHERE c.nome >= :nome AND (c.nome > :nome OR c.id > :id) " +
+            "ORDER BY c.nome ASC, c.id ASC")
+    Slice<CachorroListagemProjection> findListagemOrdenadaPorNomeApos(@Param("nome") String nome, @Param("id") Long id,
+                                                                     Pageable pageable);
+
+    /**
+     * Trecho dos cachorros sem nome, que ficam no fim da ordem (nome, id) e são paginados só pelo id.
+     * O keyset com nome para nesses registros; {@code Cursor.emendar} continua a partir daqui.
+     */
+    @Query(SELECT_LISTAGEM + "FROM Cachorro c LEFT JOIN c.tutor t WHERE c.nome IS NULL ORDER BY c.id ASC")
+    Slice<CachorroListagemProjection> findListagemSemNome(Pageable pageable);
+
+    @Query(SELECT_LISTAGEM + "FROM Cachorro c LEFT JOIN c.tutor t WHERE c.nome IS NULL AND c.id > :id ORDER BY c.id ASC")
+    Slice<CachorroListagemProjection> findListagemSemNomeApos(@Param("id") Long id, Pageable pageable);
+
+    // Cachorros dos tutores de uma página (TutorResponseDTO)
+    @Query("SELECT c.tutor.id AS tutorId, c.id AS id, c.nome AS nome, c.raca AS raca FROM Cachorro c " +
+            "WHERE c.tutor.id IN :tutorIds ORDER BY c.nome ASC, c.id ASC")
+    List<CachorroDoTutorProjection> findResumoByTutorIds(@Param("tutorIds") Collection<Long> tutorIds);
+
+    @Query("SELECT c.tutor.id AS tutorId, c.id AS id, c.nome AS nome, c.raca AS raca FROM Cachorro c " +
+            "WHERE c.tutor IS NOT NULL ORDER BY c.nome ASC, c.id ASC")
+    List<CachorroDoTutorProjection> findResumoComTutor();
+
+    // Filhotes das ninhadas de uma página (NinhadaResponseDTO)
+    @Query("SELECT c.ninhada.id AS ninhadaId, c.id AS id, c.nome AS nome, c.sexo AS sexo FROM Cachorro c " +
+            "WHERE c.ninhada.id IN :ninhadaIds ORDER BY c.id ASC")
+    List<FilhoteProjection> findFilhotesByNinhadaIds(@Param("ninhadaIds") Collection<Long> ninhadaIds);
+
+    /**
+     * Carga do índice de pedigree: apenas as colunas necessárias, lidas em streaming.
+     * Filhotes cadastrados via ninhada podem ter os pais registrados somente na ninhada.
+     */
+    @Query("SELECT c.id AS id, c.nome AS nome, c.sexo AS sexo, " +
+            "COALESCE(p.id, n.pai.id) AS paiId, COALESCE(m.id, n.mae.id) AS maeId " +
+            "FROM Cachorro c LEFT JOIN c.pai p LEFT JOIN c.mae m LEFT JOIN c.ninhada n")
+    Stream<PedigreeProjection> findAllParaPedigree();
+
+    // Carga do índice de busca, em streaming
+    @Query("SELECT c.id AS id, c.nome AS nome, c.raca AS raca FROM Cachorro c")
+    Stream<CachorroBuscaProjection> findAllParaBusca();
+
+    // Candidatos do planejamento de cruzamento: só os IDs, o restante vem do índice de pedigree.
+    @Query("SELECT c.id FROM Cachorro c WHERE c.sexo = :sexo AND c.status = :status")
+    List<Long> findIdsBySexoAndStatus(@Param("sexo") Sexo sexo, @Param("status") StatusCachorro status);
+
+    // Cachorros de um lançamento de despesas em lote (DespesaLoteService): só os IDs, em ordem
+    @Query("SELECT c.id FROM Cachorro c WHERE c.id IN :ids ORDER BY c.id")
+    List<Long> findIdsByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT c.id FROM Cachorro c WHERE c.ninhada.id = :ninhadaId ORDER BY c.id")
+    List<Long> findIdsByNinhadaId(@Param("ninhadaId") Long ninhadaId);
+
+    @Query("SELECT c.id FROM Cachorro c WHERE c.status = :status ORDER BY c.id")
+    List<Long> findIdsByStatus(@Param("status") StatusCachorro status);
+
+    @Query("SELECT c.id FROM Cachorro c ORDER BY c.id")
+    List<Long> findAllIds();
+
+    // --- Custo acumulado e lucro (CustoCachorroService) ---
+
+    /**
+     * Soma (ou subtrai, com valor negativo) uma despesa ao custo do cachorro. O incremento é feito no próprio UPDATE,
+     * com lock da linha, então despesas concorrentes não se perdem; o lucro só muda se o cachorro já foi vendido.
+     */
+    @Modifying
+    @Query(value = "UPDATE cachorros SET custo_acumulado = custo_acumulado + :valor, lucro = lucro - :valor WHERE id = :id",
+            nativeQuery = true)
+    int somarCusto(@Param("id") Long id, @Param("valor") BigDecimal valor);
+
+    // Lucro da venda sobre o custo que estiver gravado no momento do UPDATE
+    @Modifying
+    @Query(value = "UPDATE cachorros SET lucro = :valorVenda - custo_acumulado WHERE id = :id", nativeQuery = true)
+    int registrarLucro(@Param("id") Long id, @Param("valorVenda") BigDecimal valorVenda);
+
+    /**
+     * Cachorros cujo custo ou lucro gravado não bate com as despesas e a venda (reconciliação).
+     * Uma única passada agregada sobre despesas, sem travar nada.
+     */
+    @Query(value = "SELECT c.id FROM cachorros c " +
+            "LEFT JOIN (SELECT d.cachorro_id, SUM(d.valor) AS custo FROM despesas d GROUP BY d.cachorro_id) d " +
+            "ON d.cachorro_id = c.id " +
+            "LEFT JOIN vendas v ON v.cachorro_id = c.id " +
+            "WHERE c.custo_acumulado <> COALESCE(d.custo, 0) " +
+            "OR c.lucro IS DISTINCT FROM v.valor - COALESCE(d.custo, 0) " +
+            "ORDER BY c.id",
+            nativeQuery = true)
+    List<Long> findIdsComCustoDivergente();
+
+    // Trava a linha do cachorro até o fim da transação (ver CustoCachorroService.recalcular)
+    @Query(value = "SELECT id FROM cachorros WHERE id = :id FOR UPDATE", nativeQuery = true)
+    Optional<Long> travarParaAtualizacao(@Param("id") Long id);
+
+    /**
+     * Regrava custo e lucro a partir das despesas e da venda. A versão muda junto, pois os dois fazem parte
+     * do detalhe do cachorro (ETag).
+     */
+    @Modifying
+    @Query(value = "UPDATE cachorros SET versao = versao + 1, " +
+            "custo_acumulado = (SELECT COALESCE(SUM(d.valor), 0) FROM despesas d WHERE d.cachorro_id = :id), " +
+            "lucro = (SELECT v.valor FROM vendas v WHERE v.cachorro_id = :id) " +
+            "- (SELECT COALESCE(SUM(d.valor), 0) FROM despesas d WHERE d.cachorro_id = :id) " +
+            "WHERE id = :id",
+            nativeQuery = true)
+    int recalcularCusto(@Param("id") Long id);
+}
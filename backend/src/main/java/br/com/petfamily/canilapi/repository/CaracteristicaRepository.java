@@ -0,0 +1,19 @@
+package br.com.petfamily.canilapi.repository;
+
+import br.com.petfamily.canilapi.model.Caracteristica;
+import br.com.petfamily.canilapi.model.Sexo;
+import br.com.petfamily.canilapi.model.StatusCachorro;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+public interface CaracteristicaRepository extends JpaRepository<Caracteristica, Long> {
+
+    List<Caracteristica> findByCachorro_Id(Long cachorroId);
+
+    // Características de todos os cachorros de um sexo/status em uma única consulta (sem N+1 por candidato).
+    @Query("SELECT car FROM Caracteristica car WHERE car.cachorro.sexo = :sexo AND car.cachorro.status = :status")
+    List<Caracteristica> findByCachorroSexoAndStatus(@Param("sexo") Sexo sexo, @Param("status") StatusCachorro status);
+}
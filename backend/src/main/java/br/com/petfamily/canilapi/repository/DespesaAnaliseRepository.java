@@ -0,0 +1,29 @@
+package br.com.petfamily.canilapi.repository;
+
+import br.com.petfamily.canilapi.model.DimensaoDespesa;
+import br.com.petfamily.canilapi.repository.projection.TotalDespesaAgrupadoProjection;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Totais de despesas agrupados por qualquer combinação de {@link DimensaoDespesa}, cada um numa única consulta
+ * com GROUP BY. As colunas do agrupamento variam com o pedido, por isso as consultas são montadas aqui.
+ * Nos dois métodos, {@code inicio} e {@code fim} são inclusivos e null deixa a janela aberta daquele lado.
+ */
+public interface DespesaAnaliseRepository {
+
+    /**
+     * Agrupa direto sobre a tabela despesas (com o cachorro, para a raça). Atende qualquer agrupamento.
+     */
+    List<TotalDespesaAgrupadoProjection> agruparDespesas(Set<DimensaoDespesa> dimensoes, LocalDate inicio, LocalDate fim);
+
+    /**
+     * Agrupa sobre resumo_financeiro_diario, que já guarda as despesas somadas por dia e categoria: lê no máximo
+     * (dias x categorias) linhas, qualquer que seja o volume de despesas.
+     *
+     * @throws IllegalArgumentException se o agrupamento incluir a raça, que o resumo não guarda.
+     */
+    List<TotalDespesaAgrupadoProjection> agruparResumoDiario(Set<DimensaoDespesa> dimensoes, LocalDate inicio, LocalDate fim);
+}
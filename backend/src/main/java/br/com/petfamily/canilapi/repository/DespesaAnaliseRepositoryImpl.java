@@ -0,0 +1,178 @@
+package br.com.petfamily.canilapi.repository;
+
+import br.com.petfamily.canilapi.model.CategoriaDespesa;
+import br.com.petfamily.canilapi.model.Despesa;
+import br.com.petfamily.canilapi.model.DimensaoDespesa;
+import br.com.petfamily.canilapi.model.ResumoFinanceiroDiario;
+import br.com.petfamily.canilapi.model.TipoLancamento;
+import br.com.petfamily.canilapi.repository.projection.TotalDespesaAgrupadoProjection;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Implementação do fragmento {@link DespesaAnaliseRepository}, encontrada pelo Spring Data pelo sufixo Impl.
+ */
+class DespesaAnaliseRepositoryImpl implements DespesaAnaliseRepository {
+
+    private final EntityManager entityManager;
+
+    DespesaAnaliseRepositoryImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public List<TotalDespesaAgrupadoProjection> agruparDespesas(Set<DimensaoDespesa> dimensoes, LocalDate inicio, LocalDate fim) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Despesa> d = query.from(Despesa.class);
+
+        List<Expression<?>> grupos = new ArrayList<>();
+        List<Selection<?>> colunas = new ArrayList<>();
+        if (dimensoes.contains(DimensaoDespesa.CATEGORIA)) {
+            agrupar(d.get("categoria"), "categoria", grupos, colunas);
+        }
+        agruparPeriodo(d.get("data"), dimensoes, cb, grupos, colunas);
+        if (dimensoes.contains(DimensaoDespesa.RACA)) {
+            // Junção só quando pedida: sem a raça, a consulta não toca em cachorros
+            agrupar(d.join("cachorro").get("raca"), "raca", grupos, colunas);
+        }
+        colunas.add(cb.sum(d.<BigDecimal>get("valor")).alias("total"));
+        colunas.add(cb.count(d).alias("quantidade"));
+
+        List<Predicate> filtros = new ArrayList<>();
+        filtrarPeriodo(d.get("data"), inicio, fim, cb, filtros);
+        return executar(query, grupos, colunas, filtros, dimensoes);
+    }
+
+    @Override
+    public List<TotalDespesaAgrupadoProjection> agruparResumoDiario(Set<DimensaoDespesa> dimensoes, LocalDate inicio, LocalDate fim) {
+        if (dimensoes.contains(DimensaoDespesa.RACA)) {
+            throw new IllegalArgumentException("O resumo diário não guarda a raça; agrupe sobre as despesas.");
+        }
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<ResumoFinanceiroDiario> r = query.from(ResumoFinanceiroDiario.class);
+
+        List<Expression<?>> grupos = new ArrayList<>();
+        List<Selection<?>> colunas = new ArrayList<>();
+        if (dimensoes.contains(DimensaoDespesa.CATEGORIA)) {
+            agrupar(r.get("categoria"), "categoria", grupos, colunas);
+        }
+        agruparPeriodo(r.get("dia"), dimensoes, cb, grupos, colunas);
+        Expression<Long> quantidade = cb.sum(r.<Long>get("quantidade"));
+        colunas.add(cb.sum(r.<BigDecimal>get("total")).alias("total"));
+        colunas.add(quantidade.alias("quantidade"));
+
+        List<Predicate> filtros = new ArrayList<>();
+        filtros.add(cb.equal(r.get("tipo"), TipoLancamento.DESPESA));
+        filtrarPeriodo(r.get("dia"), inicio, fim, cb, filtros);
+        // Estornos deixam linhas zeradas no resumo; grupos sem nenhuma despesa não aparecem
+        query.having(cb.gt(quantidade, 0L));
+        return executar(query, grupos, colunas, filtros, dimensoes);
+    }
+
+    private static void agrupar(Expression<?> expressao, String alias, List<Expression<?>> grupos, List<Selection<?>> colunas) {
+        grupos.add(expressao);
+        colunas.add(expressao.alias(alias));
+    }
+
+    private static void agruparPeriodo(Path<LocalDate> data, Set<DimensaoDespesa> dimensoes, CriteriaBuilder cb,
+                                       List<Expression<?>> grupos, List<Selection<?>> colunas) {
+        if (dimensoes.contains(DimensaoDespesa.ANO) || dimensoes.contains(DimensaoDespesa.MES)) {
+            agrupar(cb.function("year", Integer.class, data), "ano", grupos, colunas);
+        }
+        if (dimensoes.contains(DimensaoDespesa.MES)) {
+            agrupar(cb.function("month", Integer.class, data), "mes", grupos, colunas);
+        }
+    }
+
+    private static void filtrarPeriodo(Path<LocalDate> data, LocalDate inicio, LocalDate fim, CriteriaBuilder cb,
+                                       List<Predicate> filtros) {
+        if (inicio != null) {
+            filtros.add(cb.greaterThanOrEqualTo(data, inicio));
+        }
+        if (fim != null) {
+            filtros.add(cb.lessThanOrEqualTo(data, fim));
+        }
+    }
+
+    private List<TotalDespesaAgrupadoProjection> executar(CriteriaQuery<Tuple> query, List<Expression<?>> grupos,
+                                                          List<Selection<?>> colunas, List<Predicate> filtros,
+                                                          Set<DimensaoDespesa> dimensoes) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        query.multiselect(colunas);
+        query.where(filtros.toArray(Predicate[]::new));
+        if (!grupos.isEmpty()) {
+            query.groupBy(grupos);
+            query.orderBy(grupos.stream().map(cb::asc).toList());
+        }
+        boolean temAno = dimensoes.contains(DimensaoDespesa.ANO) || dimensoes.contains(DimensaoDespesa.MES);
+        return entityManager.createQuery(query).getResultStream()
+                .<TotalDespesaAgrupadoProjection>map(linha -> new LinhaAgrupada(
+                        dimensoes.contains(DimensaoDespesa.CATEGORIA) ? categoria(linha.get("categoria")) : null,
+                        temAno ? inteiro(linha.get("ano")) : null,
+                        dimensoes.contains(DimensaoDespesa.MES) ? inteiro(linha.get("mes")) : null,
+                        dimensoes.contains(DimensaoDespesa.RACA) ? linha.get("raca", String.class) : null,
+                        linha.get("total", BigDecimal.class),
+                        linha.get("quantidade") instanceof Number n ? n.longValue() : 0L))
+                // Sem agrupamento e sem despesas no período, o SUM vem nulo numa linha só
+                .filter(linha -> linha.getQuantidade() > 0)
+                .toList();
+    }
+
+    // Em despesas a categoria é o enum; no resumo, o nome dele
+    private static CategoriaDespesa categoria(Object valor) {
+        return valor instanceof String nome ? CategoriaDespesa.valueOf(nome) : (CategoriaDespesa) valor;
+    }
+
+    // extract devolve numeric no PostgreSQL e integer no H2
+    private static Integer inteiro(Object valor) {
+        return valor != null ? ((Number) valor).intValue() : null;
+    }
+
+    private record LinhaAgrupada(CategoriaDespesa categoria, Integer ano, Integer mes, String raca, BigDecimal total,
+                                 Long quantidade) implements TotalDespesaAgrupadoProjection {
+        @Override
+        public CategoriaDespesa getCategoria() {
+            return categoria;
+        }
+
+        @Override
+        public Integer getAno() {
+            return ano;
+        }
+
+        @Override
+        public Integer getMes() {
+            return mes;
+        }
+
+        @Override
+        public String getRaca() {
+            return raca;
+        }
+
+        @Override
+        public BigDecimal getTotal() {
+            return total;
+        }
+
+        @Override
+        public Long getQuantidade() {
+            return quantidade;
+        }
+    }
+}
@@ -1,7 +1,7 @@
 package br.com.petfamily.canilapi.repository;
 
-import br.com.petfamily.canilapi.model.CategoriaDespesa;
 import br.com.petfamily.canilapi.model.Despesa;
+import br.com.petfamily.canilapi.repository.projection.DespesaResumoProjection;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
@@ -9,9 +9,10 @@ import org.springframework.data.repository.query.Param;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 
-public interface DespesaRepository extends JpaRepository<Despesa, Long> {
+public interface DespesaRepository extends JpaRepository<Despesa, Long>, DespesaAnaliseRepository {
 
     // Busca todas as despesas de um cachorro específico
     List<Despesa> findByCachorro_Id(Long cachorroId);
@@ -19,6 +20,18 @@ public interface DespesaRepository extends JpaRepository<Despesa, Long> {
     // Busca todas as despesas dentro de um período
     List<Despesa> findAllByDataBetween(LocalDate dataInicio, LocalDate dataFim);
 
+    // --- Projeções de leitura (DespesaResponseDTO / DespesaInfoDTO): sem carregar o cachorro ---
+
+    String SELECT_RESUMO = "SELECT d.id AS id, d.descricao AS descricao, d.valor AS valor, d.data AS data, " +
+            "d.categoria AS categoria, d.cachorro.id AS cachorroId FROM Despesa d ";
+
+    @Query(SELECT_RESUMO + "WHERE d.data BETWEEN :inicio AND :fim ORDER BY d.data ASC, d.id ASC")
+    List<DespesaResumoProjection> findResumoByPeriodo(@Param("inicio") LocalDate inicio, @Param("fim") LocalDate fim);
+
+    // Despesas dos cachorros de uma página (CachorroResponseDTO)
+    @Query(SELECT_RESUMO + "WHERE d.cachorro.id IN :cachorroIds ORDER BY d.data ASC, d.id ASC")
+    List<DespesaResumoProjection> findResumoByCachorroIds(@Param("cachorroIds") Collection<Long> cachorroIds);
+
     // Exemplo de query customizada para somar valores. Retorna um Double.
     @Query("SELECT SUM(d.valor) FROM Despesa d WHERE d.data BETWEEN :inicio AND :fim")
     BigDecimal sumDespesasByPeriodo(@Param("inicio") LocalDate inicio, @Param("fim") LocalDate fim);
@@ -1,26 +1,19 @@
 package br.com.petfamily.canilapi.repository;
 
 import br.com.petfamily.canilapi.model.Ninhada;
-import org.springframework.data.domain.Page;
+import br.com.petfamily.canilapi.repository.projection.NinhadaListagemProjection;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
 
 public interface NinhadaRepository extends JpaRepository<Ninhada, Long> {
 
-    /**
-     * CORREÇÃO: Busca uma página de ninhadas, trazendo (JOIN FETCH) os dados
-     * da mãe e do pai na mesma consulta para evitar LazyInitializationException.
-     */
-    @Override
-    @Query(value = "SELECT n FROM Ninhada n JOIN FETCH n.mae JOIN FETCH n.pai",
-            countQuery = "SELECT COUNT(n) FROM Ninhada n")
-    Page<Ninhada> findAll(Pageable pageable);
-
     /**
      * CORREÇÃO: Busca uma ninhada por ID, trazendo também os dados completos
      * da mãe, do pai e dos filhotes na mesma consulta.
@@ -28,17 +21,83 @@ public interface NinhadaRepository extends JpaRepository<Ninhada, Long> {
      * @return Um Optional contendo a ninhada com todas as suas associações carregadas.
      */
     @Query("SELECT n FROM Ninhada n " +
-            "JOIN FETCH n.mae " +
-            "JOIN FETCH n.pai " +
-            "LEFT JOIN FETCH n.filhotes " + // LEFT JOIN para caso não hajam filhotes
+            "JOIN FETCH n.mae m " +
+            "JOIN FETCH n.pai p " +
+            "LEFT JOIN FETCH n.filhotes f " + // LEFT JOIN para caso não hajam filhotes
+            // registroVenda é um one-to-one inverso (sempre EAGER): sem o fetch, seria um SELECT por cachorro
+            "LEFT JOIN FETCH m.registroVenda " +
+            "LEFT JOIN FETCH p.registroVenda " +
+            "LEFT JOIN FETCH f.registroVenda " +
             "WHERE n.id = :id")
     Optional<Ninhada> findByIdWithDetails(@Param("id") Long id);
 
-    @Query("SELECT n FROM Ninhada n JOIN FETCH n.pai WHERE n.mae.id = :maeId")
-    List<Ninhada> findByMaeIdWithAssociations(@Param("maeId") Long maeId);
+    // Só a versão da linha, para responder GET condicional (304) sem carregar a ninhada
+    @Query("SELECT n.versao FROM Ninhada n WHERE n.id = :id")
+    Optional<Long> findVersaoById(@Param("id") Long id);
+
+    // --- Projeções de leitura (NinhadaResponseDTO): mãe e pai na mesma consulta; os filhotes vêm numa segunda ---
+
+    String SELECT_LISTAGEM = "SELECT n.id AS id, n.dataNascimento AS dataNascimento, " +
+            "m.id AS maeId, m.nome AS maeNome, m.sexo AS maeSexo, p.id AS paiId, p.nome AS paiNome, p.sexo AS paiSexo ";
+    String FROM_LISTAGEM = "FROM Ninhada n JOIN n.mae m JOIN n.pai p ";
+
+    /**
+     * Página por OFFSET. O total vem em cada linha (COUNT(*) OVER ()), sem um SELECT COUNT separado.
+     */
+    @Query(SELECT_LISTAGEM + ", COUNT(*) OVER () AS total " + FROM_LISTAGEM)
+    List<NinhadaListagemProjection.Pagina> findPaginaParaListagem(Pageable pageable);
+
+    @Query(SELECT_LISTAGEM + FROM_LISTAGEM + "WHERE m.id = :maeId")
+    List<NinhadaListagemProjection> findListagemByMaeId(@Param("maeId") Long maeId);
+
+    // Intervalo de datas em vez de YEAR(data_nascimento): a função na coluna impediria o uso do índice
+    @Query(SELECT_LISTAGEM + FROM_LISTAGEM + "WHERE n.dataNascimento BETWEEN :inicio AND :fim")
+    List<NinhadaListagemProjection> findListagemByPeriodoNascimento(@Param("inicio") LocalDate inicio,
+                                                                    @Param("fim") LocalDate fim);
+
+    /**
+     * Paginação por cursor: ninhadas mais recentes primeiro, na ordem (dataNascimento, id) decrescente.
+     * Nas páginas seguintes, o {@code n.dataNascimento <= :data} redundante faz o range scan começar no cursor.
+     */
+    @Query(SELECT_LISTAGEM + FROM_LISTAGEM +
+            "ORDER BY n.dataNascimento DESC, n.id DESC")
+    Slice<NinhadaListagemProjection> findMaisRecentes(Pageable pageable);
+
+    @Query(SELECT_LISTAGEM + FROM_LISTAGEM +
+            "WHERE n.dataNascimento <= :data AND (n.dataNascimento < :data OR n.id < :id) " +
+            "ORDER BY n.dataNascimento DESC, n.id DESC")
+    Slice<NinhadaListagemProjection> findMaisRecentesApos(@Param("data") LocalDate data, @Param("id") Long id,
+                                                          Pageable pageable);
+
+    @Query(SELECT_LISTAGEM + FROM_LISTAGEM + "WHERE m.id = :maeId " +
+            "ORDER BY n.dataNascimento DESC, n.id DESC")
+    Slice<NinhadaListagemProjection> findByMaeIdMaisRecentes(@Param("maeId") Long maeId, Pageable pageable);
+
+    @Query(SELECT_LISTAGEM + FROM_LISTAGEM + "WHERE m.id = :maeId " +
+            "AND n.dataNascimento <= :data AND (n.dataNascimento < :data OR n.id < :id) " +
+            "ORDER BY n.dataNascimento DESC, n.id DESC")
+    Slice<NinhadaListagemProjection> findByMaeIdMaisRecentesApos(@Param("maeId") Long maeId, @Param("data") LocalDate data,
+                                                                 @Param("id") Long id, Pageable pageable);
+
+    /**
+     * Trechos da paginação por cursor separados pela data nula. Na ordem decrescente as ninhadas sem data vêm
+     * primeiro (o padrão do PostgreSQL), paginadas só pelo id; quando acabam, {@code Cursor.emendar} segue
+     * pelas ninhadas com data desde a mais recente.
+     */
+    @Query(SELECT_LISTAGEM + FROM_LISTAGEM +
+            "WHERE n.dataNascimento IS NULL AND n.id < :id ORDER BY n.id DESC")
+    Slice<NinhadaListagemProjection> findSemDataApos(@Param("id") Long id, Pageable pageable);
 
-    @Query("SELECT n FROM Ninhada n JOIN FETCH n.mae JOIN FETCH n.pai WHERE FUNCTION('YEAR', n.dataNascimento) = :ano")
-    List<Ninhada> findByAnoNascimento(@Param("ano") int ano);
+    @Query(SELECT_LISTAGEM + FROM_LISTAGEM +
+            "WHERE n.dataNascimento IS NOT NULL ORDER BY n.dataNascimento DESC, n.id DESC")
+    Slice<NinhadaListagemProjection> findComDataMaisRecentes(Pageable pageable);
 
+    @Query(SELECT_LISTAGEM + FROM_LISTAGEM + "WHERE m.id = :maeId " +
+            "AND n.dataNascimento IS NULL AND n.id < :id ORDER BY n.id DESC")
+    Slice<NinhadaListagemProjection> findByMaeIdSemDataApos(@Param("maeId") Long maeId, @Param("id") Long id,
+                                                            Pageable pageable);
 
-}
\ No newline at end of file
+    @Query(SELECT_LISTAGEM + FROM_LISTAGEM + "WHERE m.id = :maeId " +
+            "AND n.dataNascimento IS NOT NULL ORDER BY n.dataNascimento DESC, n.id DESC")
+    Slice<NinhadaListagemProjection> findByMaeIdComDataMaisRecentes(@Param("maeId") Long maeId, Pageable pageable);
+}
@@ -0,0 +1,69 @@
+package br.com.petfamily.canilapi.repository;
+
+import br.com.petfamily.canilapi.model.ResumoFinanceiroDiario;
+import br.com.petfamily.canilapi.repository.projection.TotalPorTipoProjection;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+public interface ResumoFinanceiroDiarioRepository extends JpaRepository<ResumoFinanceiroDiario, Long> {
+
+    /**
+     * Soma (ou subtrai, com valores negativos) um lançamento ao total do dia/tipo/categoria, criando a linha se ela
+     * ainda não existir, num comando só. O ON CONFLICT espera uma inserção concorrente da mesma chave terminar e
+     * então incrementa a linha dela (com lock), então lançamentos concorrentes não se perdem nem falham.
+     * Só no PostgreSQL; o H2 dos testes usa {@link #acumularComMerge}.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO resumo_financeiro_diario (dia, tipo, categoria, total, quantidade) " +
+            "VALUES (:dia, :tipo, :categoria, :valor, :quantidade) " +
+            "ON CONFLICT (dia, tipo, categoria) DO UPDATE SET total = resumo_financeiro_diario.total + EXCLUDED.total, " +
+            "quantidade = resumo_financeiro_diario.quantidade + EXCLUDED.quantidade",
+            nativeQuery = true)
+    void acumular(@Param("dia") LocalDate dia, @Param("tipo") String tipo, @Param("categoria") String categoria,
+                  @Param("valor") BigDecimal valor, @Param("quantidade") long quantidade);
+
+    /**
+     * O mesmo que {@link #acumular}, na forma que o H2 aceita (ele não tem ON CONFLICT DO UPDATE). Não é usado no
+     * PostgreSQL: lá o MERGE não espera a inserção concorrente da mesma chave e falharia com violação de unicidade.
+     */
+    @Modifying
+    @Query(value = "MERGE INTO resumo_financeiro_diario r USING (VALUES (CAST(:dia AS DATE), CAST(:tipo AS VARCHAR(20)), " +
+            "CAST(:categoria AS VARCHAR(30)), CAST(:valor AS NUMERIC(19,2)), CAST(:quantidade AS BIGINT))) " +
+            "AS n (dia, tipo, categoria, total, quantidade) " +
+            "ON r.dia = n.dia AND r.tipo = n.tipo AND r.categoria = n.categoria " +
+            "WHEN MATCHED THEN UPDATE SET total = r.total + n.total, quantidade = r.quantidade + n.quantidade " +
+            "WHEN NOT MATCHED THEN INSERT (dia, tipo, categoria, total, quantidade) " +
+            "VALUES (n.dia, n.tipo, n.categoria, n.total, n.quantidade)",
+            nativeQuery = true)
+    void acumularComMerge(@Param("dia") LocalDate dia, @Param("tipo") String tipo, @Param("categoria") String categoria,
+                          @Param("valor") BigDecimal valor, @Param("quantidade") long quantidade);
+
+    @Query("SELECT r.tipo AS tipo, SUM(r.total) AS total FROM ResumoFinanceiroDiario r " +
+            "WHERE r.dia BETWEEN :inicio AND :fim GROUP BY r.tipo")
+    List<TotalPorTipoProjection> somarPorTipo(@Param("inicio") LocalDate inicio, @Param("fim") LocalDate fim);
+
+    @Modifying
+    @Query(value = "DELETE FROM resumo_financeiro_diario", nativeQuery = true)
+    void apagarTudo();
+
+    // Backfill: as categorias devem seguir ResumoFinanceiroService (VENDA para receitas, a da própria despesa para despesas)
+    @Modifying
+    @Query(value = "INSERT INTO resumo_financeiro_diario (dia, tipo, categoria, total, quantidade) " +
+            "SELECT v.data_venda, 'RECEITA', 'VENDA', SUM(v.valor), COUNT(*) FROM vendas v " +
+            "WHERE v.data_venda IS NOT NULL AND v.valor IS NOT NULL GROUP BY v.data_venda",
+            nativeQuery = true)
+    int reconstruirReceitas();
+
+    @Modifying
+    @Query(value = "INSERT INTO resumo_financeiro_diario (dia, tipo, categoria, total, quantidade) " +
+            "SELECT d.data, 'DESPESA', d.categoria, SUM(d.valor), COUNT(*) FROM despesas d " +
+            "WHERE d.data IS NOT NULL AND d.valor IS NOT NULL GROUP BY d.data, d.categoria",
+            nativeQuery = true)
+    int reconstruirDespesas();
+}
@@ -1,13 +1,16 @@
 package br.com.petfamily.canilapi.repository;
 
 import br.com.petfamily.canilapi.model.Tutor;
-import org.springframework.data.domain.Page;
+import br.com.petfamily.canilapi.repository.projection.TutorListagemProjection;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
+import java.util.Optional;
 
 public interface TutorRepository extends JpaRepository<Tutor, Long> {
 
@@ -20,11 +23,45 @@ public interface TutorRepository extends JpaRepository<Tutor, Long> {
     // Método para encontrar um Tutor pelo nome
     Tutor findByNome(String nome);
 
-    // CORREÇÃO: A query agora também ordena os resultados pelo nome do tutor.
-    @Query("SELECT t FROM Tutor t LEFT JOIN FETCH t.cachorros ORDER BY t.nome ASC")
-    List<Tutor> findAllWithCachorrosSorted();
+    // Tutor com os cachorros já carregados, para montar o TutorResponseDTO fora da transação
+    @EntityGraph("Tutor.withCachorros")
+    Optional<Tutor> findWithCachorrosById(Long id);
 
-    @Override
-    @EntityGraph(value = "Tutor.withCachorros")
-    Page<Tutor> findAll(Pageable pageable);
-}
\ No newline at end of file
+    // --- Projeções de leitura (TutorResponseDTO): só as colunas do DTO; os cachorros vêm numa segunda consulta ---
+
+    String SELECT_LISTAGEM = "SELECT t.id AS id, t.nome AS nome, t.email AS email, t.telefone AS telefone ";
+
+    @Query(SELECT_LISTAGEM + "FROM Tutor t ORDER BY t.nome ASC, t.id ASC")
+    List<TutorListagemProjection> findTodosParaListagem();
+
+    /**
+     * Página por OFFSET. O total vem em cada linha (COUNT(*) OVER ()), sem um SELECT COUNT separado.
+     */
+    @Query(SELECT_LISTAGEM + ", COUNT(*) OVER () AS total FROM Tutor t")
+    List<TutorListagemProjection.Pagina> findPaginaParaListagem(Pageable pageable);
+
+    @Query(SELECT_LISTAGEM + "FROM Tutor t WHERE t.id = :id")
+    Optional<TutorListagemProjection> findListagemById(@Param("id") Long id);
+
+    // Só a versão da linha, para responder GET condicional (304) sem carregar o tutor
+    @Query("SELECT t.versao FROM Tutor t WHERE t.id = :id")
+    Optional<Long> findVersaoById(@Param("id") Long id);
+
+    // Paginação por cursor na ordem (nome, id), sem COUNT. O t.nome >= :nome deixa o range scan começar no cursor
+    // (ver CachorroRepository.findListagemOrdenadaPorNomeApos).
+    @Query(SELECT_LISTAGEM + "FROM Tutor t ORDER BY t.nome ASC, t.id ASC")
+    Slice<TutorListagemProjection> findListagemOrdenadaPorNome(Pageable pageable);
+
+    @Query(SELECT_LISTAGEM + "FROM Tutor t " +
+            "WHERE t.nome >= :nome AND (t.nome > :nome OR t.id > :id) " +
+            "ORDER BY t.nome ASC, t.id ASC")
+    Slice<TutorListagemProjection> findListagemOrdenadaPorNomeApos(@Param("nome") String nome, @Param("id") Long id,
+                                                                   Pageable pageable);
+
+    // Tutores sem nome: fim da ordem (nome, id), paginados só pelo id (ver CachorroRepository.findListagemSemNome)
+    @Query(SELECT_LISTAGEM + "FROM Tutor t WHERE t.nome IS NULL ORDER BY t.id ASC")
+    Slice<TutorListagemProjection> findListagemSemNome(Pageable pageable);
+
+    @Query(SELECT_LISTAGEM + "FROM Tutor t WHERE t.nome IS NULL AND t.id > :id ORDER BY t.id ASC")
+    Slice<TutorListagemProjection> findListagemSemNomeApos(@Param("id") Long id, Pageable pageable);
+}
@@ -29,5 +29,6 @@ public interface VendaRepository extends JpaRepository<Venda, Long> {
     BigDecimal sumVendasByPeriodo(@Param("inicio") LocalDate inicio, @Param("fim") LocalDate fim);
 
     @EntityGraph(attributePaths = {"cachorro", "novoTutor"})
-    Optional<Venda> findByIdWithDetails(Long id);
+    @Query("SELECT v FROM Venda v WHERE v.id = :id")
+    Optional<Venda> findByIdWithDetails(@Param("id") Long id);
 }
\ No newline at end of file
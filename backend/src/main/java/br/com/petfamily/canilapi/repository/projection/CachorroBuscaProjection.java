@@ -0,0 +1,8 @@
+package br.com.petfamily.canilapi.repository.projection;
+
+// Carga do índice de busca: só os campos pesquisáveis
+public interface CachorroBuscaProjection {
+    Long getId();
+    String getNome();
+    String getRaca();
+}
@@ -0,0 +1,8 @@
+package br.com.petfamily.canilapi.repository.projection;
+
+public interface CachorroDoTutorProjection {
+    Long getTutorId();
+    Long getId();
+    String getNome();
+    String getRaca();
+}
@@ -0,0 +1,31 @@
+package br.com.petfamily.canilapi.repository.projection;
+
+import br.com.petfamily.canilapi.model.Sexo;
+import br.com.petfamily.canilapi.model.StatusCachorro;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Colunas de um cachorro usadas nas listagens e no detalhe (CachorroResponseDTO), com o tutor já resolvido.
+ */
+public interface CachorroListagemProjection {
+    Long getId();
+    String getNome();
+    Sexo getSexo();
+    String getRaca();
+    LocalDate getDataNascimento();
+    StatusCachorro getStatus();
+    Boolean getFoiVendido();
+    BigDecimal getCustoAcumulado();
+    BigDecimal getLucro();
+    Long getTutorId();
+    String getTutorNome();
+
+    /**
+     * Linha de uma página por OFFSET: traz junto o total de linhas da consulta (COUNT(*) OVER ()).
+     */
+    interface Pagina extends CachorroListagemProjection {
+        Long getTotal();
+    }
+}
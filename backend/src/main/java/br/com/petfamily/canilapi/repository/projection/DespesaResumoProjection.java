@@ -0,0 +1,15 @@
+package br.com.petfamily.canilapi.repository.projection;
+
+import br.com.petfamily.canilapi.model.CategoriaDespesa;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+public interface DespesaResumoProjection {
+    Long getId();
+    String getDescricao();
+    BigDecimal getValor();
+    LocalDate getData();
+    CategoriaDespesa getCategoria();
+    Long getCachorroId();
+}
@@ -0,0 +1,15 @@
+package br.com.petfamily.canilapi.repository.projection;
+
+import br.com.petfamily.canilapi.model.Sexo;
+import br.com.petfamily.canilapi.model.StatusCachorro;
+
+/**
+ * Quantidade de cachorros de uma combinação (status, raça, sexo) dentro de um filtro.
+ * As contagens por status, por raça e por sexo saem somando estas linhas.
+ */
+public interface FacetaCachorroProjection {
+    StatusCachorro getStatus();
+    String getRaca();
+    Sexo getSexo();
+    Long getQuantidade();
+}
@@ -0,0 +1,10 @@
+package br.com.petfamily.canilapi.repository.projection;
+
+import br.com.petfamily.canilapi.model.Sexo;
+
+public interface FilhoteProjection {
+    Long getNinhadaId();
+    Long getId();
+    String getNome();
+    Sexo getSexo();
+}
@@ -0,0 +1,26 @@
+package br.com.petfamily.canilapi.repository.projection;
+
+import br.com.petfamily.canilapi.model.Sexo;
+
+import java.time.LocalDate;
+
+/**
+ * Colunas de uma ninhada usadas nas listagens (NinhadaResponseDTO), com mãe e pai já resolvidos.
+ */
+public interface NinhadaListagemProjection {
+    Long getId();
+    LocalDate getDataNascimento();
+    Long getMaeId();
+    String getMaeNome();
+    Sexo getMaeSexo();
+    Long getPaiId();
+    String getPaiNome();
+    Sexo getPaiSexo();
+
+    /**
+     * Linha de uma página por OFFSET: traz junto o total de linhas da consulta (COUNT(*) OVER ()).
+     */
+    interface Pagina extends NinhadaListagemProjection {
+        Long getTotal();
+    }
+}
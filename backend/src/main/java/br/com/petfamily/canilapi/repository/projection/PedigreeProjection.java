@@ -0,0 +1,11 @@
+package br.com.petfamily.canilapi.repository.projection;
+
+import br.com.petfamily.canilapi.model.Sexo;
+
+public interface PedigreeProjection {
+    Long getId();
+    String getNome();
+    Sexo getSexo();
+    Long getPaiId();
+    Long getMaeId();
+}
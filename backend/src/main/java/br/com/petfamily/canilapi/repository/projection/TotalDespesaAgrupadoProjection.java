@@ -0,0 +1,17 @@
+package br.com.petfamily.canilapi.repository.projection;
+
+import br.com.petfamily.canilapi.model.CategoriaDespesa;
+
+import java.math.BigDecimal;
+
+/**
+ * Uma linha da análise de despesas. Só vêm preenchidas as dimensões pedidas no agrupamento.
+ */
+public interface TotalDespesaAgrupadoProjection {
+    CategoriaDespesa getCategoria();
+    Integer getAno();
+    Integer getMes();
+    String getRaca();
+    BigDecimal getTotal();
+    Long getQuantidade();
+}
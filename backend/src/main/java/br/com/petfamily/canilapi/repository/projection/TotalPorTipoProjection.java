@@ -0,0 +1,10 @@
+package br.com.petfamily.canilapi.repository.projection;
+
+import br.com.petfamily.canilapi.model.TipoLancamento;
+
+import java.math.BigDecimal;
+
+public interface TotalPorTipoProjection {
+    TipoLancamento getTipo();
+    BigDecimal getTotal();
+}
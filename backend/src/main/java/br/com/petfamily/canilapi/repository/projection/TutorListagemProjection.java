@@ -0,0 +1,15 @@
+package br.com.petfamily.canilapi.repository.projection;
+
+public interface TutorListagemProjection {
+    Long getId();
+    String getNome();
+    String getEmail();
+    String getTelefone();
+
+    /**
+     * Linha de uma página por OFFSET: traz junto o total de linhas da consulta (COUNT(*) OVER ()).
+     */
+    interface Pagina extends TutorListagemProjection {
+        Long getTotal();
+    }
+}
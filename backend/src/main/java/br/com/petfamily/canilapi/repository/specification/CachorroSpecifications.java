@@ -0,0 +1,91 @@
+package br.com.petfamily.canilapi.repository.specification;
+
+import br.com.petfamily.canilapi.model.Cachorro;
+import br.com.petfamily.canilapi.model.Sexo;
+import br.com.petfamily.canilapi.model.StatusCachorro;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDate;
+import java.util.Collection;
+
+/**
+ * Filtros da listagem de cachorros. Cada método devolve null quando o filtro não foi informado,
+ * o que permite compor com {@code Specification.where(...).and(...)} só os filtros presentes.
+ * <p>
+ * Os filtros comparam a coluna diretamente (sem funções nem LIKE), para que status, raça, tutor e
+ * data de nascimento usem os índices da migração V4.
+ */
+public final class CachorroSpecifications {
+
+    private CachorroSpecifications() {
+    }
+
+    public static Specification<Cachorro> comStatus(Collection<StatusCachorro> status) {
+        if (status == null || status.isEmpty()) {
+            return null;
+        }
+        return (root, query, cb) -> status.size() == 1
+                ? cb.equal(root.get("status"), status.iterator().next())
+                : root.get("status").in(status);
+    }
+
+    public static Specification<Cachorro> daRaca(String raca) {
+        if (raca == null || raca.isBlank()) {
+            return null;
+        }
+        return (root, query, cb) -> cb.equal(root.get("raca"), raca.strip());
+    }
+
+    public static Specification<Cachorro> doSexo(Sexo sexo) {
+        if (sexo == null) {
+            return null;
+        }
+        return (root, query, cb) -> cb.equal(root.get("sexo"), sexo);
+    }
+
+    public static Specification<Cachorro> nascidoEntre(LocalDate inicio, LocalDate fim) {
+        if (inicio == null && fim == null) {
+            return null;
+        }
+        return (root, query, cb) -> {
+            if (inicio == null) {
+                return cb.lessThanOrEqualTo(root.get("dataNascimento"), fim);
+            }
+            if (fim == null) {
+                return cb.greaterThanOrEqualTo(root.get("dataNascimento"), inicio);
+            }
+            return cb.between(root.get("dataNascimento"), inicio, fim);
+        };
+    }
+
+    public static Specification<Cachorro> doTutor(Long tutorId) {
+        if (tutorId == null) {
+            return null;
+        }
+        // tutor.id é a própria chave estrangeira: o Hibernate não gera join para compará-la
+        return (root, query, cb) -> cb.equal(root.get("tutor").get("id"), tutorId);
+    }
+
+    public static Specification<Cachorro> vendido(Boolean foiVendido) {
+        if (foiVendido == null) {
+            return null;
+        }
+        return (root, query, cb) -> cb.equal(root.get("foiVendido"), foiVendido);
+    }
+
+    /**
+     * Paginação por cursor na ordem (nome, id). O {@code nome >= :nome} redundante deixa o range scan
+     * começar no cursor (ver CachorroRepository.findListagemOrdenadaPorNomeApos).
+     * Os cachorros sem nome ficam no fim da ordem: depois de um nome vêm todos eles, e depois de um
+     * cursor sem nome só os de id maior.
+     */
+    public static Specification<Cachorro> depoisDe(String nome, long id) {
+        if (nome == null) {
+            return (root, query, cb) -> cb.and(cb.isNull(root.get("nome")), cb.greaterThan(root.get("id"), id));
+        }
+        return (root, query, cb) -> cb.or(
+                cb.and(cb.greaterThanOrEqualTo(root.get("nome"), nome),
+                        cb.or(cb.greaterThan(root.get("nome"), nome), cb.greaterThan(root.get("id"), id))),
+                cb.isNull(root.get("nome")));
+    }
+}
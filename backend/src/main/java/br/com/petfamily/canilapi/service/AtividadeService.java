@@ -0,0 +1,139 @@
+package br.com.petfamily.canilapi.service;
+
+import br.com.petfamily.canilapi.controller.dto.AtividadeRecenteDTO;
+import br.com.petfamily.canilapi.controller.dto.CursorPageResponseDTO;
+import br.com.petfamily.canilapi.infra.pagination.Cursor;
+import br.com.petfamily.canilapi.model.Atividade;
+import br.com.petfamily.canilapi.model.Cachorro;
+import br.com.petfamily.canilapi.model.Despesa;
+import br.com.petfamily.canilapi.model.Ninhada;
+import br.com.petfamily.canilapi.model.TipoAtividade;
+import br.com.petfamily.canilapi.model.Venda;
+import br.com.petfamily.canilapi.repository.AtividadeRepository;
+import br.com.petfamily.canilapi.service.dashboard.DashboardAlteradoEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Feed de atividades do dashboard (tabela atividades, somente inserts).
+ * Os eventos são gravados na mesma transação da operação que os gera (Propagation.MANDATORY)
+ * e lidos pelo índice (data_hora, id), sem juntar vendas, ninhadas e despesas a cada leitura.
+ */
+@Service
+public class AtividadeService {
+
+    private static final Logger log = LoggerFactory.getLogger(AtividadeService.class);
+
+    // Tamanho da coluna atividades.descricao
+    private static final int TAMANHO_MAXIMO_DESCRICAO = 500;
+
+    private final AtividadeRepository atividadeRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public AtividadeService(AtividadeRepository atividadeRepository, ApplicationEventPublisher eventPublisher) {
+        this.atividadeRepository = atividadeRepository;
+        this.eventPublisher = eventPublisher;
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void registrarVenda(Venda venda) {
+        Cachorro cachorro = venda.getCachorro();
+        registrar(TipoAtividade.VENDA,
+                "Cachorro '" + cachorro.getNome() + "' vendido para '" + venda.getNovoTutor().getNome() + "'",
+                cachorro.getId());
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void registrarNinhada(Ninhada ninhada) {
+        registrar(TipoAtividade.NINHADA,
+                "Ninhada registrada para '" + ninhada.getMae().getNome() + "' e '" + ninhada.getPai().getNome() + "'",
+                ninhada.getMae().getId());
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void registrarDespesa(Despesa despesa) {
+        Cachorro cachorro = despesa.getCachorro();
+        registrar(TipoAtividade.DESPESA,
+                "Despesa de R$ " + despesa.getValor() + " para '" + cachorro.getNome() + "': " + despesa.getDescricao(),
+                cachorro.getId());
+    }
+
+    // Um lançamento em lote entra no feed uma vez, e não uma por cachorro
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void registrarDespesasEmLote(String descricao, BigDecimal total, int quantidadeCachorros) {
+        registrar(TipoAtividade.DESPESA,
+                "Despesa de R$ " + total + " rateada entre " + quantidadeCachorros + " cachorros: " + descricao,
+                null);
+    }
+
+    /**
+     * As {@code limite} atividades mais recentes.
+     */
+    @Transactional(readOnly = true)
+    public List<AtividadeRecenteDTO> listarRecentes(int limite) {
+        return atividadeRepository.findUltimas(PageRequest.ofSize(Cursor.limitarTamanho(limite))).stream()
+                .map(AtividadeRecenteDTO::new)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * "Carregar mais": próxima página de atividades, da mais recente para a mais antiga, por cursor (dataHora, id).
+     */
+    @Transactional(readOnly = true)
+    public CursorPageResponseDTO<AtividadeRecenteDTO> listarPorCursor(String after, int size) {
+        Cursor cursor = Cursor.decodificar(after);
+        Pageable limite = PageRequest.ofSize(Cursor.limitarTamanho(size));
+
+        Slice<Atividade> atividades = cursor == null
+                ? atividadeRepository.findMaisRecentes(limite)
+                : atividadeRepository.findMaisRecentesApos(cursor.chaveComoDataHora(), cursor.id(), limite);
+
+        List<AtividadeRecenteDTO> dtos = atividades.getContent().stream()
+                .map(AtividadeRecenteDTO::new)
+                .collect(Collectors.toList());
+
+        String next = null;
+        if (atividades.hasNext() && !atividades.getContent().isEmpty()) {
+            Atividade ultima = atividades.getContent().get(atividades.getContent().size() - 1);
+            next = Cursor.codificar(ultima.getDataHora(), ultima.getId());
+        }
+        return new CursorPageResponseDTO<>(dtos, limite.getPageSize(), next);
+    }
+
+    /**
+     * Na primeira subida após a criação da tabela, importa o histórico de vendas, ninhadas e despesas.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void importarHistoricoSeVazio() {
+        if (atividadeRepository.count() > 0) {
+            return;
+        }
+        int vendas = atividadeRepository.importarVendas();
+        int ninhadas = atividadeRepository.importarNinhadas();
+        int despesas = atividadeRepository.importarDespesas();
+        log.info("Histórico de atividades importado: {} vendas, {} ninhadas e {} despesas.", vendas, ninhadas, despesas);
+    }
+
+    private void registrar(TipoAtividade tipo, String descricao, Long entidadeId) {
+        if (descricao.length() > TAMANHO_MAXIMO_DESCRICAO) {
+            descricao = descricao.substring(0, TAMANHO_MAXIMO_DESCRICAO);
+        }
+        Atividade atividade = atividadeRepository.save(new Atividade(tipo, descricao, LocalDateTime.now(), entidadeId));
+        eventPublisher.publishEvent(DashboardAlteradoEvent.deAtividade(new AtividadeRecenteDTO(atividade)));
+    }
+}
@@ -0,0 +1,59 @@
+package br.com.petfamily.canilapi.service;
+
+import br.com.petfamily.canilapi.controller.dto.ResultadoBuscaDTO;
+import br.com.petfamily.canilapi.repository.CachorroRepository;
+import br.com.petfamily.canilapi.repository.TutorRepository;
+import br.com.petfamily.canilapi.repository.projection.CachorroBuscaProjection;
+import br.com.petfamily.canilapi.service.busca.IndiceBusca;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Busca tolerante a erros de digitação em cachorros e tutores, respondida pelo {@link IndiceBusca} sem acessar o banco.
+ * O índice é carregado quando a aplicação termina de subir (e de novo após importações) e depois mantido
+ * pelo {@link br.com.petfamily.canilapi.service.busca.BuscaEntityListener}.
+ */
+@Service
+public class BuscaService {
+
+    private static final Logger log = LoggerFactory.getLogger(BuscaService.class);
+
+    private final CachorroRepository cachorroRepository;
+    private final TutorRepository tutorRepository;
+    private final IndiceBusca indiceBusca;
+
+    public BuscaService(CachorroRepository cachorroRepository, TutorRepository tutorRepository, IndiceBusca indiceBusca) {
+        this.cachorroRepository = cachorroRepository;
+        this.tutorRepository = tutorRepository;
+        this.indiceBusca = indiceBusca;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void carregarIndice() {
+        long inicio = System.nanoTime();
+        List<IndiceBusca.Registro> tutores = tutorRepository.findTodosParaListagem().stream()
+                .map(t -> new IndiceBusca.Registro(IndiceBusca.Tipo.TUTOR, t.getId(), t.getNome(), t.getEmail(), t.getTelefone()))
+                .toList();
+        try (Stream<CachorroBuscaProjection> cachorros = cachorroRepository.findAllParaBusca()) {
+            Stream<IndiceBusca.Registro> registros = Stream.concat(tutores.stream(), cachorros
+                    .map(c -> new IndiceBusca.Registro(IndiceBusca.Tipo.CACHORRO, c.getId(), c.getNome(), c.getRaca(), null)));
+            indiceBusca.substituirTudo(registros::iterator);
+        }
+        log.info("Índice de busca carregado com {} documentos em {} ms.",
+                indiceBusca.tamanho(), (System.nanoTime() - inicio) / 1_000_000);
+    }
+
+    public List<ResultadoBuscaDTO> buscar(String q, int limite) {
+        return indiceBusca.buscar(q, limite).stream()
+                .map(ResultadoBuscaDTO::new)
+                .toList();
+    }
+}
@@ -0,0 +1,87 @@
+package br.com.petfamily.canilapi.service;
+
+import br.com.petfamily.canilapi.controller.dto.FacetasCachorrosDTO;
+import br.com.petfamily.canilapi.infra.cache.CachePorVersao;
+import br.com.petfamily.canilapi.infra.persistence.AlteracoesTabelas;
+import br.com.petfamily.canilapi.model.Cachorro;
+import br.com.petfamily.canilapi.model.Sexo;
+import br.com.petfamily.canilapi.model.StatusCachorro;
+import br.com.petfamily.canilapi.repository.CachorroRepository;
+import br.com.petfamily.canilapi.repository.projection.FacetaCachorroProjection;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Service;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Facetas da listagem de cachorros (quantos por status, raça e sexo dentro do filtro atual).
+ * <p>
+ * Saem de um único GROUP BY (status, raça, sexo) e ficam em cache pela assinatura do filtro. Todas as colunas
+ * envolvidas, inclusive as dos filtros, são da tabela cachorros, então o contador dela em {@link AlteracoesTabelas}
+ * é a versão do cache: qualquer escrita confirmada em cachorros invalida as facetas de todos os filtros.
+ */
+@Service
+public class CachorroFacetasService {
+
+    // Filtros distintos guardados; cada entrada são poucas dezenas de contagens
+    static final int CAPACIDADE_CACHE = 512;
+
+    private final CachorroRepository cachorroRepository;
+    private final AlteracoesTabelas alteracoesTabelas;
+    private final CachePorVersao<String, FacetasCachorrosDTO> cache = new CachePorVersao<>(CAPACIDADE_CACHE);
+
+    public CachorroFacetasService(CachorroRepository cachorroRepository, AlteracoesTabelas alteracoesTabelas,
+                                  MeterRegistry meterRegistry) {
+        this.cachorroRepository = cachorroRepository;
+        this.alteracoesTabelas = alteracoesTabelas;
+        FunctionCounter.builder("canil.cachorros.facetas.leituras", cache, CachePorVersao::acertos)
+                .tag("resultado", "cache")
+                .register(meterRegistry);
+        FunctionCounter.builder("canil.cachorros.facetas.leituras", cache, CachePorVersao::carregamentos)
+                .tag("resultado", "banco")
+                .register(meterRegistry);
+    }
+
+    /**
+     * @param assinatura Identifica o filtro (ver {@code CachorroFiltroDTO.assinatura}).
+     * @param filtro     O mesmo filtro, já como Specification; null para todos os cachorros.
+     */
+    public FacetasCachorrosDTO contar(String assinatura, Specification<Cachorro> filtro) {
+        // Versão lida antes da consulta: uma escrita confirmada durante ela só custa um recálculo na próxima leitura
+        String versao = alteracoesTabelas.etagColecao(AlteracoesTabelas.CACHORROS);
+        return cache.obter(assinatura, versao, () -> agregar(cachorroRepository.contarFacetas(filtro)));
+    }
+
+    private static FacetasCachorrosDTO agregar(List<FacetaCachorroProjection> linhas) {
+        long total = 0;
+        Map<StatusCachorro, Long> porStatus = new EnumMap<>(StatusCachorro.class);
+        Map<String, Long> porRaca = new HashMap<>();
+        Map<Sexo, Long> porSexo = new EnumMap<>(Sexo.class);
+        for (FacetaCachorroProjection linha : linhas) {
+            long quantidade = linha.getQuantidade();
+            total += quantidade;
+            if (linha.getStatus() != null) {
+                porStatus.merge(linha.getStatus(), quantidade, Long::sum);
+            }
+            if (linha.getRaca() != null) {
+                porRaca.merge(linha.getRaca(), quantidade, Long::sum);
+            }
+            if (linha.getSexo() != null) {
+                porSexo.merge(linha.getSexo(), quantidade, Long::sum);
+            }
+        }
+        Map<String, Long> racasOrdenadas = new LinkedHashMap<>();
+        porRaca.entrySet().stream()
+                .sorted(Map.Entry.<String, Long>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey()))
+                .forEach(e -> racasOrdenadas.put(e.getKey(), e.getValue()));
+        return new FacetasCachorrosDTO(total, Collections.unmodifiableMap(porStatus),
+                Collections.unmodifiableMap(racasOrdenadas), Collections.unmodifiableMap(porSexo));
+    }
+}
@@ -2,14 +2,30 @@ package br.com.petfamily.canilapi.service;
 
 import br.com.petfamily.canilapi.controller.dto.*;
 import br.com.petfamily.canilapi.infra.exception.ResourceNotFoundException;
+import br.com.petfamily.canilapi.infra.pagination.Cursor;
+import br.com.petfamily.canilapi.infra.pagination.Paginas;
+import br.com.petfamily.canilapi.infra.persistence.AlteracoesTabelas;
+import br.com.petfamily.canilapi.infra.web.Etags;
 import br.com.petfamily.canilapi.model.*;
 import br.com.petfamily.canilapi.repository.CachorroRepository;
+import br.com.petfamily.canilapi.repository.DespesaRepository;
 import br.com.petfamily.canilapi.repository.TutorRepository;
+import br.com.petfamily.canilapi.repository.projection.CachorroListagemProjection;
+import br.com.petfamily.canilapi.repository.projection.DespesaResumoProjection;
+import br.com.petfamily.canilapi.repository.specification.CachorroSpecifications;
+import br.com.petfamily.canilapi.service.dashboard.DashboardAlteradoEvent;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.exc.MismatchedInputException;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -24,13 +40,34 @@ public class CachorroService {
 
     private final CachorroRepository cachorroRepository;
     private final TutorRepository tutorRepository;
+    private final DespesaRepository despesaRepository;
     private final ObjectMapper objectMapper;
+    private final ResumoFinanceiroService resumoFinanceiroService;
+    private final AtividadeService atividadeService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final AlteracoesTabelas alteracoesTabelas;
+    private final EntityManager entityManager;
+    private final CachorroFacetasService cachorroFacetasService;
+    private final CustoCachorroService custoCachorroService;
     // A dependência do NinhadaRepository foi removida para centralizar a responsabilidade.
 
-    public CachorroService(CachorroRepository cachorroRepository, TutorRepository tutorRepository, ObjectMapper objectMapper) {
+    public CachorroService(CachorroRepository cachorroRepository, TutorRepository tutorRepository,
+                           DespesaRepository despesaRepository, ObjectMapper objectMapper,
+                           ResumoFinanceiroService resumoFinanceiroService, AtividadeService atividadeService,
+                           ApplicationEventPublisher eventPublisher, AlteracoesTabelas alteracoesTabelas,
+                           EntityManager entityManager, CachorroFacetasService cachorroFacetasService,
+                           CustoCachorroService custoCachorroService) {
         this.cachorroRepository = cachorroRepository;
         this.tutorRepository = tutorRepository;
+        this.despesaRepository = despesaRepository;
         this.objectMapper = objectMapper;
+        this.resumoFinanceiroService = resumoFinanceiroService;
+        this.atividadeService = atividadeService;
+        this.eventPublisher = eventPublisher;
+        this.alteracoesTabelas = alteracoesTabelas;
+        this.entityManager = entityManager;
+        this.cachorroFacetasService = cachorroFacetasService;
+        this.custoCachorroService = custoCachorroService;
     }
 
     public Cachorro buscarPorId(Long id) {
@@ -38,11 +75,35 @@ public class CachorroService {
                 .orElseThrow(() -> new ResourceNotFoundException("Cachorro não encontrado com ID: " + id));
     }
 
+    /**
+     * ETag do detalhe (GET /cachorros/{id}) lido só da versão da linha, sem montar o DTO.
+     * O nome do tutor aparece na resposta, então o contador de tutores entra junto; as despesas não precisam:
+     * incluir ou remover uma despesa incrementa a versão do próprio cachorro.
+     */
+    @Transactional(readOnly = true)
+    public String etag(Long id) {
+        Long versao = cachorroRepository.findVersaoById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Cachorro não encontrado com ID: " + id));
+        return alteracoesTabelas.etag(versao, AlteracoesTabelas.TUTORES);
+    }
+
+    public String etag(Cachorro cachorro) {
+        return alteracoesTabelas.etag(cachorro.getVersao(), AlteracoesTabelas.TUTORES);
+    }
+
+    // ETag das listagens (página e cursor): cachorros, o nome do tutor e as despesas de cada um
+    public String etagListagem() {
+        return alteracoesTabelas.etagColecao(AlteracoesTabelas.CACHORROS, AlteracoesTabelas.TUTORES, AlteracoesTabelas.DESPESAS);
+    }
+
     @Transactional
     public void deletarCachorro(Long id) {
         // A busca garante que o cachorro existe antes de tentar deletar
-        this.buscarPorId(id);
+        Cachorro cachorro = this.buscarPorId(id);
+        // Venda e despesas são removidas em cascata; o resumo financeiro precisa ser estornado junto
+        resumoFinanceiroService.estornarCachorro(cachorro);
         cachorroRepository.deleteById(id);
+        eventPublisher.publishEvent(DashboardAlteradoEvent.deEstatisticas());
     }
 
     @Transactional(readOnly = true)
@@ -66,10 +127,36 @@ public class CachorroService {
         return criarCachorroComum(dto.nome(), dto.raca(), dto.dataNascimento(), dto.sexo(), null);
     }
 
+    /**
+     * Cria os filhotes de uma ninhada já salva. Pais e ninhada são preenchidos antes do persist,
+     * então cada filhote gera um único INSERT, e os INSERTs vão ao banco em um batch JDBC no flush.
+     */
+    @Transactional
+    public List<Cachorro> criarFilhotes(Ninhada ninhada, List<FilhoteRequestDTO> filhotes) {
+        List<Cachorro> novos = filhotes.stream()
+                .map(filhote -> {
+                    Cachorro novoCachorro = novoCachorro(filhote.nome(), ninhada.getMae().getRaca(),
+                            ninhada.getDataNascimento(), filhote.sexo(), null);
+                    // Registra os pais no próprio filhote, para que o pedigree não dependa da ninhada
+                    novoCachorro.setPai(ninhada.getPai());
+                    novoCachorro.setMae(ninhada.getMae());
+                    ninhada.adicionarFilhote(novoCachorro);
+                    return novoCachorro;
+                })
+                .collect(Collectors.toList());
+        eventPublisher.publishEvent(DashboardAlteradoEvent.deEstatisticas());
+        return cachorroRepository.saveAll(novos);
+    }
+
     /**
      * Método privado que centraliza a lógica de criação de um cachorro, evitando duplicação de código.
      */
     private Cachorro criarCachorroComum(String nome, String raca, LocalDate dataNascimento, Sexo sexo, Tutor tutor) {
+        eventPublisher.publishEvent(DashboardAlteradoEvent.deEstatisticas());
+        return cachorroRepository.save(novoCachorro(nome, raca, dataNascimento, sexo, tutor));
+    }
+
+    private Cachorro novoCachorro(String nome, String raca, LocalDate dataNascimento, Sexo sexo, Tutor tutor) {
         Cachorro novoCachorro = new Cachorro();
         novoCachorro.setNome(nome);
         novoCachorro.setRaca(raca);
@@ -79,7 +166,7 @@ public class CachorroService {
         if (tutor != null) {
             novoCachorro.setTutor(tutor);
         }
-        return cachorroRepository.save(novoCachorro);
+        return novoCachorro;
     }
 
     @Transactional
@@ -90,9 +177,15 @@ public class CachorroService {
         novaDespesa.setDescricao(dto.descricao());
         novaDespesa.setValor(dto.valor());
         novaDespesa.setData(dto.data() != null ? dto.data() : LocalDate.now());
+        novaDespesa.setCategoria(dto.categoria() != null ? dto.categoria() : CategoriaDespesa.OUTROS);
 
         cachorro.adicionarDespesa(novaDespesa);
+        // As despesas fazem parte da representação do cachorro: a versão (e o ETag) precisa mudar com elas
+        entityManager.lock(cachorro, LockModeType.OPTIMISTIC_FORCE_INCREMENT);
         cachorroRepository.save(cachorro);
+        resumoFinanceiroService.registrarDespesa(novaDespesa);
+        custoCachorroService.registrarDespesa(novaDespesa);
+        atividadeService.registrarDespesa(novaDespesa);
 
         // RETORNO SEGURO: Retorna a instância da despesa que foi adicionada.
         // O JPA já populou o ID e o estado dela após o save.
@@ -100,8 +193,9 @@ public class CachorroService {
     }
 
     @Transactional
-    public Cachorro atualizar(Long id, CachorroRequestDTO dto) {
+    public Cachorro atualizar(Long id, CachorroRequestDTO dto, String ifMatch) {
         Cachorro cachorro = this.buscarPorId(id);
+        Etags.conferir(ifMatch, cachorro.getVersao());
         Tutor tutor = tutorRepository.findById(dto.tutorId())
                 .orElseThrow(() -> new ResourceNotFoundException("Tutor não encontrado com ID: " + dto.tutorId()));
 
@@ -114,20 +208,105 @@ public class CachorroService {
         return cachorroRepository.save(cachorro);
     }
 
-    public Page<CachorroResponseDTO> listarTodosPaginado(Pageable pageable) {
-        Page<Cachorro> cachorrosPage = cachorroRepository.findByPage(pageable);
-        List<Long> ids = cachorrosPage.map(Cachorro::getId).getContent();
+    /**
+     * Página por OFFSET servida por projeção, com as facetas do filtro (em cache).
+     * Sem filtro: uma consulta para os cachorros (com tutor e total) e outra para as despesas da página.
+     * Com filtro: a consulta da página não conta linhas; o total vem das facetas, que já contam o filtro inteiro.
+     */
+    @Transactional(readOnly = true)
+    public CachorroPaginaDTO listarPaginado(CachorroFiltroDTO filtro, Pageable pageable) {
+        if (filtro.vazio()) {
+            List<CachorroListagemProjection.Pagina> linhas = cachorroRepository.findPaginaParaListagem(pageable);
+            Page<CachorroResponseDTO> pagina = Paginas.de(montarDTOs(linhas), pageable,
+                    linhas.isEmpty() ? null : linhas.get(0).getTotal(), cachorroRepository::count);
+            return new CachorroPaginaDTO(pagina, cachorroFacetasService.contar(filtro.assinatura(), null));
+        }
+        Specification<Cachorro> especificacao = especificacao(filtro);
+        FacetasCachorrosDTO facetas = cachorroFacetasService.contar(filtro.assinatura(), especificacao);
+        List<CachorroListagemProjection> linhas = pageable.isPaged() && pageable.getOffset() >= facetas.total()
+                ? List.of()
+                : cachorroRepository.findListagem(especificacao, pageable);
+        return new CachorroPaginaDTO(new PageImpl<>(montarDTOs(linhas), pageable, facetas.total()), facetas);
+    }
+
+    /**
+     * Listagem por cursor (keyset): pagina na ordem (nome, id) usando o índice,
+     * sem OFFSET e sem COUNT, então a página 500 custa o mesmo que a página 1.
+     * Aceita os mesmos filtros da listagem por página (sem facetas).
+     * @param after Token opaco devolvido em {@code next} pela página anterior (vazio para a primeira).
+     * @param size Quantidade de itens por página.
+     */
+    @Transactional(readOnly = true)
+    public CursorPageResponseDTO<CachorroResponseDTO> listarPorCursor(String after, int size, CachorroFiltroDTO filtro) {
+        Cursor cursor = Cursor.decodificar(after);
+        Pageable limite = PageRequest.ofSize(Cursor.limitarTamanho(size));
+
+        List<? extends CachorroListagemProjection> conteudo;
+        boolean haMais;
+        if (filtro.vazio()) {
+            Slice<CachorroListagemProjection> linhas;
+            if (cursor == null) {
+                linhas = cachorroRepository.findListagemOrdenadaPorNome(limite);
+            } else if (cursor.chave() == null) {
+                linhas = cachorroRepository.findListagemSemNomeApos(cursor.id(), limite);
+            } else {
+                // Os sem nome vêm depois de todos os nomes: a página que esgota os nomes continua neles
+                linhas = Cursor.emendar(
+                        cachorroRepository.findListagemOrdenadaPorNomeApos(cursor.chave(), cursor.id(), limite),
+                        cachorroRepository::findListagemSemNome);
+            }
+            conteudo = linhas.getContent();
+            haMais = linhas.hasNext();
+        } else {
+            Specification<Cachorro> especificacao = especificacao(filtro);
+            if (cursor != null) {
+                especificacao = especificacao.and(CachorroSpecifications.depoisDe(cursor.chave(), cursor.id()));
+            }
+            // Uma linha a mais que a página indica se há próxima, como o Slice do Spring Data
+            List<CachorroListagemProjection> linhas = cachorroRepository.findListagem(especificacao,
+                    PageRequest.of(0, limite.getPageSize() + 1, Sort.by("nome", "id")));
+            haMais = linhas.size() > limite.getPageSize();
+            conteudo = haMais ? linhas.subList(0, limite.getPageSize()) : linhas;
+        }
 
-        if (ids.isEmpty()) {
-            return Page.empty(pageable);
+        List<CachorroResponseDTO> dtos = montarDTOs(conteudo);
+        String next = null;
+        if (haMais && !dtos.isEmpty()) {
+            CachorroResponseDTO ultimo = dtos.get(dtos.size() - 1);
+            next = Cursor.codificar(ultimo.nome(), ultimo.id());
         }
+        return new CursorPageResponseDTO<>(dtos, limite.getPageSize(), next);
+    }
 
-        List<Cachorro> cachorrosCompletos = cachorroRepository.findAllWithCollectionsByIds(ids);
-        List<CachorroResponseDTO> dtos = cachorrosCompletos.stream()
-                .map(CachorroResponseDTO::new)
-                .collect(Collectors.toList());
+    private static Specification<Cachorro> especificacao(CachorroFiltroDTO filtro) {
+        if (filtro.nascimentoInicio() != null && filtro.nascimentoFim() != null
+                && filtro.nascimentoInicio().isAfter(filtro.nascimentoFim())) {
+            throw new IllegalArgumentException("nascimentoInicio deve ser anterior ou igual a nascimentoFim.");
+        }
+        return Specification.where(CachorroSpecifications.comStatus(filtro.status()))
+                .and(CachorroSpecifications.daRaca(filtro.raca()))
+                .and(CachorroSpecifications.doSexo(filtro.sexo()))
+                .and(CachorroSpecifications.nascidoEntre(filtro.nascimentoInicio(), filtro.nascimentoFim()))
+                .and(CachorroSpecifications.doTutor(filtro.tutorId()))
+                .and(CachorroSpecifications.vendido(filtro.foiVendido()));
+    }
+
+    /**
+     * Completa as linhas com as despesas de todos os cachorros, buscadas numa única consulta,
+     * e devolve os DTOs na ordem das linhas.
+     */
+    private List<CachorroResponseDTO> montarDTOs(List<? extends CachorroListagemProjection> linhas) {
+        if (linhas.isEmpty()) {
+            return List.of();
+        }
+        List<Long> ids = linhas.stream().map(CachorroListagemProjection::getId).toList();
+        Map<Long, List<DespesaInfoDTO>> despesasPorCachorro = despesaRepository.findResumoByCachorroIds(ids).stream()
+                .collect(Collectors.groupingBy(DespesaResumoProjection::getCachorroId,
+                        Collectors.mapping(DespesaInfoDTO::new, Collectors.toList())));
 
-        return new PageImpl<>(dtos, pageable, cachorrosPage.getTotalElements());
+        return linhas.stream()
+                .map(linha -> new CachorroResponseDTO(linha, despesasPorCachorro.getOrDefault(linha.getId(), List.of())))
+                .collect(Collectors.toList());
     }
 
     @Transactional(readOnly = true)
@@ -162,8 +341,12 @@ public class CachorroService {
     }
 
     @Transactional
-    public Cachorro atualizarParcial(Long id, Map<String, Object> campos) {
+    public Cachorro atualizarParcial(Long id, Map<String, Object> campos, String ifMatch) {
+        if (campos.containsKey("versao")) {
+            throw new IllegalArgumentException("A versão não pode ser alterada pelo corpo; use o cabeçalho If-Match.");
+        }
         Cachorro cachorroParaAtualizar = buscarPorId(id);
+        Etags.conferir(ifMatch, cachorroParaAtualizar.getVersao());
 
         try {
             // O ObjectMapper pode atualizar campos aninhados se a estrutura do JSON corresponder
@@ -176,6 +359,9 @@ public class CachorroService {
                         .orElseThrow(() -> new ResourceNotFoundException("Tutor não encontrado com ID: " + novoTutorId));
                 cachorroParaAtualizar.setTutor(novoTutor);
             }
+            if (campos.containsKey("status")) {
+                eventPublisher.publishEvent(DashboardAlteradoEvent.deEstatisticas());
+            }
             return cachorroRepository.save(cachorroParaAtualizar);
 
         } catch (MismatchedInputException e) {
@@ -187,18 +373,21 @@ public class CachorroService {
 
     @Transactional(readOnly = true)
     public CachorroResponseDTO buscarDTOPorId(Long id) {
-        Cachorro cachorro = this.buscarPorId(id);
-        return new CachorroResponseDTO(cachorro);
+        CachorroListagemProjection cachorro = cachorroRepository.findListagemById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Cachorro não encontrado com ID: " + id));
+        return montarDTOs(List.of(cachorro)).get(0);
     }
 
     @Transactional
-    public Cachorro atualizarStatus(Long id, StatusCachorro novoStatus) {
+    public Cachorro atualizarStatus(Long id, StatusCachorro novoStatus, String ifMatch) {
         Cachorro cachorro = this.buscarPorId(id);
+        Etags.conferir(ifMatch, cachorro.getVersao());
 
         // Future-proof: This is the perfect place to add validation for status transitions.
         // For example: if (cachorro.getStatus() == StatusCachorro.VENDIDO) { ... }
 
         cachorro.setStatus(novoStatus);
+        eventPublisher.publishEvent(DashboardAlteradoEvent.deEstatisticas());
         return cachorroRepository.save(cachorro);
     }
 
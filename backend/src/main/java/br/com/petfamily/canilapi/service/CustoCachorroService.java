@@ -0,0 +1,137 @@
+package br.com.petfamily.canilapi.service;
+
+import br.com.petfamily.canilapi.infra.persistence.AlteracoesTabelas;
+import br.com.petfamily.canilapi.model.Despesa;
+import br.com.petfamily.canilapi.model.Venda;
+import br.com.petfamily.canilapi.repository.CachorroRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Types;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Mantém as colunas custo_acumulado e lucro de cachorros, usadas para listar e ordenar por custo sem somar
+ * as despesas a cada leitura.
+ * <p>
+ * Os métodos de registro participam da transação de quem grava a despesa ou a venda (Propagation.MANDATORY) e
+ * aplicam um incremento no próprio UPDATE, com lock da linha: escritas concorrentes no mesmo cachorro se somam
+ * em vez de uma sobrescrever a outra. Escritas que contornem estes métodos (SQL manual, restauração de backup)
+ * são corrigidas pela reconciliação periódica.
+ */
+@Service
+public class CustoCachorroService {
+
+    private static final Logger log = LoggerFactory.getLogger(CustoCachorroService.class);
+
+    // Mesmo incremento de CachorroRepository.somarCusto, mais a versão, em batch
+    private static final String INCREMENTAR_CUSTO =
+            "UPDATE cachorros SET versao = versao + 1, custo_acumulado = custo_acumulado + ?, lucro = lucro - ? WHERE id = ?";
+    private static final int[] TIPOS_INCREMENTAR_CUSTO = {Types.NUMERIC, Types.NUMERIC, Types.BIGINT};
+
+    private final CachorroRepository cachorroRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final AlteracoesTabelas alteracoesTabelas;
+    private final TransactionTemplate transactionTemplate;
+    private final Counter divergencias;
+
+    public CustoCachorroService(CachorroRepository cachorroRepository, JdbcTemplate jdbcTemplate,
+                                AlteracoesTabelas alteracoesTabelas, PlatformTransactionManager transactionManager,
+                                MeterRegistry meterRegistry) {
+        this.cachorroRepository = cachorroRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.alteracoesTabelas = alteracoesTabelas;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.divergencias = Counter.builder("canil.cachorros.custo.divergencias")
+                .description("Cachorros com custo ou lucro corrigidos pela reconciliação")
+                .register(meterRegistry);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void registrarDespesa(Despesa despesa) {
+        somar(despesa.getCachorro().getId(), despesa.getValor());
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void estornarDespesa(Despesa despesa) {
+        somar(despesa.getCachorro().getId(), despesa.getValor() != null ? despesa.getValor().negate() : null);
+    }
+
+    /**
+     * Soma ao custo de vários cachorros o total de despesas gravadas sem passar pela entidade (importação e
+     * lançamento em lote), com um único batch JDBC. A versão de cada cachorro muda junto, pois as despesas
+     * fazem parte do detalhe dele (ETag). Os UPDATEs seguem a ordem dos ids, para que lotes concorrentes
+     * travem as linhas sempre na mesma ordem.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void somarEmLote(Map<Long, BigDecimal> custoPorCachorro) {
+        List<Object[]> parametros = new TreeMap<>(custoPorCachorro).entrySet().stream()
+                .filter(e -> e.getValue() != null && e.getValue().signum() != 0)
+                .map(e -> new Object[]{e.getValue(), e.getValue(), e.getKey()})
+                .toList();
+        if (!parametros.isEmpty()) {
+            jdbcTemplate.batchUpdate(INCREMENTAR_CUSTO, parametros, TIPOS_INCREMENTAR_CUSTO);
+        }
+    }
+
+    private void somar(Long cachorroId, BigDecimal valor) {
+        if (valor != null && valor.signum() != 0) {
+            cachorroRepository.somarCusto(cachorroId, valor);
+        }
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void registrarVenda(Venda venda) {
+        if (venda.getValor() != null) {
+            cachorroRepository.registrarLucro(venda.getCachorro().getId(), venda.getValor());
+        }
+    }
+
+    /**
+     * Confere todos os cachorros numa consulta agregada e recalcula os divergentes, cada um na sua transação.
+     *
+     * @return Quantos cachorros foram corrigidos.
+     */
+    @Scheduled(cron = "${canil.custos.reconciliacao.cron:0 30 3 * * *}")
+    public int reconciliar() {
+        long inicio = System.nanoTime();
+        List<Long> divergentes = cachorroRepository.findIdsComCustoDivergente();
+        int corrigidos = 0;
+        for (Long id : divergentes) {
+            if (Boolean.TRUE.equals(transactionTemplate.execute(status -> recalcular(id)))) {
+                corrigidos++;
+            }
+        }
+        if (corrigidos > 0) {
+            divergencias.increment(corrigidos);
+            log.warn("Reconciliação de custos: {} cachorros corrigidos em {} ms.", corrigidos,
+                    (System.nanoTime() - inicio) / 1_000_000);
+        } else {
+            log.info("Reconciliação de custos: nenhuma divergência em {} ms.", (System.nanoTime() - inicio) / 1_000_000);
+        }
+        return corrigidos;
+    }
+
+    private boolean recalcular(Long id) {
+        // A trava vem num comando separado: o UPDATE seguinte começa depois dela e enxerga toda despesa já
+        // confirmada. Um incremento ainda não confirmado segura a mesma linha, então espera ou é esperado.
+        if (cachorroRepository.travarParaAtualizacao(id).isEmpty()) {
+            return false; // Excluído depois da conferência
+        }
+        cachorroRepository.recalcularCusto(id);
+        alteracoesTabelas.registrar(AlteracoesTabelas.CACHORROS);
+        return true;
+    }
+}
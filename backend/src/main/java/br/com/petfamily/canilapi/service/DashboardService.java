@@ -1,80 +1,73 @@
 package br.com.petfamily.canilapi.service;
 
 import br.com.petfamily.canilapi.controller.dto.AtividadeRecenteDTO;
+import br.com.petfamily.canilapi.controller.dto.CursorPageResponseDTO;
 import br.com.petfamily.canilapi.controller.dto.DashboardStatsDTO;
 import br.com.petfamily.canilapi.controller.dto.FinanceiroDashboardDTO;
-import br.com.petfamily.canilapi.model.Despesa;
 import br.com.petfamily.canilapi.model.StatusCachorro;
-import br.com.petfamily.canilapi.model.Venda;
 import br.com.petfamily.canilapi.repository.*;
-import br.com.petfamily.canilapi.repository.projection.AtividadeRecenteProjection;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.List;
-import java.util.stream.Collectors;
 
 @Service
 public class DashboardService {
 
     // Dependências que ainda são necessárias para outros métodos
-    private final VendaRepository vendaRepository;
-    private final DespesaRepository despesaRepository;
     private final CachorroRepository cachorroRepository;
     private final TutorRepository tutorRepository;
 
+    private static final int ATIVIDADES_RECENTES = 5;
+    // Consultas do dashboard que passam disso viram QueryTimeoutException e contam para o circuit breaker do cache
+    public static final int TIMEOUT_CONSULTA_SEGUNDOS = 3;
+
     // A nova dependência centralizadora
-    private final AtividadeRepository atividadeRepository;
+    private final AtividadeService atividadeService;
+    private final ResumoFinanceiroService resumoFinanceiroService;
 
     // O NinhadaRepository foi removido do construtor
-    public DashboardService(VendaRepository vendaRepository, DespesaRepository despesaRepository,
-                            CachorroRepository cachorroRepository, TutorRepository tutorRepository,
-                            AtividadeRepository atividadeRepository) {
-        this.vendaRepository = vendaRepository;
-        this.despesaRepository = despesaRepository;
+    public DashboardService(CachorroRepository cachorroRepository, TutorRepository tutorRepository,
+                            AtividadeService atividadeService, ResumoFinanceiroService resumoFinanceiroService) {
         this.cachorroRepository = cachorroRepository;
         this.tutorRepository = tutorRepository;
-        this.atividadeRepository = atividadeRepository;
+        this.atividadeService = atividadeService;
+        this.resumoFinanceiroService = resumoFinanceiroService;
     }
 
+    @Transactional(readOnly = true, timeout = TIMEOUT_CONSULTA_SEGUNDOS)
     public DashboardStatsDTO getStats() {
         long caesDisponiveis = cachorroRepository.countByStatus(StatusCachorro.DISPONIVEL);
         long totalTutores = tutorRepository.count();
         return new DashboardStatsDTO(caesDisponiveis, totalTutores);
     }
 
-    @Transactional(readOnly = true)
+    /**
+     * Totais dos últimos 30 dias lidos do resumo financeiro diário (no máximo algumas dezenas de linhas),
+     * em vez de carregar todas as vendas e despesas do período.
+     */
+    @Transactional(readOnly = true, timeout = TIMEOUT_CONSULTA_SEGUNDOS)
     public FinanceiroDashboardDTO getFinanceiroUltimos30Dias() {
-        LocalDate dataInicio = LocalDate.now().minusDays(30);
-
-        // 1. Correção: Some os BigDecimals usando map e reduce para manter a precisão.
-        BigDecimal receita = vendaRepository.findVendasAfter(dataInicio).stream()
-                .map(Venda::getValor) // Mapeia para um Stream<BigDecimal>
-                .reduce(BigDecimal.ZERO, BigDecimal::add); // Soma usando o método add
-
-        BigDecimal despesa = despesaRepository.findDespesasAfter(dataInicio).stream()
-                .map(Despesa::getValor) // Mapeia para um Stream<BigDecimal>
-                .reduce(BigDecimal.ZERO, BigDecimal::add); // Soma usando o método add
-
-        // 2. Correção: Use o método .subtract() para subtrair BigDecimals.
-        BigDecimal lucro = receita.subtract(despesa);
+        return resumoFinanceiroService.resumir(LocalDate.now().minusDays(30), null);
+    }
 
-        return new FinanceiroDashboardDTO(receita, despesa, lucro);
+    /**
+     * Totais de um período qualquer; sem datas, considera todo o histórico.
+     */
+    public FinanceiroDashboardDTO getFinanceiroPorPeriodo(LocalDate inicio, LocalDate fim) {
+        if (inicio != null && fim != null && inicio.isAfter(fim)) {
+            throw new IllegalArgumentException("A data de início não pode ser posterior à data de fim.");
+        }
+        return resumoFinanceiroService.resumir(inicio, fim);
     }
 
-    @Transactional(readOnly = true)
+    @Transactional(readOnly = true, timeout = TIMEOUT_CONSULTA_SEGUNDOS)
     public List<AtividadeRecenteDTO> getAtividadesRecentes() {
-        List<AtividadeRecenteProjection> projecoes = atividadeRepository.findAtividadesRecentes();
+        return atividadeService.listarRecentes(ATIVIDADES_RECENTES);
+    }
 
-        return projecoes.stream()
-                .map(p -> new AtividadeRecenteDTO(
-                        p.getTipo(),
-                        p.getDescricao(),
-                        p.getData(),
-                        p.getEntidadeId()
-                ))
-                .collect(Collectors.toList());
+    public CursorPageResponseDTO<AtividadeRecenteDTO> getAtividadesPorCursor(String after, int size) {
+        return atividadeService.listarPorCursor(after, size);
     }
 }
\ No newline at end of file
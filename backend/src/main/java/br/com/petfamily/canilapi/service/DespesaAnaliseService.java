@@ -0,0 +1,68 @@
+package br.com.petfamily.canilapi.service;
+
+import br.com.petfamily.canilapi.controller.dto.AnaliseDespesasDTO;
+import br.com.petfamily.canilapi.controller.dto.LinhaAnaliseDespesaDTO;
+import br.com.petfamily.canilapi.model.DimensaoDespesa;
+import br.com.petfamily.canilapi.repository.DespesaRepository;
+import br.com.petfamily.canilapi.repository.projection.TotalDespesaAgrupadoProjection;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Análise de despesas por categoria, período e raça ({@code GET /despesas/analise}).
+ * <p>
+ * Os agrupamentos sem raça (os mais comuns: por categoria, por mês, por categoria e mês) são respondidos pela
+ * tabela resumo_financeiro_diario, já somada por dia e categoria na transação de cada despesa: um ano inteiro
+ * são no máximo 365 x 6 linhas. Só a raça, que o resumo não guarda, agrupa direto sobre as despesas.
+ */
+@Service
+public class DespesaAnaliseService {
+
+    static final String SEM_RACA = "Sem raça";
+
+    private final DespesaRepository despesaRepository;
+
+    public DespesaAnaliseService(DespesaRepository despesaRepository) {
+        this.despesaRepository = despesaRepository;
+    }
+
+    /**
+     * @param agrupar Dimensões separadas por vírgula (categoria, ano, mes, raca); vazio devolve só o total.
+     * @param inicio  Primeiro dia, inclusivo; null deixa a janela aberta.
+     * @param fim     Último dia, inclusivo; null deixa a janela aberta.
+     */
+    @Transactional(readOnly = true)
+    public AnaliseDespesasDTO analisar(String agrupar, LocalDate inicio, LocalDate fim) {
+        Set<DimensaoDespesa> dimensoes = DimensaoDespesa.deParametro(agrupar);
+        if (inicio != null && fim != null && inicio.isAfter(fim)) {
+            throw new IllegalArgumentException("O início do período deve ser anterior ou igual ao fim.");
+        }
+        List<TotalDespesaAgrupadoProjection> grupos = dimensoes.contains(DimensaoDespesa.RACA)
+                ? despesaRepository.agruparDespesas(dimensoes, inicio, fim)
+                : despesaRepository.agruparResumoDiario(dimensoes, inicio, fim);
+
+        BigDecimal total = BigDecimal.ZERO;
+        long quantidade = 0;
+        List<LinhaAnaliseDespesaDTO> linhas = new ArrayList<>(grupos.size());
+        for (TotalDespesaAgrupadoProjection grupo : grupos) {
+            BigDecimal totalGrupo = grupo.getTotal() != null ? grupo.getTotal() : BigDecimal.ZERO;
+            total = total.add(totalGrupo);
+            quantidade += grupo.getQuantidade();
+            linhas.add(new LinhaAnaliseDespesaDTO(
+                    grupo.getCategoria(),
+                    dimensoes.contains(DimensaoDespesa.ANO) ? grupo.getAno() : null,
+                    grupo.getMes() != null ? YearMonth.of(grupo.getAno(), grupo.getMes()) : null,
+                    dimensoes.contains(DimensaoDespesa.RACA) && grupo.getRaca() == null ? SEM_RACA : grupo.getRaca(),
+                    totalGrupo,
+                    grupo.getQuantidade()));
+        }
+        return new AnaliseDespesasDTO(inicio, fim, dimensoes, total, quantidade, linhas);
+    }
+}
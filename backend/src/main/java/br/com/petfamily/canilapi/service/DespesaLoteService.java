@@ -0,0 +1,209 @@
+package br.com.petfamily.canilapi.service;
+
+import br.com.petfamily.canilapi.controller.dto.DespesaLoteRequestDTO;
+import br.com.petfamily.canilapi.controller.dto.DespesaLoteResponseDTO;
+import br.com.petfamily.canilapi.controller.dto.DespesaResponseDTO;
+import br.com.petfamily.canilapi.infra.persistence.AlteracoesTabelas;
+import br.com.petfamily.canilapi.infra.persistence.SequenciaIds;
+import br.com.petfamily.canilapi.model.CategoriaDespesa;
+import br.com.petfamily.canilapi.model.RateioDespesa;
+import br.com.petfamily.canilapi.repository.CachorroRepository;
+import br.com.petfamily.canilapi.repository.NinhadaRepository;
+import jakarta.persistence.EntityNotFoundException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Lançamento de uma mesma despesa para vários cachorros ({@code POST /despesas/lote}): ração da semana
+ * para o canil inteiro, vacina de uma ninhada, etc.
+ * <p>
+ * Tudo numa transação, sem carregar cachorros nem despesas: uma consulta só de ids resolve o alvo, as despesas
+ * entram num único batch JDBC (ids reservados da sequência, como na importação), o custo e a versão de cada
+ * cachorro mudam num segundo batch e o resumo financeiro recebe um incremento só, pois todas as despesas
+ * têm o mesmo dia e categoria. O feed de atividades ganha uma entrada para o lote inteiro.
+ */
+@Service
+public class DespesaLoteService {
+
+    // Uma linha por cachorro numa transação só; cargas maiores são trabalho da importação
+    static final int MAXIMO_CACHORROS = 5_000;
+
+    private static final String INSERT_DESPESA =
+            "INSERT INTO despesas (id, descricao, valor, data, cachorro_id, categoria) VALUES (?, ?, ?, ?, ?, ?)";
+    private static final int[] TIPOS_DESPESA = {Types.BIGINT, Types.VARCHAR, Types.NUMERIC, Types.DATE, Types.BIGINT, Types.VARCHAR};
+
+    private final CachorroRepository cachorroRepository;
+    private final NinhadaRepository ninhadaRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final SequenciaIds sequenciaIds;
+    private final ResumoFinanceiroService resumoFinanceiroService;
+    private final CustoCachorroService custoCachorroService;
+    private final AtividadeService atividadeService;
+    private final AlteracoesTabelas alteracoesTabelas;
+
+    public DespesaLoteService(CachorroRepository cachorroRepository, NinhadaRepository ninhadaRepository,
+                              JdbcTemplate jdbcTemplate, SequenciaIds sequenciaIds,
+                              ResumoFinanceiroService resumoFinanceiroService, CustoCachorroService custoCachorroService,
+                              AtividadeService atividadeService, AlteracoesTabelas alteracoesTabelas) {
+        this.cachorroRepository = cachorroRepository;
+        this.ninhadaRepository = ninhadaRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.sequenciaIds = sequenciaIds;
+        this.resumoFinanceiroService = resumoFinanceiroService;
+        this.custoCachorroService = custoCachorroService;
+        this.atividadeService = atividadeService;
+        this.alteracoesTabelas = alteracoesTabelas;
+    }
+
+    @Transactional
+    public DespesaLoteResponseDTO registrar(DespesaLoteRequestDTO dto) {
+        List<Long> cachorroIds = resolverCachorros(dto);
+        if (cachorroIds.isEmpty()) {
+            throw new IllegalArgumentException("Nenhum cachorro corresponde ao alvo informado.");
+        }
+        if (cachorroIds.size() > MAXIMO_CACHORROS) {
+            throw new IllegalArgumentException("Um lançamento em lote aceita no máximo " + MAXIMO_CACHORROS
+                    + " cachorros; o alvo tem " + cachorroIds.size() + ".");
+        }
+        List<BigDecimal> valores = ratear(dto, cachorroIds);
+        LocalDate data = dto.data() != null ? dto.data() : LocalDate.now();
+        CategoriaDespesa categoria = dto.categoria() != null ? dto.categoria() : CategoriaDespesa.OUTROS;
+
+        long[] ids = sequenciaIds.alocar(SequenciaIds.DESPESAS, cachorroIds.size());
+        List<Object[]> parametros = new ArrayList<>(ids.length);
+        List<DespesaResponseDTO> despesas = new ArrayList<>(ids.length);
+        Map<Long, BigDecimal> custoPorCachorro = new HashMap<>();
+        BigDecimal total = BigDecimal.ZERO;
+        for (int i = 0; i < ids.length; i++) {
+            Long cachorroId = cachorroIds.get(i);
+            BigDecimal valor = valores.get(i);
+            parametros.add(new Object[]{ids[i], dto.descricao(), valor, data, cachorroId, categoria.name()});
+            despesas.add(new DespesaResponseDTO(ids[i], dto.descricao(), valor, data, categoria, cachorroId));
+            custoPorCachorro.put(cachorroId, valor);
+            total = total.add(valor);
+        }
+
+        jdbcTemplate.batchUpdate(INSERT_DESPESA, parametros, TIPOS_DESPESA);
+        custoCachorroService.somarEmLote(custoPorCachorro);
+        resumoFinanceiroService.registrarDespesasImportadas(data, categoria, total, ids.length);
+        atividadeService.registrarDespesasEmLote(dto.descricao(), total, ids.length);
+        // Os INSERTs e UPDATEs por JDBC não passam pelo listener das entidades
+        alteracoesTabelas.registrar(AlteracoesTabelas.DESPESAS);
+        alteracoesTabelas.registrar(AlteracoesTabelas.CACHORROS);
+        return new DespesaLoteResponseDTO(ids.length, total, despesas);
+    }
+
+    // Ids dos cachorros do alvo, em ordem crescente
+    private List<Long> resolverCachorros(DespesaLoteRequestDTO dto) {
+        if (dto.cachorroIds() != null) {
+            Set<Long> pedidos = new LinkedHashSet<>(dto.cachorroIds());
+            pedidos.remove(null);
+            if (pedidos.isEmpty()) {
+                return List.of();
+            }
+            List<Long> encontrados = cachorroRepository.findIdsByIdIn(pedidos);
+            if (encontrados.size() < pedidos.size()) {
+                pedidos.removeAll(new HashSet<>(encontrados));
+                throw new EntityNotFoundException("Cachorros não encontrados com os IDs: " + pedidos);
+            }
+            return encontrados;
+        }
+        if (dto.ninhadaId() != null) {
+            if (!ninhadaRepository.existsById(dto.ninhadaId())) {
+                throw new EntityNotFoundException("Ninhada não encontrada com o ID: " + dto.ninhadaId());
+            }
+            return cachorroRepository.findIdsByNinhadaId(dto.ninhadaId());
+        }
+        if (dto.status() != null) {
+            return cachorroRepository.findIdsByStatus(dto.status());
+        }
+        return cachorroRepository.findAllIds();
+    }
+
+    // Valor de cada cachorro, na ordem de cachorroIds; nos rateios, a soma é exatamente o total informado
+    private static List<BigDecimal> ratear(DespesaLoteRequestDTO dto, List<Long> cachorroIds) {
+        BigDecimal valor = emCentavos(dto.valor());
+        RateioDespesa rateio = dto.rateio() != null ? dto.rateio() : RateioDespesa.IGUAL;
+        return switch (rateio) {
+            case FIXO -> cachorroIds.stream().map(id -> valor).toList();
+            case IGUAL -> dividir(valor, cachorroIds.stream().map(id -> BigDecimal.ONE).toList());
+            case PONDERADO -> dividir(valor, pesosDe(dto.pesos(), cachorroIds));
+        };
+    }
+
+    private static BigDecimal emCentavos(BigDecimal valor) {
+        try {
+            return valor.setScale(2, RoundingMode.UNNECESSARY);
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException("O valor da despesa deve ter no máximo duas casas decimais.");
+        }
+    }
+
+    private static List<BigDecimal> pesosDe(Map<Long, BigDecimal> pesos, List<Long> cachorroIds) {
+        Set<Long> semPeso = cachorroIds.stream()
+                .filter(id -> pesos.get(id) == null)
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+        if (!semPeso.isEmpty()) {
+            throw new IllegalArgumentException("Faltam os pesos dos cachorros com os IDs: " + semPeso);
+        }
+        Set<Long> foraDoAlvo = new LinkedHashSet<>(pesos.keySet());
+        cachorroIds.forEach(foraDoAlvo::remove);
+        if (!foraDoAlvo.isEmpty()) {
+            throw new IllegalArgumentException("Há pesos para cachorros fora do alvo: " + foraDoAlvo);
+        }
+        List<BigDecimal> lista = cachorroIds.stream().map(pesos::get).toList();
+        if (lista.stream().anyMatch(peso -> peso.signum() <= 0)) {
+            throw new IllegalArgumentException("Os pesos devem ser maiores que zero.");
+        }
+        return lista;
+    }
+
+    /**
+     * Divide {@code total} na proporção dos pesos, em centavos: cada parte recebe o piso da sua cota e os
+     * centavos que sobram vão para as maiores frações (empate: a ordem da lista, ou seja, o menor id).
+     */
+    static List<BigDecimal> dividir(BigDecimal total, List<BigDecimal> pesos) {
+        BigDecimal centavos = total.movePointRight(2);
+        BigDecimal somaPesos = pesos.stream().reduce(BigDecimal.ZERO, BigDecimal::add);
+        long[] partes = new long[pesos.size()];
+        BigDecimal[] fracoes = new BigDecimal[pesos.size()];
+        long distribuidos = 0;
+        for (int i = 0; i < partes.length; i++) {
+            BigDecimal cota = centavos.multiply(pesos.get(i)).divide(somaPesos, 12, RoundingMode.DOWN);
+            partes[i] = cota.longValue();
+            fracoes[i] = cota.subtract(BigDecimal.valueOf(partes[i]));
+            distribuidos += partes[i];
+        }
+        long sobra = centavos.longValueExact() - distribuidos;
+        IntStream.range(0, partes.length).boxed()
+                .sorted(Comparator.comparing((Integer i) -> fracoes[i]).reversed().thenComparing(Comparator.naturalOrder()))
+                .limit(sobra)
+                .forEach(i -> partes[i]++);
+
+        List<BigDecimal> valores = new ArrayList<>(partes.length);
+        for (long parte : partes) {
+            if (parte == 0) {
+                throw new IllegalArgumentException("O valor é pequeno demais para dividir entre "
+                        + partes.length + " cachorros: alguma despesa ficaria zerada.");
+            }
+            valores.add(BigDecimal.valueOf(parte, 2));
+        }
+        return valores;
+    }
+}
@@ -1,29 +1,43 @@
 package br.com.petfamily.canilapi.service;
 
-import br.com.petfamily.canilapi.controller.dto.DespesaRequestDTO; // Usando o DTO
+import br.com.petfamily.canilapi.controller.dto.DespesaRequestDTO;
+import br.com.petfamily.canilapi.controller.dto.DespesaResponseDTO; // Usando o DTO
 import br.com.petfamily.canilapi.model.Cachorro;
 import br.com.petfamily.canilapi.model.CategoriaDespesa;
 import br.com.petfamily.canilapi.model.Despesa;
 import br.com.petfamily.canilapi.repository.CachorroRepository;
 import br.com.petfamily.canilapi.repository.DespesaRepository;
+import jakarta.persistence.EntityManager;
 import jakarta.persistence.EntityNotFoundException;
+import jakarta.persistence.LockModeType;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.stream.Collectors;
 
 @Service
 public class DespesaService {
 
     private final DespesaRepository despesaRepository;
     private final CachorroRepository cachorroRepository;
+    private final ResumoFinanceiroService resumoFinanceiroService;
+    private final CustoCachorroService custoCachorroService;
+    private final AtividadeService atividadeService;
+    private final EntityManager entityManager;
 
     // 1. Injeção de dependência via construtor (melhor prática)
-    public DespesaService(DespesaRepository despesaRepository, CachorroRepository cachorroRepository) {
+    public DespesaService(DespesaRepository despesaRepository, CachorroRepository cachorroRepository,
+                          ResumoFinanceiroService resumoFinanceiroService, CustoCachorroService custoCachorroService,
+                          AtividadeService atividadeService, EntityManager entityManager) {
         this.despesaRepository = despesaRepository;
         this.cachorroRepository = cachorroRepository;
+        this.resumoFinanceiroService = resumoFinanceiroService;
+        this.custoCachorroService = custoCachorroService;
+        this.atividadeService = atividadeService;
+        this.entityManager = entityManager;
     }
 
     @Transactional
@@ -37,11 +51,18 @@ public class DespesaService {
         novaDespesa.setDescricao(dto.descricao());
         novaDespesa.setValor(dto.valor());
         novaDespesa.setCachorro(cachorro);
+        novaDespesa.setCategoria(dto.categoria() != null ? dto.categoria() : CategoriaDespesa.OUTROS);
 
         // A lógica para definir a data padrão permanece, o que é ótimo
         novaDespesa.setData(dto.data() != null ? dto.data() : LocalDate.now());
 
-        return despesaRepository.save(novaDespesa);
+        // As despesas aparecem no detalhe do cachorro: a versão dele (e o ETag) muda junto
+        entityManager.lock(cachorro, LockModeType.OPTIMISTIC_FORCE_INCREMENT);
+        Despesa despesaSalva = despesaRepository.save(novaDespesa);
+        resumoFinanceiroService.registrarDespesa(despesaSalva);
+        custoCachorroService.registrarDespesa(despesaSalva);
+        atividadeService.registrarDespesa(despesaSalva);
+        return despesaSalva;
     }
 
     @Transactional
@@ -50,6 +71,9 @@ public class DespesaService {
         // e é mais consistente com o padrão "buscar-ou-falhar".
         Despesa despesa = despesaRepository.findById(despesaId)
                 .orElseThrow(() -> new EntityNotFoundException("Despesa não encontrada com o ID: " + despesaId));
+        resumoFinanceiroService.estornarDespesa(despesa);
+        custoCachorroService.estornarDespesa(despesa);
+        entityManager.lock(despesa.getCachorro(), LockModeType.OPTIMISTIC_FORCE_INCREMENT);
         despesaRepository.delete(despesa);
     }
 
@@ -62,8 +86,12 @@ public class DespesaService {
     }
 
     // Nenhuma alteração necessária nos métodos abaixo, eles já estão bem implementados.
-    public List<Despesa> listarDespesasPorPeriodo(LocalDate dataInicio, LocalDate dataFim) {
-        return despesaRepository.findAllByDataBetween(dataInicio, dataFim);
+    // Projeção com só as colunas do DTO: não carrega entidades nem o cachorro de cada despesa
+    @Transactional(readOnly = true)
+    public List<DespesaResponseDTO> listarDespesasPorPeriodo(LocalDate dataInicio, LocalDate dataFim) {
+        return despesaRepository.findResumoByPeriodo(dataInicio, dataFim).stream()
+                .map(DespesaResponseDTO::new)
+                .collect(Collectors.toList());
     }
 
 
@@ -1,22 +1,31 @@
 package br.com.petfamily.canilapi.service;
 
-import br.com.petfamily.canilapi.controller.dto.CachorroPostRequestDTO;
+import br.com.petfamily.canilapi.controller.dto.CachorroResumoDTO;
+import br.com.petfamily.canilapi.controller.dto.CursorPageResponseDTO;
 import br.com.petfamily.canilapi.controller.dto.NinhadaDetalhesDTO;
 import br.com.petfamily.canilapi.controller.dto.NinhadaRequestDTO;
 import br.com.petfamily.canilapi.controller.dto.NinhadaResponseDTO;
 import br.com.petfamily.canilapi.infra.exception.ResourceNotFoundException;
+import br.com.petfamily.canilapi.infra.pagination.Cursor;
+import br.com.petfamily.canilapi.infra.pagination.Paginas;
+import br.com.petfamily.canilapi.infra.persistence.AlteracoesTabelas;
 import br.com.petfamily.canilapi.mapper.NinhadaMapper;
 import br.com.petfamily.canilapi.model.Cachorro;
 import br.com.petfamily.canilapi.model.Ninhada;
 import br.com.petfamily.canilapi.model.Sexo;
 import br.com.petfamily.canilapi.repository.CachorroRepository;
 import br.com.petfamily.canilapi.repository.NinhadaRepository;
+import br.com.petfamily.canilapi.repository.projection.FilhoteProjection;
+import br.com.petfamily.canilapi.repository.projection.NinhadaListagemProjection;
 import jakarta.persistence.EntityNotFoundException;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Map;
 import java.util.function.Function;
@@ -29,18 +38,23 @@ public class NinhadaService {
     private final CachorroRepository cachorroRepository;
     private final CachorroService cachorroService;
     private final NinhadaMapper ninhadaMapper; // Dependência adicionada
+    private final AtividadeService atividadeService;
+    private final AlteracoesTabelas alteracoesTabelas;
 
-    public NinhadaService(NinhadaRepository ninhadaRepository, CachorroRepository cachorroRepository, CachorroService cachorroService, NinhadaMapper ninhadaMapper) {
+    public NinhadaService(NinhadaRepository ninhadaRepository, CachorroRepository cachorroRepository, CachorroService cachorroService,
+                          NinhadaMapper ninhadaMapper, AtividadeService atividadeService, AlteracoesTabelas alteracoesTabelas) {
         this.ninhadaRepository = ninhadaRepository;
         this.cachorroRepository = cachorroRepository;
         this.cachorroService = cachorroService;
         this.ninhadaMapper = ninhadaMapper; // Injetando o Mapper
+        this.atividadeService = atividadeService;
+        this.alteracoesTabelas = alteracoesTabelas;
     }
 
     @Transactional
     // 1. Altere o tipo de retorno do método para NinhadaResponseDTO
     public NinhadaResponseDTO criarNinhada(NinhadaRequestDTO dto) {
-        Map<Long, Cachorro> paisMap = cachorroRepository.findAllById(List.of(dto.maeId(), dto.paiId()))
+        Map<Long, Cachorro> paisMap = cachorroRepository.findAllWithVendaByIdIn(List.of(dto.maeId(), dto.paiId()))
                 .stream()
                 .collect(Collectors.toMap(Cachorro::getId, Function.identity()));
 
@@ -54,19 +68,13 @@ public class NinhadaService {
         novaNinhada.setMae(mae);
         novaNinhada.setPai(pai);
 
-        dto.filhotes().forEach(filhoteDTO -> {
-            var cachorroRequest = new CachorroPostRequestDTO(
-                    filhoteDTO.nome(),
-                    dto.dataNascimento(),
-                    mae.getRaca(),
-                    filhoteDTO.sexo()
-            );
-            Cachorro filhoteSalvo = cachorroService.criar(cachorroRequest);
-            novaNinhada.adicionarFilhote(filhoteSalvo);
-        });
-
         // 2. Salve a entidade em uma variável local
         Ninhada ninhadaSalva = ninhadaRepository.save(novaNinhada);
+        // Os filhotes já nascem com pais e ninhada preenchidos: um INSERT em batch para todos, sem UPDATEs
+        if (dto.filhotes() != null && !dto.filhotes().isEmpty()) {
+            cachorroService.criarFilhotes(ninhadaSalva, dto.filhotes());
+        }
+        atividadeService.registrarNinhada(ninhadaSalva);
 
         // 3. Converta a entidade salva para o DTO de resposta e retorne
         return new NinhadaResponseDTO(ninhadaSalva);
@@ -85,12 +93,23 @@ public class NinhadaService {
         if (!cachorroRepository.existsById(maeId)) {
             throw new EntityNotFoundException("Mãe não encontrada com o ID: " + maeId);
         }
-        // 1. Chama o método correto que busca as associações
-        List<Ninhada> ninhadas = ninhadaRepository.findByMaeIdWithAssociations(maeId);
-        // 2. Mapeia a lista de entidades para uma lista de DTOs
-        return ninhadas.stream()
-                .map(NinhadaResponseDTO::new)
-                .collect(Collectors.toList());
+        return montarDTOs(ninhadaRepository.findListagemByMaeId(maeId));
+    }
+
+    /**
+     * ETag do detalhe (GET /ninhadas/{id}) lido só da versão da linha. Mãe, pai e filhotes aparecem na resposta
+     * (com a venda de cada um), então os contadores de cachorros e vendas entram junto.
+     */
+    @Transactional(readOnly = true)
+    public String etag(Long id) {
+        Long versao = ninhadaRepository.findVersaoById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Ninhada não encontrada com o ID: " + id));
+        return alteracoesTabelas.etag(versao, AlteracoesTabelas.CACHORROS, AlteracoesTabelas.VENDAS);
+    }
+
+    // ETag das listagens (página e cursor): ninhadas, os pais e os filhotes de cada uma
+    public String etagListagem() {
+        return alteracoesTabelas.etagColecao(AlteracoesTabelas.NINHADAS, AlteracoesTabelas.CACHORROS);
     }
 
     @Transactional(readOnly = true)
@@ -102,19 +121,91 @@ public class NinhadaService {
         return ninhadaMapper.toDetalhesDTO(ninhada);
     }
 
+    /**
+     * Página por OFFSET servida por projeção: uma consulta para as ninhadas (com mãe, pai e total)
+     * e outra para os filhotes da página.
+     */
     @Transactional(readOnly = true)
     public Page<NinhadaResponseDTO> listarTodasPaginado(Pageable pageable) {
-        Page<Ninhada> pageDeEntidades = ninhadaRepository.findAll(pageable);
-        return pageDeEntidades.map(NinhadaResponseDTO::new);
+        List<NinhadaListagemProjection.Pagina> linhas = ninhadaRepository.findPaginaParaListagem(pageable);
+        return Paginas.de(montarDTOs(linhas), pageable,
+                linhas.isEmpty() ? null : linhas.get(0).getTotal(), ninhadaRepository::count);
+    }
+
+    /**
+     * Listagem por cursor (keyset): ninhadas mais recentes primeiro, ordenadas por (dataNascimento, id).
+     * Não executa COUNT e usa o índice idx_ninhadas_data_id, então o custo não cresce com a profundidade.
+     */
+    @Transactional(readOnly = true)
+    public CursorPageResponseDTO<NinhadaResponseDTO> listarTodasPorCursor(String after, int size) {
+        Cursor cursor = Cursor.decodificar(after);
+        Pageable limite = PageRequest.ofSize(Cursor.limitarTamanho(size));
+
+        Slice<NinhadaListagemProjection> ninhadas;
+        if (cursor == null) {
+            ninhadas = ninhadaRepository.findMaisRecentes(limite);
+        } else if (cursor.chave() == null) {
+            // As sem data vêm antes de todas as datas: a página que as esgota continua na mais recente
+            ninhadas = Cursor.emendar(ninhadaRepository.findSemDataApos(cursor.id(), limite),
+                    ninhadaRepository::findComDataMaisRecentes);
+        } else {
+            ninhadas = ninhadaRepository.findMaisRecentesApos(cursor.chaveComoData(), cursor.id(), limite);
+        }
+
+        return paginaPorCursor(ninhadas, limite);
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPageResponseDTO<NinhadaResponseDTO> listarNinhadasDeUmaMaePorCursor(Long maeId, String after, int size) {
+        if (!cachorroRepository.existsById(maeId)) {
+            throw new EntityNotFoundException("Mãe não encontrada com o ID: " + maeId);
+        }
+        Cursor cursor = Cursor.decodificar(after);
+        Pageable limite = PageRequest.ofSize(Cursor.limitarTamanho(size));
+
+        Slice<NinhadaListagemProjection> ninhadas;
+        if (cursor == null) {
+            ninhadas = ninhadaRepository.findByMaeIdMaisRecentes(maeId, limite);
+        } else if (cursor.chave() == null) {
+            ninhadas = Cursor.emendar(ninhadaRepository.findByMaeIdSemDataApos(maeId, cursor.id(), limite),
+                    pagina -> ninhadaRepository.findByMaeIdComDataMaisRecentes(maeId, pagina));
+        } else {
+            ninhadas = ninhadaRepository.findByMaeIdMaisRecentesApos(maeId, cursor.chaveComoData(), cursor.id(), limite);
+        }
+
+        return paginaPorCursor(ninhadas, limite);
+    }
+
+    private CursorPageResponseDTO<NinhadaResponseDTO> paginaPorCursor(Slice<NinhadaListagemProjection> ninhadas, Pageable limite) {
+        List<NinhadaResponseDTO> dtos = montarDTOs(ninhadas.getContent());
+
+        String next = null;
+        if (ninhadas.hasNext() && !dtos.isEmpty()) {
+            NinhadaResponseDTO ultima = dtos.get(dtos.size() - 1);
+            next = Cursor.codificar(ultima.dataNascimento(), ultima.id());
+        }
+        return new CursorPageResponseDTO<>(dtos, limite.getPageSize(), next);
     }
 
     @Transactional(readOnly = true)
     public List<NinhadaResponseDTO> listarNinhadasPorAno(int ano) {
-        // 1. Chama o novo método do repositório
-        List<Ninhada> ninhadas = ninhadaRepository.findByAnoNascimento(ano);
-        // 2. Mapeia para DTOs
-        return ninhadas.stream()
-                .map(NinhadaResponseDTO::new)
+        return montarDTOs(ninhadaRepository.findListagemByPeriodoNascimento(LocalDate.of(ano, 1, 1), LocalDate.of(ano, 12, 31)));
+    }
+
+    /**
+     * Completa as linhas com os filhotes de todas as ninhadas, buscados numa única consulta.
+     */
+    private List<NinhadaResponseDTO> montarDTOs(List<? extends NinhadaListagemProjection> linhas) {
+        if (linhas.isEmpty()) {
+            return List.of();
+        }
+        List<Long> ids = linhas.stream().map(NinhadaListagemProjection::getId).toList();
+        Map<Long, List<CachorroResumoDTO>> filhotesPorNinhada = cachorroRepository.findFilhotesByNinhadaIds(ids).stream()
+                .collect(Collectors.groupingBy(FilhoteProjection::getNinhadaId,
+                        Collectors.mapping(f -> new CachorroResumoDTO(f.getId(), f.getNome(), f.getSexo()), Collectors.toList())));
+
+        return linhas.stream()
+                .map(linha -> new NinhadaResponseDTO(linha, filhotesPorNinhada.getOrDefault(linha.getId(), List.of())))
                 .collect(Collectors.toList());
     }
 }
\ No newline at end of file
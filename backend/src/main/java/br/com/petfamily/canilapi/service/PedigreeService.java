@@ -0,0 +1,64 @@
+package br.com.petfamily.canilapi.service;
+
+import br.com.petfamily.canilapi.controller.dto.CoiResponseDTO;
+import br.com.petfamily.canilapi.controller.dto.PedigreeNoDTO;
+import br.com.petfamily.canilapi.repository.CachorroRepository;
+import br.com.petfamily.canilapi.repository.projection.PedigreeProjection;
+import br.com.petfamily.canilapi.service.pedigree.PedigreeIndex;
+import jakarta.persistence.EntityNotFoundException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.stream.Stream;
+
+/**
+ * Consultas genealógicas (árvore e COI) respondidas pelo {@link PedigreeIndex}, sem acessar o banco.
+ * O índice é carregado uma única vez, quando a aplicação termina de subir, e depois mantido
+ * pelo {@link br.com.petfamily.canilapi.service.pedigree.PedigreeEntityListener}.
+ */
+@Service
+public class PedigreeService {
+
+    private static final Logger log = LoggerFactory.getLogger(PedigreeService.class);
+
+    private final CachorroRepository cachorroRepository;
+    private final PedigreeIndex pedigreeIndex;
+
+    public PedigreeService(CachorroRepository cachorroRepository, PedigreeIndex pedigreeIndex) {
+        this.cachorroRepository = cachorroRepository;
+        this.pedigreeIndex = pedigreeIndex;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void carregarIndice() {
+        long inicio = System.nanoTime();
+        try (Stream<PedigreeProjection> linhas = cachorroRepository.findAllParaPedigree()) {
+            pedigreeIndex.substituirTudo(linhas
+                    .map(p -> new PedigreeIndex.Registro(p.getId(), p.getNome(), p.getSexo(), p.getPaiId(), p.getMaeId()))
+                    ::iterator);
+        }
+        log.info("Índice de pedigree carregado com {} cachorros em {} ms.",
+                pedigreeIndex.tamanho(), (System.nanoTime() - inicio) / 1_000_000);
+    }
+
+    public PedigreeNoDTO buscarPedigree(Long id, int geracoes) {
+        validarExistencia(id);
+        return pedigreeIndex.arvore(id, geracoes);
+    }
+
+    public CoiResponseDTO calcularCoi(Long id) {
+        validarExistencia(id);
+        return new CoiResponseDTO(id, pedigreeIndex.nomeDe(id), pedigreeIndex.coi(id));
+    }
+
+    private void validarExistencia(Long id) {
+        if (!pedigreeIndex.contem(id)) {
+            throw new EntityNotFoundException("Cachorro não encontrado com ID: " + id);
+        }
+    }
+}
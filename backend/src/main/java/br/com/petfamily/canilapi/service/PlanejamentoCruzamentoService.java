@@ -0,0 +1,90 @@
+package br.com.petfamily.canilapi.service;
+
+import br.com.petfamily.canilapi.controller.dto.CandidatoPadreadorDTO;
+import br.com.petfamily.canilapi.controller.dto.PlanejamentoCruzamentoDTO;
+import br.com.petfamily.canilapi.model.Cachorro;
+import br.com.petfamily.canilapi.model.Caracteristica;
+import br.com.petfamily.canilapi.model.Sexo;
+import br.com.petfamily.canilapi.model.StatusCachorro;
+import br.com.petfamily.canilapi.model.TipoCaracteristica;
+import br.com.petfamily.canilapi.repository.CachorroRepository;
+import br.com.petfamily.canilapi.repository.CaracteristicaRepository;
+import br.com.petfamily.canilapi.service.pedigree.PedigreeIndex;
+import br.com.petfamily.canilapi.service.pedigree.PlanejadorCruzamento;
+import jakarta.persistence.EntityNotFoundException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+@Service
+public class PlanejamentoCruzamentoService {
+
+    public static final int TOP_MAXIMO = 100;
+
+    private final CachorroRepository cachorroRepository;
+    private final CaracteristicaRepository caracteristicaRepository;
+    private final PedigreeIndex pedigreeIndex;
+    private final PlanejadorCruzamento planejador;
+
+    public PlanejamentoCruzamentoService(CachorroRepository cachorroRepository, CaracteristicaRepository caracteristicaRepository,
+                                         PedigreeIndex pedigreeIndex, PlanejadorCruzamento planejador) {
+        this.cachorroRepository = cachorroRepository;
+        this.caracteristicaRepository = caracteristicaRepository;
+        this.pedigreeIndex = pedigreeIndex;
+        this.planejador = planejador;
+    }
+
+    /**
+     * Avalia todos os machos com status MATRIZ_PADREADOR como pais para a matriz informada
+     * e retorna os {@code top} melhores. São três consultas (matriz, candidatos e características);
+     * o COI de cada par vem do índice de pedigree em memória.
+     */
+    @Transactional(readOnly = true)
+    public PlanejamentoCruzamentoDTO planejar(Long maeId, int top) {
+        if (top < 1 || top > TOP_MAXIMO) {
+            throw new IllegalArgumentException("O parâmetro 'top' deve estar entre 1 e " + TOP_MAXIMO + ".");
+        }
+        Cachorro mae = cachorroRepository.findById(maeId)
+                .orElseThrow(() -> new EntityNotFoundException("Cachorro (mãe) não encontrado com ID: " + maeId));
+        if (mae.getSexo() != Sexo.FEMEA) {
+            throw new IllegalArgumentException("O cachorro selecionado como mãe (ID: " + maeId + ") não é uma fêmea.");
+        }
+
+        long[] padreadores = cachorroRepository.findIdsBySexoAndStatus(Sexo.MACHO, StatusCachorro.MATRIZ_PADREADOR)
+                .stream()
+                .filter(pedigreeIndex::contem)
+                .mapToLong(Long::longValue)
+                .toArray();
+
+        Map<String, TipoCaracteristica> caracteristicasMae = porDescricao(caracteristicaRepository.findByCachorro_Id(maeId));
+        Map<Long, Map<String, TipoCaracteristica>> caracteristicasPorPai = caracteristicaRepository
+                .findByCachorroSexoAndStatus(Sexo.MACHO, StatusCachorro.MATRIZ_PADREADOR).stream()
+                .collect(Collectors.groupingBy(car -> car.getCachorro().getId(),
+                        Collectors.collectingAndThen(Collectors.toList(), this::porDescricao)));
+
+        List<CandidatoPadreadorDTO> ranking = planejador
+                .ranquear(maeId, padreadores, caracteristicasMae, caracteristicasPorPai, top).stream()
+                .map(c -> new CandidatoPadreadorDTO(c.paiId(), pedigreeIndex.nomeDe(c.paiId()), c.coiProjetado(), c.riscoRecessivo()))
+                .collect(Collectors.toList());
+
+        return new PlanejamentoCruzamentoDTO(maeId, mae.getNome(), padreadores.length, ranking);
+    }
+
+    private Map<String, TipoCaracteristica> porDescricao(List<Caracteristica> caracteristicas) {
+        Map<String, TipoCaracteristica> mapa = new HashMap<>();
+        for (Caracteristica car : caracteristicas) {
+            if (car.getDescricao() == null || car.getTipo() == null) {
+                continue;
+            }
+            // PORTADA prevalece: é o que gera risco de recessivo
+            mapa.merge(car.getDescricao().trim().toLowerCase(Locale.ROOT), car.getTipo(),
+                    (a, b) -> a == TipoCaracteristica.PORTADA ? a : b);
+        }
+        return mapa;
+    }
+}
@@ -0,0 +1,173 @@
+package br.com.petfamily.canilapi.service;
+
+import br.com.petfamily.canilapi.controller.dto.FinanceiroDashboardDTO;
+import br.com.petfamily.canilapi.model.Cachorro;
+import br.com.petfamily.canilapi.model.CategoriaDespesa;
+import br.com.petfamily.canilapi.model.Despesa;
+import br.com.petfamily.canilapi.model.TipoLancamento;
+import br.com.petfamily.canilapi.model.Venda;
+import br.com.petfamily.canilapi.repository.ResumoFinanceiroDiarioRepository;
+import br.com.petfamily.canilapi.repository.projection.TotalPorTipoProjection;
+import br.com.petfamily.canilapi.service.dashboard.DashboardAlteradoEvent;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.dialect.PostgreSQLDialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Mantém a tabela resumo_financeiro_diario (totais por dia, tipo e categoria).
+ * Os métodos de registro/estorno participam da transação de quem grava a venda ou a despesa
+ * (Propagation.MANDATORY), então o resumo nunca fica à frente nem atrás das tabelas base.
+ */
+@Service
+public class ResumoFinanceiroService {
+
+    private static final Logger log = LoggerFactory.getLogger(ResumoFinanceiroService.class);
+
+    public static final String CATEGORIA_VENDA = "VENDA";
+
+    // Limites usados quando a janela é aberta de um dos lados
+    private static final LocalDate INICIO_DOS_TEMPOS = LocalDate.of(1900, 1, 1);
+    private static final LocalDate FIM_DOS_TEMPOS = LocalDate.of(9999, 12, 31);
+
+    private final ResumoFinanceiroDiarioRepository resumoRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final JdbcTemplate jdbcTemplate;
+    // LOCK TABLE e ON CONFLICT DO UPDATE só existem no PostgreSQL; o H2 dos testes usa MERGE e não tem escritas
+    // concorrentes à reconstrução
+    private final boolean postgresql;
+
+    public ResumoFinanceiroService(ResumoFinanceiroDiarioRepository resumoRepository, ApplicationEventPublisher eventPublisher,
+                                   JdbcTemplate jdbcTemplate, EntityManagerFactory entityManagerFactory) {
+        this.resumoRepository = resumoRepository;
+        this.eventPublisher = eventPublisher;
+        this.jdbcTemplate = jdbcTemplate;
+        this.postgresql = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getJdbcServices().getDialect() instanceof PostgreSQLDialect;
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void registrarVenda(Venda venda) {
+        acumular(venda.getDataVenda(), TipoLancamento.RECEITA, CATEGORIA_VENDA, venda.getValor(), 1);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void estornarVenda(Venda venda) {
+        acumular(venda.getDataVenda(), TipoLancamento.RECEITA, CATEGORIA_VENDA, negativo(venda.getValor()), -1);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void registrarDespesa(Despesa despesa) {
+        acumular(despesa.getData(), TipoLancamento.DESPESA, categoriaDe(despesa), despesa.getValor(), 1);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void estornarDespesa(Despesa despesa) {
+        acumular(despesa.getData(), TipoLancamento.DESPESA, categoriaDe(despesa), negativo(despesa.getValor()), -1);
+    }
+
+    /**
+     * Acumula de uma vez o total de despesas de um dia e categoria gravadas pela importação ou pelo
+     * lançamento em lote, que inserem direto nas tabelas sem passar pelas entidades.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void registrarDespesasImportadas(LocalDate dia, CategoriaDespesa categoria, BigDecimal total, long quantidade) {
+        acumular(dia, TipoLancamento.DESPESA, categoria.name(), total, quantidade);
+    }
+
+    /**
+     * Estorna a venda e as despesas de um cachorro que será excluído (elas são removidas em cascata).
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void estornarCachorro(Cachorro cachorro) {
+        if (cachorro.getRegistroVenda() != null) {
+            estornarVenda(cachorro.getRegistroVenda());
+        }
+        cachorro.getHistoricoDespesas().forEach(this::estornarDespesa);
+    }
+
+    /**
+     * Receita, despesa e lucro entre {@code inicio} e {@code fim} (inclusivos); null deixa a janela aberta.
+     * Soma no máximo (dias x tipos x categorias) linhas, independente do volume de vendas e despesas.
+     */
+    @Transactional(readOnly = true)
+    public FinanceiroDashboardDTO resumir(LocalDate inicio, LocalDate fim) {
+        BigDecimal receita = BigDecimal.ZERO;
+        BigDecimal despesa = BigDecimal.ZERO;
+        for (TotalPorTipoProjection total : resumoRepository.somarPorTipo(
+                inicio != null ? inicio : INICIO_DOS_TEMPOS, fim != null ? fim : FIM_DOS_TEMPOS)) {
+            BigDecimal valor = total.getTotal() != null ? total.getTotal() : BigDecimal.ZERO;
+            if (total.getTipo() == TipoLancamento.RECEITA) {
+                receita = receita.add(valor);
+            } else {
+                despesa = despesa.add(valor);
+            }
+        }
+        return new FinanceiroDashboardDTO(receita, despesa, receita.subtract(despesa));
+    }
+
+    /**
+     * Recria o resumo a partir das tabelas vendas e despesas. Usado como backfill
+     * (na primeira subida com a tabela vazia) e para corrigir divergências.
+     * <p>
+     * Apagar e recalcular não combina com os registros incrementais: um lançamento gravado no meio seria
+     * contado duas vezes ou nenhuma. Por isso a reconstrução bloqueia vendas e despesas para escrita
+     * (espera as transações em andamento terminarem e segura as novas até o commit) e só então o resumo.
+     * É uma operação de manutenção: enquanto ela roda, todo lançamento de venda ou despesa fica parado.
+     */
+    @Transactional
+    public void reconstruir() {
+        long inicio = System.nanoTime();
+        if (postgresql) {
+            // Tabelas base antes do resumo. Um estorno que já mexeu no resumo e ainda vai apagar a despesa pode
+            // cruzar com este LOCK: o PostgreSQL detecta o deadlock e aborta uma das duas transações
+            jdbcTemplate.execute("LOCK TABLE vendas, despesas IN SHARE MODE");
+            jdbcTemplate.execute("LOCK TABLE resumo_financeiro_diario IN EXCLUSIVE MODE");
+        }
+        resumoRepository.apagarTudo();
+        int diasReceita = resumoRepository.reconstruirReceitas();
+        int diasDespesa = resumoRepository.reconstruirDespesas();
+        log.info("Resumo financeiro reconstruído: {} dias de receita e {} de despesa em {} ms.",
+                diasReceita, diasDespesa, (System.nanoTime() - inicio) / 1_000_000);
+        eventPublisher.publishEvent(DashboardAlteradoEvent.deFinanceiro());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void reconstruirSeVazio() {
+        if (resumoRepository.count() == 0) {
+            reconstruir();
+        }
+    }
+
+    private void acumular(LocalDate dia, TipoLancamento tipo, String categoria, BigDecimal valor, long quantidade) {
+        if (dia == null || valor == null) {
+            return;
+        }
+        if (postgresql) {
+            resumoRepository.acumular(dia, tipo.name(), categoria, valor, quantidade);
+        } else {
+            resumoRepository.acumularComMerge(dia, tipo.name(), categoria, valor, quantidade);
+        }
+        eventPublisher.publishEvent(DashboardAlteradoEvent.deFinanceiro());
+    }
+
+    private static String categoriaDe(Despesa despesa) {
+        return (despesa.getCategoria() != null ? despesa.getCategoria() : CategoriaDespesa.OUTROS).name();
+    }
+
+    private static BigDecimal negativo(BigDecimal valor) {
+        return valor != null ? valor.negate() : null;
+    }
+}
@@ -1,14 +1,26 @@
 package br.com.petfamily.canilapi.service;
 
+import br.com.petfamily.canilapi.controller.dto.CachorroInfoDTO;
+import br.com.petfamily.canilapi.controller.dto.CursorPageResponseDTO;
 import br.com.petfamily.canilapi.controller.dto.TutorRequestDTO;
 import br.com.petfamily.canilapi.controller.dto.TutorResponseDTO;
+import br.com.petfamily.canilapi.infra.pagination.Cursor;
+import br.com.petfamily.canilapi.infra.pagination.Paginas;
+import br.com.petfamily.canilapi.infra.persistence.AlteracoesTabelas;
+import br.com.petfamily.canilapi.infra.web.Etags;
 import br.com.petfamily.canilapi.model.Tutor;
 import br.com.petfamily.canilapi.repository.CachorroRepository;
 import br.com.petfamily.canilapi.repository.TutorRepository;
+import br.com.petfamily.canilapi.repository.projection.CachorroDoTutorProjection;
+import br.com.petfamily.canilapi.repository.projection.TutorListagemProjection;
+import br.com.petfamily.canilapi.service.dashboard.DashboardAlteradoEvent;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.persistence.EntityNotFoundException;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.ReflectionUtils;
@@ -24,23 +36,48 @@ public class TutorService {
     private final TutorRepository tutorRepository;
     private final CachorroRepository cachorroRepository;
     private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final AlteracoesTabelas alteracoesTabelas;
 
-    public TutorService(TutorRepository tutorRepository, CachorroRepository cachorroRepository) {
+    public TutorService(TutorRepository tutorRepository, CachorroRepository cachorroRepository,
+                        ApplicationEventPublisher eventPublisher, AlteracoesTabelas alteracoesTabelas) {
         this.tutorRepository = tutorRepository;
         this.cachorroRepository = cachorroRepository;
+        this.eventPublisher = eventPublisher;
+        this.alteracoesTabelas = alteracoesTabelas;
         this.objectMapper = new ObjectMapper(); // Inicializa o ObjectMapper
     }
 
     // CORREÇÃO: Agora existe apenas um método 'listarTodos', que é otimizado e ordenado.
     @Transactional(readOnly = true)
     public List<TutorResponseDTO> listarTodos() {
-        // Usa o novo método do repositório que busca e ordena de forma eficiente.
-        List<Tutor> tutores = tutorRepository.findAllWithCachorrosSorted();
-        return tutores.stream()
-                .map(TutorResponseDTO::new)
+        // Duas consultas por projeção (tutores e cachorros com tutor), sem carregar entidades.
+        Map<Long, List<CachorroInfoDTO>> cachorrosPorTutor = agruparPorTutor(cachorroRepository.findResumoComTutor());
+        return tutorRepository.findTodosParaListagem().stream()
+                .map(tutor -> new TutorResponseDTO(tutor, cachorrosPorTutor.getOrDefault(tutor.getId(), List.of())))
                 .collect(Collectors.toList());
     }
 
+    /**
+     * ETag do detalhe (GET /tutores/{id}) lido só da versão da linha. A resposta lista os cachorros do tutor,
+     * então o contador de cachorros entra junto.
+     */
+    @Transactional(readOnly = true)
+    public String etag(Long id) {
+        Long versao = tutorRepository.findVersaoById(id)
+                .orElseThrow(() -> new EntityNotFoundException("Tutor não encontrado com o ID: " + id));
+        return alteracoesTabelas.etag(versao, AlteracoesTabelas.CACHORROS);
+    }
+
+    public String etag(Tutor tutor) {
+        return alteracoesTabelas.etag(tutor.getVersao(), AlteracoesTabelas.CACHORROS);
+    }
+
+    // ETag das listagens (página, cursor e /todos): tutores e os cachorros de cada um
+    public String etagListagem() {
+        return alteracoesTabelas.etagColecao(AlteracoesTabelas.TUTORES, AlteracoesTabelas.CACHORROS);
+    }
+
     public Tutor buscarPorId(Long id) {
         return tutorRepository.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException("Tutor no encontrado com o ID: " + id));
@@ -48,23 +85,37 @@ public class TutorService {
 
     @Transactional
     public Tutor criar(TutorRequestDTO dto) {
+        garantirEmailLivre(dto.email());
         Tutor novoTutor = new Tutor();
         novoTutor.setNome(dto.nome());
         novoTutor.setEmail(dto.email());
         novoTutor.setTelefone(dto.telefone());
+        eventPublisher.publishEvent(DashboardAlteradoEvent.deEstatisticas());
         return tutorRepository.save(novoTutor);
     }
 
     @Transactional
-    public TutorResponseDTO atualizar(Long id, TutorRequestDTO dto) {
-        Tutor tutorExistente = tutorRepository.findById(id)
+    public Tutor atualizar(Long id, TutorRequestDTO dto, String ifMatch) {
+        Tutor tutorExistente = tutorRepository.findWithCachorrosById(id)
                 .orElseThrow(() -> new EntityNotFoundException("Tutor não encontrado com o ID: " + id));
+        Etags.conferir(ifMatch, tutorExistente.getVersao());
+        if (dto.email() != null && !dto.email().equals(tutorExistente.getEmail())) {
+            garantirEmailLivre(dto.email());
+        }
 
         tutorExistente.setNome(dto.nome());
         tutorExistente.setEmail(dto.email());
         tutorExistente.setTelefone(dto.telefone());
 
-        return new TutorResponseDTO(tutorExistente);
+        // Os cachorros já vieram no grafo; a versão nova é gravada no flush do commit
+        return tutorExistente;
+    }
+
+    // O índice único uk_tutores_email também barra a duplicata; conferir antes dá uma mensagem clara (400)
+    private void garantirEmailLivre(String email) {
+        if (email != null && tutorRepository.existsByEmail(email)) {
+            throw new IllegalArgumentException("Já existe um tutor com o email '" + email + "'.");
+        }
     }
 
     @Transactional
@@ -75,6 +126,7 @@ public class TutorService {
         }
 
         tutorRepository.delete(tutor);
+        eventPublisher.publishEvent(DashboardAlteradoEvent.deEstatisticas());
     }
 
     public Tutor buscarTutorPorNome(String nome) {
@@ -83,14 +135,65 @@ public class TutorService {
 
     @Transactional(readOnly = true)
     public TutorResponseDTO buscarPorIdDTO(Long id) {
-        Tutor tutor = this.buscarPorId(id); // Reutiliza a lógica existente
-        return new TutorResponseDTO(tutor);
+        TutorListagemProjection tutor = tutorRepository.findListagemById(id)
+                .orElseThrow(() -> new EntityNotFoundException("Tutor no encontrado com o ID: " + id));
+        return montarDTOs(List.of(tutor)).get(0);
     }
 
+    /**
+     * Página por OFFSET servida por projeção: uma consulta para os tutores (com o total)
+     * e outra para os cachorros da página.
+     */
     @Transactional(readOnly = true)
     public Page<TutorResponseDTO> listarTodosPaginado(Pageable pageable) {
-        Page<Tutor> paginaDeTutores = tutorRepository.findAll(pageable);
-        return paginaDeTutores.map(TutorResponseDTO::new);
+        List<TutorListagemProjection.Pagina> linhas = tutorRepository.findPaginaParaListagem(pageable);
+        return Paginas.de(montarDTOs(linhas), pageable,
+                linhas.isEmpty() ? null : linhas.get(0).getTotal(), tutorRepository::count);
+    }
+
+    /**
+     * Listagem por cursor (keyset) na ordem (nome, id), sem OFFSET e sem COUNT.
+     * Uma consulta para a página de tutores e outra para os cachorros deles.
+     */
+    @Transactional(readOnly = true)
+    public CursorPageResponseDTO<TutorResponseDTO> listarPorCursor(String after, int size) {
+        Cursor cursor = Cursor.decodificar(after);
+        Pageable limite = PageRequest.ofSize(Cursor.limitarTamanho(size));
+
+        Slice<TutorListagemProjection> linhas;
+        if (cursor == null) {
+            linhas = tutorRepository.findListagemOrdenadaPorNome(limite);
+        } else if (cursor.chave() == null) {
+            linhas = tutorRepository.findListagemSemNomeApos(cursor.id(), limite);
+        } else {
+            linhas = Cursor.emendar(tutorRepository.findListagemOrdenadaPorNomeApos(cursor.chave(), cursor.id(), limite),
+                    tutorRepository::findListagemSemNome);
+        }
+
+        List<TutorResponseDTO> dtos = montarDTOs(linhas.getContent());
+        String next = null;
+        if (linhas.hasNext() && !dtos.isEmpty()) {
+            TutorResponseDTO ultimo = dtos.get(dtos.size() - 1);
+            next = Cursor.codificar(ultimo.nome(), ultimo.id());
+        }
+        return new CursorPageResponseDTO<>(dtos, limite.getPageSize(), next);
+    }
+
+    private List<TutorResponseDTO> montarDTOs(List<? extends TutorListagemProjection> linhas) {
+        if (linhas.isEmpty()) {
+            return List.of();
+        }
+        List<Long> ids = linhas.stream().map(TutorListagemProjection::getId).toList();
+        Map<Long, List<CachorroInfoDTO>> cachorrosPorTutor = agruparPorTutor(cachorroRepository.findResumoByTutorIds(ids));
+        return linhas.stream()
+                .map(tutor -> new TutorResponseDTO(tutor, cachorrosPorTutor.getOrDefault(tutor.getId(), List.of())))
+                .collect(Collectors.toList());
+    }
+
+    private static Map<Long, List<CachorroInfoDTO>> agruparPorTutor(List<CachorroDoTutorProjection> cachorros) {
+        return cachorros.stream()
+                .collect(Collectors.groupingBy(CachorroDoTutorProjection::getTutorId,
+                        Collectors.mapping(c -> new CachorroInfoDTO(c.getId(), c.getNome(), c.getRaca()), Collectors.toList())));
     }
 
     @Transactional
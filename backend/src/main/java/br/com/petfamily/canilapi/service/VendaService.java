@@ -1,5 +1,6 @@
 package br.com.petfamily.canilapi.service;
 
+import br.com.petfamily.canilapi.controller.dto.VendaRequestDTO;
 import br.com.petfamily.canilapi.controller.dto.VendaRequestFlexDTO;
 import br.com.petfamily.canilapi.controller.dto.VendaResponseDTO;
 import br.com.petfamily.canilapi.model.Cachorro;
@@ -20,12 +21,28 @@ public class VendaService {
     private final CachorroRepository cachorroRepository;
     private final TutorRepository tutorRepository;
     private final TutorService tutorService;
+    private final ResumoFinanceiroService resumoFinanceiroService;
+    private final CustoCachorroService custoCachorroService;
+    private final AtividadeService atividadeService;
 
-    public VendaService(VendaRepository vendaRepository, CachorroRepository cachorroRepository, TutorRepository tutorRepository, TutorService tutorService) {
+    public VendaService(VendaRepository vendaRepository, CachorroRepository cachorroRepository, TutorRepository tutorRepository,
+                        TutorService tutorService, ResumoFinanceiroService resumoFinanceiroService,
+                        CustoCachorroService custoCachorroService, AtividadeService atividadeService) {
         this.vendaRepository = vendaRepository;
         this.cachorroRepository = cachorroRepository;
         this.tutorRepository = tutorRepository;
         this.tutorService = tutorService;
+        this.resumoFinanceiroService = resumoFinanceiroService;
+        this.custoCachorroService = custoCachorroService;
+        this.atividadeService = atividadeService;
+    }
+
+    /**
+     * Venda para um tutor já cadastrado (rota {@code /vender}); o mesmo fluxo da venda "flex".
+     */
+    @Transactional
+    public VendaResponseDTO realizarVenda(Long cachorroId, VendaRequestDTO dto) {
+        return realizarVendaFlex(cachorroId, new VendaRequestFlexDTO(dto.valor(), dto.data(), dto.novoTutorId(), null));
     }
 
     /**
@@ -67,6 +84,9 @@ public class VendaService {
 
         // 5. Persistir a nova venda no banco de dados.
         Venda vendaSalva = vendaRepository.save(novaVenda);
+        resumoFinanceiroService.registrarVenda(vendaSalva);
+        custoCachorroService.registrarVenda(vendaSalva);
+        atividadeService.registrarVenda(vendaSalva);
 
         // 6. ROBUSTEZ: Busca a entidade novamente com todos os detalhes para construir o DTO.
         // O movoTutor`
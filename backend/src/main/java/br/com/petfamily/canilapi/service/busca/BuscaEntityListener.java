@@ -0,0 +1,65 @@
+package br.com.petfamily.canilapi.service.busca;
+
+import br.com.petfamily.canilapi.model.Cachorro;
+import br.com.petfamily.canilapi.model.Tutor;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Mantém o {@link IndiceBusca} atualizado a partir dos eventos de persistência de {@link Cachorro} e {@link Tutor}.
+ * Como no {@code PedigreeEntityListener}, as alterações só são aplicadas depois do commit.
+ */
+@Component
+public class BuscaEntityListener {
+
+    private final IndiceBusca indiceBusca;
+
+    public BuscaEntityListener(IndiceBusca indiceBusca) {
+        this.indiceBusca = indiceBusca;
+    }
+
+    @PostPersist
+    @PostUpdate
+    public void aoSalvar(Object entidade) {
+        if (entidade instanceof Cachorro cachorro) {
+            long id = cachorro.getId();
+            String nome = cachorro.getNome();
+            String raca = cachorro.getRaca();
+            aposCommit(() -> indiceBusca.registrarCachorro(id, nome, raca));
+        } else if (entidade instanceof Tutor tutor) {
+            long id = tutor.getId();
+            String nome = tutor.getNome();
+            String email = tutor.getEmail();
+            String telefone = tutor.getTelefone();
+            aposCommit(() -> indiceBusca.registrarTutor(id, nome, email, telefone));
+        }
+    }
+
+    @PostRemove
+    public void aoRemover(Object entidade) {
+        if (entidade instanceof Cachorro cachorro) {
+            long id = cachorro.getId();
+            aposCommit(() -> indiceBusca.remover(IndiceBusca.Tipo.CACHORRO, id));
+        } else if (entidade instanceof Tutor tutor) {
+            long id = tutor.getId();
+            aposCommit(() -> indiceBusca.remover(IndiceBusca.Tipo.TUTOR, id));
+        }
+    }
+
+    private void aposCommit(Runnable acao) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    acao.run();
+                }
+            });
+        } else {
+            acao.run();
+        }
+    }
+}
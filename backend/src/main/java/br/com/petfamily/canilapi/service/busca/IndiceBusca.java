@@ -0,0 +1,626 @@
+package br.com.petfamily.canilapi.service.busca;
+
+import org.springframework.stereotype.Component;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Queue;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+import java.util.stream.IntStream;
+
+/**
+ * Índice invertido em memória para a busca de cachorros (nome, raça) e tutores (nome, e-mail, telefone).
+ * <p>
+ * Os textos são normalizados (minúsculas, sem acentos) e quebrados em termos. Cada termo aponta para os
+ * documentos em que aparece; o dicionário de termos é ordenado, então a busca por prefixo é um intervalo dele.
+ * Para tolerar erros de digitação, cada termo também é indexado pelos seus trigramas: os candidatos de um termo
+ * da consulta são os termos que compartilham trigramas suficientes com ele (lema dos q-gramas: cada edição
+ * destrói no máximo 3 trigramas), e só esses passam pela distância de edição.
+ * <p>
+ * Todos os termos da consulta precisam casar com o documento. A relevância soma, para cada termo da consulta,
+ * o melhor casamento no documento (exato &gt; prefixo &gt; aproximado), ponderado pelo campo.
+ * <p>
+ * Como no índice de pedigree, documentos e termos recebem índices inteiros densos e a consulta acumula as notas em
+ * arrays primitivos reaproveitados entre consultas, então uma busca não aloca por documento. Leituras usam o read lock; alterações
+ * (carga inicial e eventos de persistência) usam o write lock.
+ */
+@Component
+public class IndiceBusca {
+
+    public static final int LIMITE_MAXIMO = 50;
+
+    private static final Pattern MARCAS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARADORES = Pattern.compile("[^a-z0-9]+");
+    private static final Pattern NAO_DIGITOS = Pattern.compile("\\D+");
+    private static final Pattern TELEFONE = Pattern.compile("[0-9()+\\-.\\s]+");
+
+    // Consultas de telefone com menos dígitos que isso são tratadas como texto comum
+    private static final int DIGITOS_MINIMOS_TELEFONE = 4;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    // As requisições rodam em threads virtuais (uma por requisição), então um ThreadLocal não reaproveitaria nada
+    private final Queue<Rascunho> rascunhos = new ConcurrentLinkedQueue<>();
+
+    // Documentos: índice denso por (tipo, id); posições liberadas por remoções são reaproveitadas
+    private final Map<Chave, Integer> documentoPorChave = new HashMap<>();
+    private Documento[] documentos = new Documento[1024];
+    private final ListaInt documentosLivres = new ListaInt();
+    private int capacidadeDocumentos = 0;
+
+    // Termos: índice denso, dicionário ordenado para prefixo e trigramas para aproximação
+    private final NavigableMap<String, Integer> termoPorTexto = new TreeMap<>();
+    private String[] textos = new String[1024];
+    private Ocorrencias[] ocorrencias = new Ocorrencias[1024];
+    private final ListaInt termosLivres = new ListaInt();
+    private int capacidadeTermos = 0;
+    private final Map<String, ListaInt> termosPorTrigrama = new HashMap<>();
+
+    public enum Tipo {CACHORRO, TUTOR}
+
+    enum Campo {
+        NOME(1.0), RACA(0.6), EMAIL(0.8), TELEFONE(0.8);
+
+        final double peso;
+
+        Campo(double peso) {
+            this.peso = peso;
+        }
+
+        int bit() {
+            return 1 << ordinal();
+        }
+    }
+
+    public void registrarCachorro(long id, String nome, String raca) {
+        Map<String, Integer> campos = new LinkedHashMap<>();
+        adicionarTexto(campos, nome, Campo.NOME);
+        adicionarTexto(campos, raca, Campo.RACA);
+        registrar(new Chave(Tipo.CACHORRO, id), nome, raca, campos);
+    }
+
+    public void registrarTutor(long id, String nome, String email, String telefone) {
+        Map<String, Integer> campos = new LinkedHashMap<>();
+        adicionarTexto(campos, nome, Campo.NOME);
+        adicionarTexto(campos, email, Campo.EMAIL);
+        String digitos = telefone != null ? NAO_DIGITOS.matcher(telefone).replaceAll("") : "";
+        if (!digitos.isEmpty()) {
+            campos.merge(digitos, Campo.TELEFONE.bit(), (a, b) -> a | b);
+        }
+        registrar(new Chave(Tipo.TUTOR, id), nome, email != null ? email : telefone, campos);
+    }
+
+    public void remover(Tipo tipo, long id) {
+        lock.writeLock().lock();
+        try {
+            removerSemBloqueio(new Chave(tipo, id));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Substitui todo o conteúdo do índice. Usado no carregamento inicial e depois de importações.
+     */
+    public void substituirTudo(Iterable<Registro> registros) {
+        lock.writeLock().lock();
+        try {
+            documentoPorChave.clear();
+            Arrays.fill(documentos, null);
+            documentosLivres.limpar();
+            capacidadeDocumentos = 0;
+            termoPorTexto.clear();
+            Arrays.fill(textos, null);
+            Arrays.fill(ocorrencias, null);
+            termosLivres.limpar();
+            capacidadeTermos = 0;
+            termosPorTrigrama.clear();
+            for (Registro r : registros) {
+                if (r.tipo() == Tipo.CACHORRO) {
+                    registrarCachorro(r.id(), r.titulo(), r.detalhe());
+                } else {
+                    registrarTutor(r.id(), r.titulo(), r.detalhe(), r.telefone());
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int tamanho() {
+        lock.readLock().lock();
+        try {
+            return documentoPorChave.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Os {@code limite} documentos mais relevantes para a consulta, do mais para o menos relevante.
+     */
+    public List<Resultado> buscar(String consulta, int limite) {
+        List<String> tokens = tokensDaConsulta(consulta);
+        if (tokens.isEmpty() || limite < 1) {
+            return List.of();
+        }
+        Rascunho r = rascunhos.poll();
+        if (r == null) {
+            r = new Rascunho();
+        }
+        lock.readLock().lock();
+        try {
+            r.preparar(capacidadeDocumentos, capacidadeTermos);
+            int carimboAnterior = 0;
+            for (int k = 0; k < tokens.size(); k++) {
+                int carimbo = r.novoCarimbo();
+                pontuarToken(tokens.get(k), r, k == 0 ? 0 : carimboAnterior, carimbo);
+                if (r.tocados.tamanho() == 0) {
+                    return List.of();
+                }
+                carimboAnterior = carimbo;
+            }
+            return melhores(r, Math.min(limite, LIMITE_MAXIMO));
+        } finally {
+            lock.readLock().unlock();
+            rascunhos.offer(r);
+        }
+    }
+
+    // --- Indexação ---
+
+    private void registrar(Chave chave, String titulo, String detalhe, Map<String, Integer> campos) {
+        lock.writeLock().lock();
+        try {
+            removerSemBloqueio(chave);
+            int documento = alocarDocumento();
+            int[] termos = new int[campos.size()];
+            int i = 0;
+            for (Map.Entry<String, Integer> campo : campos.entrySet()) {
+                int termo = termoOuNovo(campo.getKey());
+                ocorrencias[termo].adicionar(documento, campo.getValue());
+                termos[i++] = termo;
+            }
+            documentos[documento] = new Documento(chave, titulo != null ? titulo : "", detalhe, termos);
+            documentoPorChave.put(chave, documento);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void removerSemBloqueio(Chave chave) {
+        Integer documento = documentoPorChave.remove(chave);
+        if (documento == null) {
+            return;
+        }
+        for (int termo : documentos[documento].termos()) {
+            Ocorrencias doTermo = ocorrencias[termo];
+            doTermo.remover(documento);
+            if (doTermo.tamanho() == 0) {
+                liberarTermo(termo);
+            }
+        }
+        documentos[documento] = null;
+        documentosLivres.adicionar(documento);
+    }
+
+    private int alocarDocumento() {
+        if (documentosLivres.tamanho() > 0) {
+            return documentosLivres.removerUltimo();
+        }
+        if (capacidadeDocumentos == documentos.length) {
+            documentos = Arrays.copyOf(documentos, documentos.length * 2);
+        }
+        return capacidadeDocumentos++;
+    }
+
+    private int termoOuNovo(String texto) {
+        Integer existente = termoPorTexto.get(texto);
+        if (existente != null) {
+            return existente;
+        }
+        int termo;
+        if (termosLivres.tamanho() > 0) {
+            termo = termosLivres.removerUltimo();
+        } else {
+            if (capacidadeTermos == textos.length) {
+                textos = Arrays.copyOf(textos, textos.length * 2);
+                ocorrencias = Arrays.copyOf(ocorrencias, ocorrencias.length * 2);
+            }
+            termo = capacidadeTermos++;
+        }
+        textos[termo] = texto;
+        ocorrencias[termo] = new Ocorrencias();
+        termoPorTexto.put(texto, termo);
+        for (String trigrama : trigramas(texto)) {
+            termosPorTrigrama.computeIfAbsent(trigrama, t -> new ListaInt()).adicionar(termo);
+        }
+        return termo;
+    }
+
+    private void liberarTermo(int termo) {
+        String texto = textos[termo];
+        termoPorTexto.remove(texto);
+        for (String trigrama : trigramas(texto)) {
+            ListaInt doTrigrama = termosPorTrigrama.get(trigrama);
+            if (doTrigrama != null) {
+                doTrigrama.removerValor(termo);
+                if (doTrigrama.tamanho() == 0) {
+                    termosPorTrigrama.remove(trigrama);
+                }
+            }
+        }
+        textos[termo] = null;
+        ocorrencias[termo] = null;
+        termosLivres.adicionar(termo);
+    }
+
+    private static void adicionarTexto(Map<String, Integer> campos, String texto, Campo campo) {
+        for (String termo : tokens(texto)) {
+            campos.merge(termo, campo.bit(), (a, b) -> a | b);
+        }
+    }
+
+    // --- Consulta ---
+
+    /**
+     * Soma ao total de cada documento a melhor nota de {@code token} nele. Só participam documentos que casaram
+     * com todos os tokens anteriores (marcados com {@code carimboAnterior}; 0 no primeiro token). Ao final,
+     * {@code r.tocados} tem exatamente os documentos que continuam na disputa, marcados com {@code carimbo}.
+     */
+    private void pontuarToken(String token, Rascunho r, int carimboAnterior, int carimbo) {
+        r.termosCandidatos.limpar();
+        // Prefixo (inclui o termo exato): um intervalo do dicionário ordenado
+        for (Map.Entry<String, Integer> e : termoPorTexto.subMap(token, true, token + Character.MAX_VALUE, false).entrySet()) {
+            int termo = e.getValue();
+            int tamanho = e.getKey().length();
+            candidato(r, termo, carimbo, tamanho == token.length() ? 1.0 : 0.5 + 0.4 * token.length() / tamanho);
+        }
+        int edicoes = edicoesToleradas(token);
+        if (edicoes > 0) {
+            pontuarAproximados(token, edicoes, r, carimbo);
+        }
+
+        r.tocados.limpar();
+        for (int i = 0; i < r.termosCandidatos.tamanho(); i++) {
+            int termo = r.termosCandidatos.get(i);
+            double nota = r.notaTermo[termo];
+            Ocorrencias doTermo = ocorrencias[termo];
+            for (int j = 0; j < doTermo.tamanho(); j++) {
+                int documento = doTermo.documentos[j];
+                int marca = r.marca[documento];
+                double valor = nota * peso(doTermo.mascaras[j]);
+                if (marca == carimbo) {
+                    r.melhor[documento] = Math.max(r.melhor[documento], valor);
+                } else if (carimboAnterior == 0 || marca == carimboAnterior) {
+                    r.marca[documento] = carimbo;
+                    r.melhor[documento] = valor;
+                    r.tocados.adicionar(documento);
+                }
+            }
+        }
+        for (int i = 0; i < r.tocados.tamanho(); i++) {
+            int documento = r.tocados.get(i);
+            r.total[documento] = (carimboAnterior == 0 ? 0 : r.total[documento]) + r.melhor[documento];
+        }
+    }
+
+    /**
+     * Termos que compartilham trigramas suficientes com {@code token} para estarem a até {@code edicoes}
+     * edições dele ou de um prefixo dele; os que passam na distância de edição viram candidatos.
+     */
+    private void pontuarAproximados(String token, int edicoes, Rascunho r, int carimbo) {
+        String[] trigramasDoToken = trigramas(token);
+        int minimo = trigramasDoToken.length - 3 * edicoes;
+        r.termosContados.limpar();
+        for (String trigrama : trigramasDoToken) {
+            ListaInt doTrigrama = termosPorTrigrama.get(trigrama);
+            if (doTrigrama == null) {
+                continue;
+            }
+            for (int i = 0; i < doTrigrama.tamanho(); i++) {
+                int termo = doTrigrama.get(i);
+                if (r.marcaContagem[termo] != carimbo) {
+                    r.marcaContagem[termo] = carimbo;
+                    r.contagem[termo] = 0;
+                    r.termosContados.adicionar(termo);
+                }
+                r.contagem[termo]++;
+            }
+        }
+        for (int i = 0; i < r.termosContados.tamanho(); i++) {
+            int termo = r.termosContados.get(i);
+            String texto = textos[termo];
+            if (r.contagem[termo] < minimo || r.marcaTermo[termo] == carimbo || texto.length() < token.length() - edicoes) {
+                continue;
+            }
+            long distancia = distancia(token, texto, edicoes);
+            int completa = (int) (distancia >>> 32);
+            int prefixo = (int) distancia;
+            if (completa <= edicoes) {
+                candidato(r, termo, carimbo, 0.6 / completa);
+            } else if (prefixo <= edicoes) {
+                candidato(r, termo, carimbo, 0.4 / prefixo);
+            }
+        }
+    }
+
+    private static void candidato(Rascunho r, int termo, int carimbo, double nota) {
+        r.marcaTermo[termo] = carimbo;
+        r.notaTermo[termo] = nota;
+        r.termosCandidatos.adicionar(termo);
+    }
+
+    private List<Resultado> melhores(Rascunho r, int limite) {
+        // Seleção parcial: mantém os {@code limite} melhores em ordem, sem ordenar todos os documentos
+        int[] selecionados = new int[limite];
+        int quantidade = 0;
+        for (int i = 0; i < r.tocados.tamanho(); i++) {
+            int documento = r.tocados.get(i);
+            if (quantidade == limite && !melhorQue(r, documento, selecionados[limite - 1])) {
+                continue;
+            }
+            int posicao = quantidade < limite ? quantidade++ : limite - 1;
+            while (posicao > 0 && melhorQue(r, documento, selecionados[posicao - 1])) {
+                selecionados[posicao] = selecionados[posicao - 1];
+                posicao--;
+            }
+            selecionados[posicao] = documento;
+        }
+        List<Resultado> resultados = new ArrayList<>(quantidade);
+        for (int i = 0; i < quantidade; i++) {
+            Documento d = documentos[selecionados[i]];
+            resultados.add(new Resultado(d.chave().tipo(), d.chave().id(), d.titulo(), d.detalhe(), r.total[selecionados[i]]));
+        }
+        return resultados;
+    }
+
+    // Maior relevância; no empate, o título mais curto (casamento mais completo) e depois o menor id
+    private boolean melhorQue(Rascunho r, int a, int b) {
+        if (r.total[a] != r.total[b]) {
+            return r.total[a] > r.total[b];
+        }
+        int tituloA = documentos[a].titulo().length();
+        int tituloB = documentos[b].titulo().length();
+        if (tituloA != tituloB) {
+            return tituloA < tituloB;
+        }
+        return documentos[a].chave().id() < documentos[b].chave().id();
+    }
+
+    private static double peso(int mascara) {
+        double peso = 0;
+        for (Campo campo : Campo.values()) {
+            if ((mascara & campo.bit()) != 0) {
+                peso = Math.max(peso, campo.peso);
+            }
+        }
+        return peso;
+    }
+
+    // Termos curtos têm poucos trigramas e casariam com quase tudo: só prefixo exato
+    private static int edicoesToleradas(String token) {
+        if (token.length() < 4) {
+            return 0;
+        }
+        return token.length() < 8 ? 1 : 2;
+    }
+
+    // --- Texto ---
+
+    static List<String> tokensDaConsulta(String consulta) {
+        if (consulta == null || consulta.isBlank()) {
+            return List.of();
+        }
+        // "(11) 98888-7777" vira um único termo de dígitos, como o telefone foi indexado
+        if (TELEFONE.matcher(consulta).matches()) {
+            String digitos = NAO_DIGITOS.matcher(consulta).replaceAll("");
+            if (digitos.length() >= DIGITOS_MINIMOS_TELEFONE) {
+                return List.of(digitos);
+            }
+        }
+        return tokens(consulta).stream().distinct().toList();
+    }
+
+    static List<String> tokens(String texto) {
+        if (texto == null || texto.isBlank()) {
+            return List.of();
+        }
+        String normalizado = MARCAS.matcher(Normalizer.normalize(texto, Normalizer.Form.NFD)).replaceAll("")
+                .toLowerCase(Locale.ROOT);
+        List<String> tokens = new ArrayList<>();
+        for (String token : SEPARADORES.split(normalizado)) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    // Trigramas distintos, com duas posições de preenchimento no início para que o começo do termo pese mais
+    private static String[] trigramas(String termo) {
+        String preenchido = "$$" + termo;
+        return IntStream.rangeClosed(0, preenchido.length() - 3)
+                .mapToObj(i -> preenchido.substring(i, i + 3))
+                .distinct()
+                .toArray(String[]::new);
+    }
+
+    /**
+     * Distância de edição (Damerau restrita: inserção, remoção, troca e transposição de vizinhos) entre
+     * {@code consulta} e o termo inteiro (32 bits altos) e entre {@code consulta} e o melhor prefixo do termo
+     * (32 bits baixos). Calcula só as colunas necessárias para decidir até {@code limite} edições; a distância
+     * completa de um termo longo demais sai como {@link Integer#MAX_VALUE}.
+     */
+    static long distancia(String consulta, String termo, int limite) {
+        int n = consulta.length();
+        int m = Math.min(termo.length(), n + limite);
+        int[] anterior2 = new int[m + 1];
+        int[] anterior = new int[m + 1];
+        int[] atual = new int[m + 1];
+        for (int j = 0; j <= m; j++) {
+            anterior[j] = j;
+        }
+        for (int i = 1; i <= n; i++) {
+            atual[0] = i;
+            char c = consulta.charAt(i - 1);
+            for (int j = 1; j <= m; j++) {
+                char t = termo.charAt(j - 1);
+                int valor = Math.min(Math.min(anterior[j] + 1, atual[j - 1] + 1), anterior[j - 1] + (c == t ? 0 : 1));
+                if (i > 1 && j > 1 && c == termo.charAt(j - 2) && consulta.charAt(i - 2) == t) {
+                    valor = Math.min(valor, anterior2[j - 2] + 1);
+                }
+                atual[j] = valor;
+            }
+            int[] reciclado = anterior2;
+            anterior2 = anterior;
+            anterior = atual;
+            atual = reciclado;
+        }
+        int prefixo = Integer.MAX_VALUE;
+        for (int j = 0; j <= m; j++) {
+            prefixo = Math.min(prefixo, anterior[j]);
+        }
+        int completa = termo.length() <= n + limite ? anterior[termo.length()] : Integer.MAX_VALUE;
+        return ((long) completa << 32) | prefixo;
+    }
+
+    private record Chave(Tipo tipo, long id) {
+    }
+
+    private record Documento(Chave chave, String titulo, String detalhe, int[] termos) {
+    }
+
+    /**
+     * Documentos de um termo e, para cada um, a máscara dos campos em que o termo aparece.
+     */
+    private static final class Ocorrencias {
+        private int[] documentos = new int[4];
+        private int[] mascaras = new int[4];
+        private int tamanho;
+
+        void adicionar(int documento, int mascara) {
+            if (tamanho == documentos.length) {
+                documentos = Arrays.copyOf(documentos, tamanho * 2);
+                mascaras = Arrays.copyOf(mascaras, tamanho * 2);
+            }
+            documentos[tamanho] = documento;
+            mascaras[tamanho++] = mascara;
+        }
+
+        // A ordem não importa: o último ocupa a posição removida
+        void remover(int documento) {
+            for (int i = 0; i < tamanho; i++) {
+                if (documentos[i] == documento) {
+                    tamanho--;
+                    documentos[i] = documentos[tamanho];
+                    mascaras[i] = mascaras[tamanho];
+                    return;
+                }
+            }
+        }
+
+        int tamanho() {
+            return tamanho;
+        }
+    }
+
+    private static final class ListaInt {
+        private int[] valores = new int[8];
+        private int tamanho;
+
+        void adicionar(int valor) {
+            if (tamanho == valores.length) {
+                valores = Arrays.copyOf(valores, tamanho * 2);
+            }
+            valores[tamanho++] = valor;
+        }
+
+        void removerValor(int valor) {
+            for (int i = 0; i < tamanho; i++) {
+                if (valores[i] == valor) {
+                    valores[i] = valores[--tamanho];
+                    return;
+                }
+            }
+        }
+
+        int removerUltimo() {
+            return valores[--tamanho];
+        }
+
+        int get(int i) {
+            return valores[i];
+        }
+
+        int tamanho() {
+            return tamanho;
+        }
+
+        void limpar() {
+            tamanho = 0;
+        }
+    }
+
+    /**
+     * Arrays de trabalho de uma consulta (um por consulta simultânea). Em vez de zerá-los a cada consulta, cada token recebe um carimbo novo:
+     * uma posição só vale para o token se estiver marcada com o carimbo dele.
+     */
+    private static final class Rascunho {
+        private int carimbo;
+        private int[] marca = new int[0];
+        private double[] melhor = new double[0];
+        private double[] total = new double[0];
+        private int[] marcaTermo = new int[0];
+        private double[] notaTermo = new double[0];
+        private int[] marcaContagem = new int[0];
+        private int[] contagem = new int[0];
+        private final ListaInt tocados = new ListaInt();
+        private final ListaInt termosCandidatos = new ListaInt();
+        private final ListaInt termosContados = new ListaInt();
+
+        void preparar(int documentos, int termos) {
+            if (marca.length < documentos) {
+                int tamanho = Math.max(documentos, marca.length * 2);
+                marca = Arrays.copyOf(marca, tamanho);
+                melhor = Arrays.copyOf(melhor, tamanho);
+                total = Arrays.copyOf(total, tamanho);
+            }
+            if (marcaTermo.length < termos) {
+                int tamanho = Math.max(termos, marcaTermo.length * 2);
+                marcaTermo = Arrays.copyOf(marcaTermo, tamanho);
+                notaTermo = Arrays.copyOf(notaTermo, tamanho);
+                marcaContagem = Arrays.copyOf(marcaContagem, tamanho);
+                contagem = Arrays.copyOf(contagem, tamanho);
+            }
+        }
+
+        int novoCarimbo() {
+            if (carimbo == Integer.MAX_VALUE) {
+                carimbo = 0;
+                Arrays.fill(marca, 0);
+                Arrays.fill(marcaTermo, 0);
+                Arrays.fill(marcaContagem, 0);
+            }
+            return ++carimbo;
+        }
+    }
+
+    /**
+     * Linha da carga inicial. Para tutores, {@code detalhe} é o e-mail.
+     */
+    public record Registro(Tipo tipo, long id, String titulo, String detalhe, String telefone) {
+    }
+
+    public record Resultado(Tipo tipo, long id, String titulo, String detalhe, double relevancia) {
+    }
+}
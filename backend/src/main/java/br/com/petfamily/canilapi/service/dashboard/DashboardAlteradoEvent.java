@@ -0,0 +1,26 @@
+package br.com.petfamily.canilapi.service.dashboard;
+
+import br.com.petfamily.canilapi.controller.dto.AtividadeRecenteDTO;
+
+/**
+ * Publicado dentro da transação que altera algo exibido no dashboard.
+ * O {@link DashboardCacheService} e o {@link DashboardStreamService} só o recebem depois do commit.
+ *
+ * @param estatisticas Contagens dos cards (cães disponíveis, tutores) podem ter mudado.
+ * @param financeiro   Totais financeiros podem ter mudado.
+ * @param atividade    Nova atividade do feed, ou null.
+ */
+public record DashboardAlteradoEvent(boolean estatisticas, boolean financeiro, AtividadeRecenteDTO atividade) {
+
+    public static DashboardAlteradoEvent deEstatisticas() {
+        return new DashboardAlteradoEvent(true, false, null);
+    }
+
+    public static DashboardAlteradoEvent deFinanceiro() {
+        return new DashboardAlteradoEvent(false, true, null);
+    }
+
+    public static DashboardAlteradoEvent deAtividade(AtividadeRecenteDTO atividade) {
+        return new DashboardAlteradoEvent(false, false, atividade);
+    }
+}
@@ -0,0 +1,216 @@
+package br.com.petfamily.canilapi.service.dashboard;
+
+import br.com.petfamily.canilapi.controller.dto.AtividadeRecenteDTO;
+import br.com.petfamily.canilapi.controller.dto.DashboardResumoDTO;
+import br.com.petfamily.canilapi.controller.dto.DashboardStatsDTO;
+import br.com.petfamily.canilapi.controller.dto.FinanceiroDashboardDTO;
+import br.com.petfamily.canilapi.infra.cache.CacheSwr;
+import br.com.petfamily.canilapi.infra.cache.CacheSwr.ValorEmCache;
+import br.com.petfamily.canilapi.infra.cache.Disjuntor;
+import br.com.petfamily.canilapi.infra.exception.ServicoIndisponivelException;
+import br.com.petfamily.canilapi.service.DashboardService;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.TransactionTimedOutException;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Cache stale-while-revalidate dos endpoints do dashboard.
+ * Um único circuit breaker protege os três caches, já que todos dependem do mesmo banco: com ele aberto,
+ * os valores anteriores continuam sendo servidos (marcados como desatualizados) em vez de travar a tela.
+ * Alterações confirmadas ({@link DashboardAlteradoEvent}) expiram o cache correspondente.
+ * Leituras, carregamentos e o estado do disjuntor são publicados como métricas {@code canil.dashboard.*}.
+ */
+@Service
+public class DashboardCacheService {
+
+    private final ExecutorService atualizacoes = Executors.newFixedThreadPool(2,
+            Thread.ofPlatform().daemon().name("dashboard-cache-", 0).factory());
+    private final Disjuntor disjuntor;
+    private final CacheSwr<DashboardStatsDTO> estatisticas;
+    private final CacheSwr<FinanceiroDashboardDTO> financeiro;
+    private final CacheSwr<List<AtividadeRecenteDTO>> atividades;
+    // A janela de 30 dias termina hoje: o valor carregado ontem deixa de valer na virada do dia, mesmo dentro do TTL
+    private volatile LocalDate diaDoFinanceiro = LocalDate.now();
+
+    public DashboardCacheService(DashboardService dashboardService, MeterRegistry meterRegistry,
+                                 @Value("${dashboard.cache.ttl-segundos:15}") long ttlSegundos,
+                                 @Value("${dashboard.disjuntor.limite-falhas:3}") int limiteFalhas,
+                                 @Value("${dashboard.disjuntor.aberto-segundos:30}") long abertoSegundos) {
+        Duration ttl = Duration.ofSeconds(ttlSegundos);
+        this.disjuntor = new Disjuntor(limiteFalhas, Duration.ofSeconds(abertoSegundos));
+        this.estatisticas = new CacheSwr<>("estatisticas", dashboardService::getStats, ttl,
+                atualizacoes, disjuntor, DashboardCacheService::falhaDoBanco);
+        this.financeiro = new CacheSwr<>("financeiro", dashboardService::getFinanceiroUltimos30Dias, ttl,
+                atualizacoes, disjuntor, DashboardCacheService::falhaDoBanco);
+        this.atividades = new CacheSwr<>("atividades", dashboardService::getAtividadesRecentes, ttl,
+                atualizacoes, disjuntor, DashboardCacheService::falhaDoBanco);
+
+        List.of(estatisticas, financeiro, atividades).forEach(cache -> registrarMetricas(cache, meterRegistry));
+        Gauge.builder("canil.dashboard.disjuntor.aberto", disjuntor, d -> d.aberto() ? 1 : 0)
+                .description("1 enquanto o circuit breaker do dashboard estiver aberto ou meio-aberto")
+                .register(meterRegistry);
+    }
+
+    public ValorEmCache<DashboardStatsDTO> getStats() {
+        return estatisticas.obter();
+    }
+
+    public ValorEmCache<FinanceiroDashboardDTO> getFinanceiroUltimos30Dias() {
+        LocalDate hoje = LocalDate.now();
+        if (!hoje.equals(diaDoFinanceiro)) {
+            diaDoFinanceiro = hoje;
+            financeiro.expirar();
+        }
+        return financeiro.obter();
+    }
+
+    public ValorEmCache<List<AtividadeRecenteDTO>> getAtividadesRecentes() {
+        return atividades.obter();
+    }
+
+    /**
+     * Estatísticas, financeiro e atividades numa chamada só. Os três caches são lidos em paralelo, cada um
+     * numa thread virtual: com os caches quentes é só memória, e numa carga a frio as três consultas correm
+     * juntas em vez de em sequência. A primeira falha, de qualquer uma das três, é propagada assim que acontece
+     * e as leituras que ainda estão em andamento são interrompidas, sem esperar por elas.
+     * A idade informada é a do bloco mais antigo, e o resumo é desatualizado se algum bloco for.
+     */
+    public ValorEmCache<DashboardResumoDTO> getResumo() {
+        ExecutorService escopo = Executors.newVirtualThreadPerTaskExecutor();
+        try {
+            CompletableFuture<ValorEmCache<DashboardStatsDTO>> stats = CompletableFuture.supplyAsync(estatisticas::obter, escopo);
+            CompletableFuture<ValorEmCache<FinanceiroDashboardDTO>> totais = CompletableFuture.supplyAsync(this::getFinanceiroUltimos30Dias, escopo);
+            CompletableFuture<ValorEmCache<List<AtividadeRecenteDTO>>> feed = CompletableFuture.supplyAsync(atividades::obter, escopo);
+
+            // Completa na primeira falha, sem esperar as leituras anteriores na ordem acima
+            CompletableFuture<Void> primeiraFalha = new CompletableFuture<>();
+            for (CompletableFuture<?> leitura : List.of(stats, totais, feed)) {
+                leitura.whenComplete((valor, erro) -> {
+                    if (erro != null) {
+                        primeiraFalha.completeExceptionally(erro);
+                    }
+                });
+            }
+            aguardar(CompletableFuture.anyOf(CompletableFuture.allOf(stats, totais, feed), primeiraFalha));
+
+            ValorEmCache<DashboardStatsDTO> e = stats.resultNow();
+            ValorEmCache<FinanceiroDashboardDTO> f = totais.resultNow();
+            ValorEmCache<List<AtividadeRecenteDTO>> a = feed.resultNow();
+            return new ValorEmCache<>(new DashboardResumoDTO(e.valor(), f.valor(), a.valor()),
+                    Math.max(e.idadeSegundos(), Math.max(f.idadeSegundos(), a.idadeSegundos())),
+                    e.desatualizado() || f.desatualizado() || a.desatualizado());
+        } finally {
+            // Sem nada pendente é só o encerramento; depois de uma falha, interrompe as leituras restantes
+            escopo.shutdownNow();
+        }
+    }
+
+    private static void aguardar(CompletableFuture<?> tarefas) {
+        try {
+            tarefas.get();
+        } catch (ExecutionException e) {
+            Throwable causa = e.getCause();
+            while (causa instanceof CompletionException && causa.getCause() != null) {
+                causa = causa.getCause();
+            }
+            if (causa instanceof RuntimeException excecao) {
+                throw excecao;
+            }
+            if (causa instanceof Error erro) {
+                throw erro;
+            }
+            throw new IllegalStateException(causa);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ServicoIndisponivelException("Leitura do dashboard interrompida.");
+        }
+    }
+
+    /**
+     * Avisa (na thread que carregou) cada vez que estatísticas ou financeiro são recarregados do banco. Uma leitura
+     * depois de {@link #aoAlterarDashboard} ainda devolve o valor anterior; o novo só existe quando este aviso chega.
+     */
+    public void aoRecarregar(Runnable ouvinte) {
+        estatisticas.aoCarregar(ouvinte);
+        financeiro.aoCarregar(ouvinte);
+    }
+
+    /**
+     * Esquece os três valores: as próximas leituras esperam o banco, como as primeiras depois da subida.
+     */
+    public void descartar() {
+        estatisticas.descartar();
+        financeiro.descartar();
+        atividades.descartar();
+    }
+
+    public Disjuntor.Estado estadoDisjuntor() {
+        return disjuntor.estado();
+    }
+
+    // Antes do listener do DashboardStreamService: quando ele reler os caches, já precisam estar expirados
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void aoAlterarDashboard(DashboardAlteradoEvent evento) {
+        if (evento.estatisticas()) {
+            estatisticas.expirar();
+        }
+        if (evento.financeiro()) {
+            financeiro.expirar();
+        }
+        if (evento.atividade() != null) {
+            atividades.expirar();
+        }
+    }
+
+    @PreDestroy
+    void encerrar() {
+        atualizacoes.shutdownNow();
+    }
+
+    private static void registrarMetricas(CacheSwr<?> cache, MeterRegistry meterRegistry) {
+        FunctionCounter.builder("canil.dashboard.cache.leituras", cache, CacheSwr::leiturasValidas)
+                .tag("cache", cache.nome())
+                .tag("resultado", "valido")
+                .register(meterRegistry);
+        FunctionCounter.builder("canil.dashboard.cache.leituras", cache, CacheSwr::leiturasExpiradas)
+                .tag("cache", cache.nome())
+                .tag("resultado", "expirado")
+                .register(meterRegistry);
+        FunctionCounter.builder("canil.dashboard.cache.carregamentos", cache, CacheSwr::carregamentos)
+                .description("Consultas ao banco feitas para preencher o cache")
+                .tag("cache", cache.nome())
+                .register(meterRegistry);
+        FunctionCounter.builder("canil.dashboard.cache.falhas", cache, CacheSwr::falhasCarregamento)
+                .tag("cache", cache.nome())
+                .register(meterRegistry);
+    }
+
+    /**
+     * Timeouts de consulta/transação e falhas de conexão: sinais de banco lento ou fora do ar.
+     */
+    static boolean falhaDoBanco(Throwable e) {
+        return e instanceof TransientDataAccessException
+                || e instanceof DataAccessResourceFailureException
+                || e instanceof TransactionTimedOutException;
+    }
+}
@@ -0,0 +1,243 @@
+package br.com.petfamily.canilapi.service.dashboard;
+
+import br.com.petfamily.canilapi.controller.dto.DashboardStatsDTO;
+import br.com.petfamily.canilapi.controller.dto.FinanceiroDashboardDTO;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Fan-out único das alterações do dashboard para as conexões SSE abertas.
+ * <p>
+ * As alterações chegam como {@link DashboardAlteradoEvent} depois do commit. Uma thread despachante
+ * agrupa os eventos pendentes, relê estatísticas e totais financeiros no máximo uma vez por lote
+ * (independente do número de telas abertas) e envia apenas o que mudou.
+ * <p>
+ * As leituras passam pelo {@link DashboardCacheService}, com o mesmo stale-while-revalidate e circuit breaker
+ * dos endpoints: um banco lento não trava o despachante nem as conexões. O cache expirado devolve o valor
+ * anterior e recarrega em segundo plano; o aviso desse recarregamento volta para a fila e o valor novo é enviado.
+ * <p>
+ * Cada conexão tem um buffer limitado e seu próprio envio em thread virtual. Se o cliente não consome
+ * rápido o bastante e o buffer enche, a conexão é encerrada; o EventSource do navegador reconecta sozinho.
+ */
+@Service
+public class DashboardStreamService {
+
+    private static final Logger log = LoggerFactory.getLogger(DashboardStreamService.class);
+
+    static final int CAPACIDADE_BUFFER = 64;
+    private static final long INTERVALO_HEARTBEAT_MS = 25_000;
+    private static final long TIMEOUT_CONEXAO_MS = 30 * 60 * 1000L;
+
+    // Evento interno: o cache recarregou estatísticas ou financeiro, então vale reler os dois
+    private static final DashboardAlteradoEvent RECARREGADO = new DashboardAlteradoEvent(true, true, null);
+
+    private final DashboardCacheService dashboardCacheService;
+    private final Set<Assinante> assinantes = ConcurrentHashMap.newKeySet();
+    private final BlockingQueue<DashboardAlteradoEvent> pendentes = new LinkedBlockingQueue<>();
+    private final ExecutorService envio = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("dashboard-sse-", 0).factory());
+    private Thread despachante;
+
+    // Último estado enviado: novos assinantes recebem daqui, e só diferenças são propagadas
+    private volatile DashboardStatsDTO ultimasEstatisticas;
+    private volatile FinanceiroDashboardDTO ultimoFinanceiro;
+    // Dia da última leitura do financeiro: na virada a janela de 30 dias anda, mesmo sem nenhuma alteração
+    private volatile LocalDate diaDoFinanceiro = LocalDate.now();
+
+    public DashboardStreamService(DashboardCacheService dashboardCacheService) {
+        this.dashboardCacheService = dashboardCacheService;
+    }
+
+    @PostConstruct
+    void iniciar() {
+        dashboardCacheService.aoRecarregar(() -> pendentes.offer(RECARREGADO));
+        despachante = Thread.ofPlatform().daemon().name("dashboard-sse-despachante").start(this::despachar);
+    }
+
+    @PreDestroy
+    void encerrar() {
+        despachante.interrupt();
+        assinantes.forEach(a -> a.emitter.complete());
+        assinantes.clear();
+        envio.shutdownNow();
+    }
+
+    /**
+     * Abre uma conexão. O cliente recebe de imediato o estado atual de estatísticas e financeiro,
+     * e depois apenas as alterações.
+     */
+    public SseEmitter assinar() {
+        SseEmitter emitter = new SseEmitter(TIMEOUT_CONEXAO_MS);
+        Assinante assinante = new Assinante(emitter);
+        emitter.onCompletion(() -> assinantes.remove(assinante));
+        emitter.onTimeout(() -> remover(assinante));
+        emitter.onError(e -> remover(assinante));
+        assinantes.add(assinante);
+
+        DashboardStatsDTO estatisticas = dashboardCacheService.getStats().valor();
+        FinanceiroDashboardDTO financeiro = dashboardCacheService.getFinanceiroUltimos30Dias().valor();
+        if (ultimasEstatisticas == null) {
+            ultimasEstatisticas = estatisticas;
+        }
+        if (ultimoFinanceiro == null) {
+            ultimoFinanceiro = financeiro;
+            diaDoFinanceiro = LocalDate.now();
+        }
+        assinante.oferecer(new Mensagem("estatisticas", estatisticas));
+        assinante.oferecer(new Mensagem("financeiro", financeiro));
+        return emitter;
+    }
+
+    public int quantidadeAssinantes() {
+        return assinantes.size();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void aoAlterarDashboard(DashboardAlteradoEvent evento) {
+        pendentes.offer(evento);
+    }
+
+    private void despachar() {
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                DashboardAlteradoEvent primeiro = pendentes.poll(INTERVALO_HEARTBEAT_MS, TimeUnit.MILLISECONDS);
+                if (primeiro == null) {
+                    transmitir(Mensagem.HEARTBEAT);
+                    if (!LocalDate.now().equals(diaDoFinanceiro)) {
+                        processarLote(List.of(DashboardAlteradoEvent.deFinanceiro()));
+                    }
+                    continue;
+                }
+                List<DashboardAlteradoEvent> lote = new ArrayList<>();
+                lote.add(primeiro);
+                pendentes.drainTo(lote);
+                processarLote(lote);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (RuntimeException e) {
+                // Uma falha ao recalcular (ex.: banco indisponível) não pode matar o despachante
+                log.warn("Falha ao despachar alterações do dashboard: {}", e.getMessage());
+            }
+        }
+    }
+
+    private void processarLote(List<DashboardAlteradoEvent> lote) {
+        boolean estatisticas = false;
+        boolean financeiro = false;
+        for (DashboardAlteradoEvent evento : lote) {
+            estatisticas |= evento.estatisticas();
+            financeiro |= evento.financeiro();
+            if (evento.atividade() != null) {
+                transmitir(new Mensagem("atividade", evento.atividade()));
+            }
+        }
+        if (assinantes.isEmpty()) {
+            // Ninguém conectado: só invalida, o próximo assinante lê do cache
+            if (estatisticas) ultimasEstatisticas = null;
+            if (financeiro) ultimoFinanceiro = null;
+            return;
+        }
+        if (estatisticas) {
+            DashboardStatsDTO novas = dashboardCacheService.getStats().valor();
+            if (!Objects.equals(novas, ultimasEstatisticas)) {
+                ultimasEstatisticas = novas;
+                transmitir(new Mensagem("estatisticas", novas));
+            }
+        }
+        if (financeiro) {
+            diaDoFinanceiro = LocalDate.now();
+            FinanceiroDashboardDTO novo = dashboardCacheService.getFinanceiroUltimos30Dias().valor();
+            if (!Objects.equals(novo, ultimoFinanceiro)) {
+                ultimoFinanceiro = novo;
+                transmitir(new Mensagem("financeiro", novo));
+            }
+        }
+    }
+
+    private void transmitir(Mensagem mensagem) {
+        for (Assinante assinante : assinantes) {
+            assinante.oferecer(mensagem);
+        }
+    }
+
+    private void remover(Assinante assinante) {
+        if (assinantes.remove(assinante)) {
+            assinante.emitter.complete();
+        }
+    }
+
+    private record Mensagem(String nome, Object dados) {
+
+        static final Mensagem HEARTBEAT = new Mensagem(null, null);
+
+        SseEmitter.SseEventBuilder paraEvento() {
+            if (nome == null) {
+                return SseEmitter.event().comment("heartbeat");
+            }
+            return SseEmitter.event().name(nome).data(dados);
+        }
+    }
+
+    private final class Assinante {
+
+        private final SseEmitter emitter;
+        private final BlockingQueue<Mensagem> fila = new ArrayBlockingQueue<>(CAPACIDADE_BUFFER);
+        private final AtomicBoolean enviando = new AtomicBoolean(false);
+
+        Assinante(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        void oferecer(Mensagem mensagem) {
+            if (!fila.offer(mensagem)) {
+                log.debug("Conexão SSE do dashboard encerrada: cliente lento (buffer de {} eventos cheio).", CAPACIDADE_BUFFER);
+                remover(this);
+                return;
+            }
+            if (enviando.compareAndSet(false, true)) {
+                envio.execute(this::drenar);
+            }
+        }
+
+        private void drenar() {
+            while (true) {
+                Mensagem mensagem = fila.poll();
+                if (mensagem == null) {
+                    enviando.set(false);
+                    // Outra mensagem pode ter chegado entre o poll e o set
+                    if (fila.isEmpty() || !enviando.compareAndSet(false, true)) {
+                        return;
+                    }
+                    continue;
+                }
+                try {
+                    emitter.send(mensagem.paraEvento());
+                } catch (IOException | IllegalStateException e) {
+                    remover(this);
+                    return;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package br.com.petfamily.canilapi.service.exportacao;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * Escreve as linhas exportadas direto na resposta, uma por vez.
+ */
+abstract class EscritorExportacao {
+
+    private static final int TAMANHO_BUFFER = 64 * 1024;
+
+    protected final List<String> colunas;
+
+    protected EscritorExportacao(List<String> colunas) {
+        this.colunas = colunas;
+    }
+
+    static EscritorExportacao para(FormatoExportacao formato, List<String> colunas, OutputStream saida,
+                                   ObjectMapper objectMapper) throws IOException {
+        return switch (formato) {
+            case CSV -> new Csv(colunas, saida);
+            case NDJSON -> new Ndjson(colunas, saida, objectMapper);
+        };
+    }
+
+    abstract void inicio() throws IOException;
+
+    /**
+     * @param valores Um valor por coluna, na ordem de {@code colunas}; null para vazio.
+     */
+    abstract void linha(Object[] valores) throws IOException;
+
+    abstract void fim() throws IOException;
+
+    static String comoTexto(Object valor) {
+        if (valor instanceof BigDecimal decimal) {
+            return decimal.toPlainString();
+        }
+        return valor.toString(); // java.sql.Date já sai como AAAA-MM-DD
+    }
+
+    private static final class Csv extends EscritorExportacao {
+
+        private final Writer writer;
+
+        Csv(List<String> colunas, OutputStream saida) {
+            super(colunas);
+            this.writer = new BufferedWriter(new OutputStreamWriter(saida, StandardCharsets.UTF_8), TAMANHO_BUFFER);
+        }
+
+        @Override
+        void inicio() throws IOException {
+            escreverRegistro(colunas.toArray());
+        }
+
+        @Override
+        void linha(Object[] valores) throws IOException {
+            escreverRegistro(valores);
+        }
+
+        @Override
+        void fim() throws IOException {
+            writer.flush();
+        }
+
+        private void escreverRegistro(Object[] valores) throws IOException {
+            for (int i = 0; i < valores.length; i++) {
+                if (i > 0) {
+                    writer.write(',');
+                }
+                if (valores[i] != null) {
+                    escreverCampo(comoTexto(valores[i]));
+                }
+            }
+            writer.write("\r\n");
+        }
+
+        private void escreverCampo(String texto) throws IOException {
+            boolean precisaAspas = false;
+            for (int i = 0; i < texto.length() && !precisaAspas; i++) {
+                char c = texto.charAt(i);
+                precisaAspas = c == ',' || c == '"' || c == '\n' || c == '\r';
+            }
+            if (!precisaAspas) {
+                writer.write(texto);
+                return;
+            }
+            writer.write('"');
+            writer.write(texto.replace("\"", "\"\""));
+            writer.write('"');
+        }
+    }
+
+    private static final class Ndjson extends EscritorExportacao {
+
+        private final JsonGenerator gerador;
+        private boolean vazio = true;
+
+        Ndjson(List<String> colunas, OutputStream saida, ObjectMapper objectMapper) throws IOException {
+            super(colunas);
+            this.gerador = objectMapper.getFactory().createGenerator(saida);
+            // Um objeto por linha
+            this.gerador.setRootValueSeparator(new SerializedString("\n"));
+        }
+
+        @Override
+        void inicio() {
+        }
+
+        @Override
+        void linha(Object[] valores) throws IOException {
+            gerador.writeStartObject();
+            for (int i = 0; i < valores.length; i++) {
+                Object valor = valores[i];
+                gerador.writeFieldName(colunas.get(i));
+                if (valor == null) {
+                    gerador.writeNull();
+                } else if (valor instanceof BigDecimal decimal) {
+                    gerador.writeNumber(decimal);
+                } else if (valor instanceof Long || valor instanceof Integer) {
+                    gerador.writeNumber(((Number) valor).longValue());
+                } else if (valor instanceof Boolean booleano) {
+                    gerador.writeBoolean(booleano);
+                } else {
+                    gerador.writeString(comoTexto(valor));
+                }
+            }
+            gerador.writeEndObject();
+            vazio = false;
+        }
+
+        @Override
+        void fim() throws IOException {
+            if (!vazio) {
+                gerador.writeRaw('\n');
+            }
+            gerador.flush();
+        }
+    }
+}
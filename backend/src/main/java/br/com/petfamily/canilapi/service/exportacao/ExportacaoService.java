@@ -0,0 +1,89 @@
+package br.com.petfamily.canilapi.service.exportacao;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.sql.ResultSetMetaData;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Exportação completa de uma entidade em CSV ou NDJSON.
+ * <p>
+ * A consulta é lida por cursor com fetch size fixo ({@link #TAMANHO_FETCH} linhas por ida ao banco) e
+ * cada linha é escrita na resposta assim que chega, sem entidades JPA nem listas intermediárias:
+ * a memória usada não depende do número de linhas e os primeiros bytes saem logo após a primeira busca.
+ */
+@Service
+public class ExportacaoService {
+
+    private static final Logger log = LoggerFactory.getLogger(ExportacaoService.class);
+
+    static final int TAMANHO_FETCH = 1000;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+
+    public ExportacaoService(DataSource dataSource, PlatformTransactionManager transactionManager, ObjectMapper objectMapper) {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.setFetchSize(TAMANHO_FETCH);
+        this.jdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        // O driver do Postgres só usa cursor (em vez de trazer tudo) dentro de uma transação
+        this.transactionTemplate.setReadOnly(true);
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Escreve todas as linhas de {@code tipo} em {@code saida}. Roda na thread que escreve a resposta.
+     */
+    public void exportar(TipoExportacao tipo, FormatoExportacao formato, OutputStream saida) throws IOException {
+        escrever(tipo.name(), tipo.sql(), Map.of(), tipo.colunas(), formato, saida);
+    }
+
+    /**
+     * Escreve em {@code saida} o resultado de uma consulta qualquer, com uma coluna de {@code colunas} para cada
+     * coluna do SELECT, na mesma ordem. Usado também pelos relatórios que saem em streaming.
+     *
+     * @param nome Identifica a consulta no log.
+     */
+    void escrever(String nome, String sql, Map<String, ?> parametros, List<String> colunas, FormatoExportacao formato,
+                  OutputStream saida) throws IOException {
+        long inicio = System.nanoTime();
+        EscritorExportacao escritor = EscritorExportacao.para(formato, colunas, saida, objectMapper);
+        escritor.inicio();
+        long[] linhas = {0};
+        try {
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.query(sql, parametros, rs -> {
+                ResultSetMetaData metadados = rs.getMetaData();
+                Object[] valores = new Object[metadados.getColumnCount()];
+                for (int i = 0; i < valores.length; i++) {
+                    valores[i] = rs.getObject(i + 1);
+                }
+                try {
+                    escritor.linha(valores);
+                } catch (IOException e) {
+                    // Cliente desconectou: interrompe a leitura do cursor
+                    throw new UncheckedIOException(e);
+                }
+                linhas[0]++;
+            }));
+        } catch (UncheckedIOException e) {
+            log.debug("Exportação de {} interrompida após {} linhas: {}", nome, linhas[0], e.getCause().getMessage());
+            throw e.getCause();
+        }
+        escritor.fim();
+        log.info("Exportação de {} em {}: {} linhas em {} ms.", nome, formato, linhas[0], (System.nanoTime() - inicio) / 1_000_000);
+    }
+}
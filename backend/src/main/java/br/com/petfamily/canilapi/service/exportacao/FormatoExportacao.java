@@ -0,0 +1,33 @@
+package br.com.petfamily.canilapi.service.exportacao;
+
+import java.util.Locale;
+
+public enum FormatoExportacao {
+
+    CSV("text/csv;charset=UTF-8", "csv"),
+    NDJSON("application/x-ndjson", "ndjson");
+
+    private final String contentType;
+    private final String extensao;
+
+    FormatoExportacao(String contentType, String extensao) {
+        this.contentType = contentType;
+        this.extensao = extensao;
+    }
+
+    public String contentType() {
+        return contentType;
+    }
+
+    public String extensao() {
+        return extensao;
+    }
+
+    public static FormatoExportacao deParametro(String valor) {
+        try {
+            return valueOf(valor.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException | NullPointerException e) {
+            throw new IllegalArgumentException("Formato de exportação inválido: '" + valor + "'. Use csv ou ndjson.");
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package br.com.petfamily.canilapi.service.exportacao;
+
+import br.com.petfamily.canilapi.controller.dto.RentabilidadeFiltroDTO;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Custo, valor de venda e lucro de cada cachorro ({@code GET /relatorios/rentabilidade}).
+ * <p>
+ * Tudo sai de uma única consulta: cachorros com as despesas e a venda, agrupados por cachorro. Nenhuma entidade
+ * é carregada e as linhas são escritas na resposta à medida que o cursor avança, como na exportação, então o custo
+ * não cresce com o número de despesas por cachorro nem a memória com o número de cachorros.
+ */
+@Service
+public class RelatorioRentabilidadeService {
+
+    static final List<String> COLUNAS = List.of("cachorroId", "nome", "raca", "ninhadaId", "status", "foiVendido",
+            "despesas", "custo", "valorVenda", "dataVenda", "lucro");
+
+    private static final String CUSTO = "COALESCE(SUM(d.valor), 0)";
+
+    // Venda é única por cachorro (uk em vendas.cachorro_id): a junção não multiplica as despesas
+    private static final String SELECT = "SELECT c.id, c.nome, c.raca, c.ninhada_id, c.status, c.foi_vendido, "
+            + "COUNT(d.id), " + CUSTO + ", v.valor, v.data_venda, v.valor - " + CUSTO + " "
+            + "FROM cachorros c "
+            + "LEFT JOIN despesas d ON d.cachorro_id = c.id "
+            + "LEFT JOIN vendas v ON v.cachorro_id = c.id ";
+
+    private static final String GROUP_BY =
+            "GROUP BY c.id, c.nome, c.raca, c.ninhada_id, c.status, c.foi_vendido, v.valor, v.data_venda ";
+
+    // Propriedades aceitas em ?sort= e a expressão de cada uma
+    private static final Map<String, String> ORDENAVEIS = Map.of(
+            "cachorroId", "c.id",
+            "nome", "c.nome",
+            "raca", "c.raca",
+            "despesas", "COUNT(d.id)",
+            "custo", CUSTO,
+            "valorVenda", "v.valor",
+            "dataVenda", "v.data_venda",
+            "lucro", "v.valor - " + CUSTO);
+
+    private final ExportacaoService exportacaoService;
+
+    public RelatorioRentabilidadeService(ExportacaoService exportacaoService) {
+        this.exportacaoService = exportacaoService;
+    }
+
+    /**
+     * Monta a consulta do relatório. Separado da escrita para que uma ordenação inválida vire 400
+     * antes de a resposta começar.
+     *
+     * @throws IllegalArgumentException se a ordenação pedir uma propriedade que não existe no relatório.
+     */
+    public Consulta preparar(RentabilidadeFiltroDTO filtro, Sort sort) {
+        StringBuilder sql = new StringBuilder(SELECT);
+        Map<String, Object> parametros = new HashMap<>();
+        List<String> condicoes = new ArrayList<>();
+        if (filtro.raca() != null) {
+            condicoes.add("c.raca = :raca");
+            parametros.put("raca", filtro.raca());
+        }
+        if (filtro.ninhadaId() != null) {
+            condicoes.add("c.ninhada_id = :ninhadaId");
+            parametros.put("ninhadaId", filtro.ninhadaId());
+        }
+        if (filtro.foiVendido() != null) {
+            condicoes.add("c.foi_vendido = :foiVendido");
+            parametros.put("foiVendido", filtro.foiVendido());
+        }
+        if (!condicoes.isEmpty()) {
+            sql.append("WHERE ").append(String.join(" AND ", condicoes)).append(' ');
+        }
+        sql.append(GROUP_BY).append("ORDER BY ");
+        for (Sort.Order ordem : sort) {
+            String expressao = ORDENAVEIS.get(ordem.getProperty());
+            if (expressao == null) {
+                throw new IllegalArgumentException("Não é possível ordenar o relatório por '" + ordem.getProperty()
+                        + "'. Use " + String.join(", ", ORDENAVEIS.keySet().stream().sorted().toList()) + ".");
+            }
+            // Cachorros não vendidos (sem valor de venda nem lucro) vão para o fim nos dois sentidos
+            sql.append(expressao).append(ordem.isAscending() ? " ASC" : " DESC").append(" NULLS LAST, ");
+        }
+        // Desempate estável (e ordem padrão)
+        sql.append("c.id");
+        return new Consulta(sql.toString(), parametros);
+    }
+
+    /**
+     * Escreve em {@code saida} uma linha por cachorro. Roda na thread que escreve a resposta.
+     */
+    public void escrever(Consulta consulta, FormatoExportacao formato, OutputStream saida) throws IOException {
+        exportacaoService.escrever("rentabilidade", consulta.sql(), consulta.parametros(), COLUNAS, formato, saida);
+    }
+
+    public record Consulta(String sql, Map<String, Object> parametros) {
+    }
+}
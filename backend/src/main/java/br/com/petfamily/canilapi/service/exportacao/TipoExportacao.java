@@ -0,0 +1,63 @@
+package br.com.petfamily.canilapi.service.exportacao;
+
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Entidades exportáveis, com a consulta que as lê e o nome de cada coluna na saída.
+ * Os nomes seguem os da importação (pai, mae e cachorro pelo nome, tutor pelo email),
+ * então um arquivo exportado pode ser importado em outro canil.
+ */
+public enum TipoExportacao {
+
+    TUTORES("SELECT t.id, t.nome, t.email, t.telefone FROM tutores t ORDER BY t.id",
+            List.of("id", "nome", "email", "telefone")),
+
+    CACHORROS("SELECT c.id, c.nome, c.sexo, c.data_nascimento, c.raca, c.status, c.foi_vendido, "
+            + "t.email, p.nome, m.nome FROM cachorros c "
+            + "LEFT JOIN tutores t ON t.id = c.tutor_id "
+            + "LEFT JOIN cachorros p ON p.id = c.pai_id "
+            + "LEFT JOIN cachorros m ON m.id = c.mae_id "
+            + "ORDER BY c.id",
+            List.of("id", "nome", "sexo", "dataNascimento", "raca", "status", "foiVendido", "tutorEmail", "pai", "mae")),
+
+    VENDAS("SELECT v.id, v.data_venda, v.valor, c.nome, t.email FROM vendas v "
+            + "JOIN cachorros c ON c.id = v.cachorro_id "
+            + "JOIN tutores t ON t.id = v.novo_tutor_id "
+            + "ORDER BY v.id",
+            List.of("id", "dataVenda", "valor", "cachorro", "tutorEmail")),
+
+    DESPESAS("SELECT d.id, d.descricao, d.valor, d.data, d.categoria, c.nome FROM despesas d "
+            + "JOIN cachorros c ON c.id = d.cachorro_id "
+            + "ORDER BY d.id",
+            List.of("id", "descricao", "valor", "data", "categoria", "cachorro"));
+
+    private final String sql;
+    private final List<String> colunas;
+
+    TipoExportacao(String sql, List<String> colunas) {
+        this.sql = sql;
+        this.colunas = colunas;
+    }
+
+    String sql() {
+        return sql;
+    }
+
+    List<String> colunas() {
+        return colunas;
+    }
+
+    public String nomeArquivo(FormatoExportacao formato) {
+        return name().toLowerCase(Locale.ROOT) + "." + formato.extensao();
+    }
+
+    public static TipoExportacao deParametro(String valor) {
+        try {
+            return valueOf(valor.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException | NullPointerException e) {
+            throw new IllegalArgumentException("Entidade de exportação inválida: '" + valor
+                    + "'. Use tutores, cachorros, vendas ou despesas.");
+        }
+    }
+}
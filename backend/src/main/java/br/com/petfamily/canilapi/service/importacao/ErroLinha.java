@@ -0,0 +1,18 @@
+package br.com.petfamily.canilapi.service.importacao;
+
+/**
+ * Linha que não pôde nem ser lida (CSV com colunas a mais, JSON malformado). A leitura continua na seguinte.
+ */
+class ErroLinha extends IllegalArgumentException {
+
+    private final long numero;
+
+    ErroLinha(long numero, String mensagem) {
+        super(mensagem);
+        this.numero = numero;
+    }
+
+    long numero() {
+        return numero;
+    }
+}
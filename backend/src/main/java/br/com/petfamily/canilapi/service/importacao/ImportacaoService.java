@@ -0,0 +1,522 @@
+package br.com.petfamily.canilapi.service.importacao;
+
+import br.com.petfamily.canilapi.controller.dto.CachorroPostRequestDTO;
+import br.com.petfamily.canilapi.controller.dto.DespesaRequestDTO;
+import br.com.petfamily.canilapi.controller.dto.ImportacaoResultadoDTO;
+import br.com.petfamily.canilapi.controller.dto.NinhadaRequestDTO;
+import br.com.petfamily.canilapi.controller.dto.TutorRequestDTO;
+import br.com.petfamily.canilapi.infra.persistence.AlteracoesTabelas;
+import br.com.petfamily.canilapi.infra.persistence.SequenciaIds;
+import br.com.petfamily.canilapi.model.Sexo;
+import br.com.petfamily.canilapi.model.CategoriaDespesa;
+import br.com.petfamily.canilapi.model.StatusCachorro;
+import br.com.petfamily.canilapi.service.BuscaService;
+import br.com.petfamily.canilapi.service.CustoCachorroService;
+import br.com.petfamily.canilapi.service.PedigreeService;
+import br.com.petfamily.canilapi.service.ResumoFinanceiroService;
+import br.com.petfamily.canilapi.service.dashboard.DashboardAlteradoEvent;
+import br.com.petfamily.canilapi.service.metricas.MetricasNegocio;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+/**
+ * Importação em lote (onboarding de canis) de tutores, cachorros, despesas, vacinas e ninhadas.
+ * <p>
+ * O corpo é lido como fluxo, uma linha por vez, e gravado em lotes de {@link #TAMANHO_LOTE} linhas:
+ * cada lote valida suas linhas, resolve as referências por chave natural com uma consulta só
+ * e grava tudo com um único batch JDBC, em sua própria transação. A memória usada depende do
+ * tamanho do lote, não do arquivo. Um lote que falha ao gravar é desfeito inteiro e reportado;
+ * os já confirmados permanecem.
+ * <p>
+ * Chaves naturais: tutor pelo email (coluna {@code tutorEmail}), cachorro pelo nome
+ * (colunas {@code cachorro}, {@code pai}, {@code mae}). Um nome que corresponde a mais de um
+ * cachorro é erro da linha. Pais devem aparecer no arquivo antes dos filhos.
+ */
+@Service
+public class ImportacaoService {
+
+    private static final Logger log = LoggerFactory.getLogger(ImportacaoService.class);
+
+    static final int TAMANHO_LOTE = 1000;
+
+    private static final String INSERT_TUTOR =
+            "INSERT INTO tutores (nome, email, telefone) VALUES (?, ?, ?)";
+    private static final int[] TIPOS_TUTOR = {Types.VARCHAR, Types.VARCHAR, Types.VARCHAR};
+
+    private static final String INSERT_CACHORRO =
+            "INSERT INTO cachorros (id, nome, sexo, data_nascimento, raca, foi_vendido, status, tutor_id, pai_id, mae_id) "
+                    + "VALUES (?, ?, ?, ?, ?, false, ?, ?, ?, ?)";
+    private static final int[] TIPOS_CACHORRO = {Types.BIGINT, Types.VARCHAR, Types.VARCHAR, Types.DATE, Types.VARCHAR,
+            Types.VARCHAR, Types.BIGINT, Types.BIGINT, Types.BIGINT};
+
+    private static final String INSERT_DESPESA =
+            "INSERT INTO despesas (id, descricao, valor, data, cachorro_id, categoria) VALUES (?, ?, ?, ?, ?, ?)";
+    private static final int[] TIPOS_DESPESA = {Types.BIGINT, Types.VARCHAR, Types.NUMERIC, Types.DATE, Types.BIGINT, Types.VARCHAR};
+
+    private static final String INSERT_VACINA =
+            "INSERT INTO vacinas (id, nome, data_aplicacao, data_proxima_aplicacao, valor, cachorro_id) VALUES (?, ?, ?, ?, ?, ?)";
+    private static final int[] TIPOS_VACINA = {Types.BIGINT, Types.VARCHAR, Types.DATE, Types.DATE, Types.NUMERIC, Types.BIGINT};
+
+    private static final String INSERT_NINHADA =
+            "INSERT INTO ninhadas (data_nascimento, mae_id, pai_id) VALUES (?, ?, ?)";
+    private static final int[] TIPOS_NINHADA = {Types.DATE, Types.BIGINT, Types.BIGINT};
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+    private final ResumoFinanceiroService resumoFinanceiroService;
+    private final CustoCachorroService custoCachorroService;
+    private final PedigreeService pedigreeService;
+    private final BuscaService buscaService;
+    private final SequenciaIds sequenciaIds;
+    private final ApplicationEventPublisher eventPublisher;
+    private final MetricasNegocio metricasNegocio;
+    private final AlteracoesTabelas alteracoesTabelas;
+
+    public ImportacaoService(JdbcTemplate jdbcTemplate, NamedParameterJdbcTemplate namedJdbcTemplate,
+                             PlatformTransactionManager transactionManager, Validator validator,
+                             ObjectMapper objectMapper, ResumoFinanceiroService resumoFinanceiroService,
+                             CustoCachorroService custoCachorroService,
+                             PedigreeService pedigreeService, BuscaService buscaService, SequenciaIds sequenciaIds,
+                             ApplicationEventPublisher eventPublisher, MetricasNegocio metricasNegocio,
+                             AlteracoesTabelas alteracoesTabelas) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedJdbcTemplate = namedJdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.validator = validator;
+        this.objectMapper = objectMapper;
+        this.resumoFinanceiroService = resumoFinanceiroService;
+        this.custoCachorroService = custoCachorroService;
+        this.pedigreeService = pedigreeService;
+        this.buscaService = buscaService;
+        this.sequenciaIds = sequenciaIds;
+        this.eventPublisher = eventPublisher;
+        this.metricasNegocio = metricasNegocio;
+        this.alteracoesTabelas = alteracoesTabelas;
+    }
+
+    /**
+     * Importa o conteúdo de {@code corpo} (CSV com cabeçalho ou NDJSON, conforme {@code contentType}).
+     * Linhas inválidas não interrompem a importação: são listadas no resultado.
+     */
+    public ImportacaoResultadoDTO importar(TipoImportacao tipo, String contentType, InputStream corpo) throws IOException {
+        RelatorioImportacao relatorio = new RelatorioImportacao(tipo);
+        List<LinhaImportacao> lote = new ArrayList<>(TAMANHO_LOTE);
+
+        try (LeitorImportacao leitor = LeitorImportacao.para(contentType, corpo, objectMapper)) {
+            while (true) {
+                LinhaImportacao linha;
+                try {
+                    linha = leitor.proxima();
+                } catch (ErroLinha e) {
+                    relatorio.linhaLida();
+                    relatorio.erro(e.numero(), e.getMessage());
+                    continue;
+                }
+                if (linha == null) {
+                    break;
+                }
+                relatorio.linhaLida();
+                lote.add(linha);
+                if (lote.size() == TAMANHO_LOTE) {
+                    gravarLote(tipo, lote, relatorio);
+                    lote.clear();
+                }
+            }
+            if (!lote.isEmpty()) {
+                gravarLote(tipo, lote, relatorio);
+            }
+        } finally {
+            aposImportar(tipo, relatorio);
+        }
+
+        ImportacaoResultadoDTO resultado = relatorio.paraDTO();
+        log.info("Importação de {}: {} linhas lidas, {} importadas, {} com erro em {} ms ({} linhas/s).",
+                tipo, resultado.linhasLidas(), resultado.linhasImportadas(), resultado.linhasComErro(),
+                resultado.duracaoMs(), resultado.linhasPorSegundo());
+        return resultado;
+    }
+
+    private void gravarLote(TipoImportacao tipo, List<LinhaImportacao> lote, RelatorioImportacao relatorio) {
+        // Erros de validação ficam num relatório do lote e só são repassados se ele for confirmado;
+        // se o batch falhar, o lote inteiro é reportado de uma vez
+        RelatorioImportacao relatorioLote = new RelatorioImportacao(tipo);
+        try {
+            Integer gravadas = transactionTemplate.execute(status -> {
+                int linhas = switch (tipo) {
+                    case TUTORES -> gravarTutores(lote, relatorioLote);
+                    case CACHORROS -> gravarCachorros(lote, relatorioLote);
+                    case DESPESAS -> gravarDespesas(lote, relatorioLote);
+                    case VACINAS -> gravarVacinas(lote, relatorioLote);
+                    case NINHADAS -> gravarNinhadas(lote, relatorioLote);
+                };
+                if (linhas > 0) {
+                    registrarAlteracoes(tipo);
+                }
+                return linhas;
+            });
+            relatorio.importadas(gravadas != null ? gravadas : 0);
+            relatorio.incorporar(relatorioLote);
+        } catch (DataAccessException e) {
+            long primeira = lote.get(0).numero();
+            long ultima = lote.get(lote.size() - 1).numero();
+            log.warn("Lote das linhas {} a {} não foi gravado: {}", primeira, ultima, e.getMostSpecificCause().getMessage());
+            relatorio.erros(primeira, lote.size(), "Lote das linhas " + primeira + " a " + ultima
+                    + " não foi gravado: " + e.getMostSpecificCause().getMessage());
+        }
+    }
+
+    private void aposImportar(TipoImportacao tipo, RelatorioImportacao relatorio) {
+        if (relatorio.linhasImportadas() == 0) {
+            return;
+        }
+        metricasNegocio.registrarImportacao(tipo, relatorio.linhasImportadas());
+        if (tipo == TipoImportacao.CACHORROS) {
+            // O insert direto não passa pelo PedigreeEntityListener
+            pedigreeService.carregarIndice();
+        }
+        if (tipo == TipoImportacao.TUTORES || tipo == TipoImportacao.CACHORROS) {
+            // Idem para o BuscaEntityListener
+            buscaService.carregarIndice();
+            eventPublisher.publishEvent(DashboardAlteradoEvent.deEstatisticas());
+        }
+    }
+
+    /**
+     * Os inserts por JDBC não passam pelo AlteracoesTabelasListener; sem isso os ETags das listagens não mudariam.
+     * Roda dentro da transação de cada lote: ele é confirmado sozinho e já fica visível para as listagens, então o
+     * contador precisa mudar no commit dele, não só no fim da importação.
+     */
+    private void registrarAlteracoes(TipoImportacao tipo) {
+        switch (tipo) {
+            case TUTORES -> alteracoesTabelas.registrar(AlteracoesTabelas.TUTORES);
+            case CACHORROS -> alteracoesTabelas.registrar(AlteracoesTabelas.CACHORROS);
+            case DESPESAS -> {
+                alteracoesTabelas.registrar(AlteracoesTabelas.DESPESAS);
+                alteracoesTabelas.registrar(AlteracoesTabelas.CACHORROS);
+            }
+            case NINHADAS -> alteracoesTabelas.registrar(AlteracoesTabelas.NINHADAS);
+            case VACINAS -> {
+                // Vacinas não aparecem em nenhuma representação com ETag
+            }
+        }
+    }
+
+    // --- Tutores ---
+
+    private int gravarTutores(List<LinhaImportacao> lote, RelatorioImportacao relatorio) {
+        Set<String> emailsDoLote = lote.stream()
+                .map(l -> l.texto("email"))
+                .filter(e -> e != null)
+                .map(e -> e.toLowerCase(Locale.ROOT))
+                .collect(Collectors.toSet());
+        Set<String> emailsUsados = new HashSet<>(emailsJaCadastrados(emailsDoLote));
+
+        List<Object[]> parametros = new ArrayList<>(lote.size());
+        for (LinhaImportacao linha : lote) {
+            try {
+                TutorRequestDTO dto = new TutorRequestDTO(linha.texto("nome"), linha.texto("email"), linha.texto("telefone"));
+                validar(dto);
+                if (!emailsUsados.add(dto.email().toLowerCase(Locale.ROOT))) {
+                    throw new IllegalArgumentException("Já existe um tutor com o email '" + dto.email() + "'.");
+                }
+                parametros.add(new Object[]{dto.nome(), dto.email(), dto.telefone()});
+            } catch (IllegalArgumentException e) {
+                relatorio.erro(linha.numero(), e.getMessage());
+            }
+        }
+        return gravar(INSERT_TUTOR, null, parametros, TIPOS_TUTOR);
+    }
+
+    // --- Cachorros ---
+
+    private int gravarCachorros(List<LinhaImportacao> lote, RelatorioImportacao relatorio) {
+        Map<String, Long> tutores = tutoresPorEmail(lote.stream()
+                .map(l -> l.texto("tutorEmail"))
+                .filter(e -> e != null)
+                .map(e -> e.toLowerCase(Locale.ROOT))
+                .collect(Collectors.toSet()));
+        Map<String, CachorroConhecido> cachorros = cachorrosPorNome(nomesReferenciados(lote, "pai", "mae"));
+
+        List<Object[]> pendentes = new ArrayList<>();
+        Set<String> nomesPendentes = new HashSet<>();
+        int gravadas = 0;
+        for (LinhaImportacao linha : lote) {
+            try {
+                CachorroPostRequestDTO dto = new CachorroPostRequestDTO(linha.texto("nome"), linha.data("dataNascimento"),
+                        linha.texto("raca"), linha.enumeracao("sexo", Sexo.class));
+                validar(dto);
+                StatusCachorro status = linha.enumeracao("status", StatusCachorro.class);
+
+                String email = linha.texto("tutorEmail");
+                Long tutorId = null;
+                if (email != null) {
+                    tutorId = tutores.get(email.toLowerCase(Locale.ROOT));
+                    if (tutorId == null) {
+                        throw new IllegalArgumentException("Tutor com email '" + email + "' não encontrado.");
+                    }
+                }
+
+                // Pai ou mãe gravado neste mesmo lote: grava o que está pendente antes de resolver
+                String pai = linha.texto("pai");
+                String mae = linha.texto("mae");
+                if ((pai != null && nomesPendentes.contains(pai)) || (mae != null && nomesPendentes.contains(mae))) {
+                    gravadas += gravar(INSERT_CACHORRO, SequenciaIds.CACHORROS, pendentes, TIPOS_CACHORRO);
+                    cachorros.putAll(cachorrosPorNome(nomesPendentes));
+                    pendentes.clear();
+                    nomesPendentes.clear();
+                }
+                Long paiId = resolverGenitor(cachorros, pai, Sexo.MACHO, "pai");
+                Long maeId = resolverGenitor(cachorros, mae, Sexo.FEMEA, "mãe");
+
+                pendentes.add(new Object[]{null, dto.nome(), dto.sexo().name(), dto.dataNascimento(), dto.raca(),
+                        (status != null ? status : StatusCachorro.DISPONIVEL).name(), tutorId, paiId, maeId});
+                nomesPendentes.add(dto.nome());
+            } catch (IllegalArgumentException e) {
+                relatorio.erro(linha.numero(), e.getMessage());
+            }
+        }
+        return gravadas + gravar(INSERT_CACHORRO, SequenciaIds.CACHORROS, pendentes, TIPOS_CACHORRO);
+    }
+
+    private Long resolverGenitor(Map<String, CachorroConhecido> cachorros, String nome, Sexo sexoEsperado, String papel) {
+        if (nome == null) {
+            return null;
+        }
+        CachorroConhecido genitor = resolver(cachorros, nome);
+        if (genitor.sexo() != sexoEsperado) {
+            throw new IllegalArgumentException("O cachorro '" + nome + "' não pode ser " + papel + ": o sexo é " + genitor.sexo() + ".");
+        }
+        return genitor.id();
+    }
+
+    // --- Despesas ---
+
+    private int gravarDespesas(List<LinhaImportacao> lote, RelatorioImportacao relatorio) {
+        Map<String, CachorroConhecido> cachorros = cachorrosPorNome(nomesReferenciados(lote, "cachorro"));
+        Map<DiaCategoria, BigDecimal> totalPorDiaCategoria = new TreeMap<>();
+        Map<DiaCategoria, Long> quantidadePorDiaCategoria = new HashMap<>();
+
+        List<Object[]> parametros = new ArrayList<>(lote.size());
+        for (LinhaImportacao linha : lote) {
+            try {
+                DespesaRequestDTO dto = new DespesaRequestDTO(linha.texto("descricao"), linha.decimal("valor"), linha.data("data"),
+                        linha.enumeracao("categoria", CategoriaDespesa.class));
+                validar(dto);
+                CachorroConhecido cachorro = resolverObrigatorio(cachorros, linha.texto("cachorro"));
+                LocalDate data = dto.data() != null ? dto.data() : LocalDate.now();
+                CategoriaDespesa categoria = dto.categoria() != null ? dto.categoria() : CategoriaDespesa.OUTROS;
+
+                parametros.add(new Object[]{null, dto.descricao(), dto.valor(), data, cachorro.id(), categoria.name()});
+                DiaCategoria chave = new DiaCategoria(data, categoria);
+                totalPorDiaCategoria.merge(chave, dto.valor(), BigDecimal::add);
+                quantidadePorDiaCategoria.merge(chave, 1L, Long::sum);
+            } catch (IllegalArgumentException e) {
+                relatorio.erro(linha.numero(), e.getMessage());
+            }
+        }
+        int gravadas = gravar(INSERT_DESPESA, SequenciaIds.DESPESAS, parametros, TIPOS_DESPESA);
+        // Versão, custo acumulado e lucro de cada cachorro do lote, num batch só
+        Map<Long, BigDecimal> custoPorCachorro = new HashMap<>();
+        parametros.forEach(p -> custoPorCachorro.merge((Long) p[4], (BigDecimal) p[2], BigDecimal::add));
+        custoCachorroService.somarEmLote(custoPorCachorro);
+        // Um incremento por dia e categoria no resumo, na mesma transação do lote
+        totalPorDiaCategoria.forEach((chave, total) -> resumoFinanceiroService.registrarDespesasImportadas(
+                chave.dia(), chave.categoria(), total, quantidadePorDiaCategoria.get(chave)));
+        return gravadas;
+    }
+
+    // Ordenável para que os incrementos no resumo sigam sempre a mesma ordem de linhas (sem deadlock entre lotes)
+    private record DiaCategoria(LocalDate dia, CategoriaDespesa categoria) implements Comparable<DiaCategoria> {
+        @Override
+        public int compareTo(DiaCategoria outra) {
+            int porDia = dia.compareTo(outra.dia);
+            return porDia != 0 ? porDia : categoria.name().compareTo(outra.categoria.name());
+        }
+    }
+
+    // --- Vacinas ---
+
+    private int gravarVacinas(List<LinhaImportacao> lote, RelatorioImportacao relatorio) {
+        Map<String, CachorroConhecido> cachorros = cachorrosPorNome(nomesReferenciados(lote, "cachorro"));
+
+        List<Object[]> parametros = new ArrayList<>(lote.size());
+        for (LinhaImportacao linha : lote) {
+            try {
+                String nome = linha.texto("nome");
+                LocalDate dataAplicacao = linha.data("dataAplicacao");
+                LocalDate dataProximaAplicacao = linha.data("dataProximaAplicacao");
+                BigDecimal valor = linha.decimal("valor");
+                if (nome == null) {
+                    throw new IllegalArgumentException("O nome da vacina é obrigatório.");
+                }
+                if (dataAplicacao == null) {
+                    throw new IllegalArgumentException("A data de aplicação é obrigatória.");
+                }
+                if (dataProximaAplicacao != null && dataProximaAplicacao.isBefore(dataAplicacao)) {
+                    throw new IllegalArgumentException("A próxima aplicação não pode ser anterior à data de aplicação.");
+                }
+                if (valor != null && valor.signum() < 0) {
+                    throw new IllegalArgumentException("O valor da vacina não pode ser negativo.");
+                }
+                CachorroConhecido cachorro = resolverObrigatorio(cachorros, linha.texto("cachorro"));
+
+                parametros.add(new Object[]{null, nome, dataAplicacao, dataProximaAplicacao, valor, cachorro.id()});
+            } catch (IllegalArgumentException e) {
+                relatorio.erro(linha.numero(), e.getMessage());
+            }
+        }
+        return gravar(INSERT_VACINA, SequenciaIds.VACINAS, parametros, TIPOS_VACINA);
+    }
+
+    // --- Ninhadas ---
+
+    private int gravarNinhadas(List<LinhaImportacao> lote, RelatorioImportacao relatorio) {
+        Map<String, CachorroConhecido> cachorros = cachorrosPorNome(nomesReferenciados(lote, "mae", "pai"));
+
+        List<Object[]> parametros = new ArrayList<>(lote.size());
+        for (LinhaImportacao linha : lote) {
+            try {
+                Long maeId = resolverGenitor(cachorros, linha.texto("mae"), Sexo.FEMEA, "mãe");
+                Long paiId = resolverGenitor(cachorros, linha.texto("pai"), Sexo.MACHO, "pai");
+                NinhadaRequestDTO dto = new NinhadaRequestDTO(linha.data("dataNascimento"), maeId, paiId, null);
+                validar(dto);
+
+                parametros.add(new Object[]{dto.dataNascimento(), dto.maeId(), dto.paiId()});
+            } catch (IllegalArgumentException e) {
+                relatorio.erro(linha.numero(), e.getMessage());
+            }
+        }
+        return gravar(INSERT_NINHADA, null, parametros, TIPOS_NINHADA);
+    }
+
+    // --- Apoio ---
+
+    /**
+     * Grava {@code parametros} com um batch. Se {@code sequencia} for informada, a primeira coluna é o id,
+     * reservado da sequência da entidade em blocos (os mesmos que o Hibernate usa).
+     */
+    private int gravar(String sql, String sequencia, List<Object[]> parametros, int[] tipos) {
+        if (parametros.isEmpty()) {
+            return 0;
+        }
+        if (sequencia != null) {
+            long[] ids = sequenciaIds.alocar(sequencia, parametros.size());
+            for (int i = 0; i < ids.length; i++) {
+                parametros.get(i)[0] = ids[i];
+            }
+        }
+        jdbcTemplate.batchUpdate(sql, parametros, tipos);
+        return parametros.size();
+    }
+
+    private void validar(Object dto) {
+        Set<ConstraintViolation<Object>> violacoes = validator.validate(dto);
+        if (!violacoes.isEmpty()) {
+            throw new IllegalArgumentException(violacoes.stream()
+                    .map(ConstraintViolation::getMessage)
+                    .sorted()
+                    .collect(Collectors.joining(" ")));
+        }
+    }
+
+    private static Set<String> nomesReferenciados(List<LinhaImportacao> lote, String... campos) {
+        Set<String> nomes = new HashSet<>();
+        for (LinhaImportacao linha : lote) {
+            for (String campo : campos) {
+                String nome = linha.texto(campo);
+                if (nome != null) {
+                    nomes.add(nome);
+                }
+            }
+        }
+        return nomes;
+    }
+
+    private static CachorroConhecido resolverObrigatorio(Map<String, CachorroConhecido> cachorros, String nome) {
+        if (nome == null) {
+            throw new IllegalArgumentException("O nome do cachorro é obrigatório.");
+        }
+        return resolver(cachorros, nome);
+    }
+
+    private static CachorroConhecido resolver(Map<String, CachorroConhecido> cachorros, String nome) {
+        CachorroConhecido cachorro = cachorros.get(nome);
+        if (cachorro == null) {
+            throw new IllegalArgumentException("Cachorro '" + nome + "' não encontrado.");
+        }
+        if (cachorro.quantidade() > 1) {
+            throw new IllegalArgumentException("Existe mais de um cachorro chamado '" + nome + "'; não é possível identificar qual.");
+        }
+        return cachorro;
+    }
+
+    private Set<String> emailsJaCadastrados(Collection<String> emails) {
+        if (emails.isEmpty()) {
+            return Set.of();
+        }
+        return new HashSet<>(namedJdbcTemplate.queryForList(
+                "SELECT LOWER(email) FROM tutores WHERE LOWER(email) IN (:emails)",
+                Map.of("emails", emails), String.class));
+    }
+
+    private Map<String, Long> tutoresPorEmail(Collection<String> emails) {
+        Map<String, Long> tutores = new HashMap<>();
+        if (!emails.isEmpty()) {
+            namedJdbcTemplate.query(
+                    "SELECT LOWER(email) AS email, MIN(id) AS id FROM tutores WHERE LOWER(email) IN (:emails) GROUP BY LOWER(email)",
+                    Map.of("emails", emails),
+                    rs -> {
+                        tutores.put(rs.getString("email"), rs.getLong("id"));
+                    });
+        }
+        return tutores;
+    }
+
+    private Map<String, CachorroConhecido> cachorrosPorNome(Collection<String> nomes) {
+        Map<String, CachorroConhecido> cachorros = new HashMap<>();
+        if (!nomes.isEmpty()) {
+            namedJdbcTemplate.query(
+                    "SELECT nome, MIN(id) AS id, MIN(sexo) AS sexo, COUNT(*) AS quantidade FROM cachorros "
+                            + "WHERE nome IN (:nomes) GROUP BY nome",
+                    Map.of("nomes", nomes),
+                    rs -> {
+                        String sexo = rs.getString("sexo");
+                        cachorros.put(rs.getString("nome"), new CachorroConhecido(rs.getLong("id"),
+                                sexo != null ? Sexo.valueOf(sexo) : null, rs.getInt("quantidade")));
+                    });
+        }
+        return cachorros;
+    }
+
+    private record CachorroConhecido(long id, Sexo sexo, int quantidade) {
+    }
+}
@@ -0,0 +1,117 @@
+package br.com.petfamily.canilapi.service.importacao;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * CSV (RFC 4180) com cabeçalho. Aceita vírgula ou ponto e vírgula (detectado no cabeçalho),
+ * campos entre aspas com aspas duplicadas e quebras de linha dentro de aspas.
+ */
+class LeitorCsv extends LeitorImportacao {
+
+    private String[] cabecalho;
+    private char separador = ',';
+    private long numeroLinha = 0;
+
+    LeitorCsv(InputStream entrada) {
+        super(entrada);
+    }
+
+    @Override
+    public LinhaImportacao proxima() throws IOException {
+        if (cabecalho == null) {
+            lerCabecalho();
+            if (cabecalho == null) {
+                return null;
+            }
+        }
+        while (true) {
+            long numero = numeroLinha + 1;
+            List<String> valores = lerRegistro();
+            if (valores == null) {
+                return null;
+            }
+            if (valores.size() == 1 && valores.get(0).isBlank()) {
+                continue; // linha em branco
+            }
+            if (valores.size() > cabecalho.length) {
+                throw new ErroLinha(numero, "A linha tem " + valores.size() + " colunas, mas o cabeçalho tem " + cabecalho.length + ".");
+            }
+            Map<String, String> campos = new HashMap<>(cabecalho.length * 2);
+            for (int i = 0; i < valores.size(); i++) {
+                campos.put(cabecalho[i], valores.get(i));
+            }
+            return new LinhaImportacao(numero, campos);
+        }
+    }
+
+    private void lerCabecalho() throws IOException {
+        reader.mark(64 * 1024);
+        String primeira = reader.readLine();
+        if (primeira == null) {
+            return;
+        }
+        reader.reset();
+        if (primeira.indexOf(';') >= 0 && primeira.indexOf(',') < 0) {
+            separador = ';';
+        }
+        List<String> nomes = lerRegistro();
+        cabecalho = new String[nomes.size()];
+        for (int i = 0; i < nomes.size(); i++) {
+            String nome = nomes.get(i).trim();
+            if (i == 0 && !nome.isEmpty() && nome.charAt(0) == '﻿') {
+                nome = nome.substring(1); // BOM do Excel
+            }
+            cabecalho[i] = nome;
+        }
+    }
+
+    private List<String> lerRegistro() throws IOException {
+        int c = reader.read();
+        if (c == -1) {
+            return null;
+        }
+        numeroLinha++;
+        List<String> valores = new ArrayList<>();
+        StringBuilder atual = new StringBuilder();
+        boolean entreAspas = false;
+        while (c != -1) {
+            char ch = (char) c;
+            if (entreAspas) {
+                if (ch == '"') {
+                    reader.mark(1);
+                    int seguinte = reader.read();
+                    if (seguinte == '"') {
+                        atual.append('"');
+                    } else {
+                        entreAspas = false;
+                        if (seguinte != -1) {
+                            reader.reset();
+                        }
+                    }
+                } else {
+                    if (ch == '\n') {
+                        numeroLinha++;
+                    }
+                    atual.append(ch);
+                }
+            } else if (ch == '"') {
+                entreAspas = true;
+            } else if (ch == separador) {
+                valores.add(atual.toString());
+                atual.setLength(0);
+            } else if (ch == '\n') {
+                break;
+            } else if (ch != '\r') {
+                atual.append(ch);
+            }
+            c = reader.read();
+        }
+        valores.add(atual.toString());
+        return valores;
+    }
+}
@@ -0,0 +1,46 @@
+package br.com.petfamily.canilapi.service.importacao;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Lê o corpo da importação uma linha por vez, sem carregar o arquivo em memória.
+ */
+public abstract class LeitorImportacao implements Closeable {
+
+    private static final int TAMANHO_BUFFER = 64 * 1024;
+
+    protected final BufferedReader reader;
+
+    protected LeitorImportacao(InputStream entrada) {
+        this.reader = new BufferedReader(new InputStreamReader(entrada, StandardCharsets.UTF_8), TAMANHO_BUFFER);
+    }
+
+    /**
+     * @return A próxima linha de dados, ou null no fim do arquivo.
+     * @throws IllegalArgumentException se a linha estiver malformada (o leitor continua utilizável).
+     */
+    public abstract LinhaImportacao proxima() throws IOException;
+
+    /**
+     * Escolhe o formato pelo Content-Type: application/x-ndjson (ou application/json) para NDJSON,
+     * qualquer outro (text/csv, text/plain) para CSV.
+     */
+    public static LeitorImportacao para(String contentType, InputStream entrada, ObjectMapper objectMapper) {
+        if (contentType != null && (contentType.contains("ndjson") || contentType.contains("json"))) {
+            return new LeitorNdjson(entrada, objectMapper);
+        }
+        return new LeitorCsv(entrada);
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
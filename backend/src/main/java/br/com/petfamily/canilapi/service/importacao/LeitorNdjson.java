@@ -0,0 +1,54 @@
+package br.com.petfamily.canilapi.service.importacao;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * NDJSON: um objeto JSON por linha. Uma linha inválida gera erro só para ela.
+ */
+class LeitorNdjson extends LeitorImportacao {
+
+    private final ObjectMapper objectMapper;
+    private long numeroLinha = 0;
+
+    LeitorNdjson(InputStream entrada, ObjectMapper objectMapper) {
+        super(entrada);
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public LinhaImportacao proxima() throws IOException {
+        String texto;
+        do {
+            texto = reader.readLine();
+            if (texto == null) {
+                return null;
+            }
+            numeroLinha++;
+        } while (texto.isBlank());
+
+        JsonNode no;
+        try {
+            no = objectMapper.readTree(texto);
+        } catch (JsonProcessingException e) {
+            throw new ErroLinha(numeroLinha, "JSON inválido: " + e.getOriginalMessage());
+        }
+        if (!no.isObject()) {
+            throw new ErroLinha(numeroLinha, "Cada linha deve conter um objeto JSON.");
+        }
+        Map<String, String> campos = new HashMap<>();
+        for (Iterator<Map.Entry<String, JsonNode>> it = no.fields(); it.hasNext(); ) {
+            Map.Entry<String, JsonNode> campo = it.next();
+            JsonNode valor = campo.getValue();
+            campos.put(campo.getKey(), valor.isNull() ? null : valor.isValueNode() ? valor.asText() : valor.toString());
+        }
+        return new LinhaImportacao(numeroLinha, campos);
+    }
+}
@@ -0,0 +1,50 @@
+package br.com.petfamily.canilapi.service.importacao;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Uma linha do arquivo importado, já separada em campos pelo nome da coluna (CSV) ou da propriedade (NDJSON).
+ * Os conversores lançam IllegalArgumentException com mensagem pronta para o relatório de erros.
+ */
+public record LinhaImportacao(long numero, Map<String, String> campos) {
+
+    public String texto(String campo) {
+        String valor = campos.get(campo);
+        if (valor == null) {
+            return null;
+        }
+        valor = valor.trim();
+        return valor.isEmpty() ? null : valor;
+    }
+
+    public LocalDate data(String campo) {
+        String valor = texto(campo);
+        try {
+            return valor == null ? null : LocalDate.parse(valor);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Campo '" + campo + "' não é uma data no formato AAAA-MM-DD: " + valor);
+        }
+    }
+
+    public BigDecimal decimal(String campo) {
+        String valor = texto(campo);
+        try {
+            return valor == null ? null : new BigDecimal(valor);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Campo '" + campo + "' não é um número: " + valor);
+        }
+    }
+
+    public <E extends Enum<E>> E enumeracao(String campo, Class<E> tipo) {
+        String valor = texto(campo);
+        try {
+            return valor == null ? null : Enum.valueOf(tipo, valor.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Campo '" + campo + "' com valor inválido: " + valor);
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package br.com.petfamily.canilapi.service.importacao;
+
+import br.com.petfamily.canilapi.controller.dto.ErroImportacaoDTO;
+import br.com.petfamily.canilapi.controller.dto.ImportacaoResultadoDTO;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Contadores e erros de uma importação. Guarda só os primeiros {@link #LIMITE_ERROS} erros,
+ * para que um arquivo inteiro inválido não ocupe memória proporcional ao seu tamanho.
+ */
+class RelatorioImportacao {
+
+    static final int LIMITE_ERROS = 1000;
+
+    private final TipoImportacao tipo;
+    private final long inicio = System.nanoTime();
+    private final List<ErroImportacaoDTO> erros = new ArrayList<>();
+    private long linhasLidas;
+    private long linhasImportadas;
+    private long linhasComErro;
+
+    RelatorioImportacao(TipoImportacao tipo) {
+        this.tipo = tipo;
+    }
+
+    void linhaLida() {
+        linhasLidas++;
+    }
+
+    void importadas(int quantidade) {
+        linhasImportadas += quantidade;
+    }
+
+    void erro(long linha, String mensagem) {
+        erros(linha, 1, mensagem);
+    }
+
+    /**
+     * Registra um erro que atinge {@code quantidade} linhas de uma vez (ex.: um lote que não pôde ser gravado).
+     */
+    void erros(long linha, int quantidade, String mensagem) {
+        linhasComErro += quantidade;
+        if (erros.size() < LIMITE_ERROS) {
+            erros.add(new ErroImportacaoDTO(linha, mensagem));
+        }
+    }
+
+    /**
+     * Acrescenta os erros de {@code lote} (um relatório parcial) a este.
+     */
+    void incorporar(RelatorioImportacao lote) {
+        linhasComErro += lote.linhasComErro;
+        for (ErroImportacaoDTO erro : lote.erros) {
+            if (erros.size() >= LIMITE_ERROS) {
+                break;
+            }
+            erros.add(erro);
+        }
+    }
+
+    long linhasImportadas() {
+        return linhasImportadas;
+    }
+
+    ImportacaoResultadoDTO paraDTO() {
+        long duracaoMs = (System.nanoTime() - inicio) / 1_000_000;
+        long linhasPorSegundo = duracaoMs > 0 ? linhasLidas * 1000 / duracaoMs : linhasLidas;
+        return new ImportacaoResultadoDTO(tipo.name(), linhasLidas, linhasImportadas, linhasComErro,
+                List.copyOf(erros), duracaoMs, linhasPorSegundo);
+    }
+}
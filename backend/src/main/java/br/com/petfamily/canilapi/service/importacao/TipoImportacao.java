@@ -0,0 +1,20 @@
+package br.com.petfamily.canilapi.service.importacao;
+
+import java.util.Locale;
+
+public enum TipoImportacao {
+    TUTORES,
+    CACHORROS,
+    DESPESAS,
+    VACINAS,
+    NINHADAS;
+
+    public static TipoImportacao deParametro(String valor) {
+        try {
+            return valueOf(valor.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException | NullPointerException e) {
+            throw new IllegalArgumentException("Tipo de importação inválido: '" + valor
+                    + "'. Use tutores, cachorros, despesas, vacinas ou ninhadas.");
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package br.com.petfamily.canilapi.service.metricas;
+
+import br.com.petfamily.canilapi.model.TipoAtividade;
+import br.com.petfamily.canilapi.service.dashboard.DashboardAlteradoEvent;
+import br.com.petfamily.canilapi.service.importacao.TipoImportacao;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Contadores de negócio expostos em {@code /actuator/prometheus}.
+ * <p>
+ * {@code canil.registros} conta vendas, ninhadas e despesas registradas pela API. A contagem vem das atividades
+ * do feed ({@link DashboardAlteradoEvent}) e só acontece depois do commit, então operações desfeitas não entram.
+ * {@code canil.importacao.linhas} conta as linhas gravadas pela importação em lote, que não gera atividades.
+ */
+@Component
+public class MetricasNegocio {
+
+    private final Map<TipoAtividade, Counter> registros = new EnumMap<>(TipoAtividade.class);
+    private final Map<TipoImportacao, Counter> importadas = new EnumMap<>(TipoImportacao.class);
+
+    public MetricasNegocio(MeterRegistry meterRegistry) {
+        for (TipoAtividade tipo : TipoAtividade.values()) {
+            registros.put(tipo, Counter.builder("canil.registros")
+                    .description("Vendas, ninhadas e despesas registradas pela API")
+                    .tag("tipo", tipo.name().toLowerCase(Locale.ROOT))
+                    .register(meterRegistry));
+        }
+        for (TipoImportacao tipo : TipoImportacao.values()) {
+            importadas.put(tipo, Counter.builder("canil.importacao.linhas")
+                    .description("Linhas gravadas pela importação em lote")
+                    .tag("tipo", tipo.name().toLowerCase(Locale.ROOT))
+                    .register(meterRegistry));
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void aoAlterarDashboard(DashboardAlteradoEvent evento) {
+        if (evento.atividade() != null) {
+            registros.get(TipoAtividade.valueOf(evento.atividade().tipo())).increment();
+        }
+    }
+
+    public void registrarImportacao(TipoImportacao tipo, long linhasGravadas) {
+        importadas.get(tipo).increment(linhasGravadas);
+    }
+}
@@ -0,0 +1,72 @@
+package br.com.petfamily.canilapi.service.pedigree;
+
+import br.com.petfamily.canilapi.model.Cachorro;
+import br.com.petfamily.canilapi.model.Ninhada;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.hibernate.Hibernate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Mantém o {@link PedigreeIndex} atualizado a partir dos eventos de persistência de {@link Cachorro}.
+ * As alterações só são aplicadas depois do commit, para que um rollback não deixe o índice divergente do banco.
+ * <p>
+ * O Spring Boot configura o BeanContainer do Hibernate, então este listener é um bean com injeção normal.
+ */
+@Component
+public class PedigreeEntityListener {
+
+    private final PedigreeIndex pedigreeIndex;
+
+    public PedigreeEntityListener(PedigreeIndex pedigreeIndex) {
+        this.pedigreeIndex = pedigreeIndex;
+    }
+
+    @PostPersist
+    @PostUpdate
+    public void aoSalvar(Cachorro cachorro) {
+        // getId() em um proxy não dispara consulta
+        Long paiId = cachorro.getPai() != null ? cachorro.getPai().getId() : null;
+        Long maeId = cachorro.getMae() != null ? cachorro.getMae().getId() : null;
+        // Filhotes antigos só têm os pais registrados na ninhada. Só consulta a ninhada se ela já estiver
+        // carregada, para não disparar SQL dentro do callback do Hibernate.
+        Ninhada ninhada = cachorro.getNinhada();
+        if (ninhada != null && Hibernate.isInitialized(ninhada)) {
+            if (paiId == null && ninhada.getPai() != null) {
+                paiId = ninhada.getPai().getId();
+            }
+            if (maeId == null && ninhada.getMae() != null) {
+                maeId = ninhada.getMae().getId();
+            }
+        }
+
+        long id = cachorro.getId();
+        String nome = cachorro.getNome();
+        var sexo = cachorro.getSexo();
+        Long pai = paiId;
+        Long mae = maeId;
+        aposCommit(() -> pedigreeIndex.registrar(id, nome, sexo, pai, mae));
+    }
+
+    @PostRemove
+    public void aoRemover(Cachorro cachorro) {
+        long id = cachorro.getId();
+        aposCommit(() -> pedigreeIndex.remover(id));
+    }
+
+    private void aposCommit(Runnable acao) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    acao.run();
+                }
+            });
+        } else {
+            acao.run();
+        }
+    }
+}
@@ -0,0 +1,478 @@
+package br.com.petfamily.canilapi.service.pedigree;
+
+import br.com.petfamily.canilapi.controller.dto.PedigreeNoDTO;
+import br.com.petfamily.canilapi.model.Sexo;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Índice genealógico em memória.
+ * Cada cachorro recebe um índice inteiro denso e os pais ficam em arrays primitivos,
+ * então percorrer ancestrais não toca o banco nem inicializa proxies do Hibernate.
+ * <p>
+ * O COI (coeficiente de endogamia de Wright) é calculado sobre o pedigree completo pelo algoritmo de
+ * Meuwissen &amp; Luo (1992): o COI de cada cachorro fica memorizado em um array, e o de um casal (pai, mãe)
+ * custa um único percurso pelos ancestrais dos dois. O resultado por casal também fica em cache,
+ * o que cobre irmãos da mesma ninhada e consultas repetidas, até a próxima mudança de genealogia.
+ * <p>
+ * Leituras usam o read lock; alterações (vindas do carregamento inicial ou dos eventos de persistência)
+ * usam o write lock.
+ */
+@Component
+public class PedigreeIndex {
+
+    public static final int DESCONHECIDO = -1;
+    public static final int GERACOES_MAXIMAS = 15;
+
+    private static final int LIMITE_CACHE_COI = 500_000;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, Integer> indicePorId = new HashMap<>();
+    // COI do filhote por casal, chave = (índice do pai << 32) | índice da mãe
+    private final Map<Long, Double> cacheCoi = new ConcurrentHashMap<>();
+    // Vários leitores calculam COI em paralelo sob o read lock, então cada cálculo pega arrays de trabalho emprestados.
+    // Pool e não ThreadLocal: com threads virtuais cada requisição é uma thread nova e alocaria os seus
+    private final Queue<Rascunho> rascunhos = new ConcurrentLinkedQueue<>();
+
+    private long[] ids = new long[1024];
+    private int[] pais = new int[1024];
+    private int[] maes = new int[1024];
+    private int[] geracoes = new int[1024];
+    private double[] endogamia = new double[1024];
+    private String[] nomes = new String[1024];
+    private Sexo[] sexos = new Sexo[1024];
+    private boolean[] registrados = new boolean[1024];
+    private int tamanho = 0;
+
+    // Marcado quando uma alteração pode mudar a geração ou o COI de descendentes já indexados.
+    private volatile boolean calculosDesatualizados = false;
+
+    /**
+     * Insere ou atualiza um cachorro no índice.
+     * Pais ainda não registrados ganham um índice provisório, preenchido quando forem registrados.
+     */
+    public void registrar(long id, String nome, Sexo sexo, Long paiId, Long maeId) {
+        lock.writeLock().lock();
+        try {
+            registrarSemBloqueio(id, nome, sexo, paiId, maeId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Remove os dados de um cachorro. O índice denso é mantido porque descendentes ainda podem apontar para ele.
+     */
+    public void remover(long id) {
+        lock.writeLock().lock();
+        try {
+            Integer indice = indicePorId.get(id);
+            if (indice == null) {
+                return;
+            }
+            pais[indice] = DESCONHECIDO;
+            maes[indice] = DESCONHECIDO;
+            nomes[indice] = null;
+            sexos[indice] = null;
+            registrados[indice] = false;
+            invalidarCalculos();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Substitui todo o conteúdo do índice. Usado no carregamento inicial.
+     */
+    public void substituirTudo(Iterable<Registro> registros) {
+        lock.writeLock().lock();
+        try {
+            limparSemBloqueio();
+            for (Registro r : registros) {
+                registrarSemBloqueio(r.id(), r.nome(), r.sexo(), r.paiId(), r.maeId());
+            }
+            invalidarCalculos();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean contem(long id) {
+        lock.readLock().lock();
+        try {
+            Integer indice = indicePorId.get(id);
+            return indice != null && registrados[indice];
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int tamanho() {
+        lock.readLock().lock();
+        try {
+            return tamanho;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Coeficiente de endogamia de Wright do cachorro, já memorizado.
+     */
+    public double coi(long id) {
+        bloquearLeituraComCalculosEmDia();
+        try {
+            return endogamia[indiceObrigatorio(id)];
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * COI esperado para um filhote do cruzamento entre {@code paiId} e {@code maeId}
+     * (metade do parentesco aditivo entre os dois).
+     */
+    public double coiProjetado(long paiId, long maeId) {
+        bloquearLeituraComCalculosEmDia();
+        try {
+            return coiDoCasal(indiceObrigatorio(paiId), indiceObrigatorio(maeId));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Monta a árvore genealógica a partir do cachorro, limitada a {@code geracoes} níveis de ancestrais.
+     */
+    public PedigreeNoDTO arvore(long id, int geracoes) {
+        if (geracoes < 0 || geracoes > GERACOES_MAXIMAS) {
+            throw new IllegalArgumentException("O número de gerações deve estar entre 0 e " + GERACOES_MAXIMAS + ".");
+        }
+        lock.readLock().lock();
+        try {
+            return no(indiceObrigatorio(id), geracoes);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public String nomeDe(long id) {
+        lock.readLock().lock();
+        try {
+            return nomes[indiceObrigatorio(id)];
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // --- Estrutura interna (chamadores já seguram o lock) ---
+
+    private PedigreeNoDTO no(int indice, int geracoesRestantes) {
+        if (indice == DESCONHECIDO || !registrados[indice]) {
+            return null;
+        }
+        PedigreeNoDTO pai = geracoesRestantes > 0 ? no(pais[indice], geracoesRestantes - 1) : null;
+        PedigreeNoDTO mae = geracoesRestantes > 0 ? no(maes[indice], geracoesRestantes - 1) : null;
+        return new PedigreeNoDTO(ids[indice], nomes[indice], sexos[indice], pai, mae);
+    }
+
+    private int indiceObrigatorio(long id) {
+        Integer indice = indicePorId.get(id);
+        if (indice == null || !registrados[indice]) {
+            throw new IllegalArgumentException("Cachorro não encontrado no pedigree com ID: " + id);
+        }
+        return indice;
+    }
+
+    private double coiDoCasal(int pai, int mae) {
+        if (pai == DESCONHECIDO || mae == DESCONHECIDO) {
+            return 0.0;
+        }
+        long chave = ((long) pai << 32) | mae;
+        Double emCache = cacheCoi.get(chave);
+        if (emCache != null) {
+            return emCache;
+        }
+        double coi = meuwissenLuo(pai, mae);
+        if (cacheCoi.size() > LIMITE_CACHE_COI) {
+            cacheCoi.clear();
+        }
+        cacheCoi.put(chave, coi);
+        return coi;
+    }
+
+    /**
+     * Meuwissen &amp; Luo (1992): para um filhote hipotético x de (pai, mãe),
+     * a(x,x) = Σ L(j)² · D(j) sobre x e seus ancestrais, onde L propaga ½ de cada cachorro para seus pais
+     * e D(j) = ½ − ¼ (F(pai j) + F(mãe j)) é a variância mendeliana de j. Então F(x) = a(x,x) − 1.
+     * <p>
+     * Os ancestrais são processados do mais novo para o mais velho (maior geração primeiro), garantindo que
+     * todo o L de um cachorro já foi acumulado antes de ele ser processado. Requer o COI dos ancestrais em dia.
+     */
+    private double meuwissenLuo(int pai, int mae) {
+        Rascunho r = rascunhos.poll();
+        if (r == null) {
+            r = new Rascunho();
+        }
+        r.preparar(tamanho);
+        try {
+            double diagonal = variancaMendeliana(pai, mae); // o próprio filhote, com L = 1
+            r.acumular(pai, 0.5, geracoes);
+            r.acumular(mae, 0.5, geracoes);
+            while (!r.vazio()) {
+                int j = r.proximo();
+                double l = r.contribuicao[j];
+                diagonal += l * l * variancaMendeliana(pais[j], maes[j]);
+                r.acumular(pais[j], 0.5 * l, geracoes);
+                r.acumular(maes[j], 0.5 * l, geracoes);
+            }
+            return diagonal - 1.0;
+        } finally {
+            r.limpar();
+            rascunhos.offer(r);
+        }
+    }
+
+    private double variancaMendeliana(int pai, int mae) {
+        if (pai != DESCONHECIDO && mae != DESCONHECIDO) {
+            return 0.5 - 0.25 * (endogamia[pai] + endogamia[mae]);
+        }
+        if (pai != DESCONHECIDO) {
+            return 0.75 - 0.25 * endogamia[pai];
+        }
+        if (mae != DESCONHECIDO) {
+            return 0.75 - 0.25 * endogamia[mae];
+        }
+        return 1.0;
+    }
+
+    private void registrarSemBloqueio(long id, String nome, Sexo sexo, Long paiId, Long maeId) {
+        Integer existente = indicePorId.get(id);
+        int indice = existente != null ? existente : alocar(id);
+        int novoPai = paiId != null ? indiceOuProvisorio(paiId) : DESCONHECIDO;
+        int novaMae = maeId != null ? indiceOuProvisorio(maeId) : DESCONHECIDO;
+
+        boolean paisMudaram = pais[indice] != novoPai || maes[indice] != novaMae;
+        nomes[indice] = nome;
+        sexos[indice] = sexo;
+        pais[indice] = novoPai;
+        maes[indice] = novaMae;
+        registrados[indice] = true;
+
+        if (existente == null) {
+            // Cachorro novo ainda não tem descendentes: geração e COI podem ser calculados direto
+            // e nenhum valor já memorizado muda.
+            geracoes[indice] = 1 + Math.max(geracaoDe(novoPai), geracaoDe(novaMae));
+            if (!calculosDesatualizados) {
+                endogamia[indice] = coiDoCasal(novoPai, novaMae);
+            }
+        } else if (paisMudaram) {
+            invalidarCalculos();
+        }
+    }
+
+    private int indiceOuProvisorio(long id) {
+        Integer indice = indicePorId.get(id);
+        return indice != null ? indice : alocar(id);
+    }
+
+    private int alocar(long id) {
+        if (tamanho == ids.length) {
+            int capacidade = ids.length + (ids.length >> 1);
+            ids = Arrays.copyOf(ids, capacidade);
+            pais = Arrays.copyOf(pais, capacidade);
+            maes = Arrays.copyOf(maes, capacidade);
+            geracoes = Arrays.copyOf(geracoes, capacidade);
+            endogamia = Arrays.copyOf(endogamia, capacidade);
+            nomes = Arrays.copyOf(nomes, capacidade);
+            sexos = Arrays.copyOf(sexos, capacidade);
+            registrados = Arrays.copyOf(registrados, capacidade);
+        }
+        int indice = tamanho++;
+        ids[indice] = id;
+        pais[indice] = DESCONHECIDO;
+        maes[indice] = DESCONHECIDO;
+        geracoes[indice] = 1;
+        endogamia[indice] = 0.0;
+        indicePorId.put(id, indice);
+        return indice;
+    }
+
+    private int geracaoDe(int indice) {
+        return indice == DESCONHECIDO ? 0 : geracoes[indice];
+    }
+
+    private void limparSemBloqueio() {
+        indicePorId.clear();
+        Arrays.fill(nomes, 0, tamanho, null);
+        Arrays.fill(sexos, 0, tamanho, null);
+        Arrays.fill(registrados, 0, tamanho, false);
+        tamanho = 0;
+    }
+
+    private void invalidarCalculos() {
+        cacheCoi.clear();
+        calculosDesatualizados = true;
+    }
+
+    /**
+     * Adquire o read lock com geração e COI em dia; quem chama solta o read lock.
+     * Se estiverem desatualizados, recalcula sob o write lock e o rebaixa para o read lock (adquirido antes de soltar
+     * o write lock). Sem intervalo entre os dois, um {@link #registrar} concorrente não tem como desatualizá-los de
+     * novo antes da leitura, que memorizaria no cache um COI calculado sobre arrays antigos.
+     */
+    private void bloquearLeituraComCalculosEmDia() {
+        lock.readLock().lock();
+        if (!calculosDesatualizados) {
+            return;
+        }
+        lock.readLock().unlock();
+        lock.writeLock().lock();
+        try {
+            if (calculosDesatualizados) {
+                recalcular();
+            }
+            lock.readLock().lock();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Recalcula a geração (1 + maior geração dos pais) e o COI de todos os cachorros, dos mais velhos
+     * para os mais novos. Feito sob o write lock para que as leituras concorrentes sempre vejam valores consistentes.
+     */
+    private void recalcular() {
+        Arrays.fill(geracoes, 0, tamanho, 0);
+        int maiorGeracao = 0;
+        for (int i = 0; i < tamanho; i++) {
+            maiorGeracao = Math.max(maiorGeracao, calcularGeracao(i, 0));
+        }
+
+        // Ordenação por contagem: índices agrupados por geração
+        int[] inicioDaGeracao = new int[maiorGeracao + 2];
+        for (int i = 0; i < tamanho; i++) {
+            inicioDaGeracao[geracoes[i] + 1]++;
+        }
+        for (int g = 1; g < inicioDaGeracao.length; g++) {
+            inicioDaGeracao[g] += inicioDaGeracao[g - 1];
+        }
+        int[] ordem = new int[tamanho];
+        for (int i = 0; i < tamanho; i++) {
+            ordem[inicioDaGeracao[geracoes[i]]++] = i;
+        }
+
+        cacheCoi.clear();
+        for (int i : ordem) {
+            endogamia[i] = coiDoCasal(pais[i], maes[i]);
+        }
+        calculosDesatualizados = false;
+    }
+
+    private int calcularGeracao(int indice, int profundidade) {
+        // O limite de profundidade protege contra ciclos em dados inconsistentes
+        if (indice == DESCONHECIDO || profundidade > 64) {
+            return 0;
+        }
+        if (geracoes[indice] > 0) {
+            return geracoes[indice];
+        }
+        int geracao = 1 + Math.max(calcularGeracao(pais[indice], profundidade + 1),
+                calcularGeracao(maes[indice], profundidade + 1));
+        geracoes[indice] = geracao;
+        return geracao;
+    }
+
+    /**
+     * Arrays de trabalho do percurso de Meuwissen &amp; Luo: contribuição L por índice (zerada após o uso,
+     * só nas posições tocadas) e um heap de máximo de (geração &lt;&lt; 32 | índice).
+     */
+    private static final class Rascunho {
+
+        private double[] contribuicao = new double[0];
+        private int[] tocados = new int[64];
+        private long[] heap = new long[64];
+        private int quantidadeTocados;
+        private int tamanhoHeap;
+
+        void preparar(int tamanhoIndice) {
+            if (contribuicao.length < tamanhoIndice) {
+                contribuicao = new double[Math.max(tamanhoIndice, contribuicao.length + (contribuicao.length >> 1))];
+            }
+        }
+
+        void acumular(int indice, double valor, int[] geracoes) {
+            if (indice == DESCONHECIDO) {
+                return;
+            }
+            if (contribuicao[indice] == 0.0) {
+                if (quantidadeTocados == tocados.length) {
+                    tocados = Arrays.copyOf(tocados, tocados.length * 2);
+                }
+                tocados[quantidadeTocados++] = indice;
+                empilhar(((long) geracoes[indice] << 32) | indice);
+            }
+            contribuicao[indice] += valor;
+        }
+
+        boolean vazio() {
+            return tamanhoHeap == 0;
+        }
+
+        int proximo() {
+            long topo = heap[0];
+            long ultimo = heap[--tamanhoHeap];
+            int i = 0;
+            int filho;
+            while ((filho = 2 * i + 1) < tamanhoHeap) {
+                if (filho + 1 < tamanhoHeap && heap[filho + 1] > heap[filho]) {
+                    filho++;
+                }
+                if (heap[filho] <= ultimo) {
+                    break;
+                }
+                heap[i] = heap[filho];
+                i = filho;
+            }
+            heap[i] = ultimo;
+            return (int) topo;
+        }
+
+        void limpar() {
+            for (int i = 0; i < quantidadeTocados; i++) {
+                contribuicao[tocados[i]] = 0.0;
+            }
+            quantidadeTocados = 0;
+            tamanhoHeap = 0;
+        }
+
+        private void empilhar(long valor) {
+            if (tamanhoHeap == heap.length) {
+                heap = Arrays.copyOf(heap, heap.length * 2);
+            }
+            int i = tamanhoHeap++;
+            while (i > 0) {
+                int pai = (i - 1) >>> 1;
+                if (heap[pai] >= valor) {
+                    break;
+                }
+                heap[i] = heap[pai];
+                i = pai;
+            }
+            heap[i] = valor;
+        }
+    }
+
+    /**
+     * Linha usada para carregar o índice em lote.
+     */
+    public record Registro(long id, String nome, Sexo sexo, Long paiId, Long maeId) {
+    }
+}
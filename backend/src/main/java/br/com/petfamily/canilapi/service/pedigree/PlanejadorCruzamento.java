@@ -0,0 +1,146 @@
+package br.com.petfamily.canilapi.service.pedigree;
+
+import br.com.petfamily.canilapi.model.TipoCaracteristica;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Ranqueia os padreadores candidatos para uma matriz.
+ * Para cada candidato calcula o COI projetado do filhote (parentesco pai x mãe, via {@link PedigreeIndex})
+ * e o risco de características recessivas: características que um dos dois porta e o outro porta ou expressa.
+ * <p>
+ * O trabalho é dividido com fork/join entre os núcleos disponíveis; cada folha mantém apenas os K melhores,
+ * e os resultados parciais são combinados na volta.
+ */
+@Component
+public class PlanejadorCruzamento {
+
+    // Abaixo deste número de candidatos a tarefa é executada direto, sem dividir.
+    static final int LIMITE_SEQUENCIAL = 256;
+
+    public static final Comparator<Candidato> MELHOR_PRIMEIRO = Comparator
+            .comparingDouble(Candidato::coiProjetado)
+            .thenComparingInt(Candidato::riscoRecessivo)
+            .thenComparingLong(Candidato::paiId);
+
+    private final PedigreeIndex pedigreeIndex;
+    private final ForkJoinPool pool;
+
+    @Autowired
+    public PlanejadorCruzamento(PedigreeIndex pedigreeIndex) {
+        this(pedigreeIndex, ForkJoinPool.commonPool());
+    }
+
+    public PlanejadorCruzamento(PedigreeIndex pedigreeIndex, ForkJoinPool pool) {
+        this.pedigreeIndex = pedigreeIndex;
+        this.pool = pool;
+    }
+
+    /**
+     * @param maeId                  A matriz.
+     * @param padreadores            IDs dos machos elegíveis.
+     * @param caracteristicasMae     Características da matriz, por descrição normalizada.
+     * @param caracteristicasPorPai  Características de cada padreador, por descrição normalizada.
+     * @param top                    Quantidade de candidatos a retornar.
+     * @return Os {@code top} melhores candidatos, do melhor para o pior.
+     */
+    public List<Candidato> ranquear(long maeId, long[] padreadores,
+                                    Map<String, TipoCaracteristica> caracteristicasMae,
+                                    Map<Long, Map<String, TipoCaracteristica>> caracteristicasPorPai,
+                                    int top) {
+        if (padreadores.length == 0 || top <= 0) {
+            return List.of();
+        }
+        var tarefa = new RanquearTarefa(maeId, padreadores, 0, padreadores.length,
+                caracteristicasMae, caracteristicasPorPai, top);
+        List<Candidato> melhores = pool.invoke(tarefa);
+        melhores.sort(MELHOR_PRIMEIRO);
+        return melhores;
+    }
+
+    static int riscoRecessivo(Map<String, TipoCaracteristica> mae, Map<String, TipoCaracteristica> pai) {
+        if (mae.isEmpty() || pai == null || pai.isEmpty()) {
+            return 0;
+        }
+        int risco = 0;
+        for (Map.Entry<String, TipoCaracteristica> caracteristica : mae.entrySet()) {
+            TipoCaracteristica tipoPai = pai.get(caracteristica.getKey());
+            if (tipoPai != null
+                    && (tipoPai == TipoCaracteristica.PORTADA || caracteristica.getValue() == TipoCaracteristica.PORTADA)) {
+                risco++;
+            }
+        }
+        return risco;
+    }
+
+    public record Candidato(long paiId, double coiProjetado, int riscoRecessivo) {
+    }
+
+    private final class RanquearTarefa extends RecursiveTask<List<Candidato>> {
+
+        private final long maeId;
+        private final long[] padreadores;
+        private final int inicio;
+        private final int fim;
+        private final Map<String, TipoCaracteristica> caracteristicasMae;
+        private final Map<Long, Map<String, TipoCaracteristica>> caracteristicasPorPai;
+        private final int top;
+
+        RanquearTarefa(long maeId, long[] padreadores, int inicio, int fim,
+                       Map<String, TipoCaracteristica> caracteristicasMae,
+                       Map<Long, Map<String, TipoCaracteristica>> caracteristicasPorPai, int top) {
+            this.maeId = maeId;
+            this.padreadores = padreadores;
+            this.inicio = inicio;
+            this.fim = fim;
+            this.caracteristicasMae = caracteristicasMae;
+            this.caracteristicasPorPai = caracteristicasPorPai;
+            this.top = top;
+        }
+
+        @Override
+        protected List<Candidato> compute() {
+            if (fim - inicio <= LIMITE_SEQUENCIAL) {
+                return calcularDireto();
+            }
+            int meio = (inicio + fim) >>> 1;
+            var esquerda = new RanquearTarefa(maeId, padreadores, inicio, meio, caracteristicasMae, caracteristicasPorPai, top);
+            var direita = new RanquearTarefa(maeId, padreadores, meio, fim, caracteristicasMae, caracteristicasPorPai, top);
+            esquerda.fork();
+            List<Candidato> melhoresDireita = direita.compute();
+            return combinar(esquerda.join(), melhoresDireita);
+        }
+
+        private List<Candidato> calcularDireto() {
+            // Heap de máximo (pior no topo) limitado a 'top' elementos
+            PriorityQueue<Candidato> melhores = new PriorityQueue<>(top + 1, MELHOR_PRIMEIRO.reversed());
+            for (int i = inicio; i < fim; i++) {
+                long paiId = padreadores[i];
+                var candidato = new Candidato(paiId,
+                        pedigreeIndex.coiProjetado(paiId, maeId),
+                        riscoRecessivo(caracteristicasMae, caracteristicasPorPai.get(paiId)));
+                melhores.offer(candidato);
+                if (melhores.size() > top) {
+                    melhores.poll();
+                }
+            }
+            return new ArrayList<>(melhores);
+        }
+
+        private List<Candidato> combinar(List<Candidato> a, List<Candidato> b) {
+            List<Candidato> todos = new ArrayList<>(a.size() + b.size());
+            todos.addAll(a);
+            todos.addAll(b);
+            todos.sort(MELHOR_PRIMEIRO);
+            return todos.size() > top ? new ArrayList<>(todos.subList(0, top)) : todos;
+        }
+    }
+}
@@ -0,0 +1,95 @@
+-- Esquema exatamente como o ddl-auto=update o gerava antes das migrações (entidades com ids IDENTITY, sem versão).
+-- Bancos existentes não executam este script: o Flyway os marca com a V1 como baseline (spring.flyway.baseline-on-migrate)
+-- e aplica a partir da V2, então nada que eles não tenham pode entrar aqui. Os nomes das chaves estrangeiras são os
+-- gerados pelo Hibernate, os mesmos desses bancos.
+-- O SQL roda tanto no PostgreSQL quanto no H2 em modo PostgreSQL usado pelos testes.
+
+create table cachorros (
+    id bigint generated by default as identity,
+    data_nascimento date,
+    foi_vendido boolean not null,
+    nome varchar(255),
+    raca varchar(255),
+    sexo varchar(255) check (sexo in ('MACHO', 'FEMEA')),
+    status varchar(255) check (status in ('DISPONIVEL', 'RESERVADO', 'VENDIDO', 'MATRIZ_PADREADOR', 'INDISPONIVEL')),
+    mae_id bigint,
+    ninhada_id bigint,
+    pai_id bigint,
+    plano_alimentar_id bigint unique,
+    tutor_id bigint,
+    primary key (id)
+);
+
+create table caracteristicas (
+    id bigint generated by default as identity,
+    descricao varchar(255),
+    tipo varchar(255) check (tipo in ('EXPRESSA', 'PORTADA')),
+    cachorro_id bigint,
+    primary key (id)
+);
+
+create table despesas (
+    id bigint generated by default as identity,
+    data date,
+    descricao varchar(255),
+    valor numeric(38,2),
+    cachorro_id bigint not null,
+    primary key (id)
+);
+
+create table ninhadas (
+    id bigint generated by default as identity,
+    data_nascimento date,
+    mae_id bigint not null,
+    pai_id bigint not null,
+    primary key (id)
+);
+
+create table planos_alimentares (
+    id bigint generated by default as identity,
+    frequencia_diaria integer not null,
+    instrucoes_especiais varchar(255),
+    quantidade_gramas_por_dia numeric(38,2),
+    tipo_racao varchar(255),
+    primary key (id)
+);
+
+create table tutores (
+    id bigint generated by default as identity,
+    email varchar(255),
+    nome varchar(255),
+    telefone varchar(255),
+    primary key (id)
+);
+
+create table vacinas (
+    id bigint generated by default as identity,
+    data_aplicacao date,
+    data_proxima_aplicacao date,
+    nome varchar(255),
+    valor numeric(38,2),
+    cachorro_id bigint,
+    primary key (id)
+);
+
+create table vendas (
+    id bigint generated by default as identity,
+    data_venda date,
+    valor numeric(38,2),
+    cachorro_id bigint not null unique,
+    novo_tutor_id bigint not null,
+    primary key (id)
+);
+
+alter table if exists cachorros add constraint FKpxdycbss16j1rlg86h8mwrhih foreign key (mae_id) references cachorros;
+alter table if exists cachorros add constraint FKtl9gh2q2tls4c47h679vhugxk foreign key (ninhada_id) references ninhadas;
+alter table if exists cachorros add constraint FK1681bpsdqcbamrc7lifb08dm1 foreign key (pai_id) references cachorros;
+alter table if exists cachorros add constraint FKmbwlvk0tg9gsfphqxuja8j824 foreign key (plano_alimentar_id) references planos_alimentares;
+alter table if exists cachorros add constraint FK158era69h8ugp937liwvpi6iv foreign key (tutor_id) references tutores;
+alter table if exists caracteristicas add constraint FKoesm1atmseeip4x1gbs11xl3g foreign key (cachorro_id) references cachorros;
+alter table if exists despesas add constraint FKike8ysojjuxb5kr1xu3vlbwy5 foreign key (cachorro_id) references cachorros;
+alter table if exists ninhadas add constraint FK2cq5ui9j1u0w8brt840c456fs foreign key (mae_id) references cachorros;
+alter table if exists ninhadas add constraint FKql0ljm1609r0rhlw0qypchwsr foreign key (pai_id) references cachorros;
+alter table if exists vacinas add constraint FKqgv07j6vi9ndegtajk4o9v1ev foreign key (cachorro_id) references cachorros;
+alter table if exists vendas add constraint FK4g7ifdipyb87ncw51e2ijqlk5 foreign key (cachorro_id) references cachorros;
+alter table if exists vendas add constraint FKfbq0ab9egythvlx3pqtiklhkb foreign key (novo_tutor_id) references tutores;
@@ -0,0 +1,50 @@
+-- O que as entidades ganharam sobre o esquema original (V1): versão das linhas, ids por sequência,
+-- as tabelas de leitura do dashboard e os índices da paginação por cursor. Roda também nos bancos marcados
+-- com a V1 como baseline, então tudo aqui parte do esquema que o ddl-auto=update gerava.
+
+-- Versão das linhas (ETag e If-Match); as já gravadas começam em 0
+alter table tutores add column versao bigint default 0 not null;
+alter table cachorros add column versao bigint default 0 not null;
+alter table ninhadas add column versao bigint default 0 not null;
+alter table vendas add column versao bigint default 0 not null;
+
+-- Ids por sequência (permitem INSERTs em batch) em vez de IDENTITY. Cada valor V reserva os ids V-49 a V
+-- (otimizador "pooled"), então a sequência começa em 50: o primeiro bloco é 1 a 50. Em bancos com dados,
+-- SequenciaIds avança cada sequência para depois do maior id da tabela na subida da aplicação.
+alter table cachorros alter column id drop identity;
+alter table caracteristicas alter column id drop identity;
+alter table despesas alter column id drop identity;
+alter table vacinas alter column id drop identity;
+create sequence cachorros_seq start with 50 increment by 50;
+create sequence caracteristicas_seq start with 50 increment by 50;
+create sequence despesas_seq start with 50 increment by 50;
+create sequence vacinas_seq start with 50 increment by 50;
+
+-- Feed de atividades do dashboard (AtividadeService preenche com o histórico na primeira subida)
+create table atividades (
+    id bigint generated by default as identity,
+    tipo varchar(20) not null check (tipo in ('VENDA', 'NINHADA', 'DESPESA')),
+    descricao varchar(500) not null,
+    data_hora timestamp(6) not null,
+    entidade_id bigint,
+    primary key (id)
+);
+
+-- Receitas e despesas somadas por dia e categoria (ResumoFinanceiroService reconstrói a partir das vendas e despesas)
+create table resumo_financeiro_diario (
+    id bigint generated by default as identity,
+    dia date not null,
+    tipo varchar(20) not null check (tipo in ('RECEITA', 'DESPESA')),
+    categoria varchar(30) not null,
+    total numeric(19,2) not null,
+    quantidade bigint not null,
+    primary key (id),
+    constraint uk_resumo_financeiro_dia_tipo_categoria unique (dia, tipo, categoria)
+);
+
+-- Paginação por cursor: ordem (chave, id) das listagens
+create index idx_cachorros_nome_id on cachorros (nome, id);
+create index idx_tutores_nome_id on tutores (nome, id);
+create index idx_ninhadas_data_id on ninhadas (data_nascimento, id);
+create index idx_ninhadas_mae_data_id on ninhadas (mae_id, data_nascimento, id);
+create index idx_atividades_data_hora_id on atividades (data_hora, id);
@@ -0,0 +1,26 @@
+-- Índices para as consultas dos repositórios; PlanoConsultasTest falha se alguma delas voltar a varrer a tabela.
+-- "if not exists" porque bancos que vieram do ddl-auto podem já ter algum deles criado à mão.
+
+-- Chaves estrangeiras. ninhadas.mae_id já é o início de idx_ninhadas_mae_data_id; vendas.cachorro_id e
+-- cachorros.plano_alimentar_id já têm índice pela restrição unique.
+create index if not exists idx_cachorros_tutor on cachorros (tutor_id);
+create index if not exists idx_cachorros_pai on cachorros (pai_id);
+create index if not exists idx_cachorros_mae on cachorros (mae_id);
+create index if not exists idx_cachorros_ninhada on cachorros (ninhada_id);
+create index if not exists idx_ninhadas_pai on ninhadas (pai_id);
+create index if not exists idx_caracteristicas_cachorro on caracteristicas (cachorro_id);
+create index if not exists idx_vacinas_cachorro on vacinas (cachorro_id);
+create index if not exists idx_vendas_novo_tutor on vendas (novo_tutor_id);
+-- Despesas de uma página de cachorros já saem na ordem da resposta (data)
+create index if not exists idx_despesas_cachorro_data on despesas (cachorro_id, data);
+
+-- Períodos do dashboard, relatórios e listagem de despesas
+create index if not exists idx_despesas_data on despesas (data);
+create index if not exists idx_vendas_data_venda on vendas (data_venda);
+
+-- Contagem por status (dashboard) e candidatos do planejamento de cruzamento (status + sexo)
+create index if not exists idx_cachorros_status_sexo on cachorros (status, sexo);
+
+-- Falha se houver emails repetidos; encontre-os antes com
+--   select email, count(*) from tutores where email is not null group by email having count(*) > 1;
+create unique index if not exists uk_tutores_email on tutores (email);
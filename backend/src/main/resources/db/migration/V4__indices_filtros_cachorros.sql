@@ -0,0 +1,12 @@
+-- Filtros de GET /cachorros. A listagem filtrada ordena por (nome, id): com a coluna do filtro à frente,
+-- o banco lê a página já ordenada e para no LIMIT, sem ordenar todos os cachorros do filtro.
+create index if not exists idx_cachorros_status_nome_id on cachorros (status, nome, id);
+create index if not exists idx_cachorros_raca_nome_id on cachorros (raca, nome, id);
+create index if not exists idx_cachorros_data_nascimento on cachorros (data_nascimento);
+
+-- As facetas agrupam por (status, raça, sexo): com as três colunas no índice o PostgreSQL conta por
+-- index-only scan, sem ler a tabela. Continua atendendo status + sexo (planejamento de cruzamento).
+drop index if exists idx_cachorros_status_sexo;
+create index if not exists idx_cachorros_status_sexo_raca on cachorros (status, sexo, raca);
+
+-- Sexo e foiVendido sozinhos não têm índice: com dois ou três valores possíveis, a varredura é o plano certo.
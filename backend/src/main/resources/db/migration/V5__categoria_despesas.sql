@@ -0,0 +1,10 @@
+-- Categoria das despesas. As já gravadas ficam em OUTROS, a mesma categoria com que entraram no
+-- resumo_financeiro_diario, então o resumo continua batendo com a tabela sem reconstrução.
+alter table despesas add column categoria varchar(255) default 'OUTROS' not null;
+alter table despesas add constraint ck_despesas_categoria
+    check (categoria in ('SAUDE', 'VETERINARIO', 'ALIMENTACAO', 'ACESSORIOS', 'DOCUMENTACAO', 'OUTROS'));
+
+-- A análise por raça agrupa as despesas do período por categoria e cachorro: com as colunas lidas no índice,
+-- o PostgreSQL resolve a faixa de datas por index-only scan. Continua atendendo as consultas só por data.
+drop index if exists idx_despesas_data;
+create index if not exists idx_despesas_data_categoria on despesas (data, categoria, cachorro_id, valor);
@@ -0,0 +1,13 @@
+-- Custo acumulado (soma das despesas) e lucro (venda menos custo; nulo se não vendido) de cada cachorro.
+-- Mantidos pela aplicação com incrementos no UPDATE; aqui só o preenchimento inicial.
+alter table cachorros add column custo_acumulado numeric(19,2) default 0 not null;
+alter table cachorros add column lucro numeric(19,2);
+
+update cachorros set custo_acumulado =
+    (select coalesce(sum(d.valor), 0) from despesas d where d.cachorro_id = cachorros.id);
+update cachorros set lucro =
+    (select v.valor from vendas v where v.cachorro_id = cachorros.id) - custo_acumulado;
+
+-- Ordenação de GET /cachorros por custo e lucro (o id desempata, como nas demais ordenações)
+create index if not exists idx_cachorros_custo_acumulado_id on cachorros (custo_acumulado, id);
+create index if not exists idx_cachorros_lucro_id on cachorros (lucro, id);
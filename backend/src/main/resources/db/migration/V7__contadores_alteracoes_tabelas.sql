@@ -0,0 +1,9 @@
+-- Contadores de alteração por tabela, base dos ETags (AlteracoesTabelas). No banco, e não em memória, para que
+-- todas as instâncias enxerguem a mesma versão; cada transação de escrita incrementa os das tabelas que alterou.
+create table alteracoes_tabelas (
+    tabela varchar(30) not null,
+    contador bigint default 0 not null,
+    primary key (tabela)
+);
+
+insert into alteracoes_tabelas (tabela) values ('cachorros'), ('tutores'), ('ninhadas'), ('despesas'), ('vendas');
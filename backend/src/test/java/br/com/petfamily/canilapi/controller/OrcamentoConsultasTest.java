@@ -0,0 +1,364 @@
+package br.com.petfamily.canilapi.controller;
+
+import br.com.petfamily.canilapi.controller.dto.CachorroRequestDTO;
+import br.com.petfamily.canilapi.controller.dto.CachorroStatusUpdateDTO;
+import br.com.petfamily.canilapi.controller.dto.DespesaLoteRequestDTO;
+import br.com.petfamily.canilapi.controller.dto.DespesaRequestDTO;
+import br.com.petfamily.canilapi.controller.dto.FilhoteRequestDTO;
+import br.com.petfamily.canilapi.controller.dto.NinhadaRequestDTO;
+import br.com.petfamily.canilapi.controller.dto.NinhadaResponseDTO;
+import br.com.petfamily.canilapi.controller.dto.TutorRequestDTO;
+import br.com.petfamily.canilapi.controller.dto.VendaRequestDTO;
+import br.com.petfamily.canilapi.controller.dto.VendaRequestFlexDTO;
+import br.com.petfamily.canilapi.infra.persistence.ContadorSql;
+import br.com.petfamily.canilapi.infra.persistence.ContadorSqlConfig;
+import br.com.petfamily.canilapi.model.Cachorro;
+import br.com.petfamily.canilapi.model.CategoriaDespesa;
+import br.com.petfamily.canilapi.model.Sexo;
+import br.com.petfamily.canilapi.model.StatusCachorro;
+import br.com.petfamily.canilapi.model.Tutor;
+import br.com.petfamily.canilapi.repository.CachorroRepository;
+import br.com.petfamily.canilapi.repository.TutorRepository;
+import br.com.petfamily.canilapi.service.CachorroService;
+import br.com.petfamily.canilapi.service.NinhadaService;
+import br.com.petfamily.canilapi.service.VendaService;
+import br.com.petfamily.canilapi.service.dashboard.DashboardCacheService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Orçamento de SQL por endpoint: cada rota tem um limite declarado de comandos executados
+ * e de linhas lidas sobre a massa de dados abaixo. Um N+1 novo (ou uma listagem que passe a carregar
+ * a tabela inteira) estoura o orçamento e quebra o build.
+ * <p>
+ * Ao mudar uma consulta de propósito, ajuste o orçamento da rota no mesmo commit.
+ * Os endpoints do dashboard servidos de cache só consultam o banco na primeira carga; o orçamento é o dessa carga,
+ * e o cache é descartado antes de medi-los (senão um valor deixado por outra requisição passaria com zero comandos).
+ * <p>
+ * As escritas rodam por último, cada uma sobre registros criados para ela, para não mudar a massa das leituras.
+ * <p>
+ * Rotas com ETag leem os contadores de {@code AlteracoesTabelas} (um comando, uma linha por tabela do ETag), e toda
+ * escrita os incrementa no commit (um comando).
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@Import(ContadorSqlConfig.class)
+// Banco próprio: o contexto deste teste não compartilha o H2 com os demais
+@TestPropertySource(properties = "spring.datasource.url=jdbc:h2:mem:orcamento-consultas;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class OrcamentoConsultasTest {
+
+    private static final int TUTORES = 10;
+    private static final int CACHORROS_POR_TUTOR = 2;
+    private static final int DESPESAS_POR_CACHORRO = 2;
+    private static final int NINHADAS = 3;
+    private static final int FILHOTES_POR_NINHADA = 4;
+    // Combinações (status, raça, sexo) da massa: disponíveis, o vendido e matriz/padreador (todos Labrador)
+    private static final int GRUPOS_FACETAS = 5;
+    // Tabelas nos ETags: listagem de cachorros (cachorros, tutores e despesas), de tutores e de ninhadas (duas cada)
+    private static final int ETAG_LISTAGEM_CACHORROS = 3;
+    private static final int ETAG_LISTAGEM = 2;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TutorRepository tutorRepository;
+
+    @Autowired
+    private CachorroRepository cachorroRepository;
+
+    @Autowired
+    private CachorroService cachorroService;
+
+    @Autowired
+    private NinhadaService ninhadaService;
+
+    @Autowired
+    private VendaService vendaService;
+
+    @Autowired
+    private DashboardCacheService dashboardCacheService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private Long tutorId;
+    private Long cachorroId;
+    private Long cachorroVendidoId;
+    private Long matrizId;
+    private Long padreadorId;
+    private Long ninhadaId;
+
+    /**
+     * 10 tutores com 2 cachorros cada (2 despesas por cachorro), um desses cachorros vendido a outro tutor,
+     * e uma matriz com 3 ninhadas de 4 filhotes do mesmo padreador.
+     */
+    @BeforeAll
+    void popularBanco() {
+        List<Cachorro> cachorrosComTutor = new ArrayList<>();
+        for (int t = 0; t < TUTORES; t++) {
+            Tutor tutor = tutorRepository.save(new Tutor("Tutor %02d".formatted(t), "1199999%04d".formatted(t), "tutor%d@canil.com".formatted(t)));
+            for (int c = 0; c < CACHORROS_POR_TUTOR; c++) {
+                cachorrosComTutor.add(cachorro("Cão %02d-%d".formatted(t, c), c % 2 == 0 ? Sexo.MACHO : Sexo.FEMEA, tutor, StatusCachorro.DISPONIVEL));
+            }
+        }
+        cachorroRepository.saveAll(cachorrosComTutor);
+        for (Cachorro cachorro : cachorrosComTutor) {
+            for (int d = 0; d < DESPESAS_POR_CACHORRO; d++) {
+                cachorroService.adicionarDespesa(cachorro.getId(),
+                        new DespesaRequestDTO("Ração " + d, new BigDecimal("80.00"), LocalDate.now().minusDays(d),
+                                CategoriaDespesa.ALIMENTACAO));
+            }
+        }
+
+        Cachorro vendido = cachorrosComTutor.get(0);
+        Long novoTutorId = cachorrosComTutor.get(CACHORROS_POR_TUTOR).getTutor().getId();
+        vendaService.realizarVendaFlex(vendido.getId(), new VendaRequestFlexDTO(new BigDecimal("2500.00"), LocalDate.now(), novoTutorId, null));
+
+        Cachorro matriz = cachorroRepository.save(cachorro("Matriz", Sexo.FEMEA, null, StatusCachorro.MATRIZ_PADREADOR));
+        Cachorro padreador = cachorroRepository.save(cachorro("Padreador", Sexo.MACHO, null, StatusCachorro.MATRIZ_PADREADOR));
+        for (int n = 0; n < NINHADAS; n++) {
+            int ninhada = n;
+            List<FilhoteRequestDTO> filhotes = IntStream.range(0, FILHOTES_POR_NINHADA)
+                    .mapToObj(f -> new FilhoteRequestDTO("Filhote %d-%d".formatted(ninhada, f), f % 2 == 0 ? Sexo.MACHO : Sexo.FEMEA))
+                    .toList();
+            NinhadaResponseDTO criada = ninhadaService.criarNinhada(
+                    new NinhadaRequestDTO(LocalDate.now().minusMonths(NINHADAS - n), matriz.getId(), padreador.getId(), filhotes));
+            ninhadaId = criada.id();
+        }
+
+        tutorId = cachorrosComTutor.get(2 * CACHORROS_POR_TUTOR).getTutor().getId();
+        cachorroId = cachorrosComTutor.get(1).getId();
+        cachorroVendidoId = vendido.getId();
+        matrizId = matriz.getId();
+        padreadorId = padreador.getId();
+    }
+
+    Stream<Orcamento> orcamentos() {
+        int despesasPorPagina = 10 * DESPESAS_POR_CACHORRO;
+        int filhotes = NINHADAS * FILHOTES_POR_NINHADA;
+        return Stream.of(
+                // CachorroController: ETag + linhas da página (total na mesma consulta) + despesas da página + facetas
+                // (se não estiverem em cache, com a versão delas: o contador de cachorros)
+                new Orcamento("/cachorros?size=10", 5, ETAG_LISTAGEM_CACHORROS + 10 + despesasPorPagina + 1 + GRUPOS_FACETAS),
+                // Com filtro o total vem das facetas: facetas + linhas + despesas (matriz e padreador não têm despesas)
+                new Orcamento("/cachorros?status=MATRIZ_PADREADOR&size=10", 5, ETAG_LISTAGEM_CACHORROS + 1 + 2 + 2),
+                new Orcamento("/cachorros?after=&size=10", 3, ETAG_LISTAGEM_CACHORROS + 11 + despesasPorPagina),
+                // Versão e contador de tutores (ETag) + cachorro com tutor + despesas
+                new Orcamento("/cachorros/" + cachorroId, 4, 2 + 1 + DESPESAS_POR_CACHORRO),
+                // Cachorro com tutor, despesas e venda num SELECT; no máximo mais um para o tutor da venda
+                new Orcamento("/cachorros/" + cachorroVendidoId + "/relatorio-financeiro", 2, DESPESAS_POR_CACHORRO + 1),
+                // existsById, ninhadas da mãe e filhotes
+                new Orcamento("/cachorros/" + matrizId + "/ninhadas", 3, 1 + NINHADAS + filhotes),
+                new Orcamento("/cachorros/" + matrizId + "/ninhadas?after=", 3, 1 + NINHADAS + filhotes),
+                // Índice de pedigree em memória
+                new Orcamento("/cachorros/" + matrizId + "/pedigree", 0, 0),
+                new Orcamento("/cachorros/" + matrizId + "/coi", 0, 0),
+                // Índice de busca em memória
+                new Orcamento("/busca?q=labrador", 0, 0),
+
+                // TutorController: ETag + tutores + cachorros dos tutores listados
+                new Orcamento("/tutores?size=5", 3, ETAG_LISTAGEM + 5 + 5 * CACHORROS_POR_TUTOR),
+                new Orcamento("/tutores?after=&size=5", 3, ETAG_LISTAGEM + 6 + 5 * CACHORROS_POR_TUTOR),
+                new Orcamento("/tutores/todos", 3, ETAG_LISTAGEM + TUTORES + TUTORES * CACHORROS_POR_TUTOR),
+                new Orcamento("/tutores/" + tutorId, 4, 2 + 1 + CACHORROS_POR_TUTOR),
+
+                // NinhadaController: ETag + ninhadas (com mãe e pai) + filhotes
+                new Orcamento("/ninhadas?size=10", 3, ETAG_LISTAGEM + NINHADAS + filhotes),
+                new Orcamento("/ninhadas?after=&size=10", 3, ETAG_LISTAGEM + NINHADAS + filhotes),
+                // Versão e contadores de cachorros e vendas (ETag) + uma linha por filhote, com pais e vendas no mesmo SELECT
+                new Orcamento("/ninhadas/" + ninhadaId, 3, 1 + 2 + FILHOTES_POR_NINHADA),
+                // Matriz, ids dos padreadores e características da matriz e dos padreadores
+                new Orcamento("/ninhadas/planejamento?maeId=" + matrizId, 4, 2),
+
+                // DashboardController: a primeira carga de cada cache
+                new Orcamento("/dashboard/stats", 2, 2, true),
+                new Orcamento("/dashboard/financeiro-30-dias", 1, 2, true),
+                new Orcamento("/dashboard/financeiro", 1, 2, true),
+                new Orcamento("/dashboard/atividades-recentes", 1, 5, true),
+                new Orcamento("/dashboard/atividades-recentes?after=&size=10", 1, 11),
+
+                // DespesaController: todas as despesas do período, numa consulta
+                new Orcamento("/despesas?inicio=" + LocalDate.now().minusDays(30) + "&fim=" + LocalDate.now(), 1,
+                        TUTORES * CACHORROS_POR_TUTOR * DESPESAS_POR_CACHORRO),
+                // Análise: um GROUP BY; sem raça sai do resumo diário (uma linha por dia e categoria, não por despesa)
+                new Orcamento("/despesas/analise?agrupar=categoria,mes", 1, DESPESAS_POR_CACHORRO),
+                new Orcamento("/despesas/analise?agrupar=categoria,raca", 1, 1)
+        );
+    }
+
+    @ParameterizedTest(name = "GET {0}")
+    @MethodSource("orcamentos")
+    @Order(1)
+    void endpointRespeitaOrcamentoDeSql(Orcamento orcamento) throws Exception {
+        if (orcamento.cacheFrio()) {
+            dashboardCacheService.descartar();
+        }
+        ContadorSql.Medicao medicao = ContadorSql.medir(() ->
+                mockMvc.perform(get(orcamento.uri())).andExpect(status().isOk()));
+
+        assertThat(medicao.comandos())
+                .as("comandos SQL em GET %s (%s)", orcamento.uri(), medicao)
+                .isLessThanOrEqualTo(orcamento.comandos());
+        assertThat(medicao.linhas())
+                .as("linhas lidas em GET %s (%s)", orcamento.uri(), medicao)
+                .isLessThanOrEqualTo(orcamento.linhas());
+    }
+
+    Stream<String> detalhesComEtag() {
+        return Stream.of("/cachorros/" + cachorroId, "/tutores/" + tutorId, "/ninhadas/" + ninhadaId,
+                "/cachorros?size=10", "/tutores?after=&size=5", "/ninhadas?size=10");
+    }
+
+    @ParameterizedTest(name = "GET condicional {0}")
+    @MethodSource("detalhesComEtag")
+    @Order(2)
+    void getCondicionalComEtagAtualResponde304SemMontarARepresentacao(String uri) throws Exception {
+        String etag = mockMvc.perform(get(uri)).andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(etag).as("ETag de GET %s", uri).isNotBlank();
+
+        ContadorSql.Medicao medicao = ContadorSql.medir(() ->
+                mockMvc.perform(get(uri).header(HttpHeaders.IF_NONE_MATCH, etag)).andExpect(status().isNotModified()));
+
+        // Detalhe: a versão e os contadores. Listagem: só os contadores
+        assertThat(medicao.comandos()).as("comandos SQL no 304 de %s (%s)", uri, medicao).isLessThanOrEqualTo(2);
+    }
+
+    Stream<Escrita> escritas() {
+        // Os INSERTs com id de sequência podem levar mais um comando, quando o bloco de ids reservado acaba.
+        // Toda escrita termina com o incremento dos contadores de ETag, e as que devolvem ETag leem os contadores
+        return Stream.of(
+                // CachorroController: INSERT do cachorro
+                new Escrita("POST /cachorros", 3, 1, () -> post("/cachorros").content(json(Map.of(
+                        "nome", "Novo", "dataNascimento", LocalDate.of(2022, 1, 1), "raca", "Labrador", "sexo", Sexo.MACHO)))),
+                // Cachorro (com despesas e venda), o tutor novo e o UPDATE
+                new Escrita("PUT /cachorros/{id}", 5, 3, () -> put("/cachorros/" + cachorroNovo()).content(json(
+                        new CachorroRequestDTO("Editado", Sexo.FEMEA, "Beagle", LocalDate.of(2022, 1, 1), tutorId)))),
+                new Escrita("PATCH /cachorros/{id}", 4, 2, () -> patch("/cachorros/" + cachorroNovo())
+                        .content(json(Map.of("raca", "Beagle")))),
+                new Escrita("PATCH /cachorros/{id}/status", 4, 2, () -> patch("/cachorros/" + cachorroNovo() + "/status")
+                        .content(json(new CachorroStatusUpdateDTO(StatusCachorro.RESERVADO)))),
+                // Cachorro, INSERT da despesa, resumo diário (upsert), custo do cachorro, atividade e versão
+                new Escrita("POST /cachorros/{id}/despesas", 8, 2, () -> post("/cachorros/" + cachorroNovo() + "/despesas")
+                        .content(json(new DespesaRequestDTO("Vacina", new BigDecimal("120.00"), LocalDate.now(),
+                                CategoriaDespesa.SAUDE)))),
+                // Cachorro e tutor, INSERT da venda, UPDATE do cachorro, resumo diário, lucro, atividade e a resposta
+                new Escrita("POST /cachorros/{id}/vender", 9, 5, () -> post("/cachorros/" + cachorroNovo() + "/vender")
+                        .content(json(new VendaRequestDTO(tutorId, new BigDecimal("3000.00"), LocalDate.now())))),
+                // Igual à venda, com a conferência do email e o INSERT do tutor no lugar da busca dele
+                new Escrita("POST /cachorros/{id}/vender-flex", 10, 5, () -> post("/cachorros/" + cachorroNovo() + "/vender-flex")
+                        .content(json(new VendaRequestFlexDTO(new BigDecimal("3000.00"), LocalDate.now(), null,
+                                new TutorRequestDTO("Comprador", "comprador@canil.com", "11988887777"))))),
+
+                // TutorController: conferência do email e INSERT
+                new Escrita("POST /tutores", 3, 1, () -> post("/tutores").content(json(
+                        new TutorRequestDTO("Tutor novo", "novo@canil.com", "11977776666")))),
+                // Tutor com os cachorros (e as vendas deles) num SELECT, conferência do email e UPDATE
+                new Escrita("PUT /tutores/{id}", 5, CACHORROS_POR_TUTOR + 3, () -> put("/tutores/" + tutorId).content(json(
+                        new TutorRequestDTO("Tutor editado", "editado@canil.com", "11966665555")))),
+
+                // NinhadaController: pais (com as vendas), INSERT da ninhada, um batch de filhotes e a atividade
+                new Escrita("POST /ninhadas", 6, 4, () -> post("/ninhadas").content(json(new NinhadaRequestDTO(
+                        LocalDate.now(), matrizId, padreadorId, IntStream.range(0, FILHOTES_POR_NINHADA)
+                        .mapToObj(f -> new FilhoteRequestDTO("Lote novo " + f, Sexo.FEMEA)).toList())))),
+
+                // DespesaController: ninhada e filhotes, ids reservados numa chamada, um batch de despesas,
+                // um de custos, resumo diário e atividade
+                new Escrita("POST /despesas/lote", 8, FILHOTES_POR_NINHADA + 3, () -> post("/despesas/lote").content(json(
+                        new DespesaLoteRequestDTO("Vermífugo", new BigDecimal("100.00"), LocalDate.now(), CategoriaDespesa.SAUDE,
+                                null, null, ninhadaId, null, null, null))))
+        );
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("escritas")
+    @Order(3)
+    void escritaRespeitaOrcamentoDeSql(Escrita escrita) throws Exception {
+        MockHttpServletRequestBuilder requisicao = escrita.requisicao().get().contentType(MediaType.APPLICATION_JSON);
+
+        ContadorSql.Medicao medicao = ContadorSql.medir(() ->
+                mockMvc.perform(requisicao).andExpect(status().is2xxSuccessful()));
+
+        assertThat(medicao.comandos())
+                .as("comandos SQL em %s (%s)", escrita, medicao)
+                .isLessThanOrEqualTo(escrita.comandos());
+        assertThat(medicao.linhas())
+                .as("linhas lidas em %s (%s)", escrita, medicao)
+                .isLessThanOrEqualTo(escrita.linhas());
+    }
+
+    // Cada escrita altera um cachorro próprio, fora da medição
+    private Long cachorroNovo() {
+        return cachorroRepository.save(cachorro("Alvo", Sexo.MACHO, null, StatusCachorro.DISPONIVEL)).getId();
+    }
+
+    private String json(Object corpo) {
+        try {
+            return objectMapper.writeValueAsString(corpo);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static Cachorro cachorro(String nome, Sexo sexo, Tutor tutor, StatusCachorro status) {
+        Cachorro cachorro = new Cachorro(nome, sexo, LocalDate.of(2020, 1, 1), "Labrador", tutor);
+        cachorro.setStatus(status);
+        return cachorro;
+    }
+
+    record Orcamento(String uri, int comandos, int linhas, boolean cacheFrio) {
+
+        Orcamento(String uri, int comandos, int linhas) {
+            this(uri, comandos, linhas, false);
+        }
+
+        @Override
+        public String toString() {
+            return uri;
+        }
+    }
+
+    /**
+     * @param requisicao Cria os registros de que a escrita precisa (fora da medição) e devolve a requisição.
+     */
+    record Escrita(String descricao, int comandos, int linhas, Supplier<MockHttpServletRequestBuilder> requisicao) {
+        @Override
+        public String toString() {
+            return descricao;
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package br.com.petfamily.canilapi.infra.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CacheSwrTest {
+
+    @Test
+    void atualizacaoRecusadaPeloExecutorDevolveOTesteDoMeioAberto() {
+        AtomicBoolean bancoFora = new AtomicBoolean(false);
+        AtomicBoolean recusar = new AtomicBoolean(false);
+        // Roda na própria thread, ou recusa como um executor saturado/desligado
+        Executor executor = tarefa -> {
+            if (recusar.get()) {
+                throw new RejectedExecutionException("executor cheio");
+            }
+            tarefa.run();
+        };
+        Disjuntor disjuntor = new Disjuntor(1, Duration.ZERO);
+        CacheSwr<String> cache = new CacheSwr<>("teste", () -> {
+            if (bancoFora.get()) {
+                throw new IllegalStateException("banco fora");
+            }
+            return "valor";
+        }, Duration.ofHours(1), executor, disjuntor, e -> true);
+
+        cache.obter();
+        bancoFora.set(true);
+        cache.expirar();
+        cache.obter(); // a atualização falha e abre o circuito
+        assertThat(disjuntor.estado()).isEqualTo(Disjuntor.Estado.ABERTO);
+
+        // O teste do meio-aberto é liberado, mas o executor recusa a tarefa
+        recusar.set(true);
+        assertThat(cache.obter().desatualizado()).isTrue();
+        assertThat(disjuntor.estado()).isEqualTo(Disjuntor.Estado.MEIO_ABERTO);
+
+        // A vaga voltou: a próxima leitura testa o banco de novo e fecha o circuito
+        recusar.set(false);
+        bancoFora.set(false);
+        cache.obter();
+        assertThat(disjuntor.estado()).isEqualTo(Disjuntor.Estado.FECHADO);
+        assertThat(cache.obter().desatualizado()).isFalse();
+    }
+
+    @Test
+    void avisaOCarregamentoEmSegundoPlanoDepoisDeDevolverOValorAnterior() {
+        AtomicInteger versao = new AtomicInteger(1);
+        AtomicInteger avisos = new AtomicInteger();
+        List<Runnable> agendadas = new ArrayList<>();
+        CacheSwr<Integer> cache = new CacheSwr<>("teste", versao::get, Duration.ofHours(1), agendadas::add,
+                new Disjuntor(3, Duration.ofSeconds(30)), e -> true);
+        cache.aoCarregar(avisos::incrementAndGet);
+
+        assertThat(cache.obter().valor()).isEqualTo(1);
+        assertThat(avisos).hasValue(1);
+
+        versao.set(2);
+        cache.expirar();
+        // Quem lê o expirado recebe o anterior; o aviso só vem quando o novo valor já está no cache
+        assertThat(cache.obter().valor()).isEqualTo(1);
+        assertThat(avisos).hasValue(1);
+        agendadas.forEach(Runnable::run);
+        assertThat(avisos).hasValue(2);
+        assertThat(cache.obter().valor()).isEqualTo(2);
+    }
+}
@@ -0,0 +1,68 @@
+package br.com.petfamily.canilapi.infra.persistence;
+
+import br.com.petfamily.canilapi.model.Tutor;
+import br.com.petfamily.canilapi.repository.TutorRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@TestPropertySource(properties = "spring.datasource.url=jdbc:h2:mem:alteracoes-tabelas;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH")
+class AlteracoesTabelasTest {
+
+    @Autowired
+    private AlteracoesTabelas alteracoesTabelas;
+
+    @Autowired
+    private TutorRepository tutorRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ApplicationContext contexto;
+
+    @Test
+    void escritaConfirmadaNumaInstanciaMudaOEtagDaOutra() {
+        // Outra instância da aplicação: nada compartilhado com esta além do banco
+        AlteracoesTabelas outraInstancia = new AlteracoesTabelas(jdbcTemplate, contexto.getBeanProvider(EntityManagerFactory.class));
+        String antes = outraInstancia.etagColecao(AlteracoesTabelas.TUTORES);
+
+        tutorRepository.save(new Tutor("Ana", "11999990000", "ana@canil.com"));
+
+        assertThat(outraInstancia.etagColecao(AlteracoesTabelas.TUTORES)).isNotEqualTo(antes);
+    }
+
+    @Test
+    void updateGravadoNoFlushDoCommitMudaOEtag() {
+        Long id = tutorRepository.save(new Tutor("Bia", "11999990001", "bia@canil.com")).getId();
+        String antes = alteracoesTabelas.etagColecao(AlteracoesTabelas.TUTORES);
+
+        // Entidade gerenciada: o UPDATE só acontece no flush do commit
+        transactionTemplate.executeWithoutResult(status -> tutorRepository.findById(id).orElseThrow().setNome("Beatriz"));
+
+        assertThat(alteracoesTabelas.etagColecao(AlteracoesTabelas.TUTORES)).isNotEqualTo(antes);
+    }
+
+    @Test
+    void escritaDesfeitaNaoMudaOEtag() {
+        String antes = alteracoesTabelas.etagColecao(AlteracoesTabelas.TUTORES);
+
+        transactionTemplate.executeWithoutResult(status -> {
+            tutorRepository.save(new Tutor("Caio", "11999990002", "caio@canil.com"));
+            status.setRollbackOnly();
+        });
+
+        assertThat(alteracoesTabelas.etagColecao(AlteracoesTabelas.TUTORES)).isEqualTo(antes);
+    }
+}
@@ -0,0 +1,165 @@
+package br.com.petfamily.canilapi.infra.persistence;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Proxy de {@link DataSource} que conta os comandos SQL executados e as linhas lidas, guardando o texto
+ * e os parâmetros de cada comando para que possa ser reexecutado (por exemplo, com {@code EXPLAIN}).
+ * <p>
+ * Só conta o que roda na thread que chamou {@link #medir}: atualizações do cache do dashboard,
+ * listeners após o commit e demais tarefas em segundo plano ficam de fora da medição.
+ */
+public final class ContadorSql {
+
+    private static final Set<String> EXECUCOES = Set.of(
+            "execute", "executeQuery", "executeUpdate", "executeLargeUpdate", "executeBatch", "executeLargeBatch");
+    private static final Set<String> DEVOLVEM_RESULT_SET = Set.of("executeQuery", "getResultSet", "getGeneratedKeys");
+
+    private static final ThreadLocal<Medicao> MEDICAO_ATUAL = new ThreadLocal<>();
+
+    private ContadorSql() {
+    }
+
+    public static DataSource envolver(DataSource dataSource) {
+        return proxy(DataSource.class, dataSource, (alvo, metodo, args) -> {
+            Object resultado = invocar(alvo, metodo, args);
+            return metodo.getName().equals("getConnection") ? proxy(Connection.class, resultado, ContadorSql::conexao) : resultado;
+        });
+    }
+
+    /**
+     * Executa a ação e devolve quantos comandos e linhas ela gerou nesta thread.
+     */
+    public static Medicao medir(Acao acao) throws Exception {
+        Medicao medicao = new Medicao();
+        MEDICAO_ATUAL.set(medicao);
+        try {
+            acao.executar();
+        } finally {
+            MEDICAO_ATUAL.remove();
+        }
+        return medicao;
+    }
+
+    private static Object conexao(Object alvo, Method metodo, Object[] args) throws Throwable {
+        Object resultado = invocar(alvo, metodo, args);
+        if (resultado instanceof Statement && metodo.getReturnType().isInterface()) {
+            // prepareStatement, prepareCall e createStatement: o tipo de retorno já é a interface certa;
+            // os dois primeiros recebem o SQL, createStatement o recebe em cada execute
+            String sql = args != null && args.length > 0 && args[0] instanceof String texto ? texto : null;
+            List<Parametro> parametros = new ArrayList<>();
+            return proxy(metodo.getReturnType(), resultado, (a, m, ar) -> comando(a, m, ar, sql, parametros));
+        }
+        return resultado;
+    }
+
+    private static Object comando(Object alvo, Method metodo, Object[] args, String sqlPreparado,
+                                  List<Parametro> parametros) throws Throwable {
+        Object resultado = invocar(alvo, metodo, args);
+        if (metodo.getName().startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer) {
+            // setLong(1, ...), setObject(2, ..., tipo) etc.: guardados para reaplicar no mesmo índice
+            parametros.add(new Parametro(metodo, args.clone()));
+        } else if (metodo.getName().equals("clearParameters")) {
+            parametros.clear();
+        }
+        Medicao medicao = MEDICAO_ATUAL.get();
+        if (medicao != null && EXECUCOES.contains(metodo.getName())) {
+            medicao.comandos++;
+            String sql = args != null && args.length > 0 && args[0] instanceof String texto ? texto : sqlPreparado;
+            medicao.executados.add(new Comando(sql, List.copyOf(parametros)));
+        }
+        if (resultado instanceof ResultSet && DEVOLVEM_RESULT_SET.contains(metodo.getName())) {
+            return proxy(ResultSet.class, resultado, ContadorSql::linhas);
+        }
+        return resultado;
+    }
+
+    private static Object linhas(Object alvo, Method metodo, Object[] args) throws Throwable {
+        Object resultado = invocar(alvo, metodo, args);
+        Medicao medicao = MEDICAO_ATUAL.get();
+        if (medicao != null && metodo.getName().equals("next") && Boolean.TRUE.equals(resultado)) {
+            medicao.linhas++;
+        }
+        return resultado;
+    }
+
+    private static Object invocar(Object alvo, Method metodo, Object[] args) throws Throwable {
+        try {
+            return metodo.invoke(alvo, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    private static <T> T proxy(Class<T> tipo, Object alvo, Interceptador interceptador) {
+        InvocationHandler handler = (p, metodo, args) -> interceptador.interceptar(alvo, metodo, args);
+        return tipo.cast(Proxy.newProxyInstance(ContadorSql.class.getClassLoader(), new Class<?>[]{tipo}, handler));
+    }
+
+    @FunctionalInterface
+    private interface Interceptador {
+        Object interceptar(Object alvo, Method metodo, Object[] args) throws Throwable;
+    }
+
+    @FunctionalInterface
+    public interface Acao {
+        void executar() throws Exception;
+    }
+
+    /**
+     * Um comando executado: o SQL e as chamadas {@code set*} feitas nele antes da execução.
+     */
+    public record Comando(String sql, List<Parametro> parametros) {
+
+        /**
+         * Aplica os mesmos parâmetros em outro comando preparado a partir deste SQL.
+         */
+        public void aplicarParametros(PreparedStatement destino) throws SQLException {
+            for (Parametro parametro : parametros) {
+                try {
+                    parametro.metodo().invoke(destino, parametro.args());
+                } catch (ReflectiveOperationException e) {
+                    throw new SQLException("Não foi possível reaplicar " + parametro.metodo().getName(), e);
+                }
+            }
+        }
+    }
+
+    public record Parametro(Method metodo, Object[] args) {
+    }
+
+    public static final class Medicao {
+        private final List<Comando> executados = new ArrayList<>();
+        private long comandos;
+        private long linhas;
+
+        public long comandos() {
+            return comandos;
+        }
+
+        public long linhas() {
+            return linhas;
+        }
+
+        public List<Comando> executados() {
+            return executados;
+        }
+
+        @Override
+        public String toString() {
+            return comandos + " comandos, " + linhas + " linhas";
+        }
+    }
+}
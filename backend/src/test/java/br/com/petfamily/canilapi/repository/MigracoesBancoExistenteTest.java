@@ -0,0 +1,85 @@
+package br.com.petfamily.canilapi.repository;
+
+import br.com.petfamily.canilapi.model.Cachorro;
+import br.com.petfamily.canilapi.model.Despesa;
+import br.com.petfamily.canilapi.model.Sexo;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.TestPropertySource;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Banco criado antes das migrações (pelo ddl-auto=update, com o esquema da V1 e dados) sobe com a configuração
+ * de produção: o Flyway o marca com a V1 como baseline, aplica as demais e o Hibernate valida as entidades contra
+ * o resultado. Os ids novos, de sequência, não colidem com os gravados por IDENTITY.
+ */
+@SpringBootTest
+@TestPropertySource(properties = {
+        "spring.flyway.baseline-on-migrate=true",
+        "spring.flyway.baseline-version=1",
+        "spring.jpa.hibernate.ddl-auto=validate"})
+class MigracoesBancoExistenteTest {
+
+    private static final String URL =
+            "jdbc:h2:mem:banco-existente;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH;DB_CLOSE_DELAY=-1";
+
+    @Autowired
+    private CachorroRepository cachorroRepository;
+
+    @Autowired
+    private DespesaRepository despesaRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    // Roda antes de o contexto (e o Flyway) subir: monta o banco como ele estava antes das migrações
+    @DynamicPropertySource
+    static void bancoExistente(DynamicPropertyRegistry registry) throws SQLException {
+        try (Connection conexao = DriverManager.getConnection(URL, "sa", "");
+             Statement comando = conexao.createStatement()) {
+            comando.execute("RUNSCRIPT FROM 'classpath:db/migration/V1__esquema_inicial.sql'");
+            comando.execute("INSERT INTO tutores (nome, email, telefone) VALUES ('Maria', 'maria@canil.com', '11999990000')");
+            comando.execute("INSERT INTO cachorros (nome, sexo, foi_vendido, status, raca, data_nascimento, tutor_id) "
+                    + "VALUES ('Rex', 'MACHO', false, 'DISPONIVEL', 'Labrador', DATE '2022-01-01', 1), "
+                    + "('Luna', 'FEMEA', false, 'DISPONIVEL', 'Labrador', DATE '2022-01-01', 1)");
+            comando.execute("INSERT INTO despesas (descricao, valor, data, cachorro_id) "
+                    + "VALUES ('Vacina', 120.00, DATE '2024-05-01', 1), ('Ração', 80.00, DATE '2024-05-02', 1)");
+        }
+        registry.add("spring.datasource.url", () -> URL);
+    }
+
+    @Test
+    void bancoAnteriorAsMigracoesRecebeBaselineESegueComOsDadosIntactos() {
+        assertThat(jdbcTemplate.queryForObject("SELECT type FROM flyway_schema_history WHERE version = '1'", String.class))
+                .isEqualTo("BASELINE");
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM flyway_schema_history WHERE success AND type = 'SQL'",
+                Integer.class)).isPositive();
+
+        // Colunas e tabelas novas preenchidas a partir dos dados que já existiam
+        assertThat(jdbcTemplate.queryForMap("SELECT versao, custo_acumulado FROM cachorros WHERE nome = 'Rex'"))
+                .containsEntry("versao", 0L)
+                .containsEntry("custo_acumulado", new BigDecimal("200.00"));
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM atividades", Integer.class)).isEqualTo(2);
+        assertThat(jdbcTemplate.queryForObject("SELECT SUM(total) FROM resumo_financeiro_diario", BigDecimal.class))
+                .isEqualByComparingTo("200.00");
+
+        // Ids de sequência depois dos que o IDENTITY gerou
+        Cachorro novo = cachorroRepository.save(new Cachorro("Thor", Sexo.MACHO, LocalDate.of(2024, 1, 1), "Beagle", null));
+        assertThat(novo.getId()).isGreaterThan(2L);
+        Despesa despesa = new Despesa("Banho", new BigDecimal("50.00"), LocalDate.now());
+        despesa.setCachorro(novo);
+        assertThat(despesaRepository.save(despesa).getId()).isGreaterThan(2L);
+    }
+}
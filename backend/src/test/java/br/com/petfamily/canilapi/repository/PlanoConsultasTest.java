@@ -0,0 +1,229 @@
+package br.com.petfamily.canilapi.repository;
+
+import br.com.petfamily.canilapi.controller.dto.RentabilidadeFiltroDTO;
+import br.com.petfamily.canilapi.infra.persistence.ContadorSql;
+import br.com.petfamily.canilapi.infra.persistence.ContadorSqlConfig;
+import br.com.petfamily.canilapi.model.DimensaoDespesa;
+import br.com.petfamily.canilapi.model.Sexo;
+import br.com.petfamily.canilapi.model.StatusCachorro;
+import br.com.petfamily.canilapi.repository.specification.CachorroSpecifications;
+import br.com.petfamily.canilapi.service.exportacao.FormatoExportacao;
+import br.com.petfamily.canilapi.service.exportacao.RelatorioRentabilidadeService;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Roda cada consulta filtrada dos repositórios, captura o SQL gerado e confere com {@code EXPLAIN} que nenhuma
+ * tabela é lida por varredura completa. Uma consulta nova sem índice (ou um índice removido das migrações) quebra o build.
+ * <p>
+ * Ficam de fora as consultas que leem a tabela inteira por definição: listagens sem filtro (primeira página,
+ * {@code /todos}), cargas dos índices em memória e os backfills {@code INSERT ... SELECT}. O custo delas é
+ * acompanhado pelo orçamento de linhas de {@code OrcamentoConsultasTest}. Também não entram os filtros de
+ * cachorros só por sexo ou foiVendido, colunas de dois valores em que a varredura é o plano certo.
+ * <p>
+ * O planejador é o do H2; as consultas não precisam de dados, pois o custo de uma varredura no H2 nunca fica
+ * abaixo do de um índice que atende o filtro.
+ */
+@SpringBootTest
+@Import(ContadorSqlConfig.class)
+@TestPropertySource(properties = "spring.datasource.url=jdbc:h2:mem:plano-consultas;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class PlanoConsultasTest {
+
+    private static final LocalDate INICIO = LocalDate.now().minusDays(30);
+    private static final LocalDate FIM = LocalDate.now();
+    private static final List<Long> IDS = List.of(1L, 2L, 3L);
+    private static final PageRequest PAGINA = PageRequest.of(0, 10);
+
+    @Autowired
+    private CachorroRepository cachorroRepository;
+
+    @Autowired
+    private TutorRepository tutorRepository;
+
+    @Autowired
+    private NinhadaRepository ninhadaRepository;
+
+    @Autowired
+    private DespesaRepository despesaRepository;
+
+    @Autowired
+    private VendaRepository vendaRepository;
+
+    @Autowired
+    private CaracteristicaRepository caracteristicaRepository;
+
+    @Autowired
+    private AtividadeRepository atividadeRepository;
+
+    @Autowired
+    private ResumoFinanceiroDiarioRepository resumoRepository;
+
+    @Autowired
+    private RelatorioRentabilidadeService rentabilidadeService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private DataSource dataSource;
+
+    Stream<Consulta> consultas() {
+        return Stream.of(
+                new Consulta("CachorroRepository.findByIdWithAssociations", () -> cachorroRepository.findByIdWithAssociations(1L)),
+                new Consulta("CachorroRepository.findListagemById", () -> cachorroRepository.findListagemById(1L)),
+                new Consulta("CachorroRepository.findVersaoById", () -> cachorroRepository.findVersaoById(1L)),
+                new Consulta("CachorroRepository.countByStatus", () -> cachorroRepository.countByStatus(StatusCachorro.DISPONIVEL)),
+                new Consulta("CachorroRepository.findListagemOrdenadaPorNomeApos",
+                        () -> cachorroRepository.findListagemOrdenadaPorNomeApos("Thor", 1L, PAGINA)),
+                new Consulta("CachorroRepository.findListagemSemNome", () -> cachorroRepository.findListagemSemNome(PAGINA)),
+                new Consulta("CachorroRepository.findListagemSemNomeApos", () -> cachorroRepository.findListagemSemNomeApos(1L, PAGINA)),
+                new Consulta("CachorroRepository.findResumoByTutorIds", () -> cachorroRepository.findResumoByTutorIds(IDS)),
+                new Consulta("CachorroRepository.findFilhotesByNinhadaIds", () -> cachorroRepository.findFilhotesByNinhadaIds(IDS)),
+                new Consulta("CachorroRepository.findIdsBySexoAndStatus",
+                        () -> cachorroRepository.findIdsBySexoAndStatus(Sexo.MACHO, StatusCachorro.MATRIZ_PADREADOR)),
+                new Consulta("CachorroRepository.findIdsByIdIn", () -> cachorroRepository.findIdsByIdIn(IDS)),
+                new Consulta("CachorroRepository.findIdsByNinhadaId", () -> cachorroRepository.findIdsByNinhadaId(1L)),
+                new Consulta("CachorroRepository.findIdsByStatus",
+                        () -> cachorroRepository.findIdsByStatus(StatusCachorro.MATRIZ_PADREADOR)),
+                new Consulta("CachorroRepository.findListagem (status e sexo)", () -> cachorroRepository.findListagem(
+                        CachorroSpecifications.comStatus(List.of(StatusCachorro.DISPONIVEL))
+                                .and(CachorroSpecifications.doSexo(Sexo.FEMEA)), PAGINA)),
+                new Consulta("CachorroRepository.findListagem (raça, após cursor)", () -> cachorroRepository.findListagem(
+                        CachorroSpecifications.daRaca("Labrador").and(CachorroSpecifications.depoisDe("Thor", 1L)), PAGINA)),
+                new Consulta("CachorroRepository.findListagem (nascimento)", () -> cachorroRepository.findListagem(
+                        CachorroSpecifications.nascidoEntre(INICIO, FIM), PAGINA)),
+                new Consulta("CachorroRepository.findListagem (tutor)", () -> cachorroRepository.findListagem(
+                        CachorroSpecifications.doTutor(1L), PAGINA)),
+                new Consulta("CachorroRepository.contarFacetas", () -> cachorroRepository.contarFacetas(
+                        CachorroSpecifications.comStatus(List.of(StatusCachorro.DISPONIVEL, StatusCachorro.RESERVADO)))),
+
+                new Consulta("TutorRepository.findByEmail", () -> tutorRepository.findByEmail("maria@canil.com")),
+                new Consulta("TutorRepository.existsByEmail", () -> tutorRepository.existsByEmail("maria@canil.com")),
+                new Consulta("TutorRepository.findByNome", () -> tutorRepository.findByNome("Maria")),
+                new Consulta("TutorRepository.findWithCachorrosById", () -> tutorRepository.findWithCachorrosById(1L)),
+                new Consulta("TutorRepository.findListagemById", () -> tutorRepository.findListagemById(1L)),
+                new Consulta("TutorRepository.findVersaoById", () -> tutorRepository.findVersaoById(1L)),
+                new Consulta("TutorRepository.findListagemOrdenadaPorNomeApos",
+                        () -> tutorRepository.findListagemOrdenadaPorNomeApos("Maria", 1L, PAGINA)),
+                new Consulta("TutorRepository.findListagemSemNome", () -> tutorRepository.findListagemSemNome(PAGINA)),
+                new Consulta("TutorRepository.findListagemSemNomeApos", () -> tutorRepository.findListagemSemNomeApos(1L, PAGINA)),
+
+                new Consulta("NinhadaRepository.findByIdWithDetails", () -> ninhadaRepository.findByIdWithDetails(1L)),
+                new Consulta("NinhadaRepository.findVersaoById", () -> ninhadaRepository.findVersaoById(1L)),
+                new Consulta("NinhadaRepository.findListagemByMaeId", () -> ninhadaRepository.findListagemByMaeId(1L)),
+                new Consulta("NinhadaRepository.findListagemByPeriodoNascimento",
+                        () -> ninhadaRepository.findListagemByPeriodoNascimento(INICIO, FIM)),
+                new Consulta("NinhadaRepository.findMaisRecentesApos", () -> ninhadaRepository.findMaisRecentesApos(FIM, 1L, PAGINA)),
+                new Consulta("NinhadaRepository.findByMaeIdMaisRecentes", () -> ninhadaRepository.findByMaeIdMaisRecentes(1L, PAGINA)),
+                new Consulta("NinhadaRepository.findByMaeIdMaisRecentesApos",
+                        () -> ninhadaRepository.findByMaeIdMaisRecentesApos(1L, FIM, 1L, PAGINA)),
+                new Consulta("NinhadaRepository.findSemDataApos", () -> ninhadaRepository.findSemDataApos(1L, PAGINA)),
+                new Consulta("NinhadaRepository.findByMaeIdSemDataApos", () -> ninhadaRepository.findByMaeIdSemDataApos(1L, 1L, PAGINA)),
+                new Consulta("NinhadaRepository.findByMaeIdComDataMaisRecentes",
+                        () -> ninhadaRepository.findByMaeIdComDataMaisRecentes(1L, PAGINA)),
+
+                new Consulta("DespesaRepository.findByCachorro_Id", () -> despesaRepository.findByCachorro_Id(1L)),
+                new Consulta("DespesaRepository.findAllByDataBetween", () -> despesaRepository.findAllByDataBetween(INICIO, FIM)),
+                new Consulta("DespesaRepository.findResumoByPeriodo", () -> despesaRepository.findResumoByPeriodo(INICIO, FIM)),
+                new Consulta("DespesaRepository.findResumoByCachorroIds", () -> despesaRepository.findResumoByCachorroIds(IDS)),
+                new Consulta("DespesaRepository.sumDespesasByPeriodo", () -> despesaRepository.sumDespesasByPeriodo(INICIO, FIM)),
+                new Consulta("DespesaRepository.findDespesasAfter", () -> despesaRepository.findDespesasAfter(INICIO)),
+                new Consulta("DespesaRepository.agruparDespesas", () -> despesaRepository.agruparDespesas(
+                        EnumSet.of(DimensaoDespesa.CATEGORIA, DimensaoDespesa.RACA), INICIO, FIM)),
+                new Consulta("DespesaRepository.agruparResumoDiario", () -> despesaRepository.agruparResumoDiario(
+                        EnumSet.of(DimensaoDespesa.CATEGORIA, DimensaoDespesa.MES), INICIO, FIM)),
+
+                new Consulta("VendaRepository.findAllByDataVendaBetween", () -> vendaRepository.findAllByDataVendaBetween(INICIO, FIM)),
+                new Consulta("VendaRepository.findVendasAfter", () -> vendaRepository.findVendasAfter(INICIO)),
+                new Consulta("VendaRepository.sumVendasByPeriodo", () -> vendaRepository.sumVendasByPeriodo(INICIO, FIM)),
+
+                new Consulta("CaracteristicaRepository.findByCachorro_Id", () -> caracteristicaRepository.findByCachorro_Id(1L)),
+                new Consulta("CaracteristicaRepository.findByCachorroSexoAndStatus",
+                        () -> caracteristicaRepository.findByCachorroSexoAndStatus(Sexo.FEMEA, StatusCachorro.MATRIZ_PADREADOR)),
+
+                new Consulta("AtividadeRepository.findMaisRecentesApos",
+                        () -> atividadeRepository.findMaisRecentesApos(LocalDateTime.now(), 1L, PAGINA)),
+
+                new Consulta("RelatorioRentabilidadeService (raça)", () -> rentabilidade(
+                        new RentabilidadeFiltroDTO("Labrador", null, true), Sort.by(Sort.Order.desc("lucro")))),
+                new Consulta("RelatorioRentabilidadeService (ninhada)", () -> rentabilidade(
+                        new RentabilidadeFiltroDTO(null, 1L, null), Sort.unsorted())),
+
+                new Consulta("ResumoFinanceiroDiarioRepository.somarPorTipo", () -> resumoRepository.somarPorTipo(INICIO, FIM)),
+                new Consulta("ResumoFinanceiroDiarioRepository.acumularComMerge",
+                        () -> resumoRepository.acumularComMerge(FIM, "DESPESA", "OUTROS", BigDecimal.ZERO, 0))
+        );
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("consultas")
+    void consultaNaoVarreTabelaInteira(Consulta consulta) throws Exception {
+        ContadorSql.Medicao medicao = ContadorSql.medir(() ->
+                transactionTemplate.executeWithoutResult(status -> consulta.execucao().run()));
+
+        List<ContadorSql.Comando> comandos = medicao.executados().stream()
+                .filter(comando -> comando.sql() != null)
+                .filter(comando -> comando.sql().stripLeading().toLowerCase(Locale.ROOT).matches("(?s)(select|with|update|delete|merge)\\b.*"))
+                .toList();
+        assertThat(comandos).as("comandos de %s", consulta).isNotEmpty();
+
+        for (ContadorSql.Comando comando : comandos) {
+            String plano = explicar(comando);
+            // O H2 anota cada tabela lida com o índice usado, ou "tableScan" quando não há nenhum
+            assertThat(plano).as("plano de %s", consulta).doesNotContainIgnoringCase("tableScan");
+        }
+    }
+
+    private void rentabilidade(RentabilidadeFiltroDTO filtro, Sort sort) {
+        try {
+            rentabilidadeService.escrever(rentabilidadeService.preparar(filtro, sort), FormatoExportacao.NDJSON,
+                    OutputStream.nullOutputStream());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private String explicar(ContadorSql.Comando comando) throws Exception {
+        try (Connection conexao = dataSource.getConnection();
+             PreparedStatement explain = conexao.prepareStatement("EXPLAIN " + comando.sql())) {
+            comando.aplicarParametros(explain);
+            try (ResultSet plano = explain.executeQuery()) {
+                assertThat(plano.next()).isTrue();
+                return plano.getString(1);
+            }
+        }
+    }
+
+    record Consulta(String nome, Runnable execucao) {
+        @Override
+        public String toString() {
+            return nome;
+        }
+    }
+}
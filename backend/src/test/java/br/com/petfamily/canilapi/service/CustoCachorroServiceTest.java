@@ -0,0 +1,77 @@
+package br.com.petfamily.canilapi.service;
+
+import br.com.petfamily.canilapi.controller.dto.DespesaRequestDTO;
+import br.com.petfamily.canilapi.controller.dto.VendaRequestFlexDTO;
+import br.com.petfamily.canilapi.model.Cachorro;
+import br.com.petfamily.canilapi.model.CategoriaDespesa;
+import br.com.petfamily.canilapi.model.Despesa;
+import br.com.petfamily.canilapi.model.Sexo;
+import br.com.petfamily.canilapi.model.Tutor;
+import br.com.petfamily.canilapi.repository.CachorroRepository;
+import br.com.petfamily.canilapi.repository.TutorRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class CustoCachorroServiceTest {
+
+    @Autowired
+    private CachorroService cachorroService;
+
+    @Autowired
+    private DespesaService despesaService;
+
+    @Autowired
+    private VendaService vendaService;
+
+    @Autowired
+    private CustoCachorroService custoCachorroService;
+
+    @Autowired
+    private CachorroRepository cachorroRepository;
+
+    @Autowired
+    private TutorRepository tutorRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void custoELucroAcompanhamDespesasEVendaEAReconciliacaoCorrigeDivergencias() {
+        Tutor comprador = tutorRepository.save(new Tutor("Comprador", "11988887777", "comprador@canil.com"));
+        Long id = cachorroRepository.save(new Cachorro("Bidu", Sexo.MACHO, LocalDate.of(2023, 1, 1), "Beagle", null)).getId();
+
+        cachorroService.adicionarDespesa(id, despesa("Vacina", "120.50"));
+        Despesa racao = despesaService.registrarDespesa(id, despesa("Ração", "80.00"));
+        assertThat(custoELucro(id)).containsEntry("custo", new BigDecimal("200.50")).containsEntry("lucro", null);
+
+        vendaService.realizarVendaFlex(id, new VendaRequestFlexDTO(new BigDecimal("1500.00"), LocalDate.now(), comprador.getId(), null));
+        assertThat(custoELucro(id)).containsEntry("lucro", new BigDecimal("1299.50"));
+
+        // Despesa depois da venda continua reduzindo o lucro; a exclusão devolve o valor
+        despesaService.deletarDespesa(racao.getId());
+        assertThat(custoELucro(id)).containsEntry("custo", new BigDecimal("120.50")).containsEntry("lucro", new BigDecimal("1379.50"));
+
+        // Uma escrita por fora (SQL manual) é desfeita pela reconciliação
+        jdbcTemplate.update("UPDATE cachorros SET custo_acumulado = 0, lucro = 0 WHERE id = ?", id);
+        assertThat(custoCachorroService.reconciliar()).isPositive();
+        assertThat(custoELucro(id)).containsEntry("custo", new BigDecimal("120.50")).containsEntry("lucro", new BigDecimal("1379.50"));
+        assertThat(custoCachorroService.reconciliar()).isZero();
+    }
+
+    private static DespesaRequestDTO despesa(String descricao, String valor) {
+        return new DespesaRequestDTO(descricao, new BigDecimal(valor), LocalDate.now(), CategoriaDespesa.SAUDE);
+    }
+
+    private Map<String, Object> custoELucro(Long id) {
+        return jdbcTemplate.queryForMap("SELECT custo_acumulado AS custo, lucro FROM cachorros WHERE id = ?", id);
+    }
+}
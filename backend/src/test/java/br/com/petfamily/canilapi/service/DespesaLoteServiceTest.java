@@ -0,0 +1,91 @@
+package br.com.petfamily.canilapi.service;
+
+import br.com.petfamily.canilapi.controller.dto.DespesaLoteRequestDTO;
+import br.com.petfamily.canilapi.controller.dto.DespesaLoteResponseDTO;
+import br.com.petfamily.canilapi.controller.dto.DespesaResponseDTO;
+import br.com.petfamily.canilapi.infra.persistence.ContadorSql;
+import br.com.petfamily.canilapi.infra.persistence.ContadorSqlConfig;
+import br.com.petfamily.canilapi.model.Cachorro;
+import br.com.petfamily.canilapi.model.CategoriaDespesa;
+import br.com.petfamily.canilapi.model.RateioDespesa;
+import br.com.petfamily.canilapi.model.Sexo;
+import br.com.petfamily.canilapi.repository.CachorroRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@Import(ContadorSqlConfig.class)
+// Banco próprio: o contexto deste teste não compartilha o H2 com os demais
+@TestPropertySource(properties = "spring.datasource.url=jdbc:h2:mem:despesas-lote;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH")
+class DespesaLoteServiceTest {
+
+    private static final int CACHORROS = 120;
+
+    @Autowired
+    private DespesaLoteService despesaLoteService;
+
+    @Autowired
+    private CachorroRepository cachorroRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void lancamentoEmLoteTemComandosFixosEDivideOTotalSemPerderCentavos() throws Exception {
+        List<Long> ids = cachorroRepository.saveAll(IntStream.range(0, CACHORROS)
+                        .mapToObj(i -> new Cachorro("Cão " + i, Sexo.MACHO, LocalDate.of(2023, 1, 1), "Beagle", null))
+                        .toList())
+                .stream().map(Cachorro::getId).toList();
+
+        AtomicReference<DespesaLoteResponseDTO> resposta = new AtomicReference<>();
+        ContadorSql.Medicao medicao = ContadorSql.medir(() -> resposta.set(despesaLoteService.registrar(
+                lote(new BigDecimal("1000.00"), RateioDespesa.IGUAL, ids, null))));
+
+        // Nada por cachorro, nem a reserva de ids: todos os blocos da sequência vêm num comando só.
+        // O sétimo é o incremento dos contadores de ETag (AlteracoesTabelas) no commit
+        assertThat(medicao.comandos())
+                .as("comandos SQL para %d cachorros (%s)", CACHORROS, medicao)
+                .isLessThanOrEqualTo(7);
+        assertThat(resposta.get().quantidade()).isEqualTo(CACHORROS);
+        // Sequência nova: os blocos reservados começam no id 1, sem buracos, como os do Hibernate
+        assertThat(resposta.get().despesas()).extracting(DespesaResponseDTO::id)
+                .containsExactlyElementsOf(LongStream.rangeClosed(1, CACHORROS).boxed().toList());
+        assertThat(resposta.get().total()).isEqualByComparingTo("1000.00");
+        // 1000,00 / 120 = 8,333...: os 40 centavos que sobram vão para os primeiros ids
+        assertThat(resposta.get().despesas()).extracting(DespesaResponseDTO::valor)
+                .containsOnly(new BigDecimal("8.34"), new BigDecimal("8.33"));
+        assertThat(custo(ids.get(0))).isEqualByComparingTo("8.34");
+        assertThat(custo(ids.get(CACHORROS - 1))).isEqualByComparingTo("8.33");
+
+        DespesaLoteResponseDTO ponderado = despesaLoteService.registrar(lote(new BigDecimal("100.00"), RateioDespesa.PONDERADO,
+                ids.subList(0, 3), Map.of(ids.get(0), BigDecimal.ONE, ids.get(1), BigDecimal.ONE, ids.get(2), new BigDecimal("2"))));
+        assertThat(ponderado.despesas()).extracting(DespesaResponseDTO::valor)
+                .containsExactly(new BigDecimal("25.00"), new BigDecimal("25.00"), new BigDecimal("50.00"));
+        assertThat(custo(ids.get(2))).isEqualByComparingTo("58.34");
+        assertThat(jdbcTemplate.queryForObject("SELECT SUM(valor) FROM despesas", BigDecimal.class))
+                .isEqualByComparingTo("1100.00");
+    }
+
+    private static DespesaLoteRequestDTO lote(BigDecimal valor, RateioDespesa rateio, List<Long> ids, Map<Long, BigDecimal> pesos) {
+        return new DespesaLoteRequestDTO("Ração da semana", valor, LocalDate.now(), CategoriaDespesa.ALIMENTACAO, rateio,
+                ids, null, null, null, pesos);
+    }
+
+    private BigDecimal custo(Long id) {
+        return jdbcTemplate.queryForObject("SELECT custo_acumulado FROM cachorros WHERE id = ?", BigDecimal.class, id);
+    }
+}
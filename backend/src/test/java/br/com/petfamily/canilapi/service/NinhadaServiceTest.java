@@ -0,0 +1,54 @@
+package br.com.petfamily.canilapi.service;
+
+import br.com.petfamily.canilapi.controller.dto.FilhoteRequestDTO;
+import br.com.petfamily.canilapi.controller.dto.NinhadaRequestDTO;
+import br.com.petfamily.canilapi.model.Cachorro;
+import br.com.petfamily.canilapi.model.Sexo;
+import br.com.petfamily.canilapi.repository.CachorroRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class NinhadaServiceTest {
+
+    private static final int FILHOTES = 40;
+
+    @Autowired
+    private NinhadaService ninhadaService;
+
+    @Autowired
+    private CachorroRepository cachorroRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void ninhadaGrandeGravaOsFilhotesEmUmBatch() {
+        Cachorro mae = cachorroRepository.save(new Cachorro("Matriz", Sexo.FEMEA, LocalDate.of(2020, 1, 1), "Labrador", null));
+        Cachorro pai = cachorroRepository.save(new Cachorro("Padreador", Sexo.MACHO, LocalDate.of(2019, 1, 1), "Labrador", null));
+        List<FilhoteRequestDTO> filhotes = IntStream.range(0, FILHOTES)
+                .mapToObj(i -> new FilhoteRequestDTO("Filhote " + i, i % 2 == 0 ? Sexo.MACHO : Sexo.FEMEA))
+                .toList();
+
+        Statistics estatisticas = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        estatisticas.clear();
+
+        ninhadaService.criarNinhada(new NinhadaRequestDTO(LocalDate.now(), mae.getId(), pai.getId(), filhotes));
+
+        // Busca dos pais, INSERT da ninhada, sequência (até 2 chamadas), um batch para os filhotes e a atividade.
+        // Sem batch seriam ao menos um INSERT e um UPDATE por filhote.
+        assertThat(estatisticas.getEntityInsertCount()).isGreaterThanOrEqualTo(FILHOTES);
+        assertThat(estatisticas.getEntityUpdateCount()).isZero();
+        assertThat(estatisticas.getPrepareStatementCount()).isLessThanOrEqualTo(6);
+    }
+}
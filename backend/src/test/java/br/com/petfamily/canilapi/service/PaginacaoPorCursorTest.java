@@ -0,0 +1,131 @@
+package br.com.petfamily.canilapi.service;
+
+import br.com.petfamily.canilapi.controller.dto.CachorroFiltroDTO;
+import br.com.petfamily.canilapi.controller.dto.CursorPageResponseDTO;
+import br.com.petfamily.canilapi.controller.dto.NinhadaRequestDTO;
+import br.com.petfamily.canilapi.model.Cachorro;
+import br.com.petfamily.canilapi.model.Sexo;
+import br.com.petfamily.canilapi.model.Tutor;
+import br.com.petfamily.canilapi.repository.CachorroRepository;
+import br.com.petfamily.canilapi.repository.TutorRepository;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiFunction;
+import java.util.function.ToLongFunction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Percorre as listagens por cursor com páginas pequenas sobre registros cuja chave de ordenação é nula
+ * (bancos anteriores às validações e importações podem tê-los) e confere que nenhum é pulado ou repetido.
+ */
+@SpringBootTest
+@TestPropertySource(properties = "spring.datasource.url=jdbc:h2:mem:paginacao-cursor;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class PaginacaoPorCursorTest {
+
+    private static final List<String> NOMES = List.of("Bia", "Ana", "Caio", "Ana", "Dora");
+    private static final int SEM_CHAVE = 3;
+
+    @Autowired
+    private TutorService tutorService;
+
+    @Autowired
+    private CachorroService cachorroService;
+
+    @Autowired
+    private NinhadaService ninhadaService;
+
+    @Autowired
+    private TutorRepository tutorRepository;
+
+    @Autowired
+    private CachorroRepository cachorroRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Long maeId;
+
+    @BeforeAll
+    void preparar() {
+        for (String nome : NOMES) {
+            tutorRepository.save(new Tutor(nome, null, null));
+            cachorroRepository.save(new Cachorro(nome, Sexo.MACHO, LocalDate.of(2021, 1, 1), "Beagle", null));
+        }
+        for (int i = 0; i < SEM_CHAVE; i++) {
+            tutorRepository.save(new Tutor("sem nome", null, null));
+            cachorroRepository.save(new Cachorro("sem nome", Sexo.MACHO, LocalDate.of(2021, 1, 1), "Beagle", null));
+        }
+        jdbcTemplate.update("UPDATE tutores SET nome = NULL WHERE nome = 'sem nome'");
+        jdbcTemplate.update("UPDATE cachorros SET nome = NULL WHERE nome = 'sem nome'");
+
+        maeId = cachorroRepository.save(new Cachorro("Matriz", Sexo.FEMEA, LocalDate.of(2018, 1, 1), "Beagle", null)).getId();
+        Long paiId = cachorroRepository.save(new Cachorro("Padreador", Sexo.MACHO, LocalDate.of(2018, 1, 1), "Beagle", null)).getId();
+        LocalDate hoje = LocalDate.now();
+        for (LocalDate data : List.of(hoje.minusDays(10), hoje.minusDays(30), hoje.minusDays(10), hoje.minusDays(20), hoje, hoje)) {
+            ninhadaService.criarNinhada(new NinhadaRequestDTO(data, maeId, paiId, List.of()));
+        }
+        jdbcTemplate.update("UPDATE ninhadas SET data_nascimento = NULL WHERE data_nascimento = ?", hoje);
+    }
+
+    @Test
+    void tutoresSemNomeVemDepoisDosNomesSemPularNemRepetir() {
+        List<Long> esperado = jdbcTemplate.queryForList("SELECT id FROM tutores ORDER BY nome ASC NULLS LAST, id ASC", Long.class);
+
+        for (int tamanho = 1; tamanho <= esperado.size(); tamanho++) {
+            assertThat(percorrer(tamanho, tutorService::listarPorCursor, tutor -> tutor.id()))
+                    .as("páginas de %d", tamanho).containsExactlyElementsOf(esperado);
+        }
+    }
+
+    @Test
+    void cachorrosSemNomeVemDepoisDosNomesComESemFiltro() {
+        List<Long> todos = jdbcTemplate.queryForList("SELECT id FROM cachorros ORDER BY nome ASC NULLS LAST, id ASC", Long.class);
+        List<Long> machos = jdbcTemplate.queryForList(
+                "SELECT id FROM cachorros WHERE sexo = 'MACHO' ORDER BY nome ASC NULLS LAST, id ASC", Long.class);
+        CachorroFiltroDTO filtro = new CachorroFiltroDTO(null, null, Sexo.MACHO, null, null, null, null);
+
+        for (int tamanho = 1; tamanho <= todos.size(); tamanho++) {
+            assertThat(percorrer(tamanho, (after, size) -> cachorroService.listarPorCursor(after, size, CachorroFiltroDTO.VAZIO),
+                    cachorro -> cachorro.id())).as("páginas de %d", tamanho).containsExactlyElementsOf(todos);
+            assertThat(percorrer(tamanho, (after, size) -> cachorroService.listarPorCursor(after, size, filtro),
+                    cachorro -> cachorro.id())).as("páginas de %d com filtro", tamanho).containsExactlyElementsOf(machos);
+        }
+    }
+
+    @Test
+    void ninhadasSemDataVemAntesDasMaisRecentes() {
+        List<Long> esperado = jdbcTemplate.queryForList(
+                "SELECT id FROM ninhadas ORDER BY data_nascimento DESC NULLS FIRST, id DESC", Long.class);
+
+        for (int tamanho = 1; tamanho <= esperado.size(); tamanho++) {
+            assertThat(percorrer(tamanho, ninhadaService::listarTodasPorCursor, ninhada -> ninhada.id()))
+                    .as("páginas de %d", tamanho).containsExactlyElementsOf(esperado);
+            assertThat(percorrer(tamanho, (after, size) -> ninhadaService.listarNinhadasDeUmaMaePorCursor(maeId, after, size),
+                    ninhada -> ninhada.id())).as("páginas de %d da mãe", tamanho).containsExactlyElementsOf(esperado);
+        }
+    }
+
+    private static <T> List<Long> percorrer(int tamanho, BiFunction<String, Integer, CursorPageResponseDTO<T>> listar,
+                                            ToLongFunction<T> id) {
+        List<Long> ids = new ArrayList<>();
+        String after = "";
+        do {
+            CursorPageResponseDTO<T> pagina = listar.apply(after, tamanho);
+            assertThat(pagina.content()).hasSizeLessThanOrEqualTo(tamanho);
+            pagina.content().forEach(item -> ids.add(id.applyAsLong(item)));
+            after = pagina.next();
+        } while (after != null);
+        return ids;
+    }
+}
@@ -0,0 +1,57 @@
+package br.com.petfamily.canilapi.service.busca;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class IndiceBuscaTest {
+
+    private IndiceBusca indice;
+
+    @BeforeEach
+    void preparar() {
+        indice = new IndiceBusca();
+        indice.registrarCachorro(1, "Thor", "Border Collie");
+        indice.registrarCachorro(2, "Thorin", "Labrador");
+        indice.registrarCachorro(3, "Mel", "Golden Retriever");
+        indice.registrarTutor(10, "Maria Souza", "maria@canil.com", "(11) 98888-7777");
+        indice.registrarTutor(11, "João Conceição", "joao@canil.com", null);
+    }
+
+    @Test
+    void exatoVemAntesDoPrefixoEOsTermosSaoCombinados() {
+        assertThat(ids(indice.buscar("thor", 10))).containsExactly(1L, 2L);
+        assertThat(ids(indice.buscar("tho lab", 10))).containsExactly(2L);
+        // Acentos e caixa são ignorados; telefone é buscado pelos dígitos, com qualquer pontuação
+        assertThat(ids(indice.buscar("CONCEICAO", 10))).containsExactly(11L);
+        assertThat(ids(indice.buscar("11 98888", 10))).containsExactly(10L);
+    }
+
+    @Test
+    void toleraErrosDeDigitacao() {
+        // Troca, transposição e erro no meio de um prefixo
+        assertThat(ids(indice.buscar("labrafor", 10))).containsExactly(2L);
+        assertThat(ids(indice.buscar("goldne", 10))).containsExactly(3L);
+        assertThat(ids(indice.buscar("retreiv", 10))).containsExactly(3L);
+        // Termos curtos não são aproximados: "mek" não acha "mel"
+        assertThat(indice.buscar("mek", 10)).isEmpty();
+    }
+
+    @Test
+    void atualizacaoERemocaoRefletemNoIndice() {
+        indice.registrarCachorro(3, "Mel", "Poodle");
+        assertThat(indice.buscar("golden", 10)).isEmpty();
+        assertThat(ids(indice.buscar("poodle", 10))).containsExactly(3L);
+
+        indice.remover(IndiceBusca.Tipo.TUTOR, 10);
+        assertThat(indice.buscar("maria", 10)).isEmpty();
+        assertThat(indice.tamanho()).isEqualTo(4);
+    }
+
+    private static List<Long> ids(List<IndiceBusca.Resultado> resultados) {
+        return resultados.stream().map(IndiceBusca.Resultado::id).toList();
+    }
+}
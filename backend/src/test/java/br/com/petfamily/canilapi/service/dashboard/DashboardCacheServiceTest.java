@@ -0,0 +1,43 @@
+package br.com.petfamily.canilapi.service.dashboard;
+
+import br.com.petfamily.canilapi.controller.dto.DashboardStatsDTO;
+import br.com.petfamily.canilapi.controller.dto.FinanceiroDashboardDTO;
+import br.com.petfamily.canilapi.service.DashboardService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class DashboardCacheServiceTest {
+
+    @Test
+    void resumoFalhaAssimQueUmaLeituraFalhaSemEsperarAsMaisLentas() {
+        CountDownLatch bancoLento = new CountDownLatch(1);
+        DashboardService dashboardService = mock(DashboardService.class);
+        when(dashboardService.getStats()).thenAnswer(invocacao -> {
+            bancoLento.await(30, TimeUnit.SECONDS);
+            return new DashboardStatsDTO(1, 1);
+        });
+        when(dashboardService.getFinanceiroUltimos30Dias())
+                .thenReturn(new FinanceiroDashboardDTO(BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ZERO));
+        when(dashboardService.getAtividadesRecentes()).thenThrow(new IllegalStateException("feed quebrado"));
+        DashboardCacheService cache = new DashboardCacheService(dashboardService, new SimpleMeterRegistry(), 15, 3, 30);
+
+        long inicio = System.nanoTime();
+        try {
+            // As estatísticas só terminariam em 30 s
+            assertThatThrownBy(cache::getResumo).isInstanceOf(IllegalStateException.class).hasMessage("feed quebrado");
+            assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - inicio)).isLessThan(5_000);
+        } finally {
+            bancoLento.countDown();
+            cache.encerrar();
+        }
+    }
+}